@@ -0,0 +1,165 @@
+package gosu.tools.ant;
+
+import gw.internal.ext.com.beust.jcommander.JCommander;
+import gw.lang.gosuc.GosucUtil;
+import gw.lang.gosuc.cli.CommandLineOptions;
+import gw.lang.gosuc.simple.GosuCompiler;
+import gw.lang.gosuc.simple.SoutCompilerDriver;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs gosuc's concurrent compilation (-threads) in process, as the ant task runs the compiler.
+ */
+public class ConcurrentGosucTest extends TestCase {
+
+  private static final File SRC_DIR = new File("src/test/resources/concurrent/src");
+
+  private final List<File> _destDirs = new ArrayList<>();
+
+  @Override
+  public void tearDown() throws Exception {
+    for (File dir : _destDirs) {
+      delete(dir.toPath());
+    }
+    super.tearDown();
+  }
+
+  public void testSameClassFilesAndErrorsAsSequential() throws Exception {
+    File sequentialDir = makeDestDir();
+    SoutCompilerDriver sequential = new SoutCompilerDriver();
+    compile(1, sequentialDir, sequential);
+
+    File concurrentDir = makeDestDir();
+    SoutCompilerDriver concurrent = new SoutCompilerDriver();
+    compile(4, concurrentDir, concurrent);
+
+    Map<String, byte[]> expected = readFiles(sequentialDir);
+    Map<String, byte[]> actual = readFiles(concurrentDir);
+    assertTrue(expected.containsKey("chain/Leaf.class"));
+    assertTrue(expected.containsKey("chain/Many$Inner23.class"));
+    assertEquals(expected.keySet(), actual.keySet());
+    for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+      assertTrue(entry.getKey(), Arrays.equals(entry.getValue(), actual.get(entry.getKey())));
+    }
+
+    assertEquals(1, sequential.getErrors().size());
+    assertEquals(sorted(sequential.getErrors()), sorted(concurrent.getErrors()));
+    assertEquals(sorted(sequential.getWarnings()), sorted(concurrent.getWarnings()));
+  }
+
+  public void testSupertypesAreCompiledFirst() throws Exception {
+    List<String> outputs = Collections.synchronizedList(new ArrayList<>());
+    SoutCompilerDriver driver = new SoutCompilerDriver() {
+      @Override
+      public void registerOutput(Object sourceFile, File outputFile) {
+        outputs.add(outputFile.getName());
+      }
+    };
+    compile(4, makeDestDir(), driver);
+
+    int iBase = outputs.indexOf("Base.class");
+    int iMiddle = outputs.indexOf("Middle.class");
+    int iLeaf = outputs.indexOf("Leaf.class");
+    int iShape = outputs.indexOf("IShape.class");
+    assertTrue(outputs.toString(), iBase >= 0 && iBase < iMiddle);
+    assertTrue(outputs.toString(), iMiddle < iLeaf);
+    assertTrue(outputs.toString(), iShape >= 0 && iShape < iLeaf);
+  }
+
+  public void testFailingWriterDoesNotHang() throws Exception {
+    SoutCompilerDriver driver = new SoutCompilerDriver() {
+      @Override
+      public void registerOutput(Object sourceFile, File outputFile) {
+        throw new IllegalStateException("Intentional failure");
+      }
+    };
+    File destDir = makeDestDir();
+    Throwable[] failure = new Throwable[1];
+    // Two threads queue at most 16 class files, Many.gs alone makes more than that
+    Thread compiler = new Thread(() -> {
+      try {
+        compile(2, destDir, driver);
+      } catch (Throwable e) {
+        failure[0] = e;
+      }
+    });
+    compiler.start();
+    compiler.join(120000);
+
+    assertFalse("The compilation hangs", compiler.isAlive());
+    assertNull(failure[0]);
+    assertTrue(driver.getErrors().stream().anyMatch(error -> error.contains("Cannot create .class files.")));
+  }
+
+  private void compile(int iThreads, File destDir, SoutCompilerDriver driver) throws Exception {
+    List<String> args = new ArrayList<>(Arrays.asList("-d", destDir.getAbsolutePath(), "-threads", String.valueOf(iThreads)));
+    args.addAll(getSourceFiles());
+    CommandLineOptions options = new CommandLineOptions();
+    JCommander.newBuilder().addObject(options).args(args.toArray(new String[args.size()])).build();
+
+    List<String> classpath = new ArrayList<>(GosucUtil.getJreJars());
+    classpath.addAll(GosucUtil.getGosuBootstrapJars());
+    GosuCompiler gosuc = new GosuCompiler();
+    gosuc.initializeGosu(Collections.singletonList(SRC_DIR.getAbsolutePath()), classpath, destDir.getAbsolutePath());
+    try {
+      gosuc.compile(options, driver);
+    } finally {
+      gosuc.uninitializeGosu();
+    }
+  }
+
+  private List<String> getSourceFiles() throws IOException {
+    try (Stream<Path> files = Files.walk(SRC_DIR.toPath())) {
+      return files.filter(Files::isRegularFile)
+        .map(file -> file.toAbsolutePath().toString())
+        .sorted()
+        .collect(Collectors.toList());
+    }
+  }
+
+  private File makeDestDir() throws IOException {
+    File dir = Files.createTempDirectory("gosuc-concurrent").toFile();
+    _destDirs.add(dir);
+    return dir;
+  }
+
+  private static Map<String, byte[]> readFiles(File dir) throws IOException {
+    Map<String, byte[]> files = new TreeMap<>();
+    try (Stream<Path> paths = Files.walk(dir.toPath())) {
+      for (Path path : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+        files.put(dir.toPath().relativize(path).toString().replace(File.separatorChar, '/'), Files.readAllBytes(path));
+      }
+    }
+    return files;
+  }
+
+  private static List<String> sorted(List<String> list) {
+    List<String> sorted = new ArrayList<>(list);
+    Collections.sort(sorted);
+    return sorted;
+  }
+
+  private static void delete(Path path) throws IOException {
+    if (Files.isDirectory(path)) {
+      try (Stream<Path> children = Files.list(path)) {
+        for (Path child : children.collect(Collectors.toList())) {
+          delete(child);
+        }
+      }
+    }
+    Files.deleteIfExists(path);
+  }
+}
@@ -0,0 +1,183 @@
+package gosu.tools.ant;
+
+import gw.internal.ext.com.beust.jcommander.JCommander;
+import gw.lang.gosuc.GosucUtil;
+import gw.lang.gosuc.cli.CommandLineOptions;
+import gw.lang.gosuc.simple.GosuCompiler;
+import gw.lang.gosuc.simple.SoutCompilerDriver;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs gosuc with -incremental in process over a copy of the sources, editing them between compilations.
+ */
+public class IncrementalGosucTest extends TestCase {
+
+  private static final File FIXTURE_DIR = new File("src/test/resources/incremental/src");
+  private static final Set<String> ALL = new TreeSet<>(Arrays.asList("Base.gs", "Middle.gs", "Leaf.gs", "Caller.gs", "Standalone.gs"));
+
+  private File _srcDir;
+  private File _destDir;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    _srcDir = Files.createTempDirectory("gosuc-incremental-src").toFile();
+    _destDir = Files.createTempDirectory("gosuc-incremental-dest").toFile();
+    copy(FIXTURE_DIR.toPath(), _srcDir.toPath());
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    delete(_srcDir.toPath());
+    delete(_destDir.toPath());
+    super.tearDown();
+  }
+
+  public void testFirstCompilationRecordsEverySource() throws Exception {
+    assertEquals(ALL, compile());
+    assertTrue(getIndexFile().isFile());
+    assertTrue(new File(_destDir, "other/Standalone$Inner.class").isFile());
+  }
+
+  public void testUnchangedSourcesAreNotRecompiled() throws Exception {
+    compile();
+    assertEquals(Collections.emptySet(), compile());
+  }
+
+  public void testChangedImplementationRecompilesOnlyTheSource() throws Exception {
+    compile();
+    edit("inc/Leaf.gs", "middle() + 1", "middle() + 10");
+    assertEquals(set("Leaf.gs"), compile());
+  }
+
+  public void testChangedApiRecompilesDependentsTransitively() throws Exception {
+    compile();
+    edit("inc/Base.gs", "class Base {", "class Base {\n\n  function base2() : int {\n    return 2\n  }");
+    // Middle subtypes Base, its inherited API changes too, so Leaf follows; Caller doesn't use base2()
+    assertEquals(set("Base.gs", "Middle.gs", "Leaf.gs"), compile());
+    assertEquals(Collections.emptySet(), compile());
+  }
+
+  public void testDeletedSourceRemovesItsClassFiles() throws Exception {
+    compile();
+    Files.delete(new File(_srcDir, "other/Standalone.gs").toPath());
+    assertEquals(Collections.emptySet(), compile());
+    assertFalse(new File(_destDir, "other/Standalone.class").exists());
+    assertFalse(new File(_destDir, "other/Standalone$Inner.class").exists());
+    assertTrue(new File(_destDir, "other/Caller.class").isFile());
+  }
+
+  public void testRenamedSourceReplacesItsClassFiles() throws Exception {
+    compile();
+    File standalone = new File(_srcDir, "other/Standalone.gs");
+    String content = new String(Files.readAllBytes(standalone.toPath()), StandardCharsets.UTF_8);
+    Files.delete(standalone.toPath());
+    Files.write(new File(_srcDir, "other/Renamed.gs").toPath(), content.replace("Standalone", "Renamed").getBytes(StandardCharsets.UTF_8));
+
+    // A new source may shadow a type its neighbors resolved by relative name, so they are recompiled too
+    assertEquals(set("Renamed.gs", "Caller.gs"), compile());
+    assertFalse(new File(_destDir, "other/Standalone.class").exists());
+    assertFalse(new File(_destDir, "other/Standalone$Inner.class").exists());
+    assertTrue(new File(_destDir, "other/Renamed$Inner.class").isFile());
+  }
+
+  public void testCorruptIndexCompilesEverything() throws Exception {
+    compile();
+    Files.write(getIndexFile().toPath(), new byte[]{1, 2, 3});
+    assertEquals(ALL, compile());
+    assertEquals(Collections.emptySet(), compile());
+  }
+
+  public void testMissingIndexCompilesEverything() throws Exception {
+    compile();
+    Files.delete(getIndexFile().toPath());
+    assertEquals(ALL, compile());
+  }
+
+  /**
+   * @return the names of the sources compiled
+   */
+  private Set<String> compile() throws Exception {
+    Set<String> compiled = Collections.synchronizedSet(new TreeSet<>());
+    SoutCompilerDriver driver = new SoutCompilerDriver() {
+      @Override
+      public void registerOutput(Object sourceFile, File outputFile) {
+        compiled.add(((File)sourceFile).getName());
+      }
+    };
+
+    List<String> args = new ArrayList<>(Arrays.asList("-d", _destDir.getAbsolutePath(), "-incremental"));
+    try (Stream<Path> files = Files.walk(_srcDir.toPath())) {
+      args.addAll(files.filter(Files::isRegularFile).map(file -> file.toAbsolutePath().toString()).sorted().collect(Collectors.toList()));
+    }
+    CommandLineOptions options = new CommandLineOptions();
+    JCommander.newBuilder().addObject(options).args(args.toArray(new String[args.size()])).build();
+
+    List<String> classpath = new ArrayList<>(GosucUtil.getJreJars());
+    classpath.addAll(GosucUtil.getGosuBootstrapJars());
+    GosuCompiler gosuc = new GosuCompiler();
+    gosuc.initializeGosu(Collections.singletonList(_srcDir.getAbsolutePath()), classpath, _destDir.getAbsolutePath());
+    try {
+      gosuc.compile(options, driver);
+    } finally {
+      gosuc.uninitializeGosu();
+    }
+    assertEquals(Collections.emptyList(), driver.getErrors());
+    return compiled;
+  }
+
+  private File getIndexFile() {
+    return new File(_destDir, ".gosuc-dependencies");
+  }
+
+  private void edit(String strPath, String strOld, String strNew) throws IOException {
+    Path file = new File(_srcDir, strPath).toPath();
+    String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    assertTrue(content.contains(strOld));
+    // The lengths differ, so the change is seen even within the file system's timestamp resolution
+    assertTrue(strOld.length() != strNew.length());
+    Files.write(file, content.replace(strOld, strNew).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Set<String> set(String... names) {
+    return new TreeSet<>(Arrays.asList(names));
+  }
+
+  private static void copy(Path from, Path to) throws IOException {
+    try (Stream<Path> paths = Files.walk(from)) {
+      for (Path path : paths.collect(Collectors.toList())) {
+        Path target = to.resolve(from.relativize(path).toString());
+        if (Files.isDirectory(path)) {
+          Files.createDirectories(target);
+        } else {
+          Files.copy(path, target);
+        }
+      }
+    }
+  }
+
+  private static void delete(Path path) throws IOException {
+    if (Files.isDirectory(path)) {
+      try (Stream<Path> children = Files.list(path)) {
+        for (Path child : children.collect(Collectors.toList())) {
+          delete(child);
+        }
+      }
+    }
+    Files.deleteIfExists(path);
+  }
+}
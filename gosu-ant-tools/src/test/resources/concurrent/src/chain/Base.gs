@@ -0,0 +1,8 @@
+package chain
+
+class Base {
+
+  function base() : int {
+    return 1
+  }
+}
@@ -0,0 +1,5 @@
+package chain
+
+interface IShape {
+  function area() : int
+}
@@ -0,0 +1,8 @@
+package chain
+
+class IntentionalError extends Leaf {
+
+  function doError() {
+    failIntentionally() //this method does not exist
+  }
+}
@@ -0,0 +1,8 @@
+package chain
+
+class Leaf extends Middle implements IShape {
+
+  override function area() : int {
+    return middle() * 2
+  }
+}
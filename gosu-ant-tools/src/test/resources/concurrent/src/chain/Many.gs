@@ -0,0 +1,148 @@
+package chain
+
+class Many {
+
+  static class Inner0 {
+    function value() : int {
+      return 0
+    }
+  }
+
+  static class Inner1 {
+    function value() : int {
+      return 1
+    }
+  }
+
+  static class Inner2 {
+    function value() : int {
+      return 2
+    }
+  }
+
+  static class Inner3 {
+    function value() : int {
+      return 3
+    }
+  }
+
+  static class Inner4 {
+    function value() : int {
+      return 4
+    }
+  }
+
+  static class Inner5 {
+    function value() : int {
+      return 5
+    }
+  }
+
+  static class Inner6 {
+    function value() : int {
+      return 6
+    }
+  }
+
+  static class Inner7 {
+    function value() : int {
+      return 7
+    }
+  }
+
+  static class Inner8 {
+    function value() : int {
+      return 8
+    }
+  }
+
+  static class Inner9 {
+    function value() : int {
+      return 9
+    }
+  }
+
+  static class Inner10 {
+    function value() : int {
+      return 10
+    }
+  }
+
+  static class Inner11 {
+    function value() : int {
+      return 11
+    }
+  }
+
+  static class Inner12 {
+    function value() : int {
+      return 12
+    }
+  }
+
+  static class Inner13 {
+    function value() : int {
+      return 13
+    }
+  }
+
+  static class Inner14 {
+    function value() : int {
+      return 14
+    }
+  }
+
+  static class Inner15 {
+    function value() : int {
+      return 15
+    }
+  }
+
+  static class Inner16 {
+    function value() : int {
+      return 16
+    }
+  }
+
+  static class Inner17 {
+    function value() : int {
+      return 17
+    }
+  }
+
+  static class Inner18 {
+    function value() : int {
+      return 18
+    }
+  }
+
+  static class Inner19 {
+    function value() : int {
+      return 19
+    }
+  }
+
+  static class Inner20 {
+    function value() : int {
+      return 20
+    }
+  }
+
+  static class Inner21 {
+    function value() : int {
+      return 21
+    }
+  }
+
+  static class Inner22 {
+    function value() : int {
+      return 22
+    }
+  }
+
+  static class Inner23 {
+    function value() : int {
+      return 23
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package chain
+
+class Middle extends Base {
+
+  function middle() : int {
+    return base() + 1
+  }
+}
@@ -0,0 +1,8 @@
+package inc
+
+class Base {
+
+  function base() : int {
+    return 1
+  }
+}
@@ -0,0 +1,8 @@
+package inc
+
+class Leaf extends Middle {
+
+  function leaf() : int {
+    return middle() + 1
+  }
+}
@@ -0,0 +1,8 @@
+package inc
+
+class Middle extends Base {
+
+  function middle() : int {
+    return base() + 1
+  }
+}
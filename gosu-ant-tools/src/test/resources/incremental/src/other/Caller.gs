@@ -0,0 +1,10 @@
+package other
+
+uses inc.Base
+
+class Caller {
+
+  function call() : int {
+    return new Base().base()
+  }
+}
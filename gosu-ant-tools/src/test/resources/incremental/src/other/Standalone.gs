@@ -0,0 +1,11 @@
+package other
+
+class Standalone {
+
+  static class Inner {
+  }
+
+  function value() : String {
+    return "standalone"
+  }
+}
@@ -0,0 +1,421 @@
+package gw.util
+
+uses gw.lang.parser.StandardCoercionManager
+uses java.lang.IllegalArgumentException
+uses java.lang.Iterable
+uses java.lang.UnsupportedOperationException
+uses java.util.ArrayList
+uses java.util.Collection
+uses java.util.Collections
+uses java.util.Iterator
+uses java.util.LinkedHashSet
+uses java.util.List
+uses java.util.NoSuchElementException
+uses java.util.Set
+
+/**
+ * A lazily evaluated view of an Iterable, obtained with <code>lazy()</code>.  Where the methods of
+ * CoreIterableEnhancement each build a new list, the intermediate operations here (where, map, flatMap,
+ * whereTypeIs, zip, take, ...) just compose iterators, so
+ * <code>list.lazy().where( \ e -> ... ).map( \ e -> ... ).first()</code> makes one pass over the list and
+ * stops at the first element that gets through.
+ * <p>
+ * A sequence holds no elements, every iteration pulls them from the source through the whole chain again.
+ * It therefore reflects changes to the source made since it was created, and iterating it twice calls its
+ * blocks twice.  Use toList() to capture the elements.
+ *
+ *  Copyright 2014 Guidewire Software, Inc.
+ */
+final class Sequence<T> {
+
+  var _iterators : block() : Iterator<T>
+
+  private construct( iterators : block() : Iterator<T> ) {
+    _iterators = iterators
+  }
+
+  /**
+   * Returns a sequence of the elements of the given Iterable
+   */
+  static function of<E>( source : Iterable<E> ) : Sequence<E> {
+    return new Sequence<E>( \ -> source.iterator() )
+  }
+
+  /**
+   * Returns a new iterator over the sequence; a sequence can be the target of a for loop
+   */
+  function iterator() : Iterator<T> {
+    return _iterators()
+  }
+
+//#######################################################
+// Intermediate operations, these don't iterate
+
+  /**
+   * Returns the elements of this sequence for which the given condition is true
+   */
+  function where( cond(elt:T):boolean ) : Sequence<T> {
+    return new Sequence<T>( \ -> new WhereIterator<T>( iterator(), cond ) )
+  }
+
+  /**
+   * Maps the elements of this sequence by calling the mapper block on each element
+   */
+  function map<Q>( mapper(elt:T):Q ) : Sequence<Q> {
+    return new Sequence<Q>( \ -> new MapIterator<T, Q>( iterator(), mapper ) )
+  }
+
+  /**
+   * Maps each element of this sequence to a collection and returns the elements of the collections
+   */
+  function flatMap<R>( mapper(elt:T):Collection<R> ) : Sequence<R> {
+    return new Sequence<R>( \ -> new FlatMapIterator<T, R>( iterator(), mapper ) )
+  }
+
+  /**
+   * Returns the elements of this sequence that are nominally or structurally assignable to the given type
+   */
+  function whereTypeIs<R>( type : Type<R> ) : Sequence<R> {
+    return where( \ elt -> type.Type.isAssignableFrom( typeof elt ) or StandardCoercionManager.isStructurallyAssignable( type.Type, typeof elt ) )
+      .map( \ elt -> elt as R )
+  }
+
+  /**
+   * Returns pairs of the corresponding elements of this sequence and the other Iterable, ending with the
+   * shorter of the two
+   */
+  function zip<R>( other : Iterable<R> ) : Sequence<Pair<T, R>> {
+    if( other == null ) {
+      throw new NullPointerException( "other should be non-null" )
+    }
+    return new Sequence<Pair<T, R>>( \ -> new ZipIterator<T, R>( iterator(), other.iterator() ) )
+  }
+
+  /**
+   * Returns the first <code>n</code> elements of this sequence, or all of them if there are fewer
+   */
+  function take( n : int ) : Sequence<T> {
+    checkCount( n )
+    return new Sequence<T>( \ -> new TakeIterator<T>( iterator(), n ) )
+  }
+
+  /**
+   * Returns the elements of this sequence up to the first one not satisfying the given condition
+   */
+  function takeWhile( cond(elt:T):boolean ) : Sequence<T> {
+    return new Sequence<T>( \ -> new TakeWhileIterator<T>( iterator(), cond ) )
+  }
+
+  /**
+   * Returns the elements of this sequence following the first <code>n</code>
+   */
+  function drop( n : int ) : Sequence<T> {
+    checkCount( n )
+    return new Sequence<T>( \ -> {
+      var iter = iterator()
+      for( i in 0..|n ) {
+        if( !iter.hasNext() ) {
+          break
+        }
+        iter.next()
+      }
+      return iter
+    } )
+  }
+
+//#######################################################
+// Terminal operations, these stop iterating as soon as the result is known
+
+  /**
+   * Returns the first element of this sequence, or null if it is empty
+   */
+  function first() : T {
+    var iter = iterator()
+    return iter.hasNext() ? iter.next() : null
+  }
+
+  /**
+   * Returns the first element of this sequence that matches the given condition, or null if none matches
+   */
+  function firstWhere( cond(elt:T):boolean ) : T {
+    for( e in this ) {
+      if( cond( e ) ) return e
+    }
+    return null
+  }
+
+  /**
+   * Returns true if any element of this sequence matches the given condition and false otherwise
+   */
+  function hasMatch( cond(elt:T):boolean ) : boolean {
+    for( e in this ) {
+      if( cond( e ) ) return true
+    }
+    return false
+  }
+
+  /**
+   * Returns true if all elements of this sequence match the given condition and false otherwise
+   */
+  function allMatch( cond(elt:T):boolean ) : boolean {
+    for( e in this ) {
+      if( not cond( e ) ) return false
+    }
+    return true
+  }
+
+  /**
+   * Returns the number of elements in this sequence
+   */
+  property get Count() : int {
+    var i = 0
+    for( e in this ) {
+      i++
+    }
+    return i
+  }
+
+  /**
+   * Invokes the operation on each element of this sequence
+   */
+  function each( operation(elt:T) ) {
+    for( e in this ) {
+      operation( e )
+    }
+  }
+
+  /**
+   * Returns the elements of this sequence reduced to a single value
+   */
+  function reduce<V>( init : V, aggregator(val : V, elt : T):V ) : V {
+    var retVal = init
+    for( e in this ) {
+      retVal = aggregator( retVal, e )
+    }
+    return retVal
+  }
+
+  /**
+   * Returns a new list of the elements of this sequence
+   */
+  function toList() : List<T> {
+    var list = new ArrayList<T>()
+    for( e in this ) {
+      list.add( e )
+    }
+    return list
+  }
+
+  /**
+   * Returns a new set of the elements of this sequence, in iteration order
+   */
+  function toSet() : Set<T> {
+    var set = new LinkedHashSet<T>()
+    for( e in this ) {
+      set.add( e )
+    }
+    return set
+  }
+
+  /**
+   * Returns this sequence as an Iterable for APIs that take one, each iteration evaluates the sequence again
+   */
+  function asIterable() : Iterable<T> {
+    return new SequenceIterable<T>( this )
+  }
+
+  private static function checkCount( n : int ) {
+    if( n < 0 ) {
+      throw new IllegalArgumentException( "Count must not be negative: " + n )
+    }
+  }
+
+//#######################################################
+
+  private static class SequenceIterable<E> implements Iterable<E> {
+    var _sequence : Sequence<E>
+
+    construct( sequence : Sequence<E> ) {
+      _sequence = sequence
+    }
+
+    override function iterator() : Iterator<E> {
+      return _sequence.iterator()
+    }
+  }
+
+  /**
+   * Base class of the iterators that must look ahead to know whether there is a next element
+   */
+  private static abstract class LookaheadIterator<E> implements Iterator<E> {
+    var _next : E
+    var _bReady : boolean
+    var _bDone : boolean
+
+    /**
+     * Finds the next element and passes it to setNext(), or returns without doing so if there is none
+     */
+    abstract function computeNext()
+
+    function setNext( elt : E ) {
+      _next = elt
+      _bReady = true
+    }
+
+    override function hasNext() : boolean {
+      if( !_bReady and !_bDone ) {
+        computeNext()
+        _bDone = !_bReady
+      }
+      return _bReady
+    }
+
+    override function next() : E {
+      if( !hasNext() ) {
+        throw new NoSuchElementException()
+      }
+      var elt = _next
+      _next = null
+      _bReady = false
+      return elt
+    }
+
+    override function remove() {
+      throw new UnsupportedOperationException()
+    }
+  }
+
+  private static class WhereIterator<E> extends LookaheadIterator<E> {
+    var _source : Iterator<E>
+    var _cond : block(elt:E):boolean
+
+    construct( source : Iterator<E>, cond : block(elt:E):boolean ) {
+      _source = source
+      _cond = cond
+    }
+
+    override function computeNext() {
+      while( _source.hasNext() ) {
+        var elt = _source.next()
+        if( _cond( elt ) ) {
+          setNext( elt )
+          return
+        }
+      }
+    }
+  }
+
+  private static class TakeWhileIterator<E> extends LookaheadIterator<E> {
+    var _source : Iterator<E>
+    var _cond : block(elt:E):boolean
+
+    construct( source : Iterator<E>, cond : block(elt:E):boolean ) {
+      _source = source
+      _cond = cond
+    }
+
+    override function computeNext() {
+      if( _source.hasNext() ) {
+        var elt = _source.next()
+        if( _cond( elt ) ) {
+          setNext( elt )
+        }
+      }
+    }
+  }
+
+  private static class FlatMapIterator<E, R> extends LookaheadIterator<R> {
+    var _source : Iterator<E>
+    var _mapper : block(elt:E):Collection<R>
+    var _current : Iterator<R> = Collections.emptyIterator<R>()
+
+    construct( source : Iterator<E>, mapper : block(elt:E):Collection<R> ) {
+      _source = source
+      _mapper = mapper
+    }
+
+    override function computeNext() {
+      while( !_current.hasNext() ) {
+        if( !_source.hasNext() ) {
+          return
+        }
+        _current = _mapper( _source.next() ).iterator()
+      }
+      setNext( _current.next() )
+    }
+  }
+
+  private static class MapIterator<E, Q> implements Iterator<Q> {
+    var _source : Iterator<E>
+    var _mapper : block(elt:E):Q
+
+    construct( source : Iterator<E>, mapper : block(elt:E):Q ) {
+      _source = source
+      _mapper = mapper
+    }
+
+    override function hasNext() : boolean {
+      return _source.hasNext()
+    }
+
+    override function next() : Q {
+      return _mapper( _source.next() )
+    }
+
+    override function remove() {
+      throw new UnsupportedOperationException()
+    }
+  }
+
+  private static class ZipIterator<E, R> implements Iterator<Pair<E, R>> {
+    var _source : Iterator<E>
+    var _other : Iterator<R>
+
+    construct( source : Iterator<E>, other : Iterator<R> ) {
+      _source = source
+      _other = other
+    }
+
+    override function hasNext() : boolean {
+      return _source.hasNext() and _other.hasNext()
+    }
+
+    override function next() : Pair<E, R> {
+      if( !hasNext() ) {
+        throw new NoSuchElementException()
+      }
+      return Pair.make( _source.next(), _other.next() )
+    }
+
+    override function remove() {
+      throw new UnsupportedOperationException()
+    }
+  }
+
+  private static class TakeIterator<E> implements Iterator<E> {
+    var _source : Iterator<E>
+    var _iRemaining : int
+
+    construct( source : Iterator<E>, n : int ) {
+      _source = source
+      _iRemaining = n
+    }
+
+    override function hasNext() : boolean {
+      // Doesn't ask the source once the count is reached, so a take() short-circuits an infinite source
+      return _iRemaining > 0 and _source.hasNext()
+    }
+
+    override function next() : E {
+      if( _iRemaining <= 0 ) {
+        throw new NoSuchElementException()
+      }
+      _iRemaining--
+      return _source.next()
+    }
+
+    override function remove() {
+      throw new UnsupportedOperationException()
+    }
+  }
+}
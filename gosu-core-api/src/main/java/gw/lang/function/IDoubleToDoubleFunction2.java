@@ -0,0 +1,16 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.lang.function;
+
+/**
+ * Implemented by blocks of two double arguments returning double, so callers that know the block's
+ * type can invoke it without boxing.
+ */
+@FunctionalInterface
+public interface IDoubleToDoubleFunction2 {
+
+  double invokeDouble(double arg0, double arg1);
+
+}
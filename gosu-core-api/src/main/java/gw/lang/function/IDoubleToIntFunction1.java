@@ -0,0 +1,16 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.lang.function;
+
+/**
+ * Implemented by blocks of one double argument returning int, so callers that know the block's
+ * type can invoke it without boxing.
+ */
+@FunctionalInterface
+public interface IDoubleToIntFunction1 {
+
+  int invokeInt(double arg0);
+
+}
@@ -0,0 +1,16 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.lang.function;
+
+/**
+ * Implemented by blocks of two int arguments returning boolean, so callers that know the block's
+ * type can invoke it without boxing.
+ */
+@FunctionalInterface
+public interface IIntToBooleanFunction2 {
+
+  boolean invokeBoolean(int arg0, int arg1);
+
+}
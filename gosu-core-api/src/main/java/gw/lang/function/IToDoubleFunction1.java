@@ -0,0 +1,16 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.lang.function;
+
+/**
+ * Implemented by blocks of one argument returning double, so callers that know the block's
+ * type can invoke it without boxing the result.
+ */
+@FunctionalInterface
+public interface IToDoubleFunction1<P0> {
+
+  double invokeDouble(P0 arg0);
+
+}
@@ -44,6 +44,16 @@ public class CommandLineOptions {
     return _help;
   }
 
+  @Parameter(names = "-incremental", description = "Recompile only changed sources and the sources depending on their changed members, using the dependency index kept in the destination directory")
+  private boolean _incremental;
+
+  /**
+   * @return true if '-incremental' was specified on the command line
+   */
+  public boolean isIncremental() {
+    return _incremental;
+  }
+
   @Parameter(names = "-nowarn", description = "Generate no warnings")
   private boolean _nowarn;
 
@@ -61,6 +71,16 @@ public class CommandLineOptions {
     return _sourcepath == null ? "" : _sourcepath;
   }
 
+  @Parameter(names = "-threads", description = "Compile Gosu sources concurrently on the given number of threads", validateWith = PositiveInteger.class)
+  private int _threads = 1;
+
+  /**
+   * @return the number of threads compiling Gosu sources. Defaults to 1.
+   */
+  public int getThreads() {
+    return _threads;
+  }
+
   @Parameter(names = "-verbose", description = "Output messages about what the compiler is doing")
   private boolean _verbose;
 
@@ -0,0 +1,721 @@
+package gw.lang.gosuc.simple;
+
+import gw.lang.Gosu;
+import gw.lang.gosuc.cli.CommandLineOptions;
+import gw.lang.parser.IExpression;
+import gw.lang.parser.expressions.IVarStatement;
+import gw.lang.reflect.IAttributedFeatureInfo;
+import gw.lang.reflect.IConstructorInfo;
+import gw.lang.reflect.IEnumData;
+import gw.lang.reflect.IFeatureInfo;
+import gw.lang.reflect.IMethodInfo;
+import gw.lang.reflect.IParameterInfo;
+import gw.lang.reflect.IPropertyInfo;
+import gw.lang.reflect.IRelativeTypeInfo;
+import gw.lang.reflect.IType;
+import gw.lang.reflect.TypeSystem;
+import gw.lang.reflect.gs.BytecodeOptions;
+import gw.lang.reflect.gs.IGenericTypeVariable;
+import gw.lang.reflect.gs.IGosuClass;
+import gw.lang.reflect.gs.IGosuEnhancement;
+import gw.lang.reflect.java.asm.AsmUtil;
+import gw.util.fingerprint.FP64;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The index gosuc keeps in the destination directory to compile incrementally (see
+ * {@link CommandLineOptions#isIncremental()}).  For each Gosu source it records a fingerprint of the file, the
+ * class files compiled from it, the API of its type (the signatures of its non-private members, its supertypes,
+ * enum constants, and compile-time constant values), and what its class files reference: the Gosu types,
+ * including enhancements, and the member names found in their constant pools.
+ * <p/>
+ * A source is recompiled if it is new, its file changed, or one of its class files is missing.  Once recompiled,
+ * its API is compared with the recorded one and the sources referencing a changed member, or subtyping a type
+ * whose API changed at all, are recompiled in turn until no API changes.  Members are matched by name, so
+ * changing one overload of a method recompiles the callers of the others too.  A change to the Gosu version,
+ * the classpath, or the compiler options, or to any Java source, discards the index and compiles everything.
+ */
+class DependencyIndex
+{
+  static final String FILE_NAME = ".gosuc-dependencies";
+  private static final int FORMAT_VERSION = 1;
+
+  // Keys of the API signatures not named after a member
+  private static final String TYPE_KEY = "<type>";
+  private static final String CONSTANT_KEY = "<constant>";
+  private static final Set<String> ALL_MEMBERS = Collections.singleton( TYPE_KEY );
+
+  private final File _file;
+  private final long _lEnvironment;
+  private final boolean _bLoaded;
+  private final Map<String, SourceEntry> _entries;
+  private final Map<String, FileStamp> _javaSources;
+  private final Map<String, Set<String>> _changedApis = new HashMap<>();
+  private boolean _bApiChanged;
+
+  /**
+   * @return the index in the output directory, or an empty one if there is none, it can't be read, or it was
+   * written by a compiler configured differently
+   */
+  static DependencyIndex load( File outputDir, CommandLineOptions options )
+  {
+    File file = new File( outputDir, FILE_NAME );
+    long lEnvironment = makeEnvironmentFingerprint( options );
+    if( file.isFile() )
+    {
+      try( DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) ) )
+      {
+        if( in.readInt() == FORMAT_VERSION && in.readLong() == lEnvironment )
+        {
+          Map<String, SourceEntry> entries = new LinkedHashMap<>();
+          for( int i = in.readInt(); i > 0; i-- )
+          {
+            SourceEntry entry = SourceEntry.read( in );
+            entries.put( entry._strPath, entry );
+          }
+          Map<String, FileStamp> javaSources = null;
+          int iJavaSources = in.readInt();
+          if( iJavaSources >= 0 )
+          {
+            javaSources = new HashMap<>();
+            for( int i = 0; i < iJavaSources; i++ )
+            {
+              javaSources.put( in.readUTF(), FileStamp.read( in ) );
+            }
+          }
+          return new DependencyIndex( file, lEnvironment, true, entries, javaSources );
+        }
+      }
+      catch( IOException e )
+      {
+        // A corrupt index is just a full build
+      }
+    }
+    return new DependencyIndex( file, lEnvironment, false, new LinkedHashMap<>(), null );
+  }
+
+  private DependencyIndex( File file, long lEnvironment, boolean bLoaded, Map<String, SourceEntry> entries, Map<String, FileStamp> javaSources )
+  {
+    _file = file;
+    _lEnvironment = lEnvironment;
+    _bLoaded = bLoaded;
+    _entries = entries;
+    _javaSources = javaSources;
+  }
+
+  private static long makeEnvironmentFingerprint( CommandLineOptions options )
+  {
+    FP64 fp = new FP64( "gosu=" + Gosu.getVersion() )
+      .extend( ";checkedArithmetic=" + options.isCheckedArithmetic() )
+      .extend( ";indy=" + BytecodeOptions.isDynamicCallSites() )
+      .extend( ";sourcepath=" + options.getSourcepath() )
+      .extend( ";classpath=" );
+    for( String strEntry : options.getClasspath().split( File.pathSeparator ) )
+    {
+      // Jars are stamped, class directories are assumed to change only along with the sourcepath
+      File entry = new File( strEntry );
+      fp.extend( strEntry ).extend( entry.isFile() ? entry.lastModified() : 0 ).extend( entry.isFile() ? entry.length() : 0 );
+    }
+    return fp.getRawFingerprint();
+  }
+
+  /**
+   * @return true if the Java sources aren't those compiled last time or any of them changed, which requires
+   * compiling everything
+   */
+  boolean isJavaChanged( List<String> javaFiles )
+  {
+    if( !_bLoaded || _javaSources == null || _javaSources.size() != javaFiles.size() )
+    {
+      return true;
+    }
+    for( String fileName : javaFiles )
+    {
+      FileStamp stamp = _javaSources.get( new File( fileName ).getAbsolutePath() );
+      if( stamp == null || !stamp.matches( new File( fileName ) ) )
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Forgets the sources no longer compiled, deleting their class files, and finds the sources to compile first.
+   *
+   * @param bAll true if every source must be compiled
+   * @return the sources that are new, changed, missing a class file, or depend on a deleted source
+   */
+  synchronized List<String> findStaleSources( List<String> gosuFiles, boolean bAll )
+  {
+    Map<String, String> fileNameByPath = new LinkedHashMap<>();
+    for( String fileName : gosuFiles )
+    {
+      fileNameByPath.put( new File( fileName ).getAbsolutePath(), fileName );
+    }
+
+    for( SourceEntry entry : new ArrayList<>( _entries.values() ) )
+    {
+      if( !fileNameByPath.containsKey( entry._strPath ) )
+      {
+        _entries.remove( entry._strPath );
+        deleteOutputs( entry._outputs, Collections.emptyList() );
+        addChangedApi( entry._strType, ALL_MEMBERS );
+      }
+    }
+    if( bAll || !_bLoaded )
+    {
+      return new ArrayList<>( fileNameByPath.keySet() );
+    }
+
+    Set<String> stale = new LinkedHashSet<>();
+    Set<File> newSourceDirs = new HashSet<>();
+    for( String strPath : fileNameByPath.keySet() )
+    {
+      SourceEntry entry = _entries.get( strPath );
+      if( entry == null )
+      {
+        // A new type may shadow a type its neighbors resolved by relative name
+        stale.add( strPath );
+        newSourceDirs.add( new File( strPath ).getParentFile() );
+      }
+      else if( !entry._stamp.matches( new File( strPath ) ) || entry._outputs.stream().anyMatch( output -> !new File( output ).isFile() ) )
+      {
+        stale.add( strPath );
+      }
+    }
+    for( SourceEntry entry : _entries.values() )
+    {
+      if( newSourceDirs.contains( new File( entry._strPath ).getParentFile() ) )
+      {
+        stale.add( entry._strPath );
+      }
+    }
+    stale.addAll( findDependents( stale ) );
+    return new ArrayList<>( stale );
+  }
+
+  /**
+   * Records what the source compiled to and compares its type's API with the one recorded before.  A source that
+   * didn't compile is forgotten so that it is compiled again next time.
+   */
+  synchronized void record( File sourceFile, IType type, List<File> outputs, List<byte[]> classes )
+  {
+    String strPath = sourceFile.getAbsolutePath();
+    SourceEntry oldEntry = _entries.remove( strPath );
+    if( !(type instanceof IGosuClass) || !type.isValid() || outputs.isEmpty() )
+    {
+      if( oldEntry != null )
+      {
+        addChangedApi( oldEntry._strType, ALL_MEMBERS );
+      }
+      return;
+    }
+
+    IGosuClass gsClass = (IGosuClass)type;
+    SourceEntry entry;
+    try
+    {
+      entry = new SourceEntry( strPath, FileStamp.make( sourceFile ), gsClass.getName() );
+    }
+    catch( IOException e )
+    {
+      return;
+    }
+    entry._bEnhancement = gsClass instanceof IGosuEnhancement;
+    addApi( gsClass, entry._api );
+    addConstants( gsClass, entry._api );
+    addSupertypes( gsClass, entry._supertypes );
+    for( byte[] bytes : classes )
+    {
+      for( String strClass : AsmUtil.getReferencedClassNames( bytes ) )
+      {
+        int iDollar = strClass.indexOf( '$' );
+        entry._referencedTypes.add( iDollar < 0 ? strClass : strClass.substring( 0, iDollar ) );
+      }
+      for( String strMember : AsmUtil.getReferencedMemberNames( bytes ) )
+      {
+        addUsedName( strMember, entry._usedNames );
+      }
+    }
+    entry._referencedTypes.remove( entry._strType );
+    for( File output : outputs )
+    {
+      entry._outputs.add( output.getAbsolutePath() );
+    }
+    File copiedSource = new File( outputs.get( 0 ).getParentFile(), sourceFile.getName() );
+    if( copiedSource.isFile() )
+    {
+      entry._outputs.add( copiedSource.getAbsolutePath() );
+    }
+    _entries.put( strPath, entry );
+
+    if( oldEntry == null )
+    {
+      addChangedApi( entry._strType, ALL_MEMBERS );
+    }
+    else
+    {
+      // Inner classes removed since
+      deleteOutputs( oldEntry._outputs, entry._outputs );
+      if( !oldEntry._strType.equals( entry._strType ) )
+      {
+        addChangedApi( oldEntry._strType, ALL_MEMBERS );
+        addChangedApi( entry._strType, ALL_MEMBERS );
+      }
+      else
+      {
+        Set<String> changedKeys = new HashSet<>();
+        addChangedKeys( oldEntry._api, entry._api, changedKeys );
+        addChangedKeys( entry._api, oldEntry._api, changedKeys );
+        if( !changedKeys.isEmpty() )
+        {
+          addChangedApi( entry._strType, changedKeys );
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the recorded sources not in <code>compiled</code> that are affected by the API changes recorded since
+   * the last call: sources referencing a changed member of a type, or an enhancement's changed member by name,
+   * and subtypes of a changed type
+   */
+  synchronized List<String> findDependents( Collection<String> compiled )
+  {
+    if( _changedApis.isEmpty() )
+    {
+      return Collections.emptyList();
+    }
+    Map<String, Set<String>> changedApis = new HashMap<>( _changedApis );
+    _changedApis.clear();
+    _bApiChanged = true;
+
+    boolean bConstantChanged = changedApis.values().stream().anyMatch( keys -> keys.contains( CONSTANT_KEY ) );
+    Set<String> enhancements = new HashSet<>();
+    for( String strType : changedApis.keySet() )
+    {
+      if( _entries.values().stream().anyMatch( e -> e._bEnhancement && e._strType.equals( strType ) ) )
+      {
+        enhancements.add( strType );
+      }
+    }
+
+    Set<String> compiledPaths = new HashSet<>( compiled );
+    List<String> dependents = new ArrayList<>();
+    for( SourceEntry entry : _entries.values() )
+    {
+      if( !compiledPaths.contains( entry._strPath ) &&
+          (bConstantChanged || isAffected( entry, changedApis, enhancements )) )
+      {
+        dependents.add( entry._strPath );
+      }
+    }
+    return dependents;
+  }
+
+  private static boolean isAffected( SourceEntry entry, Map<String, Set<String>> changedApis, Set<String> enhancements )
+  {
+    for( Map.Entry<String, Set<String>> change : changedApis.entrySet() )
+    {
+      String strType = change.getKey();
+      if( strType.equals( entry._strType ) )
+      {
+        continue;
+      }
+      if( entry._supertypes.contains( strType ) )
+      {
+        return true;
+      }
+      // Enhancement methods are resolved by name, an added one may now hide or be hidden by another
+      if( entry._referencedTypes.contains( strType ) || enhancements.contains( strType ) )
+      {
+        Set<String> changedKeys = change.getValue();
+        if( changedKeys.contains( TYPE_KEY ) )
+        {
+          return true;
+        }
+        for( String strKey : changedKeys )
+        {
+          if( entry._usedNames.contains( strKey ) )
+          {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return true if the API of a Gosu type changed, in which case Java sources referencing it must be recompiled
+   */
+  boolean isApiChanged()
+  {
+    return _bApiChanged || !_changedApis.isEmpty();
+  }
+
+  /**
+   * Writes the index atomically.
+   *
+   * @param javaFiles the Java sources last compiled successfully, or null if they must be compiled next time
+   */
+  synchronized void save( List<String> javaFiles ) throws IOException
+  {
+    File dir = _file.getParentFile();
+    //noinspection ResultOfMethodCallIgnored
+    dir.mkdirs();
+    File tmp = File.createTempFile( FILE_NAME, ".tmp", dir );
+    try( DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( tmp ) ) ) )
+    {
+      out.writeInt( FORMAT_VERSION );
+      out.writeLong( _lEnvironment );
+      out.writeInt( _entries.size() );
+      for( SourceEntry entry : _entries.values() )
+      {
+        entry.write( out );
+      }
+      if( javaFiles == null )
+      {
+        out.writeInt( -1 );
+      }
+      else
+      {
+        out.writeInt( javaFiles.size() );
+        for( String fileName : javaFiles )
+        {
+          File file = new File( fileName );
+          out.writeUTF( file.getAbsolutePath() );
+          FileStamp.make( file ).write( out );
+        }
+      }
+    }
+    Files.move( tmp.toPath(), _file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+  }
+
+  private void addChangedApi( String strType, Set<String> changedKeys )
+  {
+    _changedApis.computeIfAbsent( strType, k -> new HashSet<>() ).addAll( changedKeys );
+  }
+
+  private static void addChangedKeys( Set<String> api, Set<String> otherApi, Set<String> changedKeys )
+  {
+    for( String strSignature : api )
+    {
+      if( !otherApi.contains( strSignature ) )
+      {
+        changedKeys.add( strSignature.substring( 0, strSignature.indexOf( ' ' ) ) );
+      }
+    }
+  }
+
+  private static void deleteOutputs( List<String> outputs, List<String> keep )
+  {
+    for( String output : outputs )
+    {
+      if( !keep.contains( output ) )
+      {
+        //noinspection ResultOfMethodCallIgnored
+        new File( output ).delete();
+      }
+    }
+  }
+
+  /**
+   * Adds the signatures of the type's API, keyed by member name so they can be matched against the names a
+   * dependent's class files reference.  Inherited members are included so that a change to a supertype propagates
+   * to the callers of its subtypes.
+   */
+  private static void addApi( IGosuClass gsClass, Set<String> api )
+  {
+    StringBuilder header = new StringBuilder( TYPE_KEY ).append( ' ' ).append( gsClass.getName() ).append( ' ' ).append( gsClass.getModifiers() );
+    for( IGenericTypeVariable typeVar : gsClass.getGenericTypeVariables() )
+    {
+      header.append( " <" ).append( typeVar.getNameWithBounds( false ) ).append( '>' );
+    }
+    if( gsClass.getSupertype() != null )
+    {
+      header.append( " extends " ).append( gsClass.getSupertype().getName() );
+    }
+    for( IType iface : gsClass.getInterfaces() )
+    {
+      header.append( " implements " ).append( iface.getName() );
+    }
+    if( gsClass instanceof IGosuEnhancement )
+    {
+      header.append( " enhances " ).append( ((IGosuEnhancement)gsClass).getEnhancedType().getName() );
+    }
+    if( gsClass.isEnum() && gsClass instanceof IEnumData )
+    {
+      // Ordinals may be compiled into switch statements
+      header.append( " enum " ).append( ((IEnumData)gsClass).getEnumConstants() );
+    }
+    api.add( header.toString() );
+
+    String strOwner = gsClass.getRelativeName();
+    IRelativeTypeInfo typeInfo = gsClass.getTypeInfo();
+    for( IPropertyInfo pi : typeInfo.getProperties( gsClass ) )
+    {
+      if( isApi( gsClass, pi ) )
+      {
+        api.add( pi.getName().toLowerCase() + ' ' + strOwner + ' ' + pi.getName() + " : " + pi.getFeatureType().getName() + ' ' +
+                 IAttributedFeatureInfo.MODIFIER.get( pi ) + ' ' + pi.isReadable( gsClass ) + ' ' + pi.isWritable( gsClass ) );
+      }
+    }
+    for( IMethodInfo mi : typeInfo.getMethods( gsClass ) )
+    {
+      if( isApi( gsClass, mi ) )
+      {
+        api.add( mi.getDisplayName().toLowerCase() + ' ' + strOwner + ' ' + mi.getName() + " : " + mi.getReturnType().getName() + ' ' +
+                 IAttributedFeatureInfo.MODIFIER.get( mi ) + ' ' + mi.getOwnersType().getName() );
+      }
+    }
+    for( IConstructorInfo ci : typeInfo.getConstructors( gsClass ) )
+    {
+      if( !ci.isPrivate() )
+      {
+        StringBuilder sig = new StringBuilder( "<init> " ).append( strOwner ).append( " (" );
+        for( IParameterInfo param : ci.getParameters() )
+        {
+          sig.append( param.getFeatureType().getName() ).append( ',' );
+        }
+        api.add( sig.append( ") " ).append( IAttributedFeatureInfo.MODIFIER.get( ci ) ).toString() );
+      }
+    }
+
+    for( IGosuClass innerClass : gsClass.getInnerClasses() )
+    {
+      addApi( innerClass, api );
+    }
+  }
+
+  private static boolean isApi( IGosuClass gsClass, IAttributedFeatureInfo feature )
+  {
+    if( feature.isPrivate() )
+    {
+      return false;
+    }
+    // Members contributed by enhancements of the type are tracked with the enhancement
+    IType owner = ((IFeatureInfo)feature).getOwnersType();
+    return !(owner instanceof IGosuEnhancement) || TypeSystem.getPureGenericType( owner ) == gsClass;
+  }
+
+  /**
+   * Adds the values of static final fields initialized with compile-time constants.  They are inlined where used,
+   * so a dependent's class files may not reference them at all and any change recompiles everything.
+   */
+  private static void addConstants( IGosuClass gsClass, Set<String> api )
+  {
+    List<IVarStatement> vars = new ArrayList<>();
+    gsClass.getClassStatement().getContainedParsedElementsByType( IVarStatement.class, vars );
+    for( IVarStatement var : vars )
+    {
+      IExpression value = var.getAsExpression();
+      if( var.isStatic() && var.isFinal() && value != null && value.isCompileTimeConstant() )
+      {
+        String strValue;
+        try
+        {
+          strValue = String.valueOf( value.evaluate() );
+        }
+        catch( RuntimeException e )
+        {
+          strValue = value.toString();
+        }
+        api.add( CONSTANT_KEY + ' ' + var.getIdentifierName() + " = " + strValue );
+      }
+    }
+  }
+
+  private static void addSupertypes( IGosuClass gsClass, Set<String> supertypes )
+  {
+    if( gsClass.getSupertype() != null )
+    {
+      supertypes.add( getOuterName( gsClass.getSupertype() ) );
+    }
+    for( IType iface : gsClass.getInterfaces() )
+    {
+      supertypes.add( getOuterName( iface ) );
+    }
+    if( gsClass instanceof IGosuEnhancement && ((IGosuEnhancement)gsClass).getEnhancedType() != null )
+    {
+      supertypes.add( getOuterName( ((IGosuEnhancement)gsClass).getEnhancedType() ) );
+    }
+    for( IGosuClass innerClass : gsClass.getInnerClasses() )
+    {
+      addSupertypes( innerClass, supertypes );
+    }
+  }
+
+  private static String getOuterName( IType type )
+  {
+    type = TypeSystem.getPureGenericType( type );
+    while( type.getEnclosingType() != null )
+    {
+      type = type.getEnclosingType();
+    }
+    return type.getName();
+  }
+
+  /**
+   * Adds the name as it would key an API signature, a property also being referenced by its accessors' names.
+   */
+  private static void addUsedName( String strName, Set<String> usedNames )
+  {
+    String strLower = strName.toLowerCase();
+    usedNames.add( strLower );
+    for( String strPrefix : new String[]{"get", "set", "is"} )
+    {
+      if( strLower.length() > strPrefix.length() && strLower.startsWith( strPrefix ) )
+      {
+        usedNames.add( strLower.substring( strPrefix.length() ) );
+      }
+    }
+  }
+
+  private static class SourceEntry
+  {
+    private final String _strPath;
+    private final FileStamp _stamp;
+    private final String _strType;
+    private boolean _bEnhancement;
+    private final Set<String> _api = new TreeSet<>();
+    private final Set<String> _supertypes = new HashSet<>();
+    private final Set<String> _referencedTypes = new HashSet<>();
+    private final Set<String> _usedNames = new HashSet<>();
+    private final List<String> _outputs = new ArrayList<>();
+
+    SourceEntry( String strPath, FileStamp stamp, String strType )
+    {
+      _strPath = strPath;
+      _stamp = stamp;
+      _strType = strType;
+    }
+
+    static SourceEntry read( DataInputStream in ) throws IOException
+    {
+      SourceEntry entry = new SourceEntry( in.readUTF(), FileStamp.read( in ), in.readUTF() );
+      entry._bEnhancement = in.readBoolean();
+      readStrings( in, entry._api );
+      readStrings( in, entry._supertypes );
+      readStrings( in, entry._referencedTypes );
+      readStrings( in, entry._usedNames );
+      readStrings( in, entry._outputs );
+      return entry;
+    }
+
+    void write( DataOutputStream out ) throws IOException
+    {
+      out.writeUTF( _strPath );
+      _stamp.write( out );
+      out.writeUTF( _strType );
+      out.writeBoolean( _bEnhancement );
+      writeStrings( out, _api );
+      writeStrings( out, _supertypes );
+      writeStrings( out, _referencedTypes );
+      writeStrings( out, _usedNames );
+      writeStrings( out, _outputs );
+    }
+
+    private static void readStrings( DataInputStream in, Collection<String> strings ) throws IOException
+    {
+      for( int i = in.readInt(); i > 0; i-- )
+      {
+        strings.add( in.readUTF() );
+      }
+    }
+
+    private static void writeStrings( DataOutputStream out, Collection<String> strings ) throws IOException
+    {
+      out.writeInt( strings.size() );
+      for( String str : strings )
+      {
+        out.writeUTF( str );
+      }
+    }
+  }
+
+  /**
+   * Identifies the content of a source file.  The content is fingerprinted only if the file's timestamp or size
+   * changed, so touching a file without changing it doesn't recompile it.
+   */
+  private static class FileStamp
+  {
+    private final long _lLastModified;
+    private final long _lLength;
+    private final long _lFingerprint;
+
+    FileStamp( long lLastModified, long lLength, long lFingerprint )
+    {
+      _lLastModified = lLastModified;
+      _lLength = lLength;
+      _lFingerprint = lFingerprint;
+    }
+
+    static FileStamp make( File file ) throws IOException
+    {
+      return new FileStamp( file.lastModified(), file.length(), fingerprint( file ) );
+    }
+
+    static FileStamp read( DataInputStream in ) throws IOException
+    {
+      return new FileStamp( in.readLong(), in.readLong(), in.readLong() );
+    }
+
+    void write( DataOutputStream out ) throws IOException
+    {
+      out.writeLong( _lLastModified );
+      out.writeLong( _lLength );
+      out.writeLong( _lFingerprint );
+    }
+
+    boolean matches( File file )
+    {
+      if( !file.isFile() || file.length() != _lLength )
+      {
+        return false;
+      }
+      if( file.lastModified() == _lLastModified )
+      {
+        return true;
+      }
+      try
+      {
+        return fingerprint( file ) == _lFingerprint;
+      }
+      catch( IOException e )
+      {
+        return false;
+      }
+    }
+
+    private static long fingerprint( File file ) throws IOException
+    {
+      try( InputStream in = new BufferedInputStream( new FileInputStream( file ) ) )
+      {
+        return new FP64( in ).getRawFingerprint();
+      }
+    }
+  }
+}
@@ -26,6 +26,7 @@ import gw.lang.reflect.IEntityAccess;
 import gw.lang.reflect.IType;
 import gw.lang.reflect.TypeSystem;
 import gw.lang.reflect.gs.IGosuClass;
+import gw.lang.reflect.gs.IGosuEnhancement;
 import gw.lang.reflect.gs.ISourceFileHandle;
 import gw.lang.reflect.java.IJavaType;
 import gw.lang.reflect.module.IExecutionEnvironment;
@@ -36,6 +37,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -43,12 +45,26 @@ import java.lang.reflect.Constructor;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.tools.DiagnosticCollector;
 import javax.tools.JavaFileObject;
@@ -81,9 +97,14 @@ public class GosuCompiler implements IGosuCompiler
       }
     }
 
+    if( options.isIncremental() )
+    {
+      return compileIncrementally( options, driver, gosuFiles, javaFiles );
+    }
+
     if( !gosuFiles.isEmpty() )
     {
-      if( compileGosuSources( options, driver, gosuFiles ) )
+      if( compileGosuSources( options, driver, gosuFiles, null ) )
       {
         return true;
       }
@@ -153,8 +174,61 @@ public class GosuCompiler implements IGosuCompiler
     return Arrays.stream( SOURCE_EXTS ).anyMatch( e -> absolutePathName.toLowerCase().endsWith( e ) );
   }
 
-  private boolean compileGosuSources( CommandLineOptions options, ICompilerDriver driver, List<String> gosuFiles )
+  /**
+   * Compiles the sources that changed since the last compilation into the destination directory, along with the
+   * sources affected by changes to their API, as tracked by the {@link DependencyIndex} kept there.
+   */
+  private boolean compileIncrementally( CommandLineOptions options, ICompilerDriver driver, List<String> gosuFiles, List<String> javaFiles )
+  {
+    DependencyIndex index = DependencyIndex.load( new File( options.getDestDir() ), options );
+    boolean bJavaChanged = index.isJavaChanged( javaFiles );
+    Set<String> compiled = new HashSet<>();
+    for( List<String> sources = index.findStaleSources( gosuFiles, bJavaChanged ); !sources.isEmpty(); sources = index.findDependents( compiled ) )
+    {
+      if( options.isVerbose() )
+      {
+        System.out.println( "gosuc: compiling " + sources.size() + " of " + gosuFiles.size() + " Gosu source files" );
+      }
+      compiled.addAll( sources );
+      if( compileGosuSources( options, driver, sources, index ) )
+      {
+        // The index isn't saved, so the sources left out are found stale again next time
+        return true;
+      }
+    }
+
+    List<String> compiledJavaFiles = javaFiles;
+    if( !javaFiles.isEmpty() && (bJavaChanged || index.isApiChanged()) )
+    {
+      int iErrors = driver.getErrors().size();
+      if( compileJavaSources( options, driver, javaFiles ) )
+      {
+        return true;
+      }
+      if( driver.getErrors().size() > iErrors )
+      {
+        compiledJavaFiles = null;
+      }
+    }
+
+    try
+    {
+      index.save( compiledJavaFiles );
+    }
+    catch( IOException e )
+    {
+      driver.sendCompileIssue( new File( options.getDestDir(), DependencyIndex.FILE_NAME ), WARNING, 0, 0, 0, combine( "Cannot write the dependency index, the next compilation will not be incremental.", getStackTrace( e ) ) );
+    }
+    return false;
+  }
+
+  private boolean compileGosuSources( CommandLineOptions options, ICompilerDriver driver, List<String> gosuFiles, DependencyIndex index )
   {
+    if( options.getThreads() > 1 )
+    {
+      return new ConcurrentGosuCompilation( options, driver, gosuFiles, index ).compile();
+    }
+
     boolean thresholdExceeded = false;
     for( String fileName : gosuFiles )
     {
@@ -165,17 +239,18 @@ public class GosuCompiler implements IGosuCompiler
         System.out.println( "gosuc: about to compile file: " + file );
       }
 
-      compile( file, driver );
-
-      if( driver.getErrors().size() > options.getMaxErrs() )
+      if( index == null )
       {
-        System.out.printf( "\nError threshold of %d exceeded; aborting compilation.", options.getMaxErrs() );
-        thresholdExceeded = true;
-        break;
+        compile( file, driver );
+      }
+      else
+      {
+        _compilingSourceFile = file;
+        compile( file, getType( file ), driver, ( src, out, bytes ) -> writeClassFile( src, out, bytes, driver ), index );
       }
-      if( !options.isNoWarn() && driver.getWarnings().size() > options.getMaxWarns() )
+
+      if( isThresholdExceeded( options, driver ) )
       {
-        System.out.printf( "\nWarning threshold of %d exceeded; aborting compilation.", options.getMaxWarns() );
         thresholdExceeded = true;
         break;
       }
@@ -183,6 +258,21 @@ public class GosuCompiler implements IGosuCompiler
     return thresholdExceeded;
   }
 
+  private static boolean isThresholdExceeded( CommandLineOptions options, ICompilerDriver driver )
+  {
+    if( driver.getErrors().size() > options.getMaxErrs() )
+    {
+      System.out.printf( "\nError threshold of %d exceeded; aborting compilation.", options.getMaxErrs() );
+      return true;
+    }
+    if( !options.isNoWarn() && driver.getWarnings().size() > options.getMaxWarns() )
+    {
+      System.out.printf( "\nWarning threshold of %d exceeded; aborting compilation.", options.getMaxWarns() );
+      return true;
+    }
+    return false;
+  }
+
   private boolean compileJavaSources( CommandLineOptions options, ICompilerDriver driver, List<String> javaFiles )
   {
     IJavaParser javaParser = GosuParserFactory.getInterface( IJavaParser.class );
@@ -225,11 +315,14 @@ public class GosuCompiler implements IGosuCompiler
   public boolean compile( File sourceFile, ICompilerDriver driver )
   {
     _compilingSourceFile = sourceFile;
+    return compile( sourceFile, getType( sourceFile ), driver, ( src, out, bytes ) -> writeClassFile( src, out, bytes, driver ) );
+  }
 
-    IType type = getType( _compilingSourceFile );
+  private boolean compile( File sourceFile, IType type, ICompilerDriver driver, ClassFileSink sink )
+  {
     if( type == null )
     {
-      driver.sendCompileIssue( _compilingSourceFile, ERROR, 0, 0, 0, "Cannot find type in the Gosu Type System." );
+      driver.sendCompileIssue( sourceFile, ERROR, 0, 0, 0, "Cannot find type in the Gosu Type System." );
       return false;
     }
 
@@ -239,12 +332,12 @@ public class GosuCompiler implements IGosuCompiler
       {
         if( type.isValid() )
         {
-          createGosuOutputFiles( (IGosuClass)type, driver );
+          createGosuOutputFiles( sourceFile, (IGosuClass)type, driver, sink );
         }
       }
       catch( CompilerDriverException ex )
       {
-        driver.sendCompileIssue( _compilingSourceFile, ERROR, 0, 0, 0, ex.getMessage() );
+        driver.sendCompileIssue( sourceFile, ERROR, 0, 0, 0, ex.getMessage() );
         return false;
       }
       // output warnings and errors - whether the type was valid or not
@@ -256,13 +349,34 @@ public class GosuCompiler implements IGosuCompiler
       {
         int category = issue instanceof ParseWarning ? WARNING : ERROR;
         String message = mode == ExecutionMode.IDE ? issue.getUIMessage() : issue.getConsoleMessage();
-        driver.sendCompileIssue( _compilingSourceFile, category, issue.getTokenStart(), issue.getLine(), issue.getColumn(), message );
+        driver.sendCompileIssue( sourceFile, category, issue.getTokenStart(), issue.getLine(), issue.getColumn(), message );
       }
     }
 
     return false;
   }
 
+  /**
+   * Compiles the source and records it in the dependency index, if there is one.
+   */
+  private void compile( File sourceFile, IType type, ICompilerDriver driver, ClassFileSink sink, DependencyIndex index )
+  {
+    if( index == null )
+    {
+      compile( sourceFile, type, driver, sink );
+      return;
+    }
+
+    List<File> outputs = new ArrayList<>();
+    List<byte[]> classes = new ArrayList<>();
+    compile( sourceFile, type, driver, ( src, out, bytes ) -> {
+      outputs.add( out );
+      classes.add( bytes );
+      sink.write( src, out, bytes );
+    } );
+    index.record( sourceFile, type, outputs, classes );
+  }
+
   private IType getType( File file )
   {
     IFile ifile = FileFactory.instance().getIFile( file );
@@ -281,7 +395,7 @@ public class GosuCompiler implements IGosuCompiler
     return type instanceof IGosuClass && !type.getTypeInfo().hasAnnotation( doNotVerifyAnnotation );
   }
 
-  private void createGosuOutputFiles( IGosuClass gsClass, ICompilerDriver driver )
+  private void createGosuOutputFiles( File sourceFile, IGosuClass gsClass, ICompilerDriver driver, ClassFileSink sink )
   {
     IDirectory moduleOutputDirectory = TypeSystem.getGlobalModule().getOutputPath();
     if( moduleOutputDirectory == null )
@@ -310,12 +424,12 @@ public class GosuCompiler implements IGosuCompiler
           }
         }
       }
-      populateGosuClassFile( child, gsClass, driver );
-      maybeCopySourceFile( child.getParentFile(), gsClass, _compilingSourceFile, driver );
+      populateGosuClassFile( sourceFile, child, gsClass, sink );
+      maybeCopySourceFile( child.getParentFile(), gsClass, sourceFile, driver );
     }
     catch( Throwable e )
     {
-      driver.sendCompileIssue( _compilingSourceFile, ERROR, 0, 0, 0, combine( "Cannot create .class files.", getStackTrace( e ) ) );
+      driver.sendCompileIssue( sourceFile, ERROR, 0, 0, 0, combine( "Cannot create .class files.", getStackTrace( e ) ) );
     }
   }
 
@@ -409,7 +523,7 @@ public class GosuCompiler implements IGosuCompiler
         {
           File destFile = new File( parent, file.getName() );
           copyFile( file, destFile );
-          driver.registerOutput( _compilingSourceFile, destFile );
+          driver.registerOutput( sourceFile, destFile );
         }
         catch( IOException e )
         {
@@ -441,14 +555,10 @@ public class GosuCompiler implements IGosuCompiler
     }
   }
 
-  private void populateGosuClassFile( File outputFile, IGosuClass gosuClass, ICompilerDriver driver ) throws IOException
+  private void populateGosuClassFile( File sourceFile, File outputFile, IGosuClass gosuClass, ClassFileSink sink ) throws IOException
   {
     final byte[] bytes = TypeSystem.getGosuClassLoader().getBytes( gosuClass );
-    try( OutputStream out = new FileOutputStream( outputFile ) )
-    {
-      out.write( bytes );
-      driver.registerOutput( _compilingSourceFile, outputFile );
-    }
+    sink.write( sourceFile, outputFile, bytes );
     for( IGosuClass innerClass : gosuClass.getInnerClasses() )
     {
       final String innerClassName = String.format( "%s$%s.class", outputFile.getName().substring( 0, outputFile.getName().lastIndexOf( '.' ) ), innerClass.getRelativeName() );
@@ -457,7 +567,16 @@ public class GosuCompiler implements IGosuCompiler
       {
         createNewFile( innerClassFile );
       }
-      populateGosuClassFile( innerClassFile, innerClass, driver );
+      populateGosuClassFile( sourceFile, innerClassFile, innerClass, sink );
+    }
+  }
+
+  private static void writeClassFile( File sourceFile, File outputFile, byte[] bytes, ICompilerDriver driver ) throws IOException
+  {
+    try( OutputStream out = new FileOutputStream( outputFile ) )
+    {
+      out.write( bytes );
+      driver.registerOutput( sourceFile, outputFile );
     }
   }
 
@@ -542,4 +661,310 @@ public class GosuCompiler implements IGosuCompiler
   {
     return CommonServices.getPlatformHelper().isPathIgnored( sourceFile );
   }
+
+  /**
+   * Receives the bytes of each class file produced for a source file.
+   */
+  private interface ClassFileSink
+  {
+    void write( File sourceFile, File outputFile, byte[] bytes ) throws IOException;
+  }
+
+  /**
+   * Compiles Gosu sources on a pool of worker threads.  Parsing a class, its header, declarations and definitions,
+   * runs under the global type system lock, so workers parse one class at a time; only the transformation to IR and
+   * bytecode generation run in parallel.  A source file is scheduled only after the sources declaring its supertypes
+   * (or the type it enhances) have been compiled, so a worker doesn't wait on the lock to parse a supertype another
+   * worker is about to parse anyway.  Class files are handed to a single writer thread through a bounded queue, which
+   * keeps file I/O off the workers while limiting how many compiled classes are held in memory.  If the writer stops,
+   * workers waiting on a full queue give up instead of blocking forever.
+   */
+  private class ConcurrentGosuCompilation
+  {
+    private final CommandLineOptions _options;
+    private final ICompilerDriver _driver;
+    private final List<String> _gosuFiles;
+    private final DependencyIndex _index;
+    private final BlockingQueue<ClassFileOutput> _outputQueue;
+    private final AtomicBoolean _bAborted = new AtomicBoolean();
+    private ExecutorService _executor;
+    private CountDownLatch _remaining;
+    private Thread _writer;
+    private volatile Throwable _writerFailure;
+
+    ConcurrentGosuCompilation( CommandLineOptions options, ICompilerDriver driver, List<String> gosuFiles, DependencyIndex index )
+    {
+      _options = options;
+      _driver = new SynchronizedCompilerDriver( driver );
+      _gosuFiles = gosuFiles;
+      _index = index;
+      _outputQueue = new ArrayBlockingQueue<>( options.getThreads() * 8 );
+    }
+
+    boolean compile()
+    {
+      List<SourceNode> nodes = makeDependencyGraph();
+
+      AtomicInteger threadCount = new AtomicInteger();
+      _executor = Executors.newFixedThreadPool( _options.getThreads(), r -> {
+        Thread thread = new Thread( r, "gosuc-worker-" + threadCount.incrementAndGet() );
+        thread.setDaemon( true );
+        return thread;
+      } );
+      _remaining = new CountDownLatch( nodes.size() );
+      _writer = new Thread( this::writeClassFiles, "gosuc-writer" );
+      _writer.setDaemon( true );
+      _writer.start();
+      try
+      {
+        nodes.stream().filter( node -> node._pending.get() == 0 ).forEach( this::submit );
+        _remaining.await();
+        if( put( ClassFileOutput.END ) )
+        {
+          _writer.join();
+        }
+      }
+      catch( InterruptedException e )
+      {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException( e );
+      }
+      finally
+      {
+        _executor.shutdownNow();
+      }
+      if( _writerFailure != null )
+      {
+        throw new RuntimeException( "Cannot write .class files.", _writerFailure );
+      }
+      return _bAborted.get();
+    }
+
+    /**
+     * Resolves the type of each source file and links it to the sources of its supertypes.  Types caught in a
+     * cycle (e.g., an outer class extended by its own inner class) are not ordered.
+     */
+    private List<SourceNode> makeDependencyGraph()
+    {
+      List<SourceNode> nodes = new ArrayList<>();
+      Map<String, SourceNode> nodeByType = new HashMap<>();
+      for( String fileName : _gosuFiles )
+      {
+        File file = new File( fileName );
+        SourceNode node = new SourceNode( file, getType( file ) );
+        nodes.add( node );
+        if( node._type != null )
+        {
+          nodeByType.put( node._type.getName(), node );
+        }
+      }
+
+      for( SourceNode node : nodes )
+      {
+        for( String strSupertype : getSupertypeNames( node._type ) )
+        {
+          SourceNode supertypeNode = nodeByType.get( strSupertype );
+          if( supertypeNode != null && supertypeNode != node && !supertypeNode._dependents.contains( node ) )
+          {
+            supertypeNode._dependents.add( node );
+            node._pending.incrementAndGet();
+          }
+        }
+      }
+
+      // Kahn's algorithm on a copy of the counts, whatever isn't reached is in a cycle
+      Map<SourceNode, Integer> counts = new HashMap<>();
+      Deque<SourceNode> ready = new ArrayDeque<>();
+      for( SourceNode node : nodes )
+      {
+        counts.put( node, node._pending.get() );
+        if( node._pending.get() == 0 )
+        {
+          ready.add( node );
+        }
+      }
+      while( !ready.isEmpty() )
+      {
+        for( SourceNode dependent : ready.poll()._dependents )
+        {
+          if( counts.merge( dependent, -1, Integer::sum ) == 0 )
+          {
+            ready.add( dependent );
+          }
+        }
+      }
+      counts.forEach( ( node, count ) -> {
+        if( count > 0 )
+        {
+          node._pending.set( 0 );
+        }
+      } );
+      return nodes;
+    }
+
+    private List<String> getSupertypeNames( IType type )
+    {
+      List<String> names = new ArrayList<>();
+      if( type == null )
+      {
+        return names;
+      }
+      if( type.getSupertype() != null )
+      {
+        names.add( TypeSystem.getPureGenericType( type.getSupertype() ).getName() );
+      }
+      for( IType iface : type.getInterfaces() )
+      {
+        names.add( TypeSystem.getPureGenericType( iface ).getName() );
+      }
+      if( type instanceof IGosuEnhancement && ((IGosuEnhancement)type).getEnhancedType() != null )
+      {
+        names.add( TypeSystem.getPureGenericType( ((IGosuEnhancement)type).getEnhancedType() ).getName() );
+      }
+      return names;
+    }
+
+    private void submit( SourceNode node )
+    {
+      _executor.execute( () -> {
+        try
+        {
+          if( !_bAborted.get() )
+          {
+            if( _options.isVerbose() )
+            {
+              System.out.println( "gosuc: about to compile file: " + node._file );
+            }
+            GosuCompiler.this.compile( node._file, node._type, _driver, this::enqueue, _index );
+            synchronized( this )
+            {
+              if( !_bAborted.get() && isThresholdExceeded( _options, _driver ) )
+              {
+                _bAborted.set( true );
+              }
+            }
+          }
+        }
+        catch( Throwable e )
+        {
+          _driver.sendCompileIssue( node._file, ERROR, 0, 0, 0, combine( "Cannot compile file.", getStackTrace( e ) ) );
+        }
+        finally
+        {
+          for( SourceNode dependent : node._dependents )
+          {
+            if( dependent._pending.decrementAndGet() == 0 )
+            {
+              submit( dependent );
+            }
+          }
+          _remaining.countDown();
+        }
+      } );
+    }
+
+    private void enqueue( File sourceFile, File outputFile, byte[] bytes ) throws IOException
+    {
+      boolean bQueued;
+      try
+      {
+        bQueued = put( new ClassFileOutput( sourceFile, outputFile, bytes ) );
+      }
+      catch( InterruptedException e )
+      {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+      if( !bQueued )
+      {
+        throw new IOException( "The class file writer stopped.", _writerFailure );
+      }
+    }
+
+    /**
+     * @return false if the writer stopped, in which case nothing takes from the queue anymore
+     */
+    private boolean put( ClassFileOutput output ) throws InterruptedException
+    {
+      while( !_outputQueue.offer( output, 1, TimeUnit.SECONDS ) )
+      {
+        if( !_writer.isAlive() )
+        {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void writeClassFiles()
+    {
+      try
+      {
+        for( ClassFileOutput output = _outputQueue.take(); output != ClassFileOutput.END; output = _outputQueue.take() )
+        {
+          if( _writerFailure != null )
+          {
+            // Keep draining so workers don't block on a full queue
+            continue;
+          }
+          try
+          {
+            writeClassFile( output._sourceFile, output._outputFile, output._bytes, _driver );
+          }
+          catch( Throwable e )
+          {
+            try
+            {
+              _driver.sendCompileIssue( output._sourceFile, ERROR, 0, 0, 0, combine( "Cannot create .class files.", getStackTrace( e ) ) );
+            }
+            catch( Throwable reportFailure )
+            {
+              // Can't even report it, stop compiling and rethrow once the workers are done
+              _writerFailure = reportFailure;
+              _bAborted.set( true );
+            }
+          }
+        }
+      }
+      catch( InterruptedException e )
+      {
+        Thread.currentThread().interrupt();
+      }
+      catch( Throwable e )
+      {
+        _writerFailure = e;
+        _bAborted.set( true );
+      }
+    }
+  }
+
+  private static class SourceNode
+  {
+    private final File _file;
+    private final IType _type;
+    private final List<SourceNode> _dependents = new ArrayList<>();
+    private final AtomicInteger _pending = new AtomicInteger();
+
+    SourceNode( File file, IType type )
+    {
+      _file = file;
+      _type = type;
+    }
+  }
+
+  private static class ClassFileOutput
+  {
+    private static final ClassFileOutput END = new ClassFileOutput( null, null, null );
+
+    private final File _sourceFile;
+    private final File _outputFile;
+    private final byte[] _bytes;
+
+    ClassFileOutput( File sourceFile, File outputFile, byte[] bytes )
+    {
+      _sourceFile = sourceFile;
+      _outputFile = outputFile;
+      _bytes = bytes;
+    }
+  }
 }
@@ -0,0 +1,73 @@
+package gw.lang.gosuc.simple;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import javax.tools.Diagnostic;
+
+/**
+ * Serializes access to a driver shared by the threads of a concurrent compilation.
+ */
+class SynchronizedCompilerDriver implements ICompilerDriver
+{
+  private final ICompilerDriver _driver;
+
+  SynchronizedCompilerDriver( ICompilerDriver driver )
+  {
+    _driver = driver;
+  }
+
+  @Override
+  public synchronized void sendCompileIssue( File file, int category, long offset, long line, long column, String message )
+  {
+    _driver.sendCompileIssue( file, category, offset, line, column, message );
+  }
+
+  @Override
+  public synchronized void sendCompileIssue( Object file, int category, long offset, long line, long column, String message )
+  {
+    _driver.sendCompileIssue( file, category, offset, line, column, message );
+  }
+
+  @Override
+  public synchronized void sendCompileIssue( Diagnostic d )
+  {
+    _driver.sendCompileIssue( d );
+  }
+
+  @Override
+  public synchronized void registerOutput( File sourceFile, File outputFile )
+  {
+    _driver.registerOutput( sourceFile, outputFile );
+  }
+
+  @Override
+  public synchronized void registerOutput( Object sourceFile, File outputFile )
+  {
+    _driver.registerOutput( sourceFile, outputFile );
+  }
+
+  @Override
+  public synchronized boolean isIncludeWarnings()
+  {
+    return _driver.isIncludeWarnings();
+  }
+
+  @Override
+  public synchronized boolean hasErrors()
+  {
+    return _driver.hasErrors();
+  }
+
+  @Override
+  public synchronized List<String> getErrors()
+  {
+    return new ArrayList<>( _driver.getErrors() );
+  }
+
+  @Override
+  public synchronized List<String> getWarnings()
+  {
+    return new ArrayList<>( _driver.getWarnings() );
+  }
+}
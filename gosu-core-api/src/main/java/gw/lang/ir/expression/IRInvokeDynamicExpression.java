@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.lang.ir.expression;
+
+import gw.lang.UnstableAPI;
+import gw.lang.ir.IRExpression;
+import gw.lang.ir.IRType;
+
+import java.util.List;
+
+/**
+ * An invokedynamic call site.  The bootstrap method must be a public static method on the bootstrap owner
+ * taking (Lookup, String, MethodType) followed by one parameter per bootstrap argument.  Bootstrap
+ * arguments are restricted to String and Integer constants.
+ */
+@UnstableAPI
+public class IRInvokeDynamicExpression extends IRExpression {
+  private String _name;
+  private IRType _returnType;
+  private List<IRType> _parameterTypes;
+  private List<IRExpression> _args;
+  private IRType _bootstrapOwner;
+  private String _bootstrapName;
+  private Object[] _bootstrapArgs;
+
+  public IRInvokeDynamicExpression( String name, IRType returnType, List<IRType> parameterTypes, List<IRExpression> args,
+                                    IRType bootstrapOwner, String bootstrapName, Object... bootstrapArgs ) {
+    _name = name;
+    _returnType = returnType;
+    _parameterTypes = parameterTypes;
+    _args = args;
+    _bootstrapOwner = bootstrapOwner;
+    _bootstrapName = bootstrapName;
+    _bootstrapArgs = bootstrapArgs;
+
+    for( IRExpression arg : args ) {
+      arg.setParent( this );
+    }
+  }
+
+  public String getName() {
+    return _name;
+  }
+
+  public IRType getReturnType() {
+    return _returnType;
+  }
+
+  public List<IRType> getParameterTypes() {
+    return _parameterTypes;
+  }
+
+  public List<IRExpression> getArgs() {
+    return _args;
+  }
+
+  public IRType getBootstrapOwner() {
+    return _bootstrapOwner;
+  }
+
+  public String getBootstrapName() {
+    return _bootstrapName;
+  }
+
+  public Object[] getBootstrapArgs() {
+    return _bootstrapArgs;
+  }
+
+  @Override
+  public IRType getType() {
+    return _returnType;
+  }
+}
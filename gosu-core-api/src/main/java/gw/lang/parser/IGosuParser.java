@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 public interface IGosuParser extends IParserPart
 {
@@ -108,6 +109,15 @@ public interface IGosuParser extends IParserPart
    */
   public IGosuClass parseClass( String strQualifiedClassName, ISourceFileHandle sourceFile, boolean bThrowOnWarnings, boolean bFullyCompile ) throws ParseResultsException;
 
+  /**
+   * For use by code editors etc.  When fully compiling, {@code cancelled} is
+   * checked between the header, declaration and definition phases so a parse
+   * made stale by further edits stops early.
+   *
+   * @throws java.util.concurrent.CancellationException if {@code cancelled} returns true
+   */
+  public IGosuClass parseClass( String strQualifiedClassName, ISourceFileHandle sourceFile, boolean bThrowOnWarnings, boolean bFullyCompile, BooleanSupplier cancelled ) throws ParseResultsException;
+
   /**
    * Parses a Gosu expression. To evaluate the Expression simply call Expression.evaluate().
    *
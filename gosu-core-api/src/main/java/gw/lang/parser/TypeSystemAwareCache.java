@@ -26,6 +26,12 @@ public class TypeSystemAwareCache<K, V> extends Cache<K, V>
     TypeSystem.addTypeLoaderListenerAsWeakRef( _cacheClearer );
   }
 
+  public TypeSystemAwareCache( String name, int size, MissHandler<K, V> kvMissHandler, Policy policy, boolean bRecordStats )
+  {
+    super( name, size, kvMissHandler, policy, bRecordStats );
+    TypeSystem.addTypeLoaderListenerAsWeakRef( _cacheClearer );
+  }
+
   private static class CacheClearer extends AbstractTypeSystemListener
   {
     TypeSystemAwareCache _cache;
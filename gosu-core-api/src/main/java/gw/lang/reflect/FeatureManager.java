@@ -17,9 +17,9 @@ import gw.util.GosuExceptionUtil;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @SuppressWarnings({"unchecked"})
 public class FeatureManager<T extends CharSequence> {
@@ -27,12 +27,16 @@ public class FeatureManager<T extends CharSequence> {
   private final boolean _caseSensitive;
   private final boolean _addObjectMethods;
   private IRelativeTypeInfo _typeInfo;
-  private volatile Map<IModule, InitState> _methodsInitialized = new HashMap<IModule, InitState>();
-  private volatile Map<IModule, InitState> _propertiesInitialized = new HashMap<IModule, InitState>();
+  // The member tables of each module, indexed by accessibility.  A module's table is built once under the
+  // TypeSystem lock and is not changed after it is put in the map, so lookups read a complete table, or
+  // none, without locking.  clear() replaces the maps, a table built from before the clear goes to the old map.
+  private volatile Map<IModule, MethodList[]> _methods = new ConcurrentHashMap<IModule, MethodList[]>();
+  private volatile Map<IModule, PropertyNameMap<T>[]> _properties = new ConcurrentHashMap<IModule, PropertyNameMap<T>[]>();
+  // The modules whose tables are being built or failed to build, written under the TypeSystem lock
+  private volatile Map<IModule, InitState> _methodsInitialized = new ConcurrentHashMap<IModule, InitState>();
+  private volatile Map<IModule, InitState> _propertiesInitialized = new ConcurrentHashMap<IModule, InitState>();
   private volatile InitState _ctorsInitialized = InitState.NotInitialized;
-  private Map<IModule, PropertyNameMap<T>[]> _properties = new HashMap<IModule, PropertyNameMap<T>[]>();
-  private Map<IModule, MethodList[]> _methods = new HashMap<IModule, MethodList[]>();
-  private List<IConstructorInfo>[] _constructors = new List[IRelativeTypeInfo.Accessibility_Size];
+  private volatile List<IConstructorInfo>[] _constructors = new List[IRelativeTypeInfo.Accessibility_Size];
   private String _superPropertyPrefix;
   private IType _supertypeToCopyPropertiesFrom;
   public FeatureManager(IRelativeTypeInfo typeInfo, boolean caseSensitive) {
@@ -156,55 +160,36 @@ public class FeatureManager<T extends CharSequence> {
   }
 
   public void clear() {
-    _methodsInitialized = new HashMap<IModule, InitState>();
-    _propertiesInitialized = new HashMap<IModule, InitState>();
+    _methods = new ConcurrentHashMap<IModule, MethodList[]>();
+    _properties = new ConcurrentHashMap<IModule, PropertyNameMap<T>[]>();
+    _methodsInitialized = new ConcurrentHashMap<IModule, InitState>();
+    _propertiesInitialized = new ConcurrentHashMap<IModule, InitState>();
     _ctorsInitialized = InitState.NotInitialized;
-    clearMaps();
+    _constructors = new List[IRelativeTypeInfo.Accessibility_Size];
   }
 
-  private void clearMaps() {
-    for(PropertyNameMap<T>[] properties : _properties.values()) {
-      for (int i = 0; i < properties.length; i++) {
-        properties[i] = null;
-      }
-    }
-    for (int i = 0; i < _constructors.length; i++) {
-      _constructors[i] = null;
-    }
-    for(MethodList[] methods : _methods.values()) {
-      for (int i = 0; i < methods.length; i++) {
-        methods[i] = null;
-      }
-    }
-  }
-
-  private void clearProperties(IModule module) {
-    PropertyNameMap<T>[] properties = _properties.get(module);
-    if(properties != null) {
-      for (int i = 0; i < properties.length; i++) {
-        properties[i] = null;
-      }
-    }
-  }
-
-  private void clearMethods(IModule module) {
-    MethodList[] methods = _methods.get(module);
-    if(methods != null) {
-      for (int i = 0; i < methods.length; i++) {
-        methods[i] = null;
-      }
+  private MethodList[] getMethodTable() {
+    IModule module = TypeSystem.getCurrentModule();
+    MethodList[] methods = module == null ? null : _methods.get( module );
+    if( methods == null ) {
+      maybeInitMethods();
+      methods = _methods.get( module );
     }
+    return methods;
   }
 
-  private void clearCtors() {
-    for (int i = 0; i < _constructors.length; i++) {
-      _constructors[i] = null;
+  private PropertyNameMap<T>[] getPropertyTable() {
+    IModule module = TypeSystem.getCurrentModule();
+    PropertyNameMap<T>[] properties = module == null ? null : _properties.get( module );
+    if( properties == null ) {
+      maybeInitProperties();
+      properties = _properties.get( module );
     }
+    return properties;
   }
 
   public List<IPropertyInfo> getProperties( IRelativeTypeInfo.Accessibility accessibility ) {
-    maybeInitProperties();
-    PropertyNameMap<T>[] arr = _properties.get( TypeSystem.getCurrentModule() );
+    PropertyNameMap<T>[] arr = getPropertyTable();
     if( arr == null )
     {
       return Collections.emptyList();
@@ -214,14 +199,18 @@ public class FeatureManager<T extends CharSequence> {
   }
 
   public IPropertyInfo getProperty( IRelativeTypeInfo.Accessibility accessibility, CharSequence propName ) {
-    maybeInitProperties();
-    PropertyNameMap<T>[] arr = _properties.get( TypeSystem.getCurrentModule() );
+    PropertyNameMap<T>[] arr = getPropertyTable();
     if( arr == null )
     {
       return null;
     }
     PropertyNameMap<T> accessMap = arr[accessibility.ordinal()];
-    return accessMap == null ? null : accessMap.get(convertCharSequenceToCorrectSensitivity(propName));
+    if( accessMap == null )
+    {
+      return null;
+    }
+    IPropertyInfo property = accessMap.getByName( propName );
+    return property != null ? property : accessMap.get(convertCharSequenceToCorrectSensitivity(propName));
   }
 
   private T convertCharSequenceToCorrectSensitivity(CharSequence propName) {
@@ -230,8 +219,7 @@ public class FeatureManager<T extends CharSequence> {
 
   @SuppressWarnings({"unchecked"})
   public MethodList getMethods( IRelativeTypeInfo.Accessibility accessibility) {
-    maybeInitMethods();
-    MethodList[] arr = _methods.get( TypeSystem.getCurrentModule() );
+    MethodList[] arr = getMethodTable();
     if( arr == null )
     {
       return MethodList.EMPTY;
@@ -241,7 +229,6 @@ public class FeatureManager<T extends CharSequence> {
   }
 
   public IMethodInfo getMethod( IRelativeTypeInfo.Accessibility accessibility, CharSequence methodName, IType... params ) {
-    maybeInitMethods();
     return ITypeInfo.FIND.method( getMethods( accessibility ), methodName, params );
   }
 
@@ -263,15 +250,16 @@ public class FeatureManager<T extends CharSequence> {
     if (module == null) {
       throw new NullPointerException("Cannot init the FeatureManager with no current module.");
     }
-    if (_methodsInitialized.get(module) != InitState.Initialized && _methodsInitialized.get(module) != InitState.ERROR) {
+    if (!_methods.containsKey(module) && _methodsInitialized.get(module) != InitState.ERROR) {
       TypeSystem.lock();
       try {
-        if (_methodsInitialized.get(module) != InitState.Initialized) {
-          if (_methodsInitialized.get(module) == InitState.Initializing) {
+        Map<IModule, MethodList[]> methodsByModule = _methods;
+        Map<IModule, InitState> methodsInitialized = _methodsInitialized;
+        if (!methodsByModule.containsKey(module)) {
+          if (methodsInitialized.get(module) == InitState.Initializing) {
             throw new IllegalStateException("Methods for " + _typeInfo.getOwnersType() + " are cyclic.");
           }
-          _methodsInitialized.put(module, InitState.Initializing);
-          clearMethods( module );
+          methodsInitialized.put(module, InitState.Initializing);
           try {
             MethodList[] methods = new MethodList[IRelativeTypeInfo.Accessibility_Size];
             {
@@ -317,12 +305,11 @@ public class FeatureManager<T extends CharSequence> {
               }
               methods[IRelativeTypeInfo.Accessibility.NONE.ordinal()] = MethodList.EMPTY;
             }
-            _methods.put(module, methods);
-
-            _methodsInitialized.put(module, InitState.Initialized);
+            methodsByModule.put(module, methods);
+            methodsInitialized.remove(module);
           } finally {
-            if (_methodsInitialized.get(module) != InitState.Initialized) {
-              _methodsInitialized.put(module, InitState.ERROR);
+            if (!methodsByModule.containsKey(module)) {
+              methodsInitialized.put(module, InitState.ERROR);
             }
           }
         }
@@ -343,15 +330,16 @@ public class FeatureManager<T extends CharSequence> {
     if (module == null) {
       throw new NullPointerException("Cannot init the FeatureManager with no current module.");
     }
-    if (_propertiesInitialized.get(module) != InitState.Initialized && _propertiesInitialized.get(module) != InitState.ERROR) {
+    if (!_properties.containsKey(module) && _propertiesInitialized.get(module) != InitState.ERROR) {
       TypeSystem.lock();
       try {
-        if (_propertiesInitialized.get(module) != InitState.Initialized) {
-          if (_propertiesInitialized.get(module) == InitState.Initializing) {
+        Map<IModule, PropertyNameMap<T>[]> propertiesByModule = _properties;
+        Map<IModule, InitState> propertiesInitialized = _propertiesInitialized;
+        if (!propertiesByModule.containsKey(module)) {
+          if (propertiesInitialized.get(module) == InitState.Initializing) {
             throw new IllegalStateException("Properties for " + _typeInfo.getOwnersType() + " are cyclic.");
           }
-          _propertiesInitialized.put(module, InitState.Initializing);
-          clearProperties(module);
+          propertiesInitialized.put(module, InitState.Initializing);
           try {
             PropertyNameMap<T>[] properties = new PropertyNameMap[IRelativeTypeInfo.Accessibility_Size];
             {
@@ -386,12 +374,11 @@ public class FeatureManager<T extends CharSequence> {
               }
               properties[IRelativeTypeInfo.Accessibility.NONE.ordinal()] = new PropertyNameMap();
             }
-            _properties.put(module, properties);
-
-            _propertiesInitialized.put(module, InitState.Initialized);
+            propertiesByModule.put(module, properties);
+            propertiesInitialized.remove(module);
           } finally {
-            if (_propertiesInitialized.get(module) != InitState.Initialized) {
-              _propertiesInitialized.put(module, InitState.ERROR);
+            if (!propertiesByModule.containsKey(module)) {
+              propertiesInitialized.put(module, InitState.ERROR);
             }
           }
         }
@@ -423,10 +410,8 @@ public class FeatureManager<T extends CharSequence> {
             throw new IllegalStateException("Constructors for " + _typeInfo.getOwnersType() + " are cyclic.");
           }
           _ctorsInitialized = InitState.Initializing;
-          clearCtors();
           try {
             if(_ctorsInitialized != InitState.Initialized && _ctorsInitialized != InitState.ERROR) {
-              clearCtors();
               try {
 
                 List<IConstructorInfo>[] constructors = new List[IRelativeTypeInfo.Accessibility_Size];
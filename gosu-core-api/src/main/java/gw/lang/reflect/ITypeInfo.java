@@ -123,23 +123,10 @@ public interface ITypeInfo extends IAnnotatedFeatureInfo
   {
     private static final IType[] EMPTY_TYPES = IType.EMPTY_ARRAY;
 
-    //static int ii = 0;
     public static IMethodInfo method( MethodList methodList, CharSequence method, IType... params )
     {
       params = params == null ? EMPTY_TYPES : params;
-      DynamicArray<? extends IMethodInfo> methods = methodList.getMethods( method.toString() );
-      for( int i = 0; i < methods.size; i++ )
-      {
-        IMethodInfo methodInfo = (IMethodInfo) methods.data[i];
-        if( methodInfo.getDisplayName().equals( method.toString() ) ) {
-          IParameterInfo[] paramInfos = methodInfo.getParameters();
-          if (areParamsEqual( paramInfos, params )) {
-            return methodInfo;
-          }
-        }
-      }
-      //System.out.println( "#Missed: " + ii++ );
-      return null;
+      return methodList.findMethod( method.toString(), params );
     }
 
     public static IConstructorInfo constructor( List<? extends IConstructorInfo> constructors, IType... params )
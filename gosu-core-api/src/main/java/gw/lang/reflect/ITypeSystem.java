@@ -21,6 +21,7 @@ import gw.lang.reflect.module.IExecutionEnvironment;
 import gw.lang.reflect.module.IModule;
 import gw.lang.reflect.module.IProject;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -256,4 +257,6 @@ public interface ITypeSystem extends IService
   IType getCompoundType( Set<IType> types );
 
   IType getFunctionalInterface( IFunctionType type );
+
+  void warmUp( Collection<? extends CharSequence> typeNames, int iThreads );
 }
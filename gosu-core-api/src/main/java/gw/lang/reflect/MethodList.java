@@ -9,14 +9,19 @@ import gw.lang.parser.TypeVarToTypeMap;
 import gw.util.DynamicArray;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MethodList extends DynamicArray<IMethodInfo>
 {
   public static final MethodList EMPTY = new MethodList();
 
   private HashMap<String, DynamicArray<IMethodInfo>> _map = new HashMap<>();
+  // Exact-signature lookups by name, then by parameter types.  Built for a name on its first lookup and
+  // replaced rather than changed, so concurrent readers don't lock; any change to the list drops it.
+  private volatile Map<String, Map<ParamTypesKey, IMethodInfo>> _signatures = Collections.emptyMap();
 
   public MethodList()
   {
@@ -62,6 +67,7 @@ public class MethodList extends DynamicArray<IMethodInfo>
   @Override
   public boolean add( IMethodInfo method )
   {
+    _signatures = Collections.emptyMap();
     addToMap( method );
     return super.add( method );
   }
@@ -69,6 +75,7 @@ public class MethodList extends DynamicArray<IMethodInfo>
   @Override
   public boolean addAll( Collection<? extends IMethodInfo> c )
   {
+    _signatures = Collections.emptyMap();
     for( IMethodInfo method : c )
     {
       addToMap( method );
@@ -91,6 +98,7 @@ public class MethodList extends DynamicArray<IMethodInfo>
   @Override
   public IMethodInfo remove( int index )
   {
+    _signatures = Collections.emptyMap();
     IMethodInfo oldMethod = get( index );
     String displayName = oldMethod.getDisplayName();
     DynamicArray<IMethodInfo> methods = _map.get( displayName );
@@ -103,6 +111,7 @@ public class MethodList extends DynamicArray<IMethodInfo>
   @Override
   public IMethodInfo set( int index, IMethodInfo method )
   {
+    _signatures = Collections.emptyMap();
     IMethodInfo oldMethod = get( index );
     String displayName = method.getDisplayName();
     DynamicArray<IMethodInfo> methods = _map.get( displayName );
@@ -145,6 +154,76 @@ public class MethodList extends DynamicArray<IMethodInfo>
     return methodInfoList != null ? methodInfoList : DynamicArray.EMPTY;
   }
 
+  /**
+   * Finds the first method with the name whose parameters match the types as
+   * {@link ITypeInfo.FIND#areParamsEqual(IParameterInfo[], IType[])} decides.  When the types are the
+   * very ones a method declares, which is the common case, the answer comes from a hash lookup on
+   * the types' identities; otherwise the methods with the name are scanned.
+   */
+  public IMethodInfo findMethod( String name, IType[] params )
+  {
+    DynamicArray<IMethodInfo> methods = _map.get( name );
+    if( methods == null )
+    {
+      return null;
+    }
+    IMethodInfo method = getSignatures( name, methods ).get( new ParamTypesKey( params ) );
+    return method != null ? method : scanForMethod( methods, name, params );
+  }
+
+  private Map<ParamTypesKey, IMethodInfo> getSignatures( String name, DynamicArray<IMethodInfo> methods )
+  {
+    Map<String, Map<ParamTypesKey, IMethodInfo>> signatures = _signatures;
+    Map<ParamTypesKey, IMethodInfo> byParams = signatures.get( name );
+    if( byParams == null )
+    {
+      byParams = new HashMap<>();
+      for( int i = 0; i < methods.size; i++ )
+      {
+        IType[] paramTypes = getParameterTypes( (IMethodInfo)methods.data[i] );
+        ParamTypesKey key = new ParamTypesKey( paramTypes );
+        if( !byParams.containsKey( key ) )
+        {
+          // An earlier overload may match these types too, map them to the method a scan would find
+          IMethodInfo method = scanForMethod( methods, name, paramTypes );
+          if( method != null )
+          {
+            byParams.put( key, method );
+          }
+        }
+      }
+      Map<String, Map<ParamTypesKey, IMethodInfo>> copy = new HashMap<>( signatures );
+      copy.put( name, byParams );
+      _signatures = copy;
+    }
+    return byParams;
+  }
+
+  private static IMethodInfo scanForMethod( DynamicArray<IMethodInfo> methods, String name, IType[] params )
+  {
+    for( int i = 0; i < methods.size; i++ )
+    {
+      IMethodInfo methodInfo = (IMethodInfo)methods.data[i];
+      if( methodInfo.getDisplayName().equals( name ) &&
+          ITypeInfo.FIND.areParamsEqual( methodInfo.getParameters(), params ) )
+      {
+        return methodInfo;
+      }
+    }
+    return null;
+  }
+
+  private static IType[] getParameterTypes( IMethodInfo method )
+  {
+    IParameterInfo[] params = method.getParameters();
+    IType[] types = new IType[params.length];
+    for( int i = 0; i < params.length; i++ )
+    {
+      types[i] = params[i].getFeatureType();
+    }
+    return types;
+  }
+
   public static MethodList singleton( IMethodInfo theOneMethod )
   {
     MethodList infos = new MethodList( 1 );
@@ -181,6 +260,7 @@ public class MethodList extends DynamicArray<IMethodInfo>
   {
     super.clear();
     _map.clear();
+    _signatures = Collections.emptyMap();
   }
 
   @SuppressWarnings("NullableProblems")
@@ -325,4 +405,52 @@ public class MethodList extends DynamicArray<IMethodInfo>
     }
     return TypeSystem.replaceTypeVariableTypeParametersWithBoundingTypes( toReturnType, ownersType );
   }
+
+  /**
+   * Parameter types compared by identity, the arity is part of the key
+   */
+  private static final class ParamTypesKey
+  {
+    private final IType[] _types;
+    private final int _iHash;
+
+    ParamTypesKey( IType[] types )
+    {
+      _types = types;
+      int iHash = types.length;
+      for( IType type : types )
+      {
+        iHash = 31 * iHash + System.identityHashCode( type );
+      }
+      _iHash = iHash;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return _iHash;
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+      if( !(o instanceof ParamTypesKey) )
+      {
+        return false;
+      }
+      IType[] types = ((ParamTypesKey)o)._types;
+      if( types.length != _types.length )
+      {
+        return false;
+      }
+      for( int i = 0; i < types.length; i++ )
+      {
+        if( types[i] != _types[i] )
+        {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
 }
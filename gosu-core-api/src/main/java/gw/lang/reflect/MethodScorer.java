@@ -13,35 +13,39 @@ import gw.lang.parser.coercers.BasePrimitiveCoercer;
 import gw.lang.parser.coercers.FunctionToInterfaceCoercer;
 import gw.lang.reflect.java.JavaTypes;
 import gw.util.Pair;
+import gw.util.concurrent.Cache;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
 
 public class MethodScorer {
   public static final int BOXED_COERCION_SCORE = 10;
   public static final int PRIMITIVE_COERCION_SCORE = 24;
-  private static volatile MethodScorer INSTANCE = null;
+  private static final int METHOD_SCORE_CACHE_SIZE = 10000;
 
+  // Both caches are read by concurrent parsers on every overload resolution.  They are bounded and
+  // clear themselves on refresh by swapping in an empty map, so readers never wait on a lock.  Nobody
+  // reads their statistics, so they don't count hits and misses either.
   private final TypeSystemAwareCache<Pair<IType, IType>, Integer> _typeScoreCache =
-    TypeSystemAwareCache.make( "Type Score Cache", 1000,
-                               key -> _addToScoreForTypes( Collections.<IType>emptyList(), key.getFirst(), key.getSecond() ) );
+    new TypeSystemAwareCache<>( "Type Score Cache", 1000,
+                                key -> _addToScoreForTypes( Collections.<IType>emptyList(), key.getFirst(), key.getSecond() ),
+                                Cache.Policy.SECOND_CHANCE, false );
 
-  private final MethodScoreCache _methodScoreCache = new MethodScoreCache();
+  private final TypeSystemAwareCache<MethodScoreKey, IInvocableType> _methodScoreCache =
+    new TypeSystemAwareCache<>( "Method Score Cache", METHOD_SCORE_CACHE_SIZE,
+                                key -> null, // only accessed with getIfPresent()
+                                Cache.Policy.SECOND_CHANCE, false );
 
 
   public static MethodScorer instance() {
-    if( INSTANCE == null ) {
-      synchronized( MethodScorer.class ){
-        if( INSTANCE == null ) {
-          INSTANCE = new MethodScorer();
-        }
-      }
-    }
-    return INSTANCE;
+    return Holder.INSTANCE;
+  }
+
+  private static class Holder {
+    private static final MethodScorer INSTANCE = new MethodScorer();
   }
 
   private MethodScorer() {
@@ -305,24 +309,8 @@ public class MethodScorer {
     return type;
   }
 
-  private static class MethodScoreCache extends HashMap<MethodScoreKey, IInvocableType> implements ITypeLoaderListener {
-    MethodScoreCache() {
-      TypeSystem.addTypeLoaderListenerAsWeakRef( this );
-    }
-
-    @Override
-    public void refreshed() {
-      clear();
-    }
-
-    @Override
-    public void refreshedTypes( RefreshRequest request ) {
-      clear();
-    }
-  }
-
   public IInvocableType getCachedMethodScore( IInvocableType funcType, IType callsiteEnclosingType, IType rootType, List<IType> argTypes ) {
-    return _methodScoreCache.get( new MethodScoreKey( argTypes, funcType, callsiteEnclosingType, rootType ) );
+    return _methodScoreCache.getIfPresent( new MethodScoreKey( argTypes, funcType, callsiteEnclosingType, rootType ) );
   }
   public MethodScoreKey putCachedMethodScore( MethodScore score ) {
     score.setScore( 0 );
@@ -337,7 +325,7 @@ public class MethodScorer {
   }
   public void removeCachedMethodScore( MethodScoreKey key )
   {
-    _methodScoreCache.remove( key );
+    _methodScoreCache.evict( key );
   }
 
   public static class MethodScoreKey {
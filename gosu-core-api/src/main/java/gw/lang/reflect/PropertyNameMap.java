@@ -16,6 +16,8 @@ import java.util.HashMap;
 public class PropertyNameMap<T extends CharSequence> implements Map<T, IPropertyInfo> {
   private List _unmodList;
   private Map<T,IPropertyInfo> _map;
+  // The properties by the string form of their keys, set by freeze()
+  private Map<String, IPropertyInfo> _byName;
 
   public PropertyNameMap() {
     _map = new LinkedHashMap();
@@ -29,6 +31,7 @@ public class PropertyNameMap<T extends CharSequence> implements Map<T, IProperty
     if (_map.size() == 0) {
       _map = Collections.emptyMap();
       _unmodList = Collections.emptyList();
+      _byName = Collections.emptyMap();
     } else {
       // Do the array list first so it stays ordered!
       ArrayList arrayList = new ArrayList(_map.values());
@@ -37,9 +40,38 @@ public class PropertyNameMap<T extends CharSequence> implements Map<T, IProperty
       _map = newMap;
       arrayList.trimToSize();
       _unmodList = Collections.unmodifiableList(arrayList);
+      _byName = makeByName(newMap);
     }
   }
 
+  private static <T extends CharSequence> Map<String, IPropertyInfo> makeByName(Map<T, IPropertyInfo> map) {
+    boolean bStringKeys = true;
+    for (T key : map.keySet()) {
+      if (!(key instanceof String)) {
+        bStringKeys = false;
+        break;
+      }
+    }
+    if (bStringKeys) {
+      return (Map<String, IPropertyInfo>) map;
+    }
+    Map<String, IPropertyInfo> byName = new HashMap<String, IPropertyInfo>(map.size());
+    for (Entry<T, IPropertyInfo> entry : map.entrySet()) {
+      byName.put(entry.getKey().toString(), entry.getValue());
+    }
+    return byName;
+  }
+
+  /**
+   * Finds a property by the exact spelling of its key, without converting the name to the key type,
+   * e.g. a CICS.  Only a frozen map can answer; if it can't, or the name is spelled differently, this
+   * returns null and the caller should look up the converted key with {@link #get(Object)}.
+   */
+  public IPropertyInfo getByName(CharSequence name) {
+    Map<String, IPropertyInfo> byName = _byName;
+    return byName == null || name == null ? null : byName.get(name.toString());
+  }
+
   public int size() {
     return _map.size();
   }
@@ -61,18 +93,22 @@ public class PropertyNameMap<T extends CharSequence> implements Map<T, IProperty
   }
 
   public IPropertyInfo put(T key, IPropertyInfo value) {
+    _byName = null;
     return _map.put(key, value);
   }
 
   public IPropertyInfo remove(Object key) {
+    _byName = null;
     return _map.remove(key);
   }
 
   public void putAll(Map<? extends T, ? extends IPropertyInfo> t) {
+    _byName = null;
     _map.putAll(t);
   }
 
   public void clear() {
+    _byName = null;
     _map.clear();
   }
 
@@ -18,6 +18,7 @@ import gw.lang.parser.TypeVarToTypeMap;
 import gw.lang.parser.exceptions.ParseException;
 import gw.lang.parser.exceptions.ParseResultsException;
 import gw.lang.parser.expressions.ITypeLiteralExpression;
+import gw.lang.reflect.gs.GosuClassTypeLoader;
 import gw.lang.reflect.gs.IGenericTypeVariable;
 import gw.lang.reflect.gs.IGosuArrayClass;
 import gw.lang.reflect.gs.IGosuClass;
@@ -36,6 +37,7 @@ import gw.util.perf.InvocationCounter;
 import java.io.File;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
@@ -951,5 +953,29 @@ public class TypeSystem
   {
     return CommonServices.getTypeSystem().getFunctionalInterface( type );
   }
+
+  /**
+   * Compiles the named Gosu types of the current module ahead of their first use, e.g., during server
+   * startup instead of on the first requests.  Only reading and tokenizing the sources runs on the pool of
+   * worker threads.  Parsing does not run in parallel: the types are parsed on the calling thread under the
+   * type system lock, phase by phase, all headers, then all declarations, then all definitions.  Bytecode is
+   * still generated when each class is first loaded.  Types with errors are skipped, their errors are
+   * reported on use as usual.
+   *
+   * @param typeNames the fully qualified names of the types, names of non-Gosu types are ignored
+   * @param iThreads the number of threads reading and tokenizing sources, 1 to do it on the calling thread
+   */
+  public static void warmUp( Collection<? extends CharSequence> typeNames, int iThreads )
+  {
+    CommonServices.getTypeSystem().warmUp( typeNames, iThreads );
+  }
+
+  /**
+   * Compiles all the Gosu types of the current module ahead of their first use, see {@link #warmUp(Collection, int)}.
+   */
+  public static void warmUp( int iThreads )
+  {
+    warmUp( getTypeLoader( GosuClassTypeLoader.class, getCurrentModule() ).getAllTypeNames(), iThreads );
+  }
 }
 
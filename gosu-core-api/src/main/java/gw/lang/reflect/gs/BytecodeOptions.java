@@ -18,6 +18,17 @@ public class BytecodeOptions
   private static boolean TREE_VERIFICATION_ENABLED = false;
 
   public static final String RELOAD_CLASSES_SYSTEM_PROP = "gosu.can.reload.classes";
+  public static final String DYNAMIC_CALL_SITES_SYSTEM_PROP = "gosu.dynamic.call.sites";
+  public static final String BYTECODE_CACHE_DIR_SYSTEM_PROP = "gosu.bytecode.cache.dir";
+  public static final String SINGLETON_BLOCKS_SYSTEM_PROP = "gosu.singleton.blocks";
+  public static final String CONSTANT_COLLECTION_LITERALS_SYSTEM_PROP = "gosu.constant.collection.literals";
+  public static final String RELEASE_TOKENS_SYSTEM_PROP = "gosu.release.tokens";
+
+  private static boolean DYNAMIC_CALL_SITES = !"false".equalsIgnoreCase( System.getProperty( DYNAMIC_CALL_SITES_SYSTEM_PROP ) );
+  private static String BYTECODE_CACHE_DIR = System.getProperty( BYTECODE_CACHE_DIR_SYSTEM_PROP );
+  private static boolean SINGLETON_BLOCKS = !"false".equalsIgnoreCase( System.getProperty( SINGLETON_BLOCKS_SYSTEM_PROP ) );
+  private static boolean CONSTANT_COLLECTION_LITERALS = Boolean.getBoolean( CONSTANT_COLLECTION_LITERALS_SYSTEM_PROP );
+  private static boolean RELEASE_TOKENS = Boolean.getBoolean( RELEASE_TOKENS_SYSTEM_PROP );
 
   public static LocklessLazyVar<Boolean> JDWP_ENABLED =
     new LocklessLazyVar<Boolean>() {
@@ -101,6 +112,79 @@ public class BytecodeOptions
     return System.getProperty( "java.vm.name" ).contains( "Dynamic Code Evolution" );
   }
 
+  /**
+   * @return true if reflective member access should compile to invokedynamic call sites backed by an
+   * inline cache instead of direct calls into the runtime helpers
+   */
+  public static boolean isDynamicCallSites()
+  {
+    return DYNAMIC_CALL_SITES;
+  }
+
+  public static void setDynamicCallSites( boolean bDynamicCallSites )
+  {
+    DYNAMIC_CALL_SITES = bDynamicCallSites;
+  }
+
+  /**
+   * @return the directory where bytecode compiled on demand from Gosu source is persisted and reused across
+   * runs, or null if the bytecode cache is disabled (the default)
+   */
+  public static String getBytecodeCacheDir()
+  {
+    return BYTECODE_CACHE_DIR;
+  }
+
+  public static void setBytecodeCacheDir( String strDir )
+  {
+    BYTECODE_CACHE_DIR = strDir;
+  }
+
+  /**
+   * @return true if blocks that capture nothing should evaluate to a single shared instance per block
+   * expression instead of a new instance each time
+   */
+  public static boolean isSingletonBlocks()
+  {
+    return SINGLETON_BLOCKS;
+  }
+
+  public static void setSingletonBlocks( boolean bSingletonBlocks )
+  {
+    SINGLETON_BLOCKS = bSingletonBlocks;
+  }
+
+  /**
+   * @return true if inferred collection and map literals whose values are all compile-time constants,
+   * e.g., <code>{1, 2, 3}</code> or <code>{"a" -> 1}</code>, should evaluate to one shared unmodifiable
+   * instance per literal instead of a new collection each time.  Off by default since code that modifies
+   * such a literal throws UnsupportedOperationException when this is on.  Shared Set and Map literals also
+   * keep their insertion order, where a new HashSet or HashMap would not.
+   */
+  public static boolean isConstantCollectionLiterals()
+  {
+    return CONSTANT_COLLECTION_LITERALS;
+  }
+
+  public static void setConstantCollectionLiterals( boolean bConstantCollectionLiterals )
+  {
+    CONSTANT_COLLECTION_LITERALS = bConstantCollectionLiterals;
+  }
+
+  /**
+   * @return true if, at runtime, a Gosu class should let go of its tokenizer and tokens once its bytecode is
+   * defined.  They are rebuilt from the source if the class is ever parsed again.  Parse trees are kept.
+   */
+  public static boolean isReleaseTokens()
+  {
+    return RELEASE_TOKENS;
+  }
+
+  public static void setReleaseTokens( boolean bReleaseTokens )
+  {
+    RELEASE_TOKENS = bReleaseTokens;
+  }
+
   public static boolean isTreeVerifcationEnabled()
   {
     return TREE_VERIFICATION_ENABLED;
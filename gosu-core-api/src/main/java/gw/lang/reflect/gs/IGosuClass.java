@@ -26,6 +26,7 @@ import gw.lang.reflect.IModifierInfo;
 import gw.lang.reflect.IType;
 import gw.lang.reflect.TypeSystem;
 import gw.lang.reflect.java.IJavaType;
+import gw.util.perf.objectsize.ObjectSize;
 
 import java.util.HashSet;
 import java.util.List;
@@ -117,6 +118,12 @@ public interface IGosuClass extends ICompilableType, IEnumType, IEnhanceableType
 
   boolean shouldKeepDebugInfo();
 
+  /**
+   * @return an estimate of the memory this class and its inner classes hold for parsing: parse trees,
+   * symbols, tokens and source text.  Memory held by other types is not counted.
+   */
+  ObjectSize getRetainedMemory();
+
   void setCreateEditorParser( boolean bEditorParser );
 
   void unloadBackingClass();
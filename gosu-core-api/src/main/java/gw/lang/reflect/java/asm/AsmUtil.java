@@ -6,9 +6,140 @@ package gw.lang.reflect.java.asm;
 
 import gw.internal.ext.org.objectweb.asm.Type;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 /**
  */
 public class AsmUtil {
+  /**
+   * @return the dot names of the classes referenced from the class file's constant pool, including the class
+   * itself, its supertypes, and the owners of any field or method it references.  Array classes are reduced
+   * to their component class.
+   */
+  public static Set<String> getReferencedClassNames( byte[] classBytes ) {
+    int[] offsets = readConstantPoolOffsets( classBytes );
+    Set<String> names = new LinkedHashSet<>();
+    for( int iOffset : offsets ) {
+      if( iOffset == 0 || classBytes[iOffset] != 7 ) { // Class
+        continue;
+      }
+      String name = readUtf8( classBytes, offsets[readUnsignedShort( classBytes, iOffset + 1 )] );
+      if( name.charAt( 0 ) == '[' ) {
+        if( name.charAt( name.lastIndexOf( '[' ) + 1 ) == 'L' ) {
+          names.add( makeBaseName( name ) );
+        }
+        // otherwise a primitive array
+      }
+      else {
+        names.add( makeDotName( name ) );
+      }
+    }
+    return names;
+  }
+
+  /**
+   * @return the names of the fields and methods the class file references, including its own, the names bound
+   * at invokedynamic sites, and string constants that are valid identifiers, since members accessed reflectively
+   * are named only by a string.
+   */
+  public static Set<String> getReferencedMemberNames( byte[] classBytes ) {
+    int[] offsets = readConstantPoolOffsets( classBytes );
+    Set<String> names = new LinkedHashSet<>();
+    for( int iOffset : offsets ) {
+      if( iOffset == 0 ) {
+        continue;
+      }
+      switch( classBytes[iOffset] ) {
+        case 12: // NameAndType
+          names.add( readUtf8( classBytes, offsets[readUnsignedShort( classBytes, iOffset + 1 )] ) );
+          break;
+        case 8: // String
+          String str = readUtf8( classBytes, offsets[readUnsignedShort( classBytes, iOffset + 1 )] );
+          if( isIdentifier( str ) ) {
+            names.add( str );
+          }
+          break;
+      }
+    }
+    return names;
+  }
+
+  /**
+   * @return the offset of each entry in the class file's constant pool indexed by its constant pool index, zero
+   * for the unusable indexes following long and double constants
+   */
+  private static int[] readConstantPoolOffsets( byte[] classBytes ) {
+    int iCount = readUnsignedShort( classBytes, 8 );
+    int[] offsets = new int[iCount];
+    int iOffset = 10;
+    for( int i = 1; i < iCount; i++ ) {
+      offsets[i] = iOffset;
+      int iTag = classBytes[iOffset];
+      switch( iTag ) {
+        case 1: // Utf8
+          iOffset += 3 + readUnsignedShort( classBytes, iOffset + 1 );
+          break;
+        case 7: // Class
+        case 8: // String
+        case 16: // MethodType
+        case 19: // Module
+        case 20: // Package
+          iOffset += 3;
+          break;
+        case 15: // MethodHandle
+          iOffset += 4;
+          break;
+        case 5: // Long
+        case 6: // Double
+          iOffset += 9;
+          i++;
+          break;
+        case 3: // Integer
+        case 4: // Float
+        case 9: // Fieldref
+        case 10: // Methodref
+        case 11: // InterfaceMethodref
+        case 12: // NameAndType
+        case 17: // Dynamic
+        case 18: // InvokeDynamic
+          iOffset += 5;
+          break;
+        default:
+          throw new IllegalArgumentException( "Unknown constant pool tag: " + iTag );
+      }
+    }
+    return offsets;
+  }
+
+  private static boolean isIdentifier( String str ) {
+    if( str.isEmpty() || !Character.isJavaIdentifierStart( str.charAt( 0 ) ) ) {
+      return false;
+    }
+    for( int i = 1; i < str.length(); i++ ) {
+      if( !Character.isJavaIdentifierPart( str.charAt( i ) ) ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int readUnsignedShort( byte[] bytes, int iOffset ) {
+    return ((bytes[iOffset] & 0xFF) << 8) | (bytes[iOffset + 1] & 0xFF);
+  }
+
+  private static String readUtf8( byte[] bytes, int iOffset ) {
+    try {
+      return new DataInputStream( new ByteArrayInputStream( bytes, iOffset + 1, 2 + readUnsignedShort( bytes, iOffset + 1 ) ) ).readUTF();
+    }
+    catch( IOException e ) {
+      throw new IllegalArgumentException( e );
+    }
+  }
+
   public static String makeDotName( String name ) {
     return name.replace( '/', '.' );
   }
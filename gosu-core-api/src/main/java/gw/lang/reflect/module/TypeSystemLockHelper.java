@@ -11,6 +11,7 @@ import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 @UnstableAPI
@@ -31,10 +32,109 @@ public class TypeSystemLockHelper {
     return _bStudioRunning;
   }
 
+  /**
+   * Set this system property to <code>true</code> to guard class loading of Gosu types with locks striped by type
+   * name instead of the global type system lock.  See {@link #getTypeLockWithMonitor(String, Object)}.
+   */
+  public static final String STRIPED_TYPE_LOCKS_SYSTEM_PROP = "gosu.striped.type.locks";
+  private static final int STRIPES = 64;
+  private static final ReentrantLock[] STRIPE_LOCKS = new ReentrantLock[STRIPES];
+  static
+  {
+    for( int i = 0; i < STRIPES; i++ )
+    {
+      STRIPE_LOCKS[i] = new ReentrantLock();
+    }
+  }
+  private static final ThreadLocal<ReentrantLock> HELD_STRIPE = new ThreadLocal<>();
+  private static volatile Boolean g_bStripedTypeLocks;
+
+  public static boolean isStripedTypeLocks()
+  {
+    if( g_bStripedTypeLocks == null )
+    {
+      g_bStripedTypeLocks = Boolean.getBoolean( STRIPED_TYPE_LOCKS_SYSTEM_PROP );
+    }
+    return g_bStripedTypeLocks;
+  }
+
+  public static void setStripedTypeLocks( boolean bStripedTypeLocks )
+  {
+    g_bStripedTypeLocks = bStripedTypeLocks;
+  }
+
+  /**
+   * Acquires the lock guarding the class loading of a type, which must be released with {@link #unlockType(Lock)}.
+   * Unless striped type locks are enabled, this is the global type system lock.
+   * <p/>
+   * Otherwise the lock is one of a fixed set of locks striped by the name of the type's outermost class, so that
+   * class loading of unrelated types doesn't serialize on the global lock; anything needing the type system lock
+   * acquires it while holding the type lock, so the work left under the global lock is just compiling bytecode.
+   * To keep the ordering deadlock free a thread waits for a type lock only while holding no other type lock or the
+   * global lock; a thread that does, nests on the global lock instead.
+   *
+   * @param strClassName the Java name of the class being loaded
+   * @param objectToLock the monitor held by the calling class loader, if any, see {@link #getTypeSystemLockWithMonitor(Object)}
+   */
+  public static Lock getTypeLockWithMonitor( String strClassName, Object objectToLock )
+  {
+    if( isStripedTypeLocks() && !isTypeSystemLockHeldByCurrentThread() )
+    {
+      ReentrantLock stripe = STRIPE_LOCKS[getStripe( strClassName )];
+      ReentrantLock heldStripe = HELD_STRIPE.get();
+      if( heldStripe == null || heldStripe == stripe )
+      {
+        lockWithMonitor( stripe, objectToLock );
+        HELD_STRIPE.set( stripe );
+        return stripe;
+      }
+    }
+    getTypeSystemLockWithMonitor( objectToLock );
+    return TypeSystem.getGlobalLock();
+  }
+
+  /**
+   * @return the index of the lock striping a class, the same for a class and its inner classes
+   */
+  static int getStripe( String strClassName )
+  {
+    int iDollar = strClassName.indexOf( '$' );
+    int iHash = (iDollar < 0 ? strClassName : strClassName.substring( 0, iDollar )).hashCode();
+    return (iHash ^ (iHash >>> 16)) & (STRIPES - 1);
+  }
+
+  public static void unlockType( Lock lock )
+  {
+    lock.unlock();
+    if( lock != TypeSystem.getGlobalLock() && !((ReentrantLock)lock).isHeldByCurrentThread() )
+    {
+      HELD_STRIPE.remove();
+    }
+  }
+
+  /**
+   * @return true if the current thread holds a striped type lock acquired with {@link #getTypeLockWithMonitor(String, Object)}
+   */
+  public static boolean isTypeLockHeldByCurrentThread()
+  {
+    return HELD_STRIPE.get() != null;
+  }
+
+  private static boolean isTypeSystemLockHeldByCurrentThread()
+  {
+    Lock lock = TypeSystem.getGlobalLock();
+    return lock instanceof ReentrantLock && ((ReentrantLock)lock).isHeldByCurrentThread();
+  }
+
   public static void getTypeSystemLockWithMonitor(Object objectToLock)
+  {
+    lockWithMonitor( TypeSystem.getGlobalLock(), objectToLock );
+  }
+
+  private static void lockWithMonitor( Lock lock, Object objectToLock )
   {
     long lStart = System.currentTimeMillis();
-    while( !TypeSystem.getGlobalLock().tryLock() )
+    while( !lock.tryLock() )
     {
       try
       {
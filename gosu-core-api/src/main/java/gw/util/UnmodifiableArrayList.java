@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * An ArrayList that can't be modified once constructed.  It is still an ArrayList so it can stand in
+ * for one where the static type demands it, e.g., for a constant list literal shared by every evaluation
+ * of the literal.  All mutators, including those of its iterators and sublists, throw
+ * UnsupportedOperationException.
+ */
+public final class UnmodifiableArrayList<E> extends ArrayList<E>
+{
+  public UnmodifiableArrayList( Collection<? extends E> values )
+  {
+    super( values );
+  }
+
+  @Override
+  public boolean add( E e )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void add( int index, E element )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean addAll( Collection<? extends E> c )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean addAll( int index, Collection<? extends E> c )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public E set( int index, E element )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public E remove( int index )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean remove( Object o )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean removeAll( Collection<?> c )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean retainAll( Collection<?> c )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean removeIf( Predicate<? super E> filter )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  protected void removeRange( int fromIndex, int toIndex )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void replaceAll( UnaryOperator<E> operator )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void sort( Comparator<? super E> c )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear()
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public List<E> subList( int fromIndex, int toIndex )
+  {
+    // ArrayList's sublists write through to the backing array directly
+    return Collections.unmodifiableList( super.subList( fromIndex, toIndex ) );
+  }
+}
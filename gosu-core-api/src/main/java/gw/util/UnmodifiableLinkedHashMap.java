@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.util;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A LinkedHashMap that can't be modified once constructed.  Being a LinkedHashMap, it can stand in for a
+ * HashMap or LinkedHashMap where the static type demands it, and it keeps the order the entries were
+ * given in.  All mutators, including those of its key, value and entry views, throw
+ * UnsupportedOperationException.
+ */
+public final class UnmodifiableLinkedHashMap<K, V> extends LinkedHashMap<K, V>
+{
+  private final Map<K, V> _views;
+
+  public UnmodifiableLinkedHashMap( Map<? extends K, ? extends V> entries )
+  {
+    super( Math.max( 2 * entries.size(), 11 ) );
+    for( Map.Entry<? extends K, ? extends V> entry : entries.entrySet() )
+    {
+      super.put( entry.getKey(), entry.getValue() );
+    }
+    // The views of the backing map remove directly from it and hand out modifiable entries, so wrap them
+    Set<Map.Entry<K, V>> entrySet = super.entrySet();
+    _views = Collections.unmodifiableMap( new AbstractMap<K, V>()
+    {
+      @Override
+      public Set<Entry<K, V>> entrySet()
+      {
+        return entrySet;
+      }
+    } );
+  }
+
+  @Override
+  public Set<K> keySet()
+  {
+    return Collections.unmodifiableSet( super.keySet() );
+  }
+
+  @Override
+  public Collection<V> values()
+  {
+    return Collections.unmodifiableCollection( super.values() );
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet()
+  {
+    return _views.entrySet();
+  }
+
+  @Override
+  public V put( K key, V value )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void putAll( Map<? extends K, ? extends V> m )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public V putIfAbsent( K key, V value )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public V remove( Object key )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean remove( Object key, Object value )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public V replace( K key, V value )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean replace( K key, V oldValue, V newValue )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void replaceAll( BiFunction<? super K, ? super V, ? extends V> function )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public V computeIfAbsent( K key, Function<? super K, ? extends V> mappingFunction )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public V computeIfPresent( K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public V compute( K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public V merge( K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear()
+  {
+    throw new UnsupportedOperationException();
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.util;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.function.Predicate;
+
+/**
+ * A LinkedHashSet that can't be modified once constructed.  Being a LinkedHashSet, it can stand in for a
+ * HashSet or LinkedHashSet where the static type demands it, and it keeps the order the values were
+ * given in.  All mutators, including its iterator's remove(), throw UnsupportedOperationException.
+ */
+public final class UnmodifiableLinkedHashSet<E> extends LinkedHashSet<E>
+{
+  public UnmodifiableLinkedHashSet( Collection<? extends E> values )
+  {
+    super( Math.max( 2 * values.size(), 11 ) );
+    for( E value : values )
+    {
+      super.add( value );
+    }
+  }
+
+  @Override
+  public Iterator<E> iterator()
+  {
+    // The backing map's iterator removes directly from the map
+    Iterator<E> iterator = super.iterator();
+    return new Iterator<E>()
+    {
+      @Override
+      public boolean hasNext()
+      {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public E next()
+      {
+        return iterator.next();
+      }
+    };
+  }
+
+  @Override
+  public boolean add( E e )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean addAll( Collection<? extends E> c )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean remove( Object o )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean removeAll( Collection<?> c )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean retainAll( Collection<?> c )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean removeIf( Predicate<? super E> filter )
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear()
+  {
+    throw new UnsupportedOperationException();
+  }
+}
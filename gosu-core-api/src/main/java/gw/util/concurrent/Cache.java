@@ -20,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 import java.math.BigDecimal;
 
 import gw.util.concurrent.Cache.ConcurrentLinkedHashMap.Node.State;
@@ -30,15 +31,23 @@ import gw.util.ILogger;
  */
 public class Cache<K, V> {
 
-  private ConcurrentLinkedHashMap<K, V> _cacheImpl;
+  /**
+   * Set to false to turn off hit and miss counting for caches that don't ask for it explicitly
+   */
+  public static final String STATS_SYSTEM_PROP = "gosu.cache.stats";
+  private static final boolean DEFAULT_RECORD_STATS = Boolean.parseBoolean( System.getProperty( STATS_SYSTEM_PROP, "true" ) );
+
+  private volatile ConcurrentLinkedHashMap<K, V> _cacheImpl;
   private final MissHandler<K,V> _missHandler;
   private final String _name;
   private final int _size;
+  private final Policy _policy;
 
-  //statistics
-  private final AtomicInteger _requests = new AtomicInteger();
-  private final AtomicInteger _misses = new AtomicInteger();
-  private final AtomicInteger _hits = new AtomicInteger();
+  //statistics, the request count is the sum of the two.  LongAdders spread the updates over
+  //per-thread cells so concurrent gets don't all contend on the same counter
+  private final boolean _bRecordStats;
+  private final LongAdder _misses = new LongAdder();
+  private final LongAdder _hits = new LongAdder();
 
   private ScheduledFuture<?> _loggingTask;
 
@@ -49,14 +58,31 @@ public class Cache<K, V> {
    * @param missHandler how to handle misses, this is required not to be null
    */
   public Cache( String name, int size, MissHandler<K, V> missHandler) {
+    this(name, size, missHandler, Policy.SECOND_CHANCE, DEFAULT_RECORD_STATS);
+  }
+
+  /** This will create a new cache
+   *
+   * @param name the name of the cache for logging
+   * @param size the maximum size of the log
+   * @param missHandler how to handle misses, this is required not to be null
+   * @param policy which entries to evict once the cache is full
+   * @param bRecordStats whether to count hits and misses, if false the statistics are always zero
+   */
+  public Cache(String name, int size, MissHandler<K, V> missHandler, Policy policy, boolean bRecordStats) {
     _name = name;
     _size = size;
+    _policy = policy;
+    _bRecordStats = bRecordStats;
     clearCacheImpl();
     _missHandler = missHandler;
   }
 
   private void clearCacheImpl() {
-    _cacheImpl = new ConcurrentLinkedHashMap<K,V>(ConcurrentLinkedHashMap.EvictionPolicy.SECOND_CHANCE, _size);
+    ConcurrentLinkedHashMap.EvictionPolicy policy = _policy == Policy.TINY_LFU
+                                                    ? ConcurrentLinkedHashMap.EvictionPolicy.TINY_LFU
+                                                    : ConcurrentLinkedHashMap.EvictionPolicy.SECOND_CHANCE;
+    _cacheImpl = new ConcurrentLinkedHashMap<K,V>(policy, _size);
   }
 
   /** This will evict a specific key from the cache.
@@ -85,13 +111,31 @@ public class Cache<K, V> {
    */
   public V get(K key) {
     V value = _cacheImpl.get(key);
-    _requests.incrementAndGet();
     if (value == null) {
       value = _missHandler.load(key);
       _cacheImpl.put(key, value);
-      _misses.incrementAndGet();
-    } else {
-      _hits.incrementAndGet();
+      if (_bRecordStats) {
+        _misses.increment();
+      }
+    } else if (_bRecordStats) {
+      _hits.increment();
+    }
+    return value;
+  }
+
+  /** This will get a specific entry without calling the missHandler.
+   *
+   * @param key the object to find
+   * @return the cached object or null if it is not in the cache
+   */
+  public V getIfPresent(K key) {
+    V value = _cacheImpl.get(key);
+    if (_bRecordStats) {
+      if (value == null) {
+        _misses.increment();
+      } else {
+        _hits.increment();
+      }
     }
     return value;
   }
@@ -104,16 +148,24 @@ public class Cache<K, V> {
     return _cacheImpl.size();
   }
 
+  public Policy getPolicy() {
+    return _policy;
+  }
+
+  public boolean isRecordingStats() {
+    return _bRecordStats;
+  }
+
   public int getRequests() {
-    return _requests.get();
+    return getHits() + getMisses();
   }
 
   public int getMisses() {
-    return _misses.get();
+    return _misses.intValue();
   }
 
   public int getHits() {
-    return _hits.get();
+    return _hits.intValue();
   }
 
   public double getHitRate() {
@@ -160,13 +212,15 @@ public class Cache<K, V> {
 
   public void clear() {
     clearCacheImpl();
-    _hits.set(0);
-    _misses.set(0);
-    _requests.set(0);
+    _hits.reset();
+    _misses.reset();
   }
 
   @Override
   public String toString() {
+    if (!_bRecordStats) {
+      return "Cache \"" + _name + "\"( Size:" + getUtilizedSize() + ", statistics disabled )";
+    }
     return "Cache \"" + _name + "\"( Hits:" + getHits() + ", Misses:" + getMisses() + ", Requests:" + getRequests() + ", Hit rate:" + BigDecimal.valueOf(getHitRate() * 100.0).setScale(2, BigDecimal.ROUND_DOWN) + "% )";
   }
 
@@ -174,6 +228,24 @@ public class Cache<K, V> {
     return new Cache<K, V>(name, size, handler);
   }
 
+  /**
+   * The replacement policy applied once a cache reaches its configured size.
+   */
+  public enum Policy {
+    /**
+     * Evicts the oldest entry unless it was retrieved since it was last considered, which approximates LRU.
+     */
+    SECOND_CHANCE,
+
+    /**
+     * Evicts the oldest entry unless it is used more often than the newest one, as estimated from a
+     * frequency sketch of recent accesses.  Entries that are used once, e.g. by a scan over many
+     * keys, are evicted first, so this keeps a better hit rate than {@link #SECOND_CHANCE} for skewed
+     * workloads at the cost of a sketch update on each access.
+     */
+    TINY_LFU
+  }
+
   /**
    * A {@link ConcurrentMap} with a doubly-linked list running through its entries.
    * <p/>
@@ -192,6 +264,9 @@ public class Cache<K, V> {
    * by making it aware of "hot" entries, which increases its hit rate to be equal to an
    * LRU's under normal workloads. In the worst case, where all entries have been saved,
    * this policy degrades to a FIFO.
+   * <li> TinyLFU: A second-chance variant where the entry at the head of the list is saved if a
+   * {@link FrequencySketch} estimates it is used more often than the entry added last. This keeps
+   * frequently used entries from being flushed by a burst of entries that are used only once.
    * <li> Least Recently Used: An eviction policy based on the observation that entries that
    * have been used recently will likely be used again soon. This policy provides a good
    * approximation of an optimal algorithm, but suffers by being expensive to maintain.
@@ -221,6 +296,7 @@ public class Cache<K, V> {
     final AtomicInteger length;
     final Node<K, V> head;
     final Node<K, V> tail;
+    final FrequencySketch sketch;
 
     /**
      * Creates a new, empty, unbounded map with the specified maximum capacity and the default
@@ -254,6 +330,7 @@ public class Cache<K, V> {
       this.head = new Node<K, V>();
       this.tail = new Node<K, V>();
       this.policy = policy;
+      this.sketch = (policy == EvictionPolicy.TINY_LFU) ? new FrequencySketch(maximumCapacity) : null;
 
       head.setPrev(head);
       head.setNext(tail);
@@ -333,11 +410,13 @@ public class Cache<K, V> {
      * Evicts a single entry if the map exceeds the maximum capacity.
      */
     private void evict() {
+      Node<K, V> candidate = tail.getPrev();
+      int reprieves = 0;
       while (isOverflow()) {
         Node<K, V> node = poll();
         if (node == null) {
           return;
-        } else if (policy.onEvict(this, node)) {
+        } else if (reprieves++ >= policy.maxReprieves() || policy.onEvict(this, node, candidate)) {
           V value = node.getValue();
           if (value != null) {
             K key = node.getKey();
@@ -425,6 +504,7 @@ public class Cache<K, V> {
       if (old == null) {
         length.incrementAndGet();
         offer(node);
+        policy.onAdd(this, node);
         evict();
       }
       return old;
@@ -546,7 +626,7 @@ public class Cache<K, V> {
         <K, V> void onGet(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node) {
           // do nothing
         }
-        <K, V> boolean onEvict(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node) {
+        <K, V> boolean onEvict(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node, Node<K, V> candidate) {
           return true;
         }
       },
@@ -562,7 +642,7 @@ public class Cache<K, V> {
           super.onRemove(map, node);
           node.setMarked(false);
         }
-        <K, V> boolean onEvict(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node) {
+        <K, V> boolean onEvict(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node, Node<K, V> candidate) {
           if (node.isMarked()) {
             node.setMarked(false);
             return false;
@@ -585,9 +665,33 @@ public class Cache<K, V> {
             map.evict();
           }
         }
-        <K, V> boolean onEvict(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node) {
+        <K, V> boolean onEvict(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node, Node<K, V> candidate) {
           return true;
         }
+      },
+
+      /**
+       * Evicts entries based on insertion order, but saves an entry if the map's frequency sketch estimates
+       * it is used more often than the entry most recently added. Since a map full of frequently used entries
+       * would otherwise cycle through all of them on every insertion, only a few entries are saved per eviction.
+       */
+      TINY_LFU() {
+        <K, V> void onGet(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node) {
+          map.sketch.increment(node.getKey());
+        }
+        <K, V> void onAdd(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node) {
+          map.sketch.increment(node.getKey());
+        }
+        <K, V> boolean onEvict(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node, Node<K, V> candidate) {
+          if (node == candidate || node.getValue() == null || candidate.getKey() == null) {
+            // the candidate is the sentinel if the list was empty
+            return true;
+          }
+          return map.sketch.frequency(node.getKey()) <= map.sketch.frequency(candidate.getKey());
+        }
+        int maxReprieves() {
+          return 8;
+        }
       };
 
       /**
@@ -597,6 +701,23 @@ public class Cache<K, V> {
        */
       abstract <K, V> void onGet(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node);
 
+      /**
+       * @return how many nodes one eviction may offer back to the tail of the list before it evicts the head
+       * regardless of {@link #onEvict}
+       */
+      int maxReprieves() {
+        return Integer.MAX_VALUE;
+      }
+
+      /**
+       * Performs any operations required by the policy after a new node was added to the list.
+       * @param map the map to for this listener
+       * @param node the specific node
+       */
+      <K, V> void onAdd(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node) {
+        // do nothing
+      }
+
       /**
        * Expires a node so that, for all intents and purposes, it is a dead on the list. The
        * caller of this method should have already removed the node from the mapping so that
@@ -613,9 +734,10 @@ public class Cache<K, V> {
        * to the tail.
        * @param map the map to for this listener
        * @param node the specific node
+       * @param candidate the node at the tail of the list when the eviction started, normally the one just added
        * @return whether this node is to be evicted
        */
-      abstract <K, V> boolean onEvict(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node);
+      abstract <K, V> boolean onEvict(ConcurrentLinkedHashMap<K, V> map, Node<K, V> node, Node<K, V> candidate);
     }
 
     /**
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.util.concurrent;
+
+/**
+ * A count-min sketch estimating how often each key was accessed recently, used by the TinyLFU cache
+ * policy.  Each key maps to one 4-bit counter in each of four rows, and its estimate is the minimum of
+ * the four.  Once the number of increments reaches ten times the cache's capacity all counters are
+ * halved so the estimates favor recent history.
+ * <p/>
+ * The sketch is not synchronized.  Concurrent increments can be lost, which only makes the estimates
+ * a little lower; a cache's eviction decision doesn't need to be exact.  Saturated counters are not
+ * written, so the hottest keys don't keep dirtying the table's cache lines.
+ */
+final class FrequencySketch
+{
+  private static final long[] SEEDS = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final int MAX_COUNT = 15;
+  private static final int MAX_CAPACITY = 1 << 24;
+
+  // Each long holds 16 counters, four per row
+  private final long[] _table;
+  private final int _iTableMask;
+  private final int _iSampleSize;
+  private int _iSize;
+
+  FrequencySketch( int iCapacity )
+  {
+    iCapacity = Math.min( iCapacity, MAX_CAPACITY );
+    int iLength = Integer.highestOneBit( Math.max( iCapacity, 8 ) - 1 ) << 1;
+    _table = new long[iLength];
+    _iTableMask = iLength - 1;
+    _iSampleSize = Math.max( iCapacity, 1 ) * 10;
+  }
+
+  /**
+   * @return the estimated number of recent accesses of the key, at most 15
+   */
+  int frequency( Object key )
+  {
+    int iHash = spread( key.hashCode() );
+    int iStart = (iHash & 3) << 2;
+    int iFrequency = MAX_COUNT;
+    for( int i = 0; i < 4; i++ )
+    {
+      int iOffset = (iStart + i) << 2;
+      int iCount = (int)((_table[indexOf( iHash, i )] >>> iOffset) & 0xfL);
+      iFrequency = Math.min( iFrequency, iCount );
+    }
+    return iFrequency;
+  }
+
+  void increment( Object key )
+  {
+    int iHash = spread( key.hashCode() );
+    int iStart = (iHash & 3) << 2;
+    boolean bAdded = false;
+    for( int i = 0; i < 4; i++ )
+    {
+      bAdded |= incrementAt( indexOf( iHash, i ), iStart + i );
+    }
+    if( bAdded && ++_iSize >= _iSampleSize )
+    {
+      reset();
+    }
+  }
+
+  private boolean incrementAt( int iIndex, int iCounter )
+  {
+    int iOffset = iCounter << 2;
+    long mask = 0xfL << iOffset;
+    long value = _table[iIndex];
+    if( (value & mask) != mask )
+    {
+      _table[iIndex] = value + (1L << iOffset);
+      return true;
+    }
+    return false;
+  }
+
+  private void reset()
+  {
+    for( int i = 0; i < _table.length; i++ )
+    {
+      _table[i] = (_table[i] >>> 1) & RESET_MASK;
+    }
+    _iSize = _iSize >>> 1;
+  }
+
+  private int indexOf( int iHash, int iRow )
+  {
+    long hash = (iHash + SEEDS[iRow]) * SEEDS[iRow];
+    hash += hash >>> 32;
+    return (int)hash & _iTableMask;
+  }
+
+  private static int spread( int x )
+  {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.util.concurrent;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Backs the parallel* collection enhancements.  The work is split with the collection's spliterator
+ * and run on the common ForkJoinPool; collections smaller than the threshold, and Iterables that are
+ * not Collections, are processed sequentially on the calling thread since their size is unknown or
+ * the split would cost more than it saves.
+ * <p>
+ * The blocks passed to these methods are called concurrently and in no particular order, so they
+ * must not depend on each other's side effects.  Results are in encounter order regardless.
+ */
+public class ParallelCollectionUtil
+{
+  public static final String THRESHOLD_SYSTEM_PROP = "gosu.parallel.threshold";
+  private static final int DEFAULT_THRESHOLD = 2048;
+
+  private static volatile int g_iThreshold = Integer.getInteger( THRESHOLD_SYSTEM_PROP, DEFAULT_THRESHOLD );
+
+  private ParallelCollectionUtil()
+  {
+  }
+
+  /**
+   * @return the minimum number of elements a collection must have to be processed in parallel
+   */
+  public static int getThreshold()
+  {
+    return g_iThreshold;
+  }
+
+  public static void setThreshold( int iThreshold )
+  {
+    if( iThreshold < 0 )
+    {
+      throw new IllegalArgumentException( "Threshold must not be negative: " + iThreshold );
+    }
+    g_iThreshold = iThreshold;
+  }
+
+  public static <T, Q> List<Q> map( Iterable<T> source, Function<T, Q> mapper )
+  {
+    return stream( source ).map( mapper ).collect( Collectors.toCollection( ArrayList::new ) );
+  }
+
+  public static <T> List<T> where( Iterable<T> source, Predicate<T> cond )
+  {
+    return stream( source ).filter( cond ).collect( Collectors.toCollection( ArrayList::new ) );
+  }
+
+  /**
+   * Reduces the elements to a single value.  Each split is folded from <code>identity</code> with the
+   * aggregator and the partial results are folded together with the combiner, so the identity must be
+   * neutral for the combiner and both must be associative.
+   */
+  public static <T, V> V reduce( Iterable<T> source, V identity, BiFunction<V, T, V> aggregator, BinaryOperator<V> combiner )
+  {
+    return stream( source ).reduce( identity, aggregator, combiner );
+  }
+
+  /**
+   * Groups the elements by the key the partitioner maps them to.  Unlike a groupingBy collector this
+   * allows null keys, as the sequential partition() enhancements do, and the elements of each group
+   * keep their encounter order.
+   */
+  public static <T, Q> Map<Q, List<T>> partition( Iterable<T> source, Function<T, Q> partitioner )
+  {
+    return stream( source ).collect( Collector.<T, Map<Q, List<T>>>of(
+      HashMap::new,
+      ( map, elt ) -> map.computeIfAbsent( partitioner.apply( elt ), key -> new ArrayList<>() ).add( elt ),
+      ( left, right ) -> {
+        for( Map.Entry<Q, List<T>> entry : right.entrySet() )
+        {
+          left.merge( entry.getKey(), entry.getValue(), ( l, r ) -> {
+            l.addAll( r );
+            return l;
+          } );
+        }
+        return left;
+      } ) );
+  }
+
+  /**
+   * Sums as the sequential int sum() does, overflow wraps the same way regardless of the split.
+   */
+  public static <T> int sumInts( Iterable<T> source, ToIntFunction<T> mapper )
+  {
+    return stream( source ).mapToInt( mapper ).sum();
+  }
+
+  public static <T> long sumLongs( Iterable<T> source, ToLongFunction<T> mapper )
+  {
+    return stream( source ).mapToLong( mapper ).sum();
+  }
+
+  /**
+   * Adds the values in encounter order, as the sequential sum() does, below the threshold, so the
+   * result is exactly the same.  In parallel each split is added up the same way and the partial sums
+   * are added together; floating point addition is not associative, so the result can then differ from
+   * the sequential sum() in the last bits depending on how the collection was split.
+   * DoubleStream#sum() is not used, its compensated summation differs from sum() even on one thread.
+   */
+  public static <T> double sumDoubles( Iterable<T> source, ToDoubleFunction<T> mapper )
+  {
+    if( !isParallel( source ) )
+    {
+      double sum = 0.0;
+      for( T elt : source )
+      {
+        sum += mapper.applyAsDouble( elt );
+      }
+      return sum;
+    }
+    return stream( source ).mapToDouble( mapper ).reduce( 0.0, Double::sum );
+  }
+
+  public static <T> BigDecimal sumBigDecimals( Iterable<T> source, Function<T, BigDecimal> mapper )
+  {
+    return stream( source ).map( mapper ).reduce( BigDecimal.ZERO, BigDecimal::add );
+  }
+
+  public static <T> BigInteger sumBigIntegers( Iterable<T> source, Function<T, BigInteger> mapper )
+  {
+    return stream( source ).map( mapper ).reduce( BigInteger.ZERO, BigInteger::add );
+  }
+
+  private static <T> Stream<T> stream( Iterable<T> source )
+  {
+    return StreamSupport.stream( source.spliterator(), isParallel( source ) );
+  }
+
+  private static boolean isParallel( Iterable<?> source )
+  {
+    return source instanceof Collection && ((Collection)source).size() >= g_iThreshold;
+  }
+}
@@ -55,16 +55,24 @@ public class ObjectSizeUtil {
    * @throws Exception 
    */
   public static ObjectSize deepSizeOf(Object obj, IObjectSizeFilter filter, int maxObjects) {
+    return deepSizeOf(obj, filter, maxObjects, VERBOSE);
+  }
+
+  /**
+   * Same as {@link #deepSizeOf(Object, IObjectSizeFilter, int)}, but prints the object graph and the size
+   * histogram only if verbose is true instead of according to {@link #VERBOSE}.
+   */
+  public static ObjectSize deepSizeOf(Object obj, IObjectSizeFilter filter, int maxObjects, boolean verbose) {
     Map<Object, Object> visited = new IdentityHashMap<Object, Object>();
     Stack<ObjectEntry> stack = new Stack<ObjectEntry>();
     InvocationCounter sizeHistogram = new InvocationCounter(false);
     
-    long result = internalSizeOf(new ObjectEntry(obj, "", ""), stack, visited, filter, "");
+    long result = internalSizeOf(new ObjectEntry(obj, "", ""), stack, visited, filter, "", verbose);
     sizeHistogram.recordInvocation(obj.getClass().getName(), (int)result);
     int n = 1;
     while (!stack.isEmpty()) {
       ObjectEntry entry = stack.pop();
-      long size = internalSizeOf(entry, stack, visited, filter, entry.indent);
+      long size = internalSizeOf(entry, stack, visited, filter, entry.indent, verbose);
       result += size;
       n++;
       sizeHistogram.recordInvocation(entry.object.getClass().getName(), (int)size);
@@ -74,7 +82,7 @@ public class ObjectSizeUtil {
     }
     visited.clear();
     
-    if (VERBOSE) {
+    if (verbose) {
       System.out.println();      
       System.out.println("-------------------------------------------------");      
       sizeHistogram.print();
@@ -113,7 +121,7 @@ public class ObjectSizeUtil {
     return result;
   }
 
-  private static long internalSizeOf(ObjectEntry entry, Stack<ObjectEntry> stack, Map<Object, Object> visited, IObjectSizeFilter filter, String indent) {
+  private static long internalSizeOf(ObjectEntry entry, Stack<ObjectEntry> stack, Map<Object, Object> visited, IObjectSizeFilter filter, String indent, boolean verbose) {
     Object obj = entry.object;
     if (skipObject(obj, visited, filter)) {
       return 0;
@@ -162,7 +170,7 @@ public class ObjectSizeUtil {
     }
 
     result = roundUpToNearestEightBytes(result);
-    if (VERBOSE ) {
+    if (verbose) {
       String extra = "";
       if (obj instanceof HashMap) {
         try {
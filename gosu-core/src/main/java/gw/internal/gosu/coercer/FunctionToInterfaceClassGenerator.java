@@ -4,14 +4,17 @@
 
 package gw.internal.gosu.coercer;
 
+import gw.internal.gosu.compiler.FunctionClassUtil;
 import gw.internal.gosu.compiler.GosuClassLoader;
 import gw.internal.gosu.parser.IGosuClassInternal;
 import gw.internal.gosu.parser.TypeLord;
 import gw.lang.parser.IHasInnerClass;
 import gw.lang.parser.TypeVarToTypeMap;
 import gw.lang.reflect.IMethodInfo;
+import gw.lang.reflect.AbstractTypeSystemListener;
 import gw.lang.reflect.IParameterInfo;
 import gw.lang.reflect.IType;
+import gw.lang.reflect.RefreshRequest;
 import gw.lang.reflect.TypeSystem;
 import gw.lang.reflect.gs.ClassType;
 import gw.lang.reflect.gs.GosuClassTypeLoader;
@@ -20,27 +23,50 @@ import gw.lang.reflect.gs.IGosuEnhancement;
 import gw.lang.reflect.gs.IGosuObject;
 import gw.lang.reflect.gs.LazyStringSourceFileHandle;
 import gw.lang.reflect.java.IJavaMethodInfo;
+import gw.lang.reflect.java.IJavaType;
 import gw.lang.reflect.java.JavaTypes;
 import gw.lang.reflect.module.IModule;
+import gw.util.Pair;
 import gw.util.fingerprint.FP64;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FunctionToInterfaceClassGenerator {
-  private static final Map<String, String> MAP = new HashMap<>();
+  private static final Map<String, String> MAP = new ConcurrentHashMap<>();
   public static final String PROXY_FOR = "ProxyFor_";
 
-  public static synchronized IGosuClass getBlockToInterfaceConversionClass( IType typeToCoerceTo, IType enclosingType ) {
+  // (interface type, enclosing type) -> proxy class.  Lets coercions of blocks that already have a proxy
+  // skip the monitor below and the inner class lookup by encoded name.
+  private static final Map<Pair<IType, IType>, IGosuClass> PROXY_CLASSES = new ConcurrentHashMap<>();
+  private static final ProxyClassInvalidator INVALIDATOR = new ProxyClassInvalidator();
+
+  public static IGosuClass getBlockToInterfaceConversionClass( IType typeToCoerceTo, IType enclosingType ) {
     if( !(enclosingType instanceof IGosuClass) ) {
       // The enclosing type could be a GosuFragment, for example, which isn't compiled
       // normally, so we use a predefined Gosu class designated for top-level interface proxies
       enclosingType = TypeSystem.getByFullName( "gw.lang.TopLevelBlockToInterfaceHolder" );
     }
+    Pair<IType, IType> key = new Pair<>( typeToCoerceTo, enclosingType );
+    IGosuClass proxyClass = PROXY_CLASSES.get( key );
+    if( proxyClass == null ) {
+      // Not computeIfAbsent(): generating the proxy compiles Gosu source, which can coerce other blocks and
+      // takes the type system lock, neither of which may happen while holding a lock inside the map
+      proxyClass = findOrCreateProxyClass( typeToCoerceTo, enclosingType );
+      if( proxyClass != null ) {
+        IGosuClass existing = PROXY_CLASSES.putIfAbsent( key, proxyClass );
+        proxyClass = existing == null ? proxyClass : existing;
+      }
+    }
+    return proxyClass;
+  }
+
+  private static synchronized IGosuClass findOrCreateProxyClass( IType typeToCoerceTo, IType enclosingType ) {
+    TypeSystem.addTypeLoaderListenerAsWeakRef( INVALIDATOR );
     typeToCoerceTo = TypeLord.replaceTypeVariableTypeParametersWithBoundingTypes( typeToCoerceTo, enclosingType );
     final String relativeNameWithEncodedSuffix = PROXY_FOR + encodeClassName( typeToCoerceTo.getName() );
     return (IGosuClass)((IHasInnerClass)enclosingType).getInnerClass( relativeNameWithEncodedSuffix );
@@ -151,8 +177,9 @@ public class FunctionToInterfaceClassGenerator {
       sb.append( ' ' ).append( "p" ).append( i ).append( ": " ).append( TypeLord.replaceTypeVariableTypeParametersWithBoundingTypes( pi.getFeatureType() ).getName() );
       sb.append( i < params.length - 1 ? ',' : ' ' );
     }
-    sb.append( ") : " ).append( returnType.getName() ).append( " {\n" )
-      .append( returnType == JavaTypes.pVOID()
+    sb.append( ") : " ).append( returnType.getName() ).append( " {\n" );
+    maybeInvokePrimitive( sb, returnType, params );
+    sb.append( returnType == JavaTypes.pVOID()
                ? "    "
                : "    return " )
       .append( "_block.invokeWithArgs( {" );
@@ -164,6 +191,30 @@ public class FunctionToInterfaceClassGenerator {
       .append( "  }\n" );
   }
 
+  /**
+   * If the block may implement a primitive-specialized interface matching the method, e.g. IToIntFunction1
+   * for ToIntFunction#applyAsInt(), calls it directly to avoid boxing the arguments and the result.
+   */
+  private static void maybeInvokePrimitive( StringBuilder sb, IType returnType, IParameterInfo[] params ) {
+    IType[] paramTypes = new IType[params.length];
+    for( int i = 0; i < params.length; i++ ) {
+      paramTypes[i] = TypeLord.replaceTypeVariableTypeParametersWithBoundingTypes( params[i].getFeatureType() );
+    }
+    IJavaType primitiveIface = FunctionClassUtil.getPrimitiveFunctionInterface( returnType, paramTypes );
+    if( primitiveIface == null ) {
+      return;
+    }
+    sb.append( "    if( _block typeis " ).append( primitiveIface.getName() ).append( " ) {\n" )
+      .append( "      return (_block as " ).append( primitiveIface.getName() ).append( ")." )
+      .append( FunctionClassUtil.getPrimitiveInvokeMethodName( returnType ) ).append( "(" );
+    for( int i = 0; i < params.length; i++ ) {
+      sb.append( ' ' ).append( "p" ).append( i )
+        .append( i < params.length - 1 ? ',' : ' ' );
+    }
+    sb.append( ")\n" )
+      .append( "    }\n" );
+  }
+
   private static String maybeCastReturnType( IType returnType ) {
     return returnType != JavaTypes.pVOID()
            ? " as " + returnType.getName()
@@ -214,4 +265,21 @@ public class FunctionToInterfaceClassGenerator {
     return null;
   }
 
+
+  /**
+   * Proxies are inner classes of their enclosing type, so a refreshed enclosing type drops them and they
+   * must be looked up again.  Refreshes are rare enough that it isn't worth tracking which entries a
+   * refresh affects.
+   */
+  private static class ProxyClassInvalidator extends AbstractTypeSystemListener {
+    @Override
+    public void refreshedTypes( RefreshRequest request ) {
+      PROXY_CLASSES.clear();
+    }
+
+    @Override
+    public void refreshed() {
+      PROXY_CLASSES.clear();
+    }
+  }
 }
@@ -0,0 +1,386 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.compiler;
+
+import gw.internal.gosu.parser.IGosuClassInternal;
+import gw.internal.gosu.parser.TypeLord;
+import gw.lang.Gosu;
+import gw.lang.parser.ICustomExpressionRuntime;
+import gw.lang.reflect.AbstractTypeSystemListener;
+import gw.lang.reflect.IType;
+import gw.lang.reflect.RefreshRequest;
+import gw.lang.reflect.TypeSystem;
+import gw.lang.reflect.gs.BytecodeOptions;
+import gw.lang.reflect.gs.ICompilableType;
+import gw.lang.reflect.gs.IGosuProgram;
+import gw.lang.reflect.gs.ISourceFileHandle;
+import gw.lang.reflect.java.asm.AsmUtil;
+import gw.util.fingerprint.FP64;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A persistent cache of the bytecode {@link GosuClassLoader} compiles on demand from Gosu source, so that
+ * a restarted process doesn't have to transform and compile every type again.  Enabled by setting
+ * {@link BytecodeOptions#BYTECODE_CACHE_DIR_SYSTEM_PROP}.
+ * <p/>
+ * Entries are content addressed: the file name is the FP64 fingerprint of the type's name, the source of its
+ * top-level type, the Gosu version, and the bytecode options that influence code generation.  Each entry also
+ * records the source fingerprints of the Gosu types its bytecode references (supertypes, enhancements, and the
+ * owners of called members) and of all their supertypes and interfaces, which are compared on lookup; if any of
+ * them changed the entry is ignored and overwritten once the type is recompiled.  Only Gosu sources are tracked,
+ * Java dependencies are assumed to be stable for the lifetime of the cache directory.  Types that use custom
+ * expression runtimes are not cached, the runtimes only exist in the process that transformed the type.
+ */
+public class BytecodeCache
+{
+  private static final int FORMAT_VERSION = 1;
+  private static final String EXTENSION = ".gbc";
+  private static volatile BytecodeCache g_instance;
+
+  private final File _dir;
+  private final String _strEnvironment;
+  private final Map<String, Long> _sourceFingerprints = new ConcurrentHashMap<>();
+  private final SourceChangeListener _sourceChangeListener = new SourceChangeListener();
+
+  // statistics
+  private final LongAdder _hits = new LongAdder();
+  private final LongAdder _misses = new LongAdder();
+
+  /**
+   * @return the cache for the directory configured in {@link BytecodeOptions}, or null if caching is disabled
+   */
+  public static BytecodeCache instance()
+  {
+    String strDir = BytecodeOptions.getBytecodeCacheDir();
+    if( strDir == null || strDir.isEmpty() )
+    {
+      return null;
+    }
+    BytecodeCache cache = g_instance;
+    if( cache == null || !cache._dir.getPath().equals( new File( strDir ).getPath() ) )
+    {
+      synchronized( BytecodeCache.class )
+      {
+        cache = g_instance;
+        if( cache == null || !cache._dir.getPath().equals( new File( strDir ).getPath() ) )
+        {
+          g_instance = cache = new BytecodeCache( new File( strDir ) );
+        }
+      }
+    }
+    return cache;
+  }
+
+  private BytecodeCache( File dir )
+  {
+    _dir = dir;
+    _strEnvironment = "format=" + FORMAT_VERSION +
+                      ";gosu=" + Gosu.getVersion() +
+                      ";indy=" + BytecodeOptions.isDynamicCallSites() +
+                      ";singletonBlocks=" + BytecodeOptions.isSingletonBlocks() +
+                      ";constantLiterals=" + BytecodeOptions.isConstantCollectionLiterals() +
+                      ";annotations=" + BytecodeOptions.isGenerateAnnotationsToClassFiles() +
+                      ";checkedArithmetic=" + Boolean.getBoolean( "checkedArithmetic" );
+    TypeSystem.addTypeLoaderListenerAsWeakRef( _sourceChangeListener );
+  }
+
+  /**
+   * @return the cached bytecode for the type, or null if there is no entry or it is stale
+   */
+  public byte[] find( ICompilableType type )
+  {
+    ICompilableType outer = getCacheableOuterType( type );
+    if( outer == null )
+    {
+      return null;
+    }
+
+    File file = getFile( type, outer );
+    if( !file.isFile() )
+    {
+      _misses.increment();
+      return null;
+    }
+    try( DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) ) )
+    {
+      if( in.readInt() != FORMAT_VERSION || !type.getName().equals( in.readUTF() ) )
+      {
+        _misses.increment();
+        return null;
+      }
+      int iDeps = in.readInt();
+      for( int i = 0; i < iDeps; i++ )
+      {
+        String strDep = in.readUTF();
+        long lFingerprint = in.readLong();
+        Long current = getSourceFingerprint( strDep );
+        if( current == null || current != lFingerprint )
+        {
+          _misses.increment();
+          return null;
+        }
+      }
+      byte[] bytes = new byte[in.readInt()];
+      in.readFully( bytes );
+      _hits.increment();
+      return bytes;
+    }
+    catch( IOException e )
+    {
+      // A corrupt or truncated entry is just a miss, it is replaced when the type is stored
+      _misses.increment();
+      return null;
+    }
+  }
+
+  /**
+   * Persists the bytecode compiled for the type along with the fingerprints of the types it references.
+   */
+  public void store( ICompilableType type, byte[] bytes )
+  {
+    ICompilableType outer = getCacheableOuterType( type );
+    if( outer == null || !((IGosuClassInternal)type).isValid() )
+    {
+      return;
+    }
+
+    Set<String> referenced = AsmUtil.getReferencedClassNames( bytes );
+    if( referenced.contains( ICustomExpressionRuntime.class.getName() ) )
+    {
+      // Custom runtimes are registered while the class is transformed, loaded from the cache it would find none
+      return;
+    }
+
+    Map<String, Long> deps = new LinkedHashMap<>();
+    Set<IType> visited = new HashSet<>();
+    if( !addDependency( type, outer, deps, visited ) )
+    {
+      return;
+    }
+    for( String strClass : referenced )
+    {
+      IType dep = TypeSystem.getByFullNameIfValidNoJava( strClass.replace( '$', '.' ) );
+      if( dep instanceof ICompilableType && !addDependency( dep, outer, deps, visited ) )
+      {
+        // Referenced a type whose source we can't track, e.g., a program or a generated type
+        return;
+      }
+    }
+
+    File file = getFile( type, outer );
+    try
+    {
+      //noinspection ResultOfMethodCallIgnored
+      _dir.mkdirs();
+      File tmp = File.createTempFile( file.getName(), ".tmp", _dir );
+      try( DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( tmp ) ) ) )
+      {
+        out.writeInt( FORMAT_VERSION );
+        out.writeUTF( type.getName() );
+        out.writeInt( deps.size() );
+        for( Map.Entry<String, Long> entry : deps.entrySet() )
+        {
+          out.writeUTF( entry.getKey() );
+          out.writeLong( entry.getValue() );
+        }
+        out.writeInt( bytes.length );
+        out.write( bytes );
+      }
+      // Readers in other processes must never see a partially written entry
+      Files.move( tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+    }
+    catch( IOException e )
+    {
+      // The cache is only an optimization, the type is simply compiled again next time
+    }
+  }
+
+  /**
+   * Adds the source fingerprint of the type and of each of its Gosu supertypes and interfaces, transitively.  The
+   * bytecode names only the direct supertypes and the owners of the members it calls, but a change anywhere up
+   * the hierarchy, e.g., to the signature of an inherited member, can change what the type compiles to.
+   *
+   * @return false if the source of one of the types can't be tracked
+   */
+  private boolean addDependency( IType type, ICompilableType outer, Map<String, Long> deps, Set<IType> visited )
+  {
+    if( type == null || !(type instanceof ICompilableType) )
+    {
+      // Java types are assumed to be stable, and they can't extend Gosu types
+      return true;
+    }
+    type = TypeLord.getPureGenericType( type );
+    if( !visited.add( type ) )
+    {
+      return true;
+    }
+
+    IType depOuter = TypeLord.getOuterMostEnclosingClass( type );
+    if( depOuter != outer && !deps.containsKey( depOuter.getName() ) )
+    {
+      Long fingerprint = getSourceFingerprint( depOuter.getName() );
+      if( fingerprint == null )
+      {
+        return false;
+      }
+      deps.put( depOuter.getName(), fingerprint );
+    }
+
+    if( !addDependency( type.getSupertype(), outer, deps, visited ) )
+    {
+      return false;
+    }
+    for( IType iface : type.getInterfaces() )
+    {
+      if( !addDependency( iface, outer, deps, visited ) )
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  //## For tests only
+  Set<String> getDependencies( ICompilableType type )
+  {
+    ICompilableType outer = getCacheableOuterType( type );
+    if( outer == null )
+    {
+      return null;
+    }
+    File file = getFile( type, outer );
+    try( DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) ) )
+    {
+      in.readInt();
+      in.readUTF();
+      Set<String> deps = new LinkedHashSet<>();
+      int iDeps = in.readInt();
+      for( int i = 0; i < iDeps; i++ )
+      {
+        deps.add( in.readUTF() );
+        in.readLong();
+      }
+      return deps;
+    }
+    catch( IOException e )
+    {
+      return null;
+    }
+  }
+
+  //## For tests only, stands in for an edit of the type's source
+  void setSourceFingerprint( String strOuterType, long lFingerprint )
+  {
+    _sourceFingerprints.put( strOuterType, lFingerprint );
+  }
+
+  public long getHitCount()
+  {
+    return _hits.sum();
+  }
+
+  public long getMissCount()
+  {
+    return _misses.sum();
+  }
+
+  public File getDirectory()
+  {
+    return _dir;
+  }
+
+  private File getFile( ICompilableType type, ICompilableType outer )
+  {
+    FP64 fp = new FP64( _strEnvironment )
+      .extend( type.getName() )
+      .extend( getSourceFingerprint( outer ) );
+    return new File( _dir, fp.toHexString() + EXTENSION );
+  }
+
+  /**
+   * @return the top-level type of the given type if its bytecode can be cached, otherwise null.  Programs,
+   * fragments, and types not backed by a source file are always compiled.
+   */
+  private static ICompilableType getCacheableOuterType( ICompilableType type )
+  {
+    if( !(type instanceof IGosuClassInternal) )
+    {
+      return null;
+    }
+    IType outer = TypeLord.getOuterMostEnclosingClass( type );
+    if( !(outer instanceof ICompilableType) || outer instanceof IGosuProgram || TypeLord.isEvalProgram( type ) )
+    {
+      return null;
+    }
+    ISourceFileHandle sfh = ((ICompilableType)outer).getSourceFileHandle();
+    return sfh != null && sfh.getFile() != null ? (ICompilableType)outer : null;
+  }
+
+  private Long getSourceFingerprint( String strOuterType )
+  {
+    Long fingerprint = _sourceFingerprints.get( strOuterType );
+    if( fingerprint == null )
+    {
+      IType type = TypeSystem.getByFullNameIfValidNoJava( strOuterType );
+      if( !(type instanceof ICompilableType) )
+      {
+        return null;
+      }
+      ICompilableType outer = getCacheableOuterType( (ICompilableType)type );
+      if( outer == null )
+      {
+        return null;
+      }
+      fingerprint = getSourceFingerprint( outer );
+    }
+    return fingerprint;
+  }
+
+  private long getSourceFingerprint( ICompilableType outer )
+  {
+    return _sourceFingerprints.computeIfAbsent( outer.getName(),
+      name -> new FP64( outer.getSourceFileHandle().getSource().getSource() ).getRawFingerprint() );
+  }
+
+  private class SourceChangeListener extends AbstractTypeSystemListener
+  {
+    @Override
+    public void refreshedTypes( RefreshRequest request )
+    {
+      if( request.types == null )
+      {
+        _sourceFingerprints.clear();
+        return;
+      }
+      for( String strType : request.types )
+      {
+        _sourceFingerprints.remove( strType );
+      }
+    }
+
+    @Override
+    public void refreshed()
+    {
+      _sourceFingerprints.clear();
+    }
+  }
+}
@@ -4,8 +4,10 @@
 
 package gw.internal.gosu.compiler;
 
+import gw.lang.reflect.IType;
 import gw.lang.reflect.TypeSystem;
 import gw.lang.reflect.java.IJavaType;
+import gw.lang.reflect.java.JavaTypes;
 import gw.lang.function.IBlock;
 
 public class FunctionClassUtil extends ClassLoader
@@ -50,6 +52,69 @@ public class FunctionClassUtil extends ClassLoader
     return null;
   }
 
+  /**
+   * Returns the primitive-specialized interface, e.g. IIntToIntFunction1, for blocks of the given signature,
+   * or null if there isn't one.  These exist for int, long, double and boolean returns with either one
+   * argument of any type or one or two arguments of the same int, long or double type.
+   */
+  public static IJavaType getPrimitiveFunctionInterface( IType returnType, IType[] paramTypes )
+  {
+    String strReturn = getPrimitiveKind( returnType, true );
+    if( strReturn == null )
+    {
+      return null;
+    }
+    String strName;
+    if( paramTypes.length == 1 && !paramTypes[0].isPrimitive() )
+    {
+      strName = FUNCTION_PACKAGE + ".ITo" + strReturn + "Function1";
+    }
+    else if( paramTypes.length == 1 || (paramTypes.length == 2 && paramTypes[0] == paramTypes[1]) )
+    {
+      String strParam = getPrimitiveKind( paramTypes[0], false );
+      if( strParam == null )
+      {
+        return null;
+      }
+      strName = FUNCTION_PACKAGE + ".I" + strParam + "To" + strReturn + "Function" + paramTypes.length;
+    }
+    else
+    {
+      return null;
+    }
+    return (IJavaType)TypeSystem.getByFullNameIfValid( strName, TypeSystem.getGlobalModule() );
+  }
+
+  /**
+   * @return the name of the method of the primitive-specialized interface for blocks returning the given type
+   */
+  public static String getPrimitiveInvokeMethodName( IType returnType )
+  {
+    return "invoke" + getPrimitiveKind( returnType, true );
+  }
+
+  private static String getPrimitiveKind( IType type, boolean bReturn )
+  {
+    if( type == JavaTypes.pINT() )
+    {
+      return "Int";
+    }
+    if( type == JavaTypes.pLONG() )
+    {
+      return "Long";
+    }
+    if( type == JavaTypes.pDOUBLE() )
+    {
+      return "Double";
+    }
+    if( bReturn && type == JavaTypes.pBOOLEAN() )
+    {
+      // Boxing a boolean never allocates, so boolean arguments are left to the erased interfaces
+      return "Boolean";
+    }
+    return null;
+  }
+
   public static Class[] getArgArrayForArity( int i )
   {
     return ARGS[i];
@@ -13,6 +13,7 @@ import gw.internal.gosu.parser.IGosuClassInternal;
 import gw.internal.gosu.parser.IGosuProgramInternal;
 import gw.internal.gosu.parser.JavaMethodCache;
 import gw.internal.gosu.parser.ModuleClassLoader;
+import gw.internal.gosu.parser.ParseTreeRetention;
 import gw.internal.gosu.parser.TypeLord;
 import gw.lang.parser.TypeSystemAwareCache;
 import gw.lang.reflect.IGosuClassLoadingObserver;
@@ -39,6 +40,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 
 public class GosuClassLoader implements IGosuClassLoader
 {
@@ -68,7 +70,34 @@ public class GosuClassLoader implements IGosuClassLoader
   {
     try
     {
-      return compileClass( gsClass, false );
+      BytecodeCache cache = BytecodeCache.instance();
+      byte[] bytes = cache == null ? null : cache.find( gsClass );
+      if( bytes == null )
+      {
+        // Class loading under a striped type lock compiles under the global lock as it would without striping
+        boolean bLock = TypeSystemLockHelper.isTypeLockHeldByCurrentThread();
+        if( bLock )
+        {
+          TypeSystemLockHelper.getTypeSystemLockWithMonitor( _loader );
+        }
+        try
+        {
+          bytes = compileClass( gsClass, false );
+          if( cache != null )
+          {
+            cache.store( gsClass, bytes );
+          }
+        }
+        finally
+        {
+          if( bLock )
+          {
+            TypeSystem.unlock();
+          }
+        }
+      }
+      ParseTreeRetention.maybeRelease( gsClass );
+      return bytes;
     }
     catch( Exception pre )
     {
@@ -148,14 +177,14 @@ public class GosuClassLoader implements IGosuClassLoader
       return ((IJavaBackedType)type).getBackingClass();
     }
 
-    TypeSystemLockHelper.getTypeSystemLockWithMonitor(_loader);
+    Lock lock = TypeSystemLockHelper.getTypeLockWithMonitor( strName, _loader );
     try
     {
       return _loader.loadClass( strName );
     }
     finally
     {
-      TypeSystem.unlock();
+      TypeSystemLockHelper.unlockType( lock );
     }
   }
 
@@ -36,6 +36,7 @@ import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.net.URLDecoder;
 import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
 import javax.tools.DiagnosticCollector;
 import javax.tools.JavaFileObject;
 
@@ -48,6 +49,7 @@ public class GosuClassesUrlConnection extends URLConnection {
   private static final String META_INF_MANIFEST_MF = "META-INF/MANIFEST.MF";
 
   private ICompilableType _type;
+  private String _strClass;
   private JavaFileObject _javaSrcFile;
   private String _javaFqn;
 
@@ -118,7 +120,7 @@ public class GosuClassesUrlConnection extends URLConnection {
       // Never load an eval class here, they should always load in a single-serving loader
       return;
     }
-    TypeSystemLockHelper.getTypeSystemLockWithMonitor( loader );
+    Lock lock = TypeSystemLockHelper.getTypeLockWithMonitor( strType, loader );
     try {
       IModule global = TypeSystem.getGlobalModule();
       IType type;
@@ -168,8 +170,9 @@ public class GosuClassesUrlConnection extends URLConnection {
       throw GosuExceptionUtil.forceThrow( e, "Type: " + strType );
     }
     finally {
-      TypeSystem.unlock();
+      TypeSystemLockHelper.unlockType( lock );
     }
+    _strClass = strType;
   }
 
   //## hack: total hack to handle misconfigured classloaders where parent loader and child loader have overlapping paths
@@ -322,7 +325,15 @@ public class GosuClassesUrlConnection extends URLConnection {
 
     private void init() {
       if( _buf == null ) {
-        TypeSystemLockHelper.getTypeSystemLockWithMonitor( _loader );
+        // Compiling Java source needs the global lock, Gosu bytecode may come from the bytecode cache without it
+        Lock lock;
+        if( _type != null ) {
+          lock = TypeSystemLockHelper.getTypeLockWithMonitor( _strClass, _loader );
+        }
+        else {
+          TypeSystemLockHelper.getTypeSystemLockWithMonitor( _loader );
+          lock = TypeSystem.getGlobalLock();
+        }
         try {
           //System.out.println( "Compiling: " + _type.getName() );
           if( _type != null ) {
@@ -339,7 +350,7 @@ public class GosuClassesUrlConnection extends URLConnection {
           throw GosuExceptionUtil.forceThrow( e );
         }
         finally {
-          TypeSystem.unlock();
+          TypeSystemLockHelper.unlockType( lock );
         }
       }
     }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.ir.compiler.bytecode.expression;
+
+import gw.internal.ext.org.objectweb.asm.Handle;
+import gw.internal.ext.org.objectweb.asm.Opcodes;
+import gw.internal.ext.org.objectweb.asm.Type;
+import gw.internal.gosu.ir.compiler.bytecode.AbstractBytecodeCompiler;
+import gw.internal.gosu.ir.compiler.bytecode.IRBytecodeCompiler;
+import gw.internal.gosu.ir.compiler.bytecode.IRBytecodeContext;
+import gw.lang.ir.IRExpression;
+import gw.lang.ir.IRType;
+import gw.lang.ir.expression.IRInvokeDynamicExpression;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+public class IRInvokeDynamicExpressionCompiler extends AbstractBytecodeCompiler {
+
+  public static void compile( IRInvokeDynamicExpression expression, IRBytecodeContext context ) {
+    for( IRExpression arg : expression.getArgs() ) {
+      IRBytecodeCompiler.compileIRExpression( arg, context );
+    }
+
+    StringBuilder descriptor = new StringBuilder();
+    descriptor.append( "(" );
+    for( IRType param : expression.getParameterTypes() ) {
+      descriptor.append( param.getDescriptor() );
+    }
+    descriptor.append( ")" );
+    descriptor.append( expression.getReturnType().getDescriptor() );
+
+    Handle bootstrap = new Handle( Opcodes.H_INVOKESTATIC, expression.getBootstrapOwner().getSlashName(), expression.getBootstrapName(),
+                                   makeBootstrapDescriptor( expression.getBootstrapArgs() ) );
+    context.getMv().visitInvokeDynamicInsn( expression.getName(), descriptor.toString(), bootstrap, expression.getBootstrapArgs() );
+  }
+
+  private static String makeBootstrapDescriptor( Object[] bootstrapArgs ) {
+    Class[] params = new Class[3 + bootstrapArgs.length];
+    params[0] = MethodHandles.Lookup.class;
+    params[1] = String.class;
+    params[2] = MethodType.class;
+    for( int i = 0; i < bootstrapArgs.length; i++ ) {
+      Object arg = bootstrapArgs[i];
+      if( arg instanceof String ) {
+        params[i + 3] = String.class;
+      }
+      else if( arg instanceof Integer ) {
+        params[i + 3] = int.class;
+      }
+      else {
+        throw new IllegalArgumentException( "Unsupported bootstrap argument: " + arg );
+      }
+    }
+    return Type.getMethodDescriptor( Type.getType( CallSite.class ), toTypes( params ) );
+  }
+
+  private static Type[] toTypes( Class[] classes ) {
+    Type[] types = new Type[classes.length];
+    for( int i = 0; i < classes.length; i++ ) {
+      types[i] = Type.getType( classes[i] );
+    }
+    return types;
+  }
+}
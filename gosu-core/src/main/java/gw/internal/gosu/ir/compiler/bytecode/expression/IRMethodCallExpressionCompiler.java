@@ -4,6 +4,7 @@
 
 package gw.internal.gosu.ir.compiler.bytecode.expression;
 
+import gw.internal.ext.org.objectweb.asm.Handle;
 import gw.internal.ext.org.objectweb.asm.Label;
 import gw.internal.ext.org.objectweb.asm.MethodVisitor;
 import gw.internal.ext.org.objectweb.asm.Opcodes;
@@ -12,11 +13,13 @@ import gw.internal.gosu.ir.compiler.bytecode.AbstractBytecodeCompiler;
 import gw.internal.gosu.ir.compiler.bytecode.IRBytecodeCompiler;
 import gw.internal.gosu.ir.compiler.bytecode.IRBytecodeContext;
 import gw.internal.gosu.ir.nodes.JavaClassIRType;
+import gw.internal.gosu.runtime.StructuralCallSites;
 import gw.lang.ir.IRExpression;
 import gw.lang.ir.IRType;
 import gw.lang.ir.IRTypeConstants;
 import gw.lang.ir.expression.IRMethodCallExpression;
 import gw.lang.reflect.TypeSystem;
+import gw.lang.reflect.gs.BytecodeOptions;
 import gw.lang.reflect.gs.IGosuClass;
 
 import java.lang.reflect.Constructor;
@@ -30,6 +33,11 @@ public class IRMethodCallExpressionCompiler extends AbstractBytecodeCompiler {
   public static final String STRUCTURAL_PROXY = "_structuralproxy_";
 
   public static void compile( IRMethodCallExpression expression, IRBytecodeContext context ) {
+    if( expression.getRoot() != null && expression.getOwnersType().isStructural() && BytecodeOptions.isDynamicCallSites() ) {
+      compileStructuralCallSite( expression, context );
+      return;
+    }
+
     IRType type = null;
     if (expression.getRoot() != null) {
       IRBytecodeCompiler.compileIRExpression( expression.getRoot(), context );
@@ -85,6 +93,31 @@ public class IRMethodCallExpressionCompiler extends AbstractBytecodeCompiler {
                                      descriptor.toString() );
   }
 
+  /**
+   * Compiles a call on a structural type to an invokedynamic site that dispatches on the receiver's class,
+   * see {@link StructuralCallSites}.  The receiver is passed as Object; the site decides whether it implements
+   * the structure nominally, can be called directly, or needs a proxy.
+   */
+  private static void compileStructuralCallSite( IRMethodCallExpression expression, IRBytecodeContext context ) {
+    IRBytecodeCompiler.compileIRExpression( expression.getRoot(), context );
+    for( IRExpression arg : expression.getArgs() ) {
+      IRBytecodeCompiler.compileIRExpression( arg, context );
+    }
+
+    StringBuilder descriptor = new StringBuilder();
+    descriptor.append( "(Ljava/lang/Object;" );
+    for( IRType param : expression.getParameterTypes() ) {
+      descriptor.append( param.getDescriptor() );
+    }
+    descriptor.append( ")" );
+    descriptor.append( expression.getReturnType().getDescriptor() );
+
+    Handle bootstrap = new Handle( Opcodes.H_INVOKESTATIC, StructuralCallSites.class.getName().replace( '.', '/' ), "bootstrapInvokeStructural",
+                                   "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;Ljava/lang/Class;)Ljava/lang/invoke/CallSite;" );
+    context.getMv().visitInvokeDynamicInsn( expression.getName(), descriptor.toString(), bootstrap,
+                                            Type.getType( expression.getOwnersType().getDescriptor() ) );
+  }
+
   private static IRType maybeProxyStructuralCallRoot( IRMethodCallExpression expression, IRBytecodeContext context ) {
     IRType ownersType = expression.getOwnersType();
     if( ownersType.isStructural() ) {
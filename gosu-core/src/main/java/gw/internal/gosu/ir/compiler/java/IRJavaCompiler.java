@@ -24,6 +24,7 @@ import gw.lang.ir.expression.IREqualityExpression;
 import gw.lang.ir.expression.IRFieldGetExpression;
 import gw.lang.ir.expression.IRIdentifier;
 import gw.lang.ir.expression.IRInstanceOfExpression;
+import gw.lang.ir.expression.IRInvokeDynamicExpression;
 import gw.lang.ir.expression.IRLazyTypeMethodCallExpression;
 import gw.lang.ir.expression.IRMethodCallExpression;
 import gw.lang.ir.expression.IRNegationExpression;
@@ -456,6 +457,8 @@ public class IRJavaCompiler {
       compileIRMethodCallExpression((IRMethodCallExpression) expression);
     } else if (expression instanceof IRLazyTypeMethodCallExpression ) {
       compileIRLazyTypeMethodCallExpression((IRLazyTypeMethodCallExpression) expression);
+    } else if (expression instanceof IRInvokeDynamicExpression ) {
+      compileIRInvokeDynamicExpression((IRInvokeDynamicExpression) expression);
     } else if (expression instanceof IRNullLiteral) {
       compileIRNullLiteral((IRNullLiteral) expression);
     } else if (expression instanceof IRPrimitiveTypeConversion) {
@@ -728,6 +731,18 @@ public class IRJavaCompiler {
     _output.append(irMethodCallExpression.getOwnerTypeName()).append( '.' ).append(irMethodCallExpression.getName());
   }
 
+  private void compileIRInvokeDynamicExpression(IRInvokeDynamicExpression irInvokeDynamicExpression) {
+    _output.append("invokedynamic ").append(irInvokeDynamicExpression.getBootstrapOwner().getRelativeName()).append( '.' ).append(irInvokeDynamicExpression.getName());
+    _output.append("(");
+    for (int i = 0; i < irInvokeDynamicExpression.getArgs().size(); i++) {
+      if (i > 0) {
+        _output.append(", ");
+      }
+      compileIRElement(irInvokeDynamicExpression.getArgs().get(i));
+    }
+    _output.append(")");
+  }
+
   private void compileIRNullLiteral(IRNullLiteral irNullLiteral) {
     _output.append("null");
   }
@@ -38,6 +38,7 @@ import gw.internal.gosu.parser.TypeVariableType;
 import gw.internal.gosu.parser.expressions.BlockType;
 import gw.internal.gosu.parser.fragments.GosuFragment;
 import gw.internal.gosu.runtime.GosuRuntimeMethods;
+import gw.internal.gosu.runtime.ReflectiveCallSites;
 import gw.lang.IDimension;
 import gw.lang.ir.IRElement;
 import gw.lang.ir.IRExpression;
@@ -57,6 +58,7 @@ import gw.lang.ir.expression.IRCompositeExpression;
 import gw.lang.ir.expression.IREqualityExpression;
 import gw.lang.ir.expression.IRFieldGetExpression;
 import gw.lang.ir.expression.IRIdentifier;
+import gw.lang.ir.expression.IRInvokeDynamicExpression;
 import gw.lang.ir.expression.IRLazyTypeMethodCallExpression;
 import gw.lang.ir.expression.IRMethodCallExpression;
 import gw.lang.ir.expression.IRNegationExpression;
@@ -210,6 +212,16 @@ public abstract class AbstractElementTransformer<T extends IParsedElement>
     return callMethod( cls, strMethod, paramTypes, null, args );
   }
 
+  /**
+   * Builds an invokedynamic call site linked by the static bootstrap method <code>strBootstrap</code> on
+   * <code>bootstrapOwner</code>.  Bootstrap arguments must be String or Integer constants.
+   */
+  public IRExpression callDynamicSite( Class bootstrapOwner, String strBootstrap, String strName, Class returnType, Class[] paramTypes, List<IRExpression> args, Object... bootstrapArgs )
+  {
+    return new IRInvokeDynamicExpression( strName, getDescriptor( returnType ), getIRTypes( paramTypes ), args,
+                                          getDescriptor( bootstrapOwner ), strBootstrap, bootstrapArgs );
+  }
+
   //TODO-sm Remove this method.
   public IRExpression callMethod( Class cls, String strMethod, Class[] paramTypes, IRExpression root, List<IRExpression> args )
   {
@@ -441,6 +453,11 @@ public abstract class AbstractElementTransformer<T extends IParsedElement>
   private IRExpression callMethodReflectively( IType owner, String strMethod, IRType returnType, List<IRType> paramTypes,
                                                IRExpression root, List<IRExpression> args)
   {
+    if( BytecodeOptions.isDynamicCallSites() )
+    {
+      return callMethodThroughHandle( owner, strMethod, returnType, paramTypes, root, args );
+    }
+
     // Our three arguments to getDeclaredMethods are the owners Class, the name of the method, and
     // a Class[] containing the types of the parameters
     List<IRExpression> argExprs = new ArrayList<IRExpression>();
@@ -2289,8 +2306,63 @@ public abstract class AbstractElementTransformer<T extends IParsedElement>
         AccessibilityUtil.forType( owner ) == IRelativeTypeInfo.Accessibility.INTERNAL;
   }
 
+  /**
+   * Calls an inaccessible method through an invokedynamic site that resolves the method once and binds it as a
+   * MethodHandle, see {@link ReflectiveCallSites}.
+   */
+  private IRExpression callMethodThroughHandle( IType owner, String strMethod, IRType returnType, List<IRType> paramTypes,
+                                                IRExpression root, List<IRExpression> args )
+  {
+    IRType irOwnerType = getDescriptor( owner );
+    StringBuilder paramDescriptor = new StringBuilder( "(" );
+    for( IRType paramType : paramTypes )
+    {
+      paramDescriptor.append( IRElement.maybeEraseStructuralType( irOwnerType, paramType ).getDescriptor() );
+    }
+    paramDescriptor.append( ")V" );
+
+    List<IRType> siteParamTypes = new ArrayList<IRType>();
+    List<IRExpression> siteArgs = new ArrayList<IRExpression>();
+    siteParamTypes.add( IRTypeConstants.OBJECT() );
+    siteArgs.add( root == null ? pushNull() : root );
+    for( IRExpression arg : args )
+    {
+      siteParamTypes.add( erasedSiteType( arg.getType() ) );
+      siteArgs.add( arg );
+    }
+
+    IRExpression invokeCall = new IRInvokeDynamicExpression( "invokeMethod", erasedSiteType( returnType ), siteParamTypes, siteArgs,
+                                                             getDescriptor( ReflectiveCallSites.class ), "bootstrapInvokeMethod",
+                                                             irOwnerType.getDescriptor(), strMethod, paramDescriptor.toString() );
+    return returnType.isPrimitive() ? invokeCall : unboxValueToType( returnType, invokeCall );
+  }
+
+  /**
+   * Reference types cross a reflective call site as Object, the bound MethodHandle casts them; primitives and
+   * void pass through unchanged, so the site doesn't box.
+   */
+  private static IRType erasedSiteType( IRType type )
+  {
+    return type.isPrimitive() || type.isVoid() ? type : IRTypeConstants.OBJECT();
+  }
+
+  private IRExpression getFieldThroughHandle( IRType irOwnerType, String strField, IRType fieldType, IRExpression root )
+  {
+    IRExpression getCall = new IRInvokeDynamicExpression( "getField", erasedSiteType( fieldType ),
+                                                          Collections.singletonList( IRTypeConstants.OBJECT() ),
+                                                          exprList( root == null ? pushNull() : root ),
+                                                          getDescriptor( ReflectiveCallSites.class ), "bootstrapGetField",
+                                                          irOwnerType.getDescriptor(), strField );
+    return fieldType.isPrimitive() ? getCall : unboxValueToType( fieldType, getCall );
+  }
+
   private IRExpression getFieldReflectively( IType owner, String strField, IRType fieldType, IRExpression root )
   {
+    if( BytecodeOptions.isDynamicCallSites() )
+    {
+      return getFieldThroughHandle( getDescriptor( owner ), strField, fieldType, root );
+    }
+
     // Call getDeclaredField using the owner's Class and the field name as arguments
     IRExpression getDeclaredFieldCall = buildMethodCall(AbstractElementTransformer.class, "getDeclaredField", Field.class, new Class[]{Class.class, String.class},
             null,
@@ -2323,6 +2395,16 @@ public abstract class AbstractElementTransformer<T extends IParsedElement>
   private IRStatement setFieldReflectively( IType owner, String strField,
                                             IRExpression root, IRExpression value)
   {
+    if( BytecodeOptions.isDynamicCallSites() )
+    {
+      IRExpression setCall = new IRInvokeDynamicExpression( "setField", IRTypeConstants.pVOID(),
+                                                            Arrays.asList( IRTypeConstants.OBJECT(), erasedSiteType( value.getType() ) ),
+                                                            exprList( root == null ? pushNull() : root, value ),
+                                                            getDescriptor( ReflectiveCallSites.class ), "bootstrapSetField",
+                                                            getDescriptor( owner ).getDescriptor(), strField );
+      return new IRMethodCallStatement( setCall );
+    }
+
     // Call getDeclaredField using the owner's Class and the field name as arguments
     IRExpression getDeclaredFieldCall = buildMethodCall(AbstractElementTransformer.class, "getDeclaredField", Field.class, new Class[]{Class.class, String.class},
             null,
@@ -3557,6 +3639,11 @@ public abstract class AbstractElementTransformer<T extends IParsedElement>
 
   private IRExpression getFieldReflectively_new( IRProperty irProp, IRExpression root )
   {
+    if( BytecodeOptions.isDynamicCallSites() )
+    {
+      return getFieldThroughHandle( irProp.getOwningIRType(), irProp.getName(), irProp.getType(), root );
+    }
+
     // Call getDeclaredField using the owner's Class and the field name as arguments
     IRExpression getDeclaredFieldCall = buildMethodCall(AbstractElementTransformer.class, "getDeclaredField", Field.class, new Class[]{Class.class, String.class},
             null,
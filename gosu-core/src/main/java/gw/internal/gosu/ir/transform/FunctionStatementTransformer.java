@@ -269,13 +269,19 @@ public class FunctionStatementTransformer extends AbstractElementTransformer<Fun
       _cc().putSymbol( properlyTypedSymbol );
 
       IRExpression value;
-      if( actualType.isPrimitive() )
+      IRSymbol blockParam = _cc().getSymbol( paramSym.getName() + "$$blockParam" );
+      if( blockParam.getType().isPrimitive() )
       {
-        value = unboxValueToType( actualType, identifier( _cc().getSymbol( paramSym.getName() + "$$blockParam" ) ) );
+        // The primitive-specialized invoke method, nothing to unbox
+        value = identifier( blockParam );
+      }
+      else if( actualType.isPrimitive() )
+      {
+        value = unboxValueToType( actualType, identifier( blockParam ) );
       }
       else
       {
-        value = checkCast( actualType, identifier( _cc().getSymbol( paramSym.getName() + "$$blockParam" ) ) );
+        value = checkCast( actualType, identifier( blockParam ) );
       }
       statements.add( buildAssignment( properlyTypedSymbol, value ) );
     }
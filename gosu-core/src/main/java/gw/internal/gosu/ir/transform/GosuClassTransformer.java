@@ -15,7 +15,9 @@ import gw.internal.gosu.ir.transform.util.AccessibilityUtil;
 import gw.internal.gosu.ir.transform.util.IRTypeResolver;
 import gw.internal.gosu.ir.transform.util.NameResolver;
 import gw.internal.gosu.parser.AbstractDynamicSymbol;
+import gw.internal.gosu.compiler.FunctionClassUtil;
 import gw.internal.gosu.parser.BlockClass;
+import gw.internal.gosu.parser.IBlockClassInternal;
 import gw.internal.gosu.parser.DynamicFunctionSymbol;
 import gw.internal.gosu.parser.EnhancementDynamicFunctionSymbol;
 import gw.internal.gosu.parser.EnumCodePropertySymbol;
@@ -1532,6 +1534,12 @@ public class GosuClassTransformer extends AbstractElementTransformer<ClassStatem
       return;
     }
 
+    if( isBlockInvoke( dfs ) && ((IBlockClassInternal)_gsClass).getPrimitiveFunctionInterface() != null )
+    {
+      compilePrimitiveBlockInvoke( dfs );
+      return;
+    }
+
     List<IRSymbol> parameters = new ArrayList<IRSymbol>();
 
     maybeAddImplicitEnhancementParameters( dfs, parameters );
@@ -1587,6 +1595,53 @@ public class GosuClassTransformer extends AbstractElementTransformer<ClassStatem
     _irClass.addMethod( method );
   }
 
+  /**
+   * Compiles the body of a block having a primitive-specialized interface, e.g. <code>\ x : int -> x * 2</code>,
+   * into the interface's method e.g. <code>int invokeInt( int )</code>, and implements the erased
+   * <code>Object invoke( Object )</code> by boxing around a call to it.  Call sites knowing the block's type
+   * call the primitive method directly, see BlockInvocationTransformer.
+   */
+  private void compilePrimitiveBlockInvoke( DynamicFunctionSymbol dfs )
+  {
+    IBlockClassInternal blockClass = (IBlockClassInternal)_gsClass;
+    IType returnType = ((IFunctionType)blockClass.getBlock().getType()).getReturnType();
+    List<ISymbol> blockArgs = blockClass.getBlock().getArgs();
+    String strInvoke = FunctionClassUtil.getPrimitiveInvokeMethodName( returnType );
+
+    List<IRSymbol> parameters = new ArrayList<IRSymbol>();
+    List<IRType> paramTypes = new ArrayList<IRType>();
+    for( ISymbol arg : blockArgs )
+    {
+      IRType paramType = getDescriptor( arg.getType().isPrimitive() ? arg.getType() : JavaTypes.OBJECT() );
+      parameters.add( new IRSymbol( arg.getName() + "$$blockParam", paramType, false ) );
+      paramTypes.add( paramType );
+    }
+    setUpFunctionContext( dfs, true, parameters );
+    IRStatement methodBody = new FunctionStatementTransformer( dfs, _context ).compile();
+    _irClass.addMethod( new IRMethodStatement( methodBody, strInvoke, getModifiers( dfs ), dfs.isInternal(),
+                                               getDescriptor( returnType ), parameters ) );
+
+    List<IRSymbol> bridgeParameters = new ArrayList<IRSymbol>();
+    for( ISymbol param : dfs.getArgs() )
+    {
+      bridgeParameters.add( makeParamSymbol( dfs, param ) );
+    }
+    setUpFunctionContext( true, bridgeParameters );
+    List<IRExpression> args = new ArrayList<IRExpression>();
+    for( int i = 0; i < blockArgs.size(); i++ )
+    {
+      IType argType = blockArgs.get( i ).getType();
+      IRExpression arg = identifier( _context.getSymbol( bridgeParameters.get( i ).getName() ) );
+      args.add( argType.isPrimitive() ? unboxValueToType( argType, arg ) : arg );
+    }
+    IRMethod irMethod = IRMethodFactory.createIRMethod( _gsClass, strInvoke, getDescriptor( returnType ), paramTypes,
+                                                        IRelativeTypeInfo.Accessibility.PUBLIC, false );
+    IRExpression call = boxValue( returnType, callMethod( irMethod, pushThis(), args ) );
+    _irClass.addMethod( new IRMethodStatement( new IRReturnStatement( null, call ), NameResolver.getFunctionName( dfs ),
+                                               getModifiers( dfs ), dfs.isInternal(), getDescriptor( dfs.getReturnType() ),
+                                               bridgeParameters ) );
+  }
+
   /**
    * If this is:
    * <ul>
@@ -2200,9 +2255,9 @@ public class GosuClassTransformer extends AbstractElementTransformer<ClassStatem
   private IRType[] getInterfaceNames()
   {
     IType[] interfaces = _gsClass.getInterfaces();
-    if( interfaces == null || interfaces.length == 0 )
+    if( interfaces == null )
     {
-      return new IRType[0];
+      interfaces = IType.EMPTY_ARRAY;
     }
 
     List<IRType> ifaceNames = new ArrayList<IRType>();
@@ -2219,6 +2274,15 @@ public class GosuClassTransformer extends AbstractElementTransformer<ClassStatem
         ifaceNames.add( irInterface );
       }
     }
+    if( _cc().compilingBlock() )
+    {
+      // Not part of the block's type info, only the bytecode implements it, see compilePrimitiveBlockInvoke()
+      IJavaType primitiveIface = ((IBlockClassInternal)_gsClass).getPrimitiveFunctionInterface();
+      if( primitiveIface != null )
+      {
+        ifaceNames.add( getDescriptor( primitiveIface ) );
+      }
+    }
     return ifaceNames.toArray( new IRType[ifaceNames.size()] );
   }
 
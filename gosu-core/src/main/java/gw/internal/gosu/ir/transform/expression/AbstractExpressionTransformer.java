@@ -10,9 +10,12 @@ import gw.internal.gosu.ir.transform.ExpressionTransformer;
 import gw.internal.gosu.ir.transform.TopLevelTransformationContext;
 import gw.internal.gosu.parser.ParameterizedGosuConstructorInfo;
 import gw.internal.gosu.parser.TypeLord;
+import gw.internal.gosu.parser.expressions.Identifier;
 import gw.lang.ir.IRExpression;
 import gw.lang.ir.IRType;
 import gw.lang.parser.IExpression;
+import gw.lang.parser.IParseTree;
+import gw.lang.parser.IParsedElement;
 import gw.lang.reflect.IConstructorInfo;
 import gw.lang.reflect.IPlaceholder;
 import gw.lang.reflect.IType;
@@ -55,6 +58,33 @@ public abstract class AbstractExpressionTransformer<T extends IExpression> exten
     return getParsedElement();
   }
 
+  /**
+   * @return true if the element refers to an identifier, other than a static final constant, or if it
+   * can't be determined.  Compile-time constant expressions that don't can safely be evaluated during
+   * compilation.
+   */
+  protected static boolean containsIdentifier( IParsedElement expr )
+  {
+    if ( expr instanceof Identifier &&
+         !((Identifier) expr).isStaticFinalInitializedCompileTimeConstant() )
+    {
+      return true;
+    }
+    IParseTree location = expr.getLocation();
+    if( location == null )
+    {
+      return true;
+    }
+    for( IParseTree child: location.getChildren() )
+    {
+      if( containsIdentifier( child.getParsedElement() ) )
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
   static List<IRType> getIRParameters( IConstructorInfo ci )
   {
     if( ci.getParameters().length == 0 )
@@ -10,7 +10,6 @@ import gw.internal.gosu.ir.transform.TopLevelTransformationContext;
 import gw.internal.gosu.parser.BeanAccess;
 import gw.internal.gosu.parser.Expression;
 import gw.internal.gosu.parser.expressions.AdditiveExpression;
-import gw.internal.gosu.parser.expressions.Identifier;
 import gw.internal.gosu.runtime.GosuRuntimeMethods;
 import gw.lang.IDimension;
 import gw.lang.ir.IRExpression;
@@ -20,8 +19,6 @@ import gw.lang.ir.expression.IRStringLiteralExpression;
 import gw.lang.ir.statement.IRAssignmentStatement;
 import gw.lang.parser.ICoercionManager;
 import gw.lang.parser.ILanguageLevel;
-import gw.lang.parser.IParseTree;
-import gw.lang.parser.IParsedElement;
 import gw.lang.reflect.IType;
 import gw.lang.reflect.TypeSystem;
 import gw.lang.reflect.java.IJavaType;
@@ -160,28 +157,6 @@ public class AdditiveExpressionTransformer extends ArithmeticExpressionTransform
             !containsIdentifier( _expr().isAssignment() ? _expr().getParent() : _expr() );
   }
 
-  private boolean containsIdentifier( IParsedElement expr )
-  {
-    if ( expr instanceof Identifier &&
-         !((Identifier) expr).isStaticFinalInitializedCompileTimeConstant() )
-    {
-      return true;
-    }
-    IParseTree location = expr.getLocation();
-    if( location == null )
-    {
-      return true;
-    }
-    for( IParseTree child: location.getChildren() )
-    {
-      if( containsIdentifier( child.getParsedElement() ) )
-      {
-        return true;
-      }
-    }
-    return false;
-  }
-
   private IRExpression stringConcatenation() {
     StringBuilderHandle sbHandle = _stringBuilderFromParent;
     if( sbHandle == null ) {
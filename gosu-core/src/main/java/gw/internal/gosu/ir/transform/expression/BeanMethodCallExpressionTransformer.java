@@ -15,6 +15,7 @@ import gw.internal.gosu.parser.expressions.Identifier;
 import gw.internal.gosu.parser.expressions.SuperAccess;
 import gw.internal.gosu.parser.statements.BeanMethodCallStatement;
 import gw.internal.gosu.runtime.GosuRuntimeMethods;
+import gw.internal.gosu.runtime.MethodCallSites;
 import gw.lang.ir.IRElement;
 import gw.lang.ir.IRExpression;
 import gw.lang.ir.IRSymbol;
@@ -28,6 +29,7 @@ import gw.lang.parser.MemberAccessKind;
 import gw.lang.reflect.IMethodInfo;
 import gw.lang.reflect.IType;
 import gw.lang.reflect.ITypeInfoMethodInfo;
+import gw.lang.reflect.gs.BytecodeOptions;
 import gw.lang.reflect.gs.IGosuClass;
 import gw.lang.reflect.gs.IGosuEnhancement;
 import gw.lang.reflect.java.JavaTypes;
@@ -243,13 +245,27 @@ public class BeanMethodCallExpressionTransformer extends AbstractExpressionTrans
       irRoot = irRootExpr;
     }
 
-    IRExpression miCall = callStaticMethod( GosuRuntimeMethods.class, "invokeMethodInfo", new Class[]{IType.class, String.class, IType[].class, Object.class, Object[].class},
+    IRExpression miCall;
+    if( BytecodeOptions.isDynamicCallSites() )
+    {
+      miCall = callDynamicSite( MethodCallSites.class, "bootstrapInvokeMethod", "invokeMethod", Object.class, new Class[]{IType.class, IType[].class, Object.class, Object[].class},
+            exprList(
+                    pushType( mi.getOwnersType(), true ),
+                    pushParamTypes( mi.getParameters() ),
+                    irRoot,
+                    pushArgumentsAsArray( explicitArgs ) ),
+            mi.getDisplayName() );
+    }
+    else
+    {
+      miCall = callStaticMethod( GosuRuntimeMethods.class, "invokeMethodInfo", new Class[]{IType.class, String.class, IType[].class, Object.class, Object[].class},
             exprList(
                     pushType( mi.getOwnersType(), true ),
                     pushConstant( mi.getDisplayName() ),
                     pushParamTypes( mi.getParameters() ),
                     irRoot,
                     pushArgumentsAsArray( explicitArgs ) ) );
+    }
     miCall = unboxValueToType( mi.getReturnType(), miCall );
     if( callElements.size() > 0 )
     {
@@ -5,14 +5,18 @@
 package gw.internal.gosu.ir.transform.expression;
 
 import gw.internal.gosu.parser.expressions.BlockExpression;
+import gw.internal.gosu.runtime.BlockCallSites;
+import gw.lang.ir.expression.IRInvokeDynamicExpression;
 import gw.lang.parser.IBlockClass;
 import gw.internal.gosu.ir.transform.TopLevelTransformationContext;
 import gw.lang.ir.IRExpression;
 import gw.lang.ir.IRType;
 import gw.lang.parser.expressions.IBlockExpression;
 import gw.lang.reflect.IType;
+import gw.lang.reflect.gs.BytecodeOptions;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Arrays;
 
@@ -38,6 +42,16 @@ public class BlockExpressionTransformer extends AbstractExpressionTransformer<IB
     pushCapturedSymbols( blockClazz, args, false );
     int typeParams = pushTypeParametersForConstructor( _expr(), blockClazz, args, false, false );
 
+    if( args.isEmpty() && BytecodeOptions.isSingletonBlocks() )
+    {
+      // Nothing to capture, so every evaluation can share one instance
+      IRExpression singleton = new IRInvokeDynamicExpression( "newBlock", getDescriptor( blockClazz ), Collections.<IRType>emptyList(),
+                                                              Collections.<IRExpression>emptyList(), getDescriptor( BlockCallSites.class ),
+                                                              "bootstrapSingleton" );
+      singleton.setImplicit( true );
+      return singleton;
+    }
+
     List<IRType> paramTypes = Arrays.asList( getConstructorParamTypes( new IType[0], typeParams, blockClazz ) );
 
     IRExpression newExpr = buildNewExpression( getDescriptor( blockClazz ), paramTypes, args );
@@ -7,11 +7,14 @@ package gw.internal.gosu.ir.transform.expression;
 import gw.internal.gosu.parser.expressions.BlockInvocation;
 import gw.lang.ir.IRElement;
 import gw.lang.ir.IRExpression;
+import gw.lang.ir.IRSymbol;
 import gw.internal.gosu.ir.transform.ExpressionTransformer;
 import gw.internal.gosu.ir.transform.TopLevelTransformationContext;
 import gw.internal.gosu.compiler.FunctionClassUtil;
 import gw.lang.ir.expression.IRCompositeExpression;
+import gw.lang.ir.expression.IRInstanceOfExpression;
 import gw.lang.parser.IExpression;
+import gw.lang.reflect.IFunctionType;
 import gw.lang.reflect.IType;
 import gw.lang.reflect.java.IJavaType;
 
@@ -34,14 +37,35 @@ public class BlockInvocationTransformer extends AbstractExpressionTransformer<Bl
 
   protected IRExpression compile_impl()
   {
-    List<IRExpression> explicitArgs = boxArgs();
+    IJavaType primitiveInterface = getPrimitiveFunctionInterface();
+    List<IRExpression> explicitArgs = primitiveInterface == null ? boxArgs() : compileArgs();
     List<IRElement> callElements = handleNamedArgs( explicitArgs, _expr().getNamedArgOrder() );
 
     IRExpression root = ExpressionTransformer.compile( _expr().getRoot(), _cc() );
+    IRExpression call;
+    if( primitiveInterface == null )
+    {
+      call = callErasedInvoke( root, explicitArgs );
+    }
+    else
+    {
+      call = callPrimitiveInvoke( primitiveInterface, root, explicitArgs, callElements );
+    }
+    if( callElements.size() > 0 )
+    {
+      // Include temp var assignments so named args are evaluated in lexical order before the call
+      callElements.add( call );
+      call = new IRCompositeExpression( callElements );
+    }
+    return call;
+  }
+
+  private IRExpression callErasedInvoke( IRExpression root, List<IRExpression> boxedArgs )
+  {
     boolean hasReturn = _expr().getReturnType() != JavaTypes.pVOID();
     IJavaType interfaceForArity = FunctionClassUtil.getFunctionInterfaceForArity( hasReturn, _expr().getArgs().size() );
     IRExpression call = callMethod( interfaceForArity.getBackingClassInfo(), "invoke",
-                                    FunctionClassUtil.getArgArrayForArity( _expr().getArgs().size() ),root, explicitArgs );
+                                    FunctionClassUtil.getArgArrayForArity( _expr().getArgs().size() ),root, boxedArgs );
     IType returnType = _expr().getType();
     if( returnType.isPrimitive() )
     {
@@ -51,13 +75,97 @@ public class BlockInvocationTransformer extends AbstractExpressionTransformer<Bl
     {
       call = checkCast( returnType, call );
     }
-    if( callElements.size() > 0 )
+    return call;
+  }
+
+  /**
+   * Blocks whose body is compiled to a primitive-specialized method implement that method's interface too,
+   * see GosuClassTransformer#compilePrimitiveBlockInvoke().  Since a block value may have been compiled
+   * elsewhere, or may not be a block literal at all, the call tests for the interface and falls back to
+   * the erased invoke() for blocks that don't implement it:
+   * <pre>
+   *   root instanceof IIntToIntFunction1 ? ((IIntToIntFunction1)root).invokeInt( arg ) : unbox( root.invoke( box( arg ) ) )
+   * </pre>
+   */
+  private IRExpression callPrimitiveInvoke( IJavaType primitiveInterface, IRExpression root, List<IRExpression> args,
+                                            List<IRElement> callElements )
+  {
+    // Evaluate the root and the args once, in their usual order, since both branches use them
+    IRSymbol rootSymbol = _cc().makeAndIndexTempSymbol( root.getType() );
+    callElements.add( buildAssignment( rootSymbol, root ) );
+    IType[] paramTypes = ((IFunctionType)_expr().getRoot().getType()).getParameterTypes();
+    Class[] paramClasses = new Class[paramTypes.length];
+    List<IRExpression> primitiveArgs = new ArrayList<>();
+    List<IRExpression> boxedArgs = new ArrayList<>();
+    for( int i = 0; i < args.size(); i++ )
     {
-      // Include temp var assignments so named args are evaluated in lexical order before the call
-      callElements.add( call );
-      call = new IRCompositeExpression( callElements );
+      IRExpression arg = args.get( i );
+      IRSymbol argSymbol = _cc().makeAndIndexTempSymbol( arg.getType() );
+      callElements.add( buildAssignment( argSymbol, arg ) );
+      IType argType = _expr().getArgs().get( i ).getType();
+      paramClasses[i] = paramTypes[i].isPrimitive() ? getPrimitiveClass( paramTypes[i] ) : Object.class;
+      primitiveArgs.add( paramTypes[i].isPrimitive() ? identifier( argSymbol ) : boxValue( argType, identifier( argSymbol ) ) );
+      boxedArgs.add( boxValue( argType, identifier( argSymbol ) ) );
     }
-    return call;
+
+    IType returnType = _expr().getType();
+    IRExpression primitiveCall = callMethod( primitiveInterface.getBackingClassInfo(),
+                                             FunctionClassUtil.getPrimitiveInvokeMethodName( returnType ), paramClasses,
+                                             checkCast( primitiveInterface, identifier( rootSymbol ) ), primitiveArgs );
+    IRExpression erasedCall = callErasedInvoke( identifier( rootSymbol ), boxedArgs );
+    return buildTernary( new IRInstanceOfExpression( identifier( rootSymbol ), getDescriptor( primitiveInterface ) ),
+                         primitiveCall, erasedCall, getDescriptor( returnType ) );
+  }
+
+  /**
+   * @return the primitive-specialized interface for the static type of the invoked block, if the
+   * invocation can use it as is
+   */
+  private IJavaType getPrimitiveFunctionInterface()
+  {
+    IType rootType = _expr().getRoot().getType();
+    if( !(rootType instanceof IFunctionType) )
+    {
+      return null;
+    }
+    IFunctionType funcType = (IFunctionType)rootType;
+    IType[] paramTypes = funcType.getParameterTypes();
+    if( funcType.getReturnType() != _expr().getType() || paramTypes.length != _expr().getArgs().size() )
+    {
+      return null;
+    }
+    for( int i = 0; i < paramTypes.length; i++ )
+    {
+      if( paramTypes[i].isPrimitive() && _expr().getArgs().get( i ).getType() != paramTypes[i] )
+      {
+        // Would need a conversion, leave it to the erased call
+        return null;
+      }
+    }
+    return FunctionClassUtil.getPrimitiveFunctionInterface( funcType.getReturnType(), paramTypes );
+  }
+
+  private static Class getPrimitiveClass( IType type )
+  {
+    if( type == JavaTypes.pINT() )
+    {
+      return int.class;
+    }
+    if( type == JavaTypes.pLONG() )
+    {
+      return long.class;
+    }
+    return double.class;
+  }
+
+  private List<IRExpression> compileArgs()
+  {
+    List<IRExpression> irArgs = new ArrayList<>();
+    for( IExpression arg : _expr().getArgs() )
+    {
+      irArgs.add( ExpressionTransformer.compile( arg, _cc() ) );
+    }
+    return irArgs;
   }
 
   private List<IRExpression> boxArgs()
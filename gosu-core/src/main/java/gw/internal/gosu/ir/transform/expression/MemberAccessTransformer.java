@@ -23,6 +23,7 @@ import gw.internal.gosu.parser.expressions.SuperAccess;
 import gw.internal.gosu.parser.expressions.TypeLiteral;
 import gw.internal.gosu.parser.optimizer.SinglePropertyMemberAccessRuntime;
 import gw.internal.gosu.runtime.GosuRuntimeMethods;
+import gw.internal.gosu.runtime.PropertyCallSites;
 import gw.lang.Autocreate;
 import gw.lang.ShortCircuitingProperty;
 import gw.lang.ir.IRElement;
@@ -31,6 +32,7 @@ import gw.lang.ir.IRStatement;
 import gw.lang.ir.IRSymbol;
 import gw.lang.ir.IRType;
 import gw.lang.ir.expression.IRCompositeExpression;
+import gw.lang.ir.expression.IRStringLiteralExpression;
 import gw.lang.ir.statement.IRAssignmentStatement;
 import gw.lang.ir.statement.IRSyntheticStatement;
 import gw.lang.parser.EvaluationException;
@@ -53,6 +55,7 @@ import gw.lang.reflect.ITypeInfoPropertyInfo;
 import gw.lang.reflect.IUncacheableFeature;
 import gw.lang.reflect.ReflectUtil;
 import gw.lang.reflect.TypeSystem;
+import gw.lang.reflect.gs.BytecodeOptions;
 import gw.lang.reflect.gs.IGosuClass;
 import gw.lang.reflect.gs.IGosuEnhancement;
 import gw.lang.reflect.java.GosuTypes;
@@ -471,8 +474,17 @@ public class MemberAccessTransformer extends AbstractExpressionTransformer<Membe
       {
         throw new IllegalArgumentException( "Cannot invoke a static property reflectively on a placeholder type" );
       }
-      result = callStaticMethod( GosuRuntimeMethods.class, "getProperty", new Class[]{Object.class, IType.class, String.class},
-                                 exprList( root, pushType( rootType ), pushPropertyName( pi ) ) );
+      IRExpression propertyName = pushPropertyName( pi );
+      if( BytecodeOptions.isDynamicCallSites() && propertyName instanceof IRStringLiteralExpression )
+      {
+        result = callDynamicSite( PropertyCallSites.class, "bootstrapGetProperty", "getProperty", Object.class, new Class[]{Object.class, IType.class},
+                                  exprList( root, pushType( rootType ) ), ((IRStringLiteralExpression)propertyName).getValue() );
+      }
+      else
+      {
+        result = callStaticMethod( GosuRuntimeMethods.class, "getProperty", new Class[]{Object.class, IType.class, String.class},
+                                   exprList( root, pushType( rootType ), propertyName ) );
+      }
     }
     else
     {
@@ -11,12 +11,18 @@ import gw.internal.gosu.ir.transform.TopLevelTransformationContext;
 import gw.internal.gosu.parser.Expression;
 import gw.internal.gosu.parser.TypeVariableType;
 import gw.internal.gosu.parser.expressions.BeanMethodCallExpression;
+import gw.internal.gosu.parser.expressions.CollectionInitializerExpression;
+import gw.internal.gosu.parser.expressions.InferredNewExpression;
+import gw.internal.gosu.parser.expressions.MapInitializerExpression;
 import gw.internal.gosu.parser.expressions.NewExpression;
+import gw.internal.gosu.runtime.CollectionLiteralCallSites;
 import gw.internal.gosu.runtime.GosuRuntimeMethods;
 import gw.lang.ir.IRElement;
 import gw.lang.ir.IRExpression;
 import gw.lang.ir.IRSymbol;
+import gw.lang.ir.IRType;
 import gw.lang.ir.expression.IRCompositeExpression;
+import gw.lang.ir.expression.IRInvokeDynamicExpression;
 import gw.lang.ir.expression.IRNewMultiDimensionalArrayExpression;
 import gw.lang.parser.IExpression;
 import gw.lang.parser.IParsedElement;
@@ -29,15 +35,23 @@ import gw.lang.reflect.IConstructorInfo;
 import gw.lang.reflect.IRelativeTypeInfo;
 import gw.lang.reflect.IType;
 import gw.lang.reflect.ITypeInfo;
+import gw.lang.reflect.TypeSystem;
+import gw.lang.reflect.gs.BytecodeOptions;
+import gw.lang.reflect.java.JavaTypes;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
  */
 public class NewExpressionTransformer extends AbstractExpressionTransformer<NewExpression>
 {
+  // Keeps the encoded values well within the class file's limit for a string constant
+  private static final int MAX_CONSTANT_LITERAL_LENGTH = 16384;
+
   public static IRExpression compile( TopLevelTransformationContext cc, NewExpression expr )
   {
     NewExpressionTransformer compiler = new NewExpressionTransformer( cc, expr );
@@ -51,6 +65,15 @@ public class NewExpressionTransformer extends AbstractExpressionTransformer<NewE
 
   protected IRExpression compile_impl()
   {
+    if( BytecodeOptions.isConstantCollectionLiterals() )
+    {
+      IRExpression constantLiteral = compileConstantCollectionLiteral();
+      if( constantLiteral != null )
+      {
+        return constantLiteral;
+      }
+    }
+
     IConstructorInfo ci = _expr().getConstructor();
     if( !_expr().getType().isArray() )
     {
@@ -100,6 +123,102 @@ public class NewExpressionTransformer extends AbstractExpressionTransformer<NewE
     }
   }
 
+  /**
+   * Compiles an inferred collection or map literal whose values are all compile-time constants, e.g.,
+   * <code>{1, 2, 3}</code>, to an invokedynamic site that returns the same unmodifiable collection every
+   * time, see {@link CollectionLiteralCallSites}.  Only literals inferred as ArrayList, HashSet, HashMap or
+   * their linked variants qualify, since the shared instance must still be of the literal's type.
+   *
+   * @return the call site, or null if the literal doesn't qualify
+   */
+  private IRExpression compileConstantCollectionLiteral()
+  {
+    IInitializerExpression initializer = _expr().getInitializer();
+    if( !(_expr() instanceof InferredNewExpression) || initializer == null ||
+        (_expr().getArgs() != null && _expr().getArgs().length > 0) )
+    {
+      return null;
+    }
+
+    IType type = _expr().getType();
+    IType genericType = type.isParameterizedType() ? type.getGenericType() : type;
+    String strBootstrap;
+    List<? extends IExpression> exprs;
+    if( initializer instanceof CollectionInitializerExpression )
+    {
+      if( genericType == JavaTypes.ARRAY_LIST() )
+      {
+        strBootstrap = "bootstrapList";
+      }
+      else if( genericType == JavaTypes.HASH_SET() || genericType == JavaTypes.getJreType( LinkedHashSet.class ) )
+      {
+        strBootstrap = "bootstrapSet";
+      }
+      else
+      {
+        return null;
+      }
+      exprs = ((CollectionInitializerExpression)initializer).getValues();
+    }
+    else if( initializer instanceof MapInitializerExpression )
+    {
+      if( genericType != JavaTypes.HASH_MAP() && genericType != JavaTypes.getJreType( LinkedHashMap.class ) )
+      {
+        return null;
+      }
+      strBootstrap = "bootstrapMap";
+      MapInitializerExpression mapInitializer = (MapInitializerExpression)initializer;
+      List<IExpression> keysAndValues = new ArrayList<>();
+      for( int i = 0; i < mapInitializer.getKeys().size(); i++ )
+      {
+        keysAndValues.add( mapInitializer.getKeys().get( i ) );
+        keysAndValues.add( mapInitializer.getValues().get( i ) );
+      }
+      exprs = keysAndValues;
+    }
+    else
+    {
+      return null;
+    }
+
+    List<Object> values = new ArrayList<>();
+    for( IExpression expr : exprs )
+    {
+      if( !expr.isCompileTimeConstant() || containsIdentifier( expr ) )
+      {
+        return null;
+      }
+      Object value;
+      try
+      {
+        value = expr.evaluate();
+      }
+      catch( Exception e )
+      {
+        return null;
+      }
+      IType exprType = expr.getType().isPrimitive() ? TypeSystem.getBoxType( expr.getType() ) : expr.getType();
+      if( !CollectionLiteralCallSites.isEncodable( value ) ||
+          (value != null && !TypeSystem.getFromObject( value ).equals( exprType )) )
+      {
+        // The value must be exactly what the element would evaluate to at runtime
+        return null;
+      }
+      values.add( value );
+    }
+    String strValues = CollectionLiteralCallSites.encode( values );
+    if( strValues.length() > MAX_CONSTANT_LITERAL_LENGTH )
+    {
+      return null;
+    }
+
+    IRExpression literal = new IRInvokeDynamicExpression( "constantLiteral", getDescriptor( type ), Collections.<IRType>emptyList(),
+                                                          Collections.<IRExpression>emptyList(), getDescriptor( CollectionLiteralCallSites.class ),
+                                                          strBootstrap, strValues );
+    literal.setImplicit( true );
+    return literal;
+  }
+
   private IRExpression compileArrayConstruction( )
   {
     List<Expression> sizeExpressions = _expr().getSizeExpressions();
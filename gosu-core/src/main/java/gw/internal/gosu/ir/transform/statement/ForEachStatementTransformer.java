@@ -10,13 +10,18 @@ import gw.internal.gosu.ir.nodes.JavaClassIRType;
 import gw.internal.gosu.ir.transform.ExpressionTransformer;
 import gw.internal.gosu.ir.transform.TopLevelTransformationContext;
 import gw.internal.gosu.parser.Symbol;
+import gw.internal.gosu.parser.expressions.IntervalExpression;
 import gw.internal.gosu.parser.statements.ForEachStatement;
 import gw.lang.ir.IRExpression;
 import gw.lang.ir.IRStatement;
 import gw.lang.ir.IRSymbol;
+import gw.lang.ir.IRType;
 import gw.lang.ir.IRTypeConstants;
 import gw.lang.ir.statement.IRAssignmentStatement;
 import gw.lang.ir.statement.IRForEachStatement;
+import gw.lang.parser.IExpression;
+import gw.lang.parser.expressions.IBeanMethodCallExpression;
+import gw.lang.parser.expressions.IParenthesizedExpression;
 import gw.lang.reflect.IType;
 import gw.lang.reflect.TypeSystem;
 import gw.lang.reflect.interval.AbstractIntIterator;
@@ -27,6 +32,7 @@ import gw.lang.reflect.java.JavaTypes;
 
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
@@ -52,11 +58,19 @@ public class ForEachStatementTransformer extends AbstractStatementTransformer<Fo
     _cc().pushScope( false );
     try
     {
-      IRForEachStatement forLoop = makeLoopImpl( _cc(), ExpressionTransformer.compile( _stmt().getInExpression(), _cc() ),
-                                                 _stmt().getInExpression().getType(),
-                                                 _stmt().getIdentifier(),
-                                                 _stmt().getIndexIdentifier(),
-                                                 _stmt().getIteratorIdentifier() );
+      IRForEachStatement forLoop = makeIntervalLoop( _cc(), _stmt().getIdentifier() );
+      if( forLoop != null )
+      {
+        addIndexVariable( forLoop, _stmt().getIndexIdentifier() );
+      }
+      else
+      {
+        forLoop = makeLoopImpl( _cc(), ExpressionTransformer.compile( _stmt().getInExpression(), _cc() ),
+                                _stmt().getInExpression().getType(),
+                                _stmt().getIdentifier(),
+                                _stmt().getIndexIdentifier(),
+                                _stmt().getIteratorIdentifier() );
+      }
       forLoop.setBody( _cc().compile( _stmt().getStatement() ) );
       return forLoop;
     }
@@ -97,6 +111,12 @@ public class ForEachStatementTransformer extends AbstractStatementTransformer<Fo
       makeIteratorLoop( cc, rootExpression, forLoop, identifier, iteratorIdentifier );
     }
 
+    addIndexVariable( forLoop, indexSymbol );
+    return forLoop;
+  }
+
+  private void addIndexVariable( IRForEachStatement forLoop, Symbol indexSymbol )
+  {
     if( indexSymbol != null )
     {
       // index variable init
@@ -116,10 +136,144 @@ public class ForEachStatementTransformer extends AbstractStatementTransformer<Fo
         forLoop.addIncrementor( buildAssignment( indexIRSymbol, increment ) );
       }
     }
+  }
+
+  /**
+   * Compiles a loop over an int or long interval literal, optionally with a step, e.g.,
+   * <code>for( i in 0..|n )</code> or <code>for( i in (0..n).step( 2 ) )</code>, to a counted loop on a
+   * primitive.  This avoids creating the interval and its iterator, and boxing the endpoints.  The loop
+   * visits the same values in the same order as the interval's iterator would.  Any other interval
+   * expression takes the iterator path.
+   *
+   * @return the loop, or null if the in-expression is not an interval literal this can handle
+   */
+  private IRForEachStatement makeIntervalLoop( TopLevelTransformationContext cc, Symbol identifier )
+  {
+    if( identifier == null || _stmt().getIteratorIdentifier() != null )
+    {
+      return null;
+    }
+
+    IExpression inExpr = unwrapParens( _stmt().getInExpression() );
+    IExpression stepExpr = null;
+    if( inExpr instanceof IBeanMethodCallExpression )
+    {
+      IBeanMethodCallExpression stepCall = (IBeanMethodCallExpression)inExpr;
+      if( !stepCall.getMethodDescriptor().getName().equals( "step" ) || stepCall.getArgs() == null || stepCall.getArgs().length != 1 )
+      {
+        return null;
+      }
+      stepExpr = stepCall.getArgs()[0];
+      inExpr = unwrapParens( stepCall.getRootExpression() );
+    }
+    if( !(inExpr instanceof IntervalExpression) )
+    {
+      return null;
+    }
 
+    IntervalExpression interval = (IntervalExpression)inExpr;
+    IType loopType;
+    if( interval.getType() == JavaTypes.INTEGER_INTERVAL() )
+    {
+      loopType = JavaTypes.pINT();
+    }
+    else if( interval.getType() == JavaTypes.LONG_INTERVAL() )
+    {
+      loopType = JavaTypes.pLONG();
+    }
+    else
+    {
+      return null;
+    }
+    if( identifier.getType() != loopType ||
+        !isIntegralValue( interval.getLHS() ) || !isIntegralValue( interval.getRHS() ) ||
+        (stepExpr != null && !isIntegralValue( stepExpr )) )
+    {
+      return null;
+    }
+
+    IRForEachStatement forLoop = new IRForEachStatement();
+
+    // endpoints and step, evaluated in the same order as when the interval is created
+    IRSymbol lhs = cc.makeAndIndexTempSymbol( IRTypeConstants.pLONG() );
+    forLoop.addInitializer( buildAssignment( lhs, compileAsLong( interval.getLHS() ) ) );
+    IRSymbol rhs = cc.makeAndIndexTempSymbol( IRTypeConstants.pLONG() );
+    forLoop.addInitializer( buildAssignment( rhs, compileAsLong( interval.getRHS() ) ) );
+    IRSymbol step = cc.makeAndIndexTempSymbol( IRTypeConstants.pLONG() );
+    forLoop.addInitializer( buildAssignment( step, stepExpr == null ? numericLiteral( 1L ) : compileAsLong( stepExpr ) ) );
+    List<IRExpression> intervalArgs = exprList( identifier( lhs ), identifier( rhs ), identifier( step ),
+                                                pushConstant( interval.isLeftClosed() ), pushConstant( interval.isRightClosed() ) );
+
+    // number of values left to visit
+    IRSymbol remaining = cc.makeAndIndexTempSymbol( IRTypeConstants.pLONG() );
+    forLoop.addInitializer( buildAssignment( remaining, callStaticMethod( ForEachStatementTransformer.class, "intervalSize",
+                                                                         new Class[]{long.class, long.class, long.class, boolean.class, boolean.class},
+                                                                         intervalArgs ) ) );
+
+    // signed distance between values
+    IRType irLoopType = getDescriptor( loopType );
+    IRSymbol delta = cc.makeAndIndexTempSymbol( irLoopType );
+    forLoop.addInitializer( buildAssignment( delta, numberConvert( IRTypeConstants.pLONG(), irLoopType,
+                                                                   callStaticMethod( ForEachStatementTransformer.class, "intervalDelta",
+                                                                                     new Class[]{long.class, long.class, long.class},
+                                                                                     exprList( identifier( lhs ), identifier( rhs ), identifier( step ) ) ) ) ) );
+
+    // loop variable init, one step before the first value
+    IRExpression start = numberConvert( IRTypeConstants.pLONG(), irLoopType,
+                                        callStaticMethod( ForEachStatementTransformer.class, "intervalStart",
+                                                          new Class[]{long.class, long.class, long.class, boolean.class, boolean.class},
+                                                          intervalArgs ) );
+    IRAssignmentStatement loopInitializer = initLocalVar( identifier, start );
+    forLoop.addInitializer( loopInitializer );
+    IRSymbol loopIdentifier = loopInitializer.getSymbol();
+
+    // loop test
+    forLoop.setLoopTest( buildNotEquals( identifier( remaining ), numericLiteral( 0L ) ) );
+
+    // count down and move to the next value
+    forLoop.addIncrementor( buildAssignment( remaining, buildAddition( identifier( remaining ), numericLiteral( -1L ) ) ) );
+    if( identifier.isValueBoxed() )
+    {
+      IRExpression nextValue = buildAddition( buildArrayLoad( identifier( loopIdentifier ), 0, loopIdentifier.getType().getComponentType() ), identifier( delta ) );
+      forLoop.addIncrementor( buildAssignment( loopIdentifier, buildInitializedArray( irLoopType, Collections.singletonList( nextValue ) ) ) );
+    }
+    else
+    {
+      forLoop.addIncrementor( buildAssignment( loopIdentifier, buildAddition( identifier( loopIdentifier ), identifier( delta ) ) ) );
+    }
     return forLoop;
   }
 
+  private static IExpression unwrapParens( IExpression expr )
+  {
+    while( expr instanceof IParenthesizedExpression )
+    {
+      expr = ((IParenthesizedExpression)expr).getExpression();
+    }
+    return expr;
+  }
+
+  private static boolean isIntegralValue( IExpression expr )
+  {
+    IType type = expr.getType();
+    return type == JavaTypes.pINT() || type == JavaTypes.pLONG() || type == JavaTypes.pSHORT() ||
+           type == JavaTypes.pBYTE() || type == JavaTypes.pCHAR() ||
+           type == JavaTypes.INTEGER() || type == JavaTypes.LONG();
+  }
+
+  private IRExpression compileAsLong( IExpression expr )
+  {
+    IRExpression irExpr = ExpressionTransformer.compile( expr, _cc() );
+    IType type = expr.getType();
+    if( !type.isPrimitive() )
+    {
+      IType primitiveType = type == JavaTypes.INTEGER() ? JavaTypes.pINT() : JavaTypes.pLONG();
+      irExpr = unboxValueToType( primitiveType, irExpr );
+      type = primitiveType;
+    }
+    return numberConvert( type, JavaTypes.pLONG(), irExpr );
+  }
+
   private void makeIteratorLoop( TopLevelTransformationContext cc, IRExpression rootExpression, IRForEachStatement forLoop, Symbol identifier, Symbol iteratorIdentifier )
   {
     // iterator temporary variable init
@@ -318,6 +472,73 @@ public class ForEachStatementTransformer extends AbstractStatementTransformer<Fo
     return Collections.nCopies( 1, obj ).iterator();
   }
 
+  /**
+   * @return the number of values an interval literal iterates, the same as its iterator would return.
+   * The count is unsigned, since a long interval can have more values than Long.MAX_VALUE.
+   */
+  @SuppressWarnings({"UnusedDeclaration"})
+  public static long intervalSize( long lhs, long rhs, long step, boolean bLeftClosed, boolean bRightClosed )
+  {
+    checkIntervalStep( step );
+    // distance from the first endpoint visited to the last, unsigned
+    long span = rhs < lhs ? lhs - rhs : rhs - lhs;
+
+    // Iteration runs from the lhs to the rhs either way, as written, so a reversed interval's
+    // left endpoint is still the first one visited
+    if( !bLeftClosed )
+    {
+      if( Long.compareUnsigned( step, span ) > 0 )
+      {
+        return 0;
+      }
+      span -= step;
+    }
+    if( span == 0 )
+    {
+      return bRightClosed ? 1 : 0;
+    }
+    long count = Long.divideUnsigned( span, step ) + 1;
+    if( !bRightClosed && Long.remainderUnsigned( span, step ) == 0 )
+    {
+      count--;
+    }
+    return count;
+  }
+
+  /**
+   * @return the value one step before the first value an interval literal iterates
+   */
+  @SuppressWarnings({"UnusedDeclaration"})
+  public static long intervalStart( long lhs, long rhs, long step, boolean bLeftClosed, boolean bRightClosed )
+  {
+    // Iteration starts from the lhs either way, bLeftClosed says whether it's visited
+    long delta = intervalDelta( lhs, rhs, step );
+    long first = lhs;
+    if( !bLeftClosed )
+    {
+      first += delta;
+    }
+    return first - delta;
+  }
+
+  /**
+   * @return the signed difference between consecutive values an interval literal iterates
+   */
+  @SuppressWarnings({"UnusedDeclaration"})
+  public static long intervalDelta( long lhs, long rhs, long step )
+  {
+    checkIntervalStep( step );
+    return rhs < lhs ? -step : step;
+  }
+
+  private static void checkIntervalStep( long step )
+  {
+    if( step <= 0 )
+    {
+      throw new IllegalArgumentException( "The step must be greater than 0: " + step );
+    }
+  }
+
   static final class ArrayIterator implements Iterator
   {
     private int _iCsr;
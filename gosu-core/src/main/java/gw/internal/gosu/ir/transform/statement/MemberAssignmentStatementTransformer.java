@@ -19,10 +19,12 @@ import gw.internal.gosu.parser.expressions.Identifier;
 import gw.internal.gosu.parser.expressions.SuperAccess;
 import gw.internal.gosu.parser.statements.MemberAssignmentStatement;
 import gw.internal.gosu.runtime.GosuRuntimeMethods;
+import gw.internal.gosu.runtime.PropertyCallSites;
 import gw.lang.ir.IRExpression;
 import gw.lang.ir.IRStatement;
 import gw.lang.ir.IRSymbol;
 import gw.lang.ir.IRType;
+import gw.lang.ir.expression.IRStringLiteralExpression;
 import gw.lang.ir.statement.IRAssignmentStatement;
 import gw.lang.ir.statement.IRStatementList;
 import gw.lang.parser.IExpression;
@@ -33,6 +35,7 @@ import gw.lang.reflect.IPlaceholder;
 import gw.lang.reflect.IPropertyInfo;
 import gw.lang.reflect.IPropertyInfoDelegate;
 import gw.lang.reflect.IType;
+import gw.lang.reflect.gs.BytecodeOptions;
 import gw.lang.reflect.gs.IGosuEnhancement;
 import gw.lang.reflect.java.IJavaPropertyInfo;
 
@@ -208,8 +211,14 @@ public class MemberAssignmentStatementTransformer extends AbstractStatementTrans
     }
     else {
       // Everything else should dispatch to the statically-determined property
-      setter = callStaticMethod( GosuRuntimeMethods.class, "setProperty", new Class[]{Object.class, IType.class, String.class, Object.class},
-                                 exprList( root, pushType( type ), propertyName, value ) );
+      if( BytecodeOptions.isDynamicCallSites() && propertyName instanceof IRStringLiteralExpression ) {
+        setter = callDynamicSite( PropertyCallSites.class, "bootstrapSetProperty", "setProperty", void.class, new Class[]{Object.class, IType.class, Object.class},
+                                  exprList( root, pushType( type ), value ), ((IRStringLiteralExpression)propertyName).getValue() );
+      }
+      else {
+        setter = callStaticMethod( GosuRuntimeMethods.class, "setProperty", new Class[]{Object.class, IType.class, String.class, Object.class},
+                                   exprList( root, pushType( type ), propertyName, value ) );
+      }
     }
     return buildMethodCall( setter );
   }
@@ -4,6 +4,7 @@
 
 package gw.internal.gosu.ir.transform.statement;
 
+import gw.internal.gosu.parser.IBlockClassInternal;
 import gw.internal.gosu.parser.statements.ReturnStatement;
 import gw.internal.gosu.ir.transform.ExpressionTransformer;
 import gw.internal.gosu.ir.transform.TopLevelTransformationContext;
@@ -91,13 +92,18 @@ public class ReturnStatementTransformer extends AbstractStatementTransformer<Ret
     }
   }
 
+  private boolean isPrimitiveBlockInvoke()
+  {
+    return ((IBlockClassInternal)_cc().getGosuClass()).getPrimitiveFunctionInterface() != null;
+  }
+
   private IRExpression compileReturnExpr( IType retType )
   {
     // Compile the return value expression
     IRExpression expression = ExpressionTransformer.compile( _stmt().getValue(), _cc() );
 
     // handle implicit boxing/unbocking in block invoke methods or 
-    if( (_cc().isBlockInvoke() || _cc().isFragmentEvaluation() ) && retType.isPrimitive() )
+    if( (_cc().isBlockInvoke() && !isPrimitiveBlockInvoke() || _cc().isFragmentEvaluation() ) && retType.isPrimitive() )
     {
       expression = boxValue( retType, expression );
     }
@@ -11,6 +11,8 @@ import gw.lang.reflect.gs.ICompilableType;
 import gw.lang.reflect.java.IJavaBackedType;
 import gw.lang.reflect.module.TypeSystemLockHelper;
 
+import java.util.concurrent.locks.Lock;
+
 /**
  * FIXME: Duplicates {@link gw.internal.gosu.compiler.protocols.gosuclass.GosuClassesUrlConnection}
  */
@@ -44,14 +46,14 @@ public class Loader {
 
   private static ICompilableType maybeAssignGosuType(String strType) {
     ClassLoader loader = TypeSystem.getGosuClassLoader().getActualLoader();
-    TypeSystemLockHelper.getTypeSystemLockWithMonitor(loader);
+    Lock lock = TypeSystemLockHelper.getTypeLockWithMonitor(strType, loader);
     try {
       IType type = TypeSystem.getByFullNameIfValid(strType);
       if (type instanceof ICompilableType) {
         return (ICompilableType) type;
       }
     } finally {
-      TypeSystem.unlock();
+      TypeSystemLockHelper.unlockType(lock);
     }
     return null;
   }
@@ -25,6 +25,7 @@ import gw.lang.reflect.IType;
 import gw.lang.reflect.TypeSystem;
 import gw.lang.reflect.gs.GosuClassTypeLoader;
 import gw.lang.reflect.gs.ICompilableType;
+import gw.lang.reflect.java.IJavaType;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -180,6 +181,20 @@ public class BlockClass extends SyntheticClass implements IBlockClassInternal
     return syms;
   }
 
+  @Override
+  public IJavaType getPrimitiveFunctionInterface()
+  {
+    BlockExpression block = getBlock();
+    IParsedElement body = block.getBody();
+    // Only expression bodies, their single return value is exactly the return type so it never needs a
+    // conversion the primitive invoke method couldn't express
+    if( !(body instanceof Expression) || ((Expression)body).getType() != block.getBlockReturnType() )
+    {
+      return null;
+    }
+    return FunctionClassUtil.getPrimitiveFunctionInterface( block.getBlockReturnType(), block.getType().getParameterTypes() );
+  }
+
   public BlockExpression getBlock()
   {
     return getParseInfo().getBlock();
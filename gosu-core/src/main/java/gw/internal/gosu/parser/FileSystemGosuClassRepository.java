@@ -37,11 +37,11 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
 
@@ -49,7 +49,8 @@ import java.util.stream.Stream;
  */
 public class FileSystemGosuClassRepository implements IFileSystemGosuClassRepository
 {
-  private final Map<String, FqnCache> _missCaches = new HashMap<String, FqnCache>();
+  // Read without locking, changed while synchronized on the map
+  private final Map<String, FqnCache> _missCaches = new ConcurrentHashMap<String, FqnCache>();
   public static final String RESOURCE_LOCATED_W_CLASSES = "gw/config/default.xml";
 
   private final IModule _module;
@@ -60,8 +61,9 @@ public class FileSystemGosuClassRepository implements IFileSystemGosuClassReposi
   private Set<IDirectory> _excludedPath = new HashSet<IDirectory>();
   private String[] _extensions = new String[0];
 
-  // Types and packages in the source paths
-  private PackageToClassPathEntryTreeMap _rootNode;
+  // Types and packages in the source paths.  The tree is read without locking, it is built and changed
+  // while synchronized on this repository
+  private volatile PackageToClassPathEntryTreeMap _rootNode;
   private Set<String> _allTypeNames;
 
   public FileSystemGosuClassRepository(IModule module)
@@ -249,7 +251,7 @@ public class FileSystemGosuClassRepository implements IFileSystemGosuClassReposi
     }
   }
 
-  private void addToPackageCache(String fqn, IResource file) {
+  private synchronized void addToPackageCache(String fqn, IResource file) {
     final ClassPathEntry classPathEntry = findClassPathEntry(file);
     if (_rootNode != null && classPathEntry != null) {
       PackageToClassPathEntryTreeMap node = _rootNode;
@@ -283,7 +285,7 @@ public class FileSystemGosuClassRepository implements IFileSystemGosuClassReposi
     return null;
   }
 
-  private void removeFromPackageCache( String fqn, IDirectory dir ) {
+  private synchronized void removeFromPackageCache( String fqn, IDirectory dir ) {
     PackageToClassPathEntryTreeMap thePackage = getCachedPackageCorrectly(fqn);
     if (thePackage != null) {
       //## todo: the package could be split, we need to remove the directory
@@ -292,47 +294,40 @@ public class FileSystemGosuClassRepository implements IFileSystemGosuClassReposi
     }
   }
 
-  private synchronized PackageToClassPathEntryTreeMap getCachedPackageCorrectly(String fullyQualifiedName) {
-    if (_rootNode == null) {
-      _rootNode = loadPackageRoots();
-    }
-
-    PackageToClassPathEntryTreeMap currNode = _rootNode;
+  private PackageToClassPathEntryTreeMap getCachedPackageCorrectly(String fullyQualifiedName) {
+    PackageToClassPathEntryTreeMap rootNode = getRootNode();
+    PackageToClassPathEntryTreeMap currNode = rootNode;
     int iRelativeNameIndex = 0;
     while (iRelativeNameIndex != -1) {
       int iNextDot = fullyQualifiedName.indexOf('.', iRelativeNameIndex);
       String strRelativeName = fullyQualifiedName.substring(iRelativeNameIndex, iNextDot == -1 ? fullyQualifiedName.length() : iNextDot);
       iRelativeNameIndex = iNextDot == -1 ? -1 : iNextDot + 1;
-      PackageToClassPathEntryTreeMap newNode = getChildPackage(currNode, strRelativeName);
+      PackageToClassPathEntryTreeMap newNode = getChildPackage(rootNode, currNode, strRelativeName);
       if (newNode == null) {
         return null;
       }
       currNode = newNode;
     }
 
-    return currNode == _rootNode ? null : currNode;
+    return currNode == rootNode ? null : currNode;
   }
 
-  private synchronized PackageToClassPathEntryTreeMap getCachedPackage( String fullyQualifiedName )
+  private PackageToClassPathEntryTreeMap getCachedPackage( String fullyQualifiedName )
   {
-    if( _rootNode == null )
-    {
-      _rootNode = loadPackageRoots();
-    }
-
+    PackageToClassPathEntryTreeMap rootNode = getRootNode();
     if( fullyQualifiedName.equals( "" ) )
     {
-      return _rootNode;
+      return rootNode;
     }
 
-    PackageToClassPathEntryTreeMap currNode = _rootNode;
+    PackageToClassPathEntryTreeMap currNode = rootNode;
     int iRelativeNameIndex = 0;
     while( iRelativeNameIndex != -1 )
     {
       int iNextDot = fullyQualifiedName.indexOf( '.', iRelativeNameIndex );
       String strRelativeName = fullyQualifiedName.substring( iRelativeNameIndex, iNextDot == -1 ? fullyQualifiedName.length() : iNextDot );
       iRelativeNameIndex = iNextDot == -1 ? -1 : iNextDot + 1;
-      PackageToClassPathEntryTreeMap newNode = getChildPackage( currNode, strRelativeName );
+      PackageToClassPathEntryTreeMap newNode = getChildPackage( rootNode, currNode, strRelativeName );
       if( newNode == null )
       {
         break;
@@ -340,13 +335,34 @@ public class FileSystemGosuClassRepository implements IFileSystemGosuClassReposi
       currNode = newNode;
     }
 
-    return currNode == _rootNode ? null : currNode;
+    return currNode == rootNode ? null : currNode;
+  }
+
+  /**
+   * Package lookups are on the path of every type load, so they read the tree without locking.  Only
+   * the first lookup after a reset builds it.
+   */
+  private PackageToClassPathEntryTreeMap getRootNode()
+  {
+    PackageToClassPathEntryTreeMap rootNode = _rootNode;
+    if( rootNode == null )
+    {
+      synchronized( this )
+      {
+        rootNode = _rootNode;
+        if( rootNode == null )
+        {
+          _rootNode = rootNode = loadPackageRoots();
+        }
+      }
+    }
+    return rootNode;
   }
 
-  private PackageToClassPathEntryTreeMap getChildPackage( PackageToClassPathEntryTreeMap parent, String strRelativeName )
+  private PackageToClassPathEntryTreeMap getChildPackage( PackageToClassPathEntryTreeMap rootNode, PackageToClassPathEntryTreeMap parent, String strRelativeName )
   {
     PackageToClassPathEntryTreeMap child;
-    if( parent == _rootNode && strRelativeName.equals( "Libraries" ) )
+    if( parent == rootNode && strRelativeName.equals( "Libraries" ) )
     {
       // Hack to support mixed case access to the "libraries" package.
       // Libaries used to be a global symbol with name "Libraries", so
@@ -439,29 +455,25 @@ public class FileSystemGosuClassRepository implements IFileSystemGosuClassReposi
     return i < 0 ? "" : strQualifiedClassName.substring(0, i);
   }
 
+  /**
+   * Checked without locking.  A lookup racing with a change may not see a miss that was just added,
+   * which only costs a search of the package tree.
+   */
   private boolean inMissCache(String strQualifiedClassName, String[] extensions)
   {
-    synchronized( _missCaches )
-    {
-      // Note we check for TRUE because it can happen that a subordinate type like Foo<BadType> is a miss, while Foo is not a miss
-      for (String extension : extensions) {
-        Object value = getMissCacheForExtension(extension).get(strQualifiedClassName);
-        if (value != Boolean.TRUE) {
-          return false;
-        }
+    // Note we check for TRUE because it can happen that a subordinate type like Foo<BadType> is a miss, while Foo is not a miss
+    for (String extension : extensions) {
+      FqnCache cache = _missCaches.get(extension);
+      if (cache == null || cache.get(strQualifiedClassName) != Boolean.TRUE) {
+        return false;
       }
-
-      return true;
     }
+
+    return true;
   }
 
   private FqnCache getMissCacheForExtension(String extension) {
-    FqnCache cache = _missCaches.get(extension);
-    if (cache == null) {
-      cache = new FqnCache();
-      _missCaches.put(extension, cache);
-    }
-    return cache;
+    return _missCaches.computeIfAbsent(extension, ext -> new FqnCache());
   }
 
   private void addToMissCache(String strQualifiedClassName, String[] extensions)
@@ -76,6 +76,7 @@ import gw.util.StringPool;
 import gw.util.concurrent.LockingLazyVar;
 
 import gw.util.concurrent.LocklessLazyVar;
+import gw.util.perf.objectsize.ObjectSize;
 import java.io.File;
 import java.io.InvalidClassException;
 import java.io.ObjectStreamException;
@@ -2081,6 +2082,12 @@ public class GosuClass extends InnerClassCapableType implements IGosuClassIntern
     return !isProxy();
   }
 
+  @Override
+  public ObjectSize getRetainedMemory()
+  {
+    return ParseTreeRetention.getRetainedMemory( (IGosuClassInternal)getOrCreateTypeReference() );
+  }
+
   public IGosuClassInternal getSuperClass()
   {
     compileHeaderIfNeeded();
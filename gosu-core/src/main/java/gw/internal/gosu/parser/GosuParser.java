@@ -218,6 +218,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 @SuppressWarnings({"ThrowableInstanceNeverThrown"})
@@ -15939,6 +15941,11 @@ public final class GosuParser extends ParserBase implements IGosuParser
   }
 
   public IGosuClassInternal parseClass( String strQualifiedClassName, ISourceFileHandle sourceFile, boolean bThrowOnWarnings, boolean bFullyCompile ) throws ParseResultsException
+  {
+    return parseClass( strQualifiedClassName, sourceFile, bThrowOnWarnings, bFullyCompile, null );
+  }
+
+  public IGosuClassInternal parseClass( String strQualifiedClassName, ISourceFileHandle sourceFile, boolean bThrowOnWarnings, boolean bFullyCompile, BooleanSupplier cancelled ) throws ParseResultsException
   {
     GosuClassTypeLoader classLoader;
     if (!ExecutionMode.isIDE()) {
@@ -15960,6 +15967,21 @@ public final class GosuParser extends ParserBase implements IGosuParser
     {
       if( bFullyCompile )
       {
+        if( cancelled != null )
+        {
+          // Compile a phase at a time, a stale parse stops at the next boundary
+          try
+          {
+            gsClass.compileHeaderIfNeeded();
+          }
+          catch( ErrantGosuClassException e )
+          {
+            // Reported with the definitions
+          }
+          checkCancelled( cancelled );
+          gsClass.compileDeclarationsIfNeeded();
+          checkCancelled( cancelled );
+        }
         gsClass.compileDefinitionsIfNeeded( true );
       }
       else
@@ -15985,6 +16007,14 @@ public final class GosuParser extends ParserBase implements IGosuParser
     return gsClass;
   }
 
+  private static void checkCancelled( BooleanSupplier cancelled )
+  {
+    if( cancelled.getAsBoolean() )
+    {
+      throw new CancellationException();
+    }
+  }
+
   public IFunctionType getFunctionType( IType classBean, String functionName, Expression[] eArgs, List<IFunctionType> listAllMatchingMethods, GosuParser parser, boolean bMatchParamTypes ) throws ParseException
   {
     if( classBean == null )
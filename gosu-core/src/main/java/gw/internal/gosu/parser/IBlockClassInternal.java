@@ -5,8 +5,15 @@
 package gw.internal.gosu.parser;
 
 import gw.lang.parser.IBlockClass;
+import gw.lang.reflect.java.IJavaType;
 
 public interface IBlockClassInternal extends IBlockClass, ICompilableTypeInternal
 {
   public void update();
+
+  /**
+   * @return the primitive-specialized function interface this block implements in addition to its
+   * erased IFunctionN interface, or null if it only implements the erased one
+   */
+  public IJavaType getPrimitiveFunctionInterface();
 }
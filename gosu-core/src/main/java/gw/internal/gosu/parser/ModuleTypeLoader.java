@@ -42,6 +42,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  */
@@ -58,6 +60,10 @@ public class ModuleTypeLoader implements ITypeLoaderStackInternal {
 
   // Type system caches
   private WeakFqnCache<IType> _typesByName;
+  // A flat, lock-free front for _typesByName, including its misses.  Entries are stamped with the
+  // generation they were read in and are ignored once a refresh or clear bumps it, see findInCache()
+  private final Map<String, CachedName> _typesByFlatName = new ConcurrentHashMap<String, CachedName>();
+  private final AtomicInteger _generation = new AtomicInteger();
   private Map<String, IType> _namespaceTypesByName; // A case-Sensitive map of names to namespace types
 
   //## todo: remove this pos
@@ -87,6 +93,7 @@ public class ModuleTypeLoader implements ITypeLoaderStackInternal {
     _globalStack = new ArrayList<ITypeLoader>();
     _loadersByPrefix = new HashMap<String, ITypeLoader>();
     _typesByName = new WeakFqnCache<IType>();
+    invalidateFlatCache();
     _namespaceTypesByName = new HashMap<String, IType>();
     _typesByCaseInsensitiveName = new HashMap<String, IType>();
   }
@@ -164,6 +171,7 @@ public class ModuleTypeLoader implements ITypeLoaderStackInternal {
     try
     {
       removeMissesAndErrorsFromMainCache();
+      invalidateFlatCache();
       removeMissesAndErrors( _typesByCaseInsensitiveName.values() );
       removeMissesAndErrors( _namespaceTypesByName.values() );
     }
@@ -204,6 +212,7 @@ public class ModuleTypeLoader implements ITypeLoaderStackInternal {
   private void clearCaches()
   {
     _typesByName.clear();
+    invalidateFlatCache();
     _namespaceTypesByName.clear();
     _typesByCaseInsensitiveName.clear();
   }
@@ -242,6 +251,7 @@ public class ModuleTypeLoader implements ITypeLoaderStackInternal {
       for (String fullyQualifiedTypeName : request.types) {
         clearFromCaches(fullyQualifiedTypeName);
       }
+      invalidateFlatCache();
       clearNamespaces(request); // Clear namespace types that might be affected.
 
       DefaultTypeLoader defaultTypeLoader = getTypeLoader(DefaultTypeLoader.class);
@@ -414,6 +424,7 @@ public class ModuleTypeLoader implements ITypeLoaderStackInternal {
           if( foundType != null )
           {
             _typesByName.add( fqnNoArrays, foundType );
+            cacheFlatName( fqnNoArrays, foundType );
           }
         }
         // If it's not found, then go ahead and try to load it from the type loader stacks
@@ -445,10 +456,26 @@ public class ModuleTypeLoader implements ITypeLoaderStackInternal {
 
   private IType findInCache( String fqnNoArrays )
   {
-    IType foundType = _typesByName.get(fqnNoArrays);
+    IType foundType = findInFlatCache( fqnNoArrays );
     if( foundType == null )
     {
-      foundType = _typeRefFactory.get(fqnNoArrays);
+      // Read the generation before the cache so the entry put below is stale if a removal bumps it after the read
+      int iGeneration = _generation.get();
+      foundType = _typesByName.get(fqnNoArrays);
+      if( foundType != null )
+      {
+        // A type added after the read, e.g., defining a miss, replaces the name's entry, see cacheFlatName().
+        // Don't replace it in turn, and drop the entry if the add came between the read and the put
+        CachedName cached = new CachedName( foundType, iGeneration );
+        if( _typesByFlatName.putIfAbsent( fqnNoArrays, cached ) == null && _typesByName.get( fqnNoArrays ) != foundType )
+        {
+          _typesByFlatName.remove( fqnNoArrays, cached );
+        }
+      }
+      else
+      {
+        foundType = _typeRefFactory.get(fqnNoArrays);
+      }
     }
     if( foundType instanceof ITypeRef && ((ITypeRef)foundType)._shouldReload() )
     {
@@ -462,6 +489,44 @@ public class ModuleTypeLoader implements ITypeLoaderStackInternal {
     return foundType;
   }
 
+  private IType findInFlatCache( String fqnNoArrays )
+  {
+    CachedName cached = _typesByFlatName.get( fqnNoArrays );
+    if( cached == null )
+    {
+      return null;
+    }
+    if( cached._iGeneration == _generation.get() )
+    {
+      IType type = cached.get();
+      if( type != null )
+      {
+        return type;
+      }
+    }
+    _typesByFlatName.remove( fqnNoArrays, cached );
+    return null;
+  }
+
+  /**
+   * Called after types are removed from _typesByName.  Bumping the generation first discards entries
+   * put by lookups that read the cache before the removal, even if they are put after the clear.
+   */
+  private void invalidateFlatCache()
+  {
+    _generation.incrementAndGet();
+    _typesByFlatName.clear();
+  }
+
+  /**
+   * Called after a type is added to _typesByName, possibly replacing a miss.  Only the name's entry changes;
+   * a lookup that read the miss before the add can't put it back, see findInCache().
+   */
+  private void cacheFlatName( String fqnNoArrays, IType type )
+  {
+    _typesByFlatName.put( fqnNoArrays, new CachedName( type, _generation.get() ) );
+  }
+
   private IType findInCaseInsenstiveCache( String fqnNoArrays )
   {
     IType foundType = _typesByCaseInsensitiveName.get( fqnNoArrays );
@@ -567,6 +632,9 @@ public class ModuleTypeLoader implements ITypeLoaderStackInternal {
 
   private void clearFromCaches( String fullyQualifiedTypeName ) {
     _typesByName.remove(fullyQualifiedTypeName);
+    _typesByFlatName.remove(fullyQualifiedTypeName);
+    // Discards what concurrent lookups read before the removal, the rest is cleared by the caller or lazily
+    _generation.incrementAndGet();
     _typesByCaseInsensitiveName.remove( fullyQualifiedTypeName );
     if(fullyQualifiedTypeName.endsWith(IClassPath.PLACEHOLDER_FOR_PACKAGE)) {
       _namespaceTypesByName.remove(fullyQualifiedTypeName.substring(0, fullyQualifiedTypeName.length() - IClassPath.PLACEHOLDER_FOR_PACKAGE.length() - 1));
@@ -670,6 +738,7 @@ public class ModuleTypeLoader implements ITypeLoaderStackInternal {
         return oldType;
       }
       _typesByName.add( name, type );
+      cacheFlatName( name, type );
       ITypeLoader typeLoader = pair.getSecond();
       if( typeLoader != null && !typeLoader.isCaseSensitive() )
       {
@@ -800,6 +869,20 @@ public class ModuleTypeLoader implements ITypeLoaderStackInternal {
     return processed;
   }
 
+  private static final class CachedName extends WeakReference<IType> {
+    private final int _iGeneration;
+
+    CachedName( IType type, int iGeneration ) {
+      super( type );
+      _iGeneration = iGeneration;
+    }
+  }
+
+  //## For tests only
+  boolean isInFlatCache( String fqn ) {
+    return findInFlatCache( fqn ) != null;
+  }
+
   public IType getCachedType(String fqn) {
     IType foundType = findInCache( fqn );
     if (foundType == null) {
@@ -18,22 +18,25 @@ import gw.util.StringPool;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
+ * A package node in a source repository's tree of packages.  Lookups walk the tree without locking;
+ * changes are made by the owning repository while it holds its own lock, see
+ * FileSystemGosuClassRepository#getCachedPackage().
  */
 class PackageToClassPathEntryTreeMap
 {
   private String _strFullPackageName;
   private String _strRelativePackageName;
-  private Map<String, PackageToClassPathEntryTreeMap> _children = new HashMap<String, PackageToClassPathEntryTreeMap>();
-  private List<IFileSystemGosuClassRepository.ClassPathEntry> _classPathEntries = new ArrayList<IFileSystemGosuClassRepository.ClassPathEntry>();
+  private Map<String, PackageToClassPathEntryTreeMap> _children = new ConcurrentHashMap<String, PackageToClassPathEntryTreeMap>();
+  private List<IFileSystemGosuClassRepository.ClassPathEntry> _classPathEntries = new CopyOnWriteArrayList<IFileSystemGosuClassRepository.ClassPathEntry>();
   private PackageToClassPathEntryTreeMap _parent;
   private IModule _module;
 
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.parser;
+
+import gw.config.ExecutionMode;
+import gw.fs.IResource;
+import gw.lang.parser.ISymbolTable;
+import gw.lang.reflect.IFeatureInfo;
+import gw.lang.reflect.IType;
+import gw.lang.reflect.ITypeLoader;
+import gw.lang.reflect.TypeSystem;
+import gw.lang.reflect.gs.BytecodeOptions;
+import gw.lang.reflect.gs.GosuClassTypeLoader;
+import gw.lang.reflect.gs.ICompilableType;
+import gw.lang.reflect.gs.IGosuClass;
+import gw.lang.reflect.java.IJavaClassInfo;
+import gw.lang.reflect.module.IModule;
+import gw.util.perf.objectsize.IObjectSizeFilter;
+import gw.util.perf.objectsize.ObjectSize;
+import gw.util.perf.objectsize.ObjectSizeUtil;
+
+import java.lang.reflect.Field;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lets go of a Gosu class's tokens once its bytecode is defined, see BytecodeOptions#isReleaseTokens(), and
+ * measures what classes keep for parsing.
+ * <p/>
+ * A class's phases share one tokenizer, which stays on the class's ISource after the last phase along
+ * with every token.  At runtime nothing reads them again unless the class is parsed again, e.g., after a
+ * refresh, in which case the parser tokenizes the source anew.  The cached source text is already let go
+ * of at the end of the definitions phase.
+ * <p/>
+ * Parse trees and symbols stay.  Inner classes, anonymous classes and blocks are compiled to bytecode on
+ * demand from their enclosing class's tree, functions are invoked through their symbols, and subclasses
+ * are parsed against them; parsing again instead would make new anonymous and block types.
+ */
+public class ParseTreeRetention
+{
+  private static final int MAX_OBJECTS = 1000000;
+
+  public static void maybeRelease( ICompilableType type )
+  {
+    if( BytecodeOptions.isReleaseTokens() &&
+        ExecutionMode.isRuntime() &&
+        type instanceof IGosuClassInternal &&
+        !type.isParameterizedType() &&
+        type.getEnclosingType() == null )
+    {
+      // Inner classes share their top-level class's source
+      release( (IGosuClassInternal)type );
+    }
+  }
+
+  /**
+   * Drops the class's tokenizer and tokens.  Does nothing while the class is being parsed.
+   */
+  public static void release( IGosuClassInternal gsClass )
+  {
+    if( gsClass.isCompilingHeader() || gsClass.isCompilingDeclarations() || gsClass.isCompilingDefinitions() )
+    {
+      return;
+    }
+    gsClass.getSourceFileHandle().getSource().setTokenizer( null );
+  }
+
+  /**
+   * @return An estimate of the memory the class and its inner classes keep for parsing, see
+   *   IGosuClass#getRetainedMemory()
+   */
+  public static ObjectSize getRetainedMemory( IGosuClassInternal gsClass )
+  {
+    List<Object> roots = new ArrayList<>();
+    Set<String> names = new HashSet<>();
+    addParseInfo( gsClass, roots, names );
+    // The source holds the tokenizer and the cached text
+    roots.add( gsClass.getSourceFileHandle().getSource() );
+    return ObjectSizeUtil.deepSizeOf( roots.toArray(), new ParseTreeFilter( names ), MAX_OBJECTS, false );
+  }
+
+  private static void addParseInfo( IGosuClassInternal gsClass, List<Object> roots, Set<String> names )
+  {
+    names.add( gsClass.getName() );
+    roots.add( gsClass.getParseInfo() );
+    for( IGosuClass innerClass : gsClass.getKnownInnerClassesWithoutCompiling().values() )
+    {
+      addParseInfo( (IGosuClassInternal)innerClass, roots, names );
+    }
+  }
+
+  /**
+   * @return The retained memory of each Gosu class, by name, largest first
+   */
+  public static Map<String, ObjectSize> measure( Collection<? extends IType> types )
+  {
+    List<Map.Entry<String, ObjectSize>> sizes = new ArrayList<>();
+    for( IType type : types )
+    {
+      if( type instanceof IGosuClassInternal && !type.isParameterizedType() && type.getEnclosingType() == null )
+      {
+        sizes.add( new AbstractMap.SimpleEntry<>( type.getName(), ((IGosuClass)type).getRetainedMemory() ) );
+      }
+    }
+    sizes.sort( ( e1, e2 ) -> Long.compare( e2.getValue().size(), e1.getValue().size() ) );
+    Map<String, ObjectSize> map = new LinkedHashMap<>();
+    for( Map.Entry<String, ObjectSize> entry : sizes )
+    {
+      map.put( entry.getKey(), entry.getValue() );
+    }
+    return map;
+  }
+
+  /**
+   * @return The retained memory of each Gosu class the current module has loaded, by name, largest first.
+   *   Loads no types.
+   */
+  public static Map<String, ObjectSize> measureLoaded()
+  {
+    IModule module = TypeSystem.getCurrentModule();
+    ModuleTypeLoader moduleLoader = (ModuleTypeLoader)module.getModuleTypeLoader();
+    GosuClassTypeLoader loader = moduleLoader.getTypeLoader( GosuClassTypeLoader.class );
+    List<IType> types = new ArrayList<>();
+    if( loader != null )
+    {
+      for( CharSequence name : loader.getAllTypeNames() )
+      {
+        IType type = moduleLoader.getCachedType( name.toString() );
+        if( type != null )
+        {
+          types.add( type );
+        }
+      }
+    }
+    return measure( types );
+  }
+
+  /**
+   * @return A listing of the sizes, one class per line, and their total
+   */
+  public static String report( Map<String, ObjectSize> sizes )
+  {
+    StringBuilder sb = new StringBuilder();
+    ObjectSize total = new ObjectSize( 0, true );
+    for( Map.Entry<String, ObjectSize> entry : sizes.entrySet() )
+    {
+      ObjectSize size = entry.getValue();
+      total.add( size );
+      appendLine( sb, size, entry.getKey() );
+    }
+    appendLine( sb, total, "Total (" + sizes.size() + " classes)" );
+    return sb.toString();
+  }
+
+  private static void appendLine( StringBuilder sb, ObjectSize size, String strLabel )
+  {
+    sb.append( String.format( "%10s  %s%s%n", ObjectSize.toString( size.size() ), strLabel,
+                              size.isIncomplete() ? " (incomplete)" : "" ) );
+  }
+
+  /**
+   * Stops at what the class shares with other types, the type system and the JVM.  The symbols of
+   * other classes' members are reached through references and left to those classes.
+   */
+  private static class ParseTreeFilter implements IObjectSizeFilter
+  {
+    private final Set<String> _names;
+
+    ParseTreeFilter( Set<String> names )
+    {
+      _names = names;
+    }
+
+    public boolean skipField( Field field )
+    {
+      return field.getType() == Class.class;
+    }
+
+    public boolean skipObject( Object obj )
+    {
+      if( obj instanceof Class ||
+          obj instanceof IType ||
+          obj instanceof ITypeLoader ||
+          obj instanceof IModule ||
+          obj instanceof ClassLoader ||
+          obj instanceof IFeatureInfo ||
+          obj instanceof IJavaClassInfo ||
+          obj instanceof ISymbolTable ||
+          obj instanceof IResource ||
+          obj.getClass().getName().startsWith( "java.lang.reflect" ) )
+      {
+        return true;
+      }
+      if( obj instanceof AbstractDynamicSymbol )
+      {
+        IGosuClassInternal owner = ((AbstractDynamicSymbol)obj).getGosuClass();
+        return owner != null && !_names.contains( TypeLord.getPureGenericType( owner ).getName() );
+      }
+      return false;
+    }
+  }
+}
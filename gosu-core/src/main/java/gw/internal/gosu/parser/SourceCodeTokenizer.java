@@ -168,7 +168,7 @@ final public class SourceCodeTokenizer implements ISourceCodeTokenizer
 
   final public Token getCurrentToken()
   {
-    Stack<Token> tokens = _internal.getTokens();
+    TokenStore tokens = _internal.getTokens();
     int count = tokens.size();
     if( _state == count )
     {
@@ -307,11 +307,10 @@ final public class SourceCodeTokenizer implements ISourceCodeTokenizer
 
   public DocCommentBlock popLastComment()
   {
-    Stack<Token> tokens = _internal.getTokens();
+    TokenStore tokens = _internal.getTokens();
     for( int i = _state, j = 0; i >= 0 && j < 5; i--, j++ )
     {
-      Token token = tokens.get( i );
-      DocCommentBlock turd = token.getTurd();
+      DocCommentBlock turd = tokens.getTurd( i );
       if( turd != null )
       {
         return turd;
@@ -322,12 +321,14 @@ final public class SourceCodeTokenizer implements ISourceCodeTokenizer
 
   public int getTokenStart()
   {
-    return getCurrentToken().getTokenStart();
+    TokenStore tokens = _internal.getTokens();
+    return _state >= 0 && _state < tokens.size() ? tokens.getTokenStart( _state ) : getCurrentToken().getTokenStart();
   }
 
   public int getTokenEnd()
   {
-    return getCurrentToken().getTokenEnd();
+    TokenStore tokens = _internal.getTokens();
+    return _state >= 0 && _state < tokens.size() ? tokens.getTokenEnd( _state ) : getCurrentToken().getTokenEnd();
   }
 
   public String getTokenAsString()
@@ -391,7 +392,7 @@ final public class SourceCodeTokenizer implements ISourceCodeTokenizer
     return _state;
   }
 
-  final public Stack<Token> getTokens()
+  final public TokenStore getTokens()
   {
     return _internal.getTokens();
   }
@@ -403,7 +404,7 @@ final public class SourceCodeTokenizer implements ISourceCodeTokenizer
       _internal.rip();
     }
 
-    Stack<Token> tokens = _internal.getTokens();
+    TokenStore tokens = _internal.getTokens();
     int count = tokens.size();
     if( _state == count )
     {
@@ -413,7 +414,7 @@ final public class SourceCodeTokenizer implements ISourceCodeTokenizer
     _state = maybeSkipWhitespaceAndComments( _state + 1, tokens, count );
   }
 
-  private int maybeSkipWhitespaceAndComments( int state, Stack<Token> tokens, int count )
+  private int maybeSkipWhitespaceAndComments( int state, TokenStore tokens, int count )
   {
     boolean bKeepComments = isCommentsSignificant();
     boolean bKeepWhitespace = isWhitespaceSignificant();
@@ -424,7 +425,7 @@ final public class SourceCodeTokenizer implements ISourceCodeTokenizer
         return state;
       }
 
-      int tokType = tokens.get( state ).getType();
+      int tokType = tokens.getType( state );
       if( (!bKeepWhitespace && tokType == TT_WHITESPACE) ||
           (!bKeepComments && tokType == TT_COMMENT) )
       {
@@ -594,7 +595,7 @@ final public class SourceCodeTokenizer implements ISourceCodeTokenizer
       return false;
     }
 
-    return getPriorToken( false ).isAnalyzingSeparately();
+    return _internal.getTokens().isAnalyzingSeparately( _state - 1 );
   }
 
   @Override
@@ -605,7 +606,7 @@ final public class SourceCodeTokenizer implements ISourceCodeTokenizer
       return false;
     }
 
-    return getPriorToken( false ).isAnalyzingDirective();
+    return _internal.getTokens().isAnalyzingDirective( _state - 1 );
   }
 
   @Override
@@ -631,13 +632,14 @@ final public class SourceCodeTokenizer implements ISourceCodeTokenizer
     {
       return new Token();
     }
+    TokenStore tokens = getTokens();
     for( int i = _state-1; i >= 0; i-- )
     {
-      Token t = getTokens().get( i );
-      if( (!bSkipWhitespace || t.getType() != TT_WHITESPACE) &&
-          (!bSkipComments || t.getType() != TT_COMMENT))
+      int iType = tokens.getType( i );
+      if( (!bSkipWhitespace || iType != TT_WHITESPACE) &&
+          (!bSkipComments || iType != TT_COMMENT))
       {
-        return t;
+        return tokens.get( i );
       }
     }
     return getTokens().get( 0 );
@@ -663,7 +665,7 @@ final public class SourceCodeTokenizer implements ISourceCodeTokenizer
     }
     if( iPos < getTokens().size() )
     {
-      return getTokens().get( iPos ).getType();
+      return getTokens().getType( iPos );
     }
 
     return TT_EOF;
@@ -675,7 +677,7 @@ final public class SourceCodeTokenizer implements ISourceCodeTokenizer
     iPos++;
     while( iPos < getTokens().size() && type == TT_WHITESPACE )
     {
-      type = getTokens().get( iPos ).getType();
+      type = getTokens().getType( iPos );
       iPos++;
     }
     return type != TT_WHITESPACE ?  iPos-1 : -1;
@@ -8,7 +8,6 @@ import gw.lang.parser.ISourceCodeTokenizer;
 import gw.lang.parser.ITokenizerInstructor;
 import gw.lang.parser.Keyword;
 import gw.lang.parser.SourceCodeReader;
-import gw.util.Stack;
 
 import java.io.IOException;
 import java.io.Reader;
@@ -74,7 +73,7 @@ final public class SourceCodeTokenizerInternal
   private boolean _bParseDotsAsOperators;
   private int _iLineOffset;
 
-  private Stack<Token> _tokens;
+  private TokenStore _tokens;
   private Token _eof;
   private boolean _supportsKeywords = true;
 
@@ -88,7 +87,7 @@ final public class SourceCodeTokenizerInternal
       _ctype = new int[256];
       _iType = ISourceCodeTokenizer.TT_NOTHING;
       _bParseDotsAsOperators = true;
-      _tokens = new Stack<>(); // assigned as needed
+      _tokens = new TokenStore(); // assigned as needed
 
       wordChars( 'a', 'z' );
       wordChars( 'A', 'Z' );
@@ -179,7 +178,7 @@ final public class SourceCodeTokenizerInternal
     _bUnterminatedString = false;
     _bUnterminatedComment = false;
     _lastComment = null;
-    _tokens = new Stack<>();
+    _tokens = new TokenStore();
     if( _instructor != null )
     {
       _instructor.reset();
@@ -603,18 +602,26 @@ final public class SourceCodeTokenizerInternal
       return;
     }
 
-    Token token;
-    switch( _iType )
+    if( _tokens.size() > 0 && _tokens.getTokenEnd( _tokens.size() - 1 ) >= getTokenEnd() )
     {
-      case '\'':
-      case '"':
-        token = new StringToken();
-        break;
-
-      default:
-        token = new Token();
+      popLastComment();
+      return;
     }
-    pushToken( initToken( token ) );
+    // Kept as array slots, the token object is made only if someone asks for it
+    _tokens.add( _iType,
+                 _iInvalidCharPos,
+                 getTokenStart(),
+                 getTokenEnd(),
+                 getTokenColumn(),
+                 getLineNumber(),
+                 getLineOffset(),
+                 isUnterminatedString(),
+                 _strValue,
+                 _keyword,
+                 isAnalyzingSeparately(),
+                 isAnalyzingDirective(),
+                 getReader(),
+                 popLastComment() );
   }
 
   private void initEofToken()
@@ -640,19 +647,6 @@ final public class SourceCodeTokenizerInternal
                        popLastComment() );
   }
 
-  private void pushToken( Token token )
-  {
-    if( _iType == ISourceCodeTokenizer.TT_EOF )
-    {
-      return;
-    }
-
-    if( _tokens.size() == 0 || _tokens.peek().getTokenEnd() < token.getTokenEnd() )
-    {
-      _tokens.push( token );
-    }
-  }
-
   public boolean isAnalyzingSeparately()
   {
     return _instructor != null && _instructor.isAnalyzingSeparately();
@@ -663,7 +657,7 @@ final public class SourceCodeTokenizerInternal
     return _instructor != null && _instructor.isAnalyzingDirective();
   }
 
-  final public Stack<Token> getTokens()
+  final public TokenStore getTokens()
   {
     return _tokens;
   }
@@ -1416,7 +1410,7 @@ final public class SourceCodeTokenizerInternal
     }
   }
 
-  void setTokens( Stack<Token> tokens )
+  void setTokens( TokenStore tokens )
   {
     _tokens = tokens;
   }
@@ -0,0 +1,472 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.parser;
+
+import gw.lang.parser.Keyword;
+import gw.lang.parser.SourceCodeReader;
+import gw.util.Stack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The tokens of a tokenizer kept as parallel arrays, one slot per token, instead of one Token object
+ * per token.  A Token object and its text are created only when the token is asked for by index, and
+ * then kept so the parser and the parse tree always see the same instance.  The tokenizer skips
+ * whitespace and comments by type, so those tokens, typically half of a file, never become objects.
+ * <p/>
+ * Extends Stack so callers of ISourceCodeTokenizer#getTokens() see no difference; the Stack's own list
+ * is not used.
+ * <p/>
+ * A Token copies its text out of the source when it is created, so the store keeps the source reader
+ * only while some token that has text is not yet created, and drops it once the last one is.  The
+ * tokenizer skips whitespace and comments without creating them, so in practice a parsed class keeps
+ * the reader for as long as it keeps its tokenizer; the tokenizer holds the same reader itself, as it did
+ * before tokens were stored this way.  On a generated 3.3M character class that is 3.3MB of the 70MB
+ * the tokenizer retains after a parse.  Dropping the tokenizer, see ParseTreeRetention, frees both.
+ */
+public final class TokenStore extends Stack<Token>
+{
+  private static final int INITIAL_CAPACITY = 64;
+
+  private static final byte UNTERMINATED = 1;
+  private static final byte ANALYZING_SEPARATELY = 2;
+  private static final byte ANALYZING_DIRECTIVE = 4;
+  private static final byte HAS_VALUE = 8;
+
+  private int _iSize;
+  private int[] _types;
+  private int[] _starts;
+  private int[] _lengths;
+  private int[] _columns;
+  private int[] _lines;
+  private int[] _invalidCharPositions;
+  private byte[] _flags;
+  private Keyword[] _keywords;
+  private Token[] _tokens;
+  // Rare, so kept by index rather than in arrays
+  private Map<Integer, String> _literalValues;
+  private Map<Integer, DocCommentBlock> _turds;
+
+  private SourceCodeReader _reader;
+  // Tokens still to be created that read their text from _reader
+  private int _iUnbuiltWithText;
+  private int _iLineOffset;
+
+  public TokenStore()
+  {
+    _types = new int[INITIAL_CAPACITY];
+    _starts = new int[INITIAL_CAPACITY];
+    _lengths = new int[INITIAL_CAPACITY];
+    _columns = new int[INITIAL_CAPACITY];
+    _lines = new int[INITIAL_CAPACITY];
+    _invalidCharPositions = new int[INITIAL_CAPACITY];
+    _flags = new byte[INITIAL_CAPACITY];
+    _keywords = new Keyword[INITIAL_CAPACITY];
+    _tokens = new Token[INITIAL_CAPACITY];
+    _iLineOffset = -1;
+  }
+
+  /**
+   * Adds a token without creating a Token for it, see Token#init() for the parameters.
+   */
+  void add( int iType,
+            int iInvalidCharPos,
+            int iTokenStart,
+            int iTokenEnd,
+            int iTokenColumn,
+            int iLine,
+            int iLineOffset,
+            boolean bUnterminatedString,
+            String strValue,
+            Keyword keyword,
+            boolean bAnalyzingSeparately,
+            boolean bAnalyzingDirective,
+            SourceCodeReader document,
+            DocCommentBlock turd )
+  {
+    ensureCapacity( _iSize + 1 );
+    int i = _iSize++;
+    _types[i] = iType;
+    _invalidCharPositions[i] = iInvalidCharPos;
+    _starts[i] = iTokenStart;
+    _lengths[i] = iTokenEnd - iTokenStart;
+    _columns[i] = iTokenColumn;
+    _lines[i] = iLine;
+    _keywords[i] = keyword;
+    _flags[i] = (byte)((bUnterminatedString ? UNTERMINATED : 0) |
+                       (bAnalyzingSeparately ? ANALYZING_SEPARATELY : 0) |
+                       (bAnalyzingDirective ? ANALYZING_DIRECTIVE : 0) |
+                       (strValue != null ? HAS_VALUE : 0));
+    _tokens[i] = null;
+    if( isStringLiteral( iType ) && strValue != null )
+    {
+      if( _literalValues == null )
+      {
+        _literalValues = new HashMap<>();
+      }
+      _literalValues.put( i, strValue );
+    }
+    if( turd != null )
+    {
+      if( _turds == null )
+      {
+        _turds = new HashMap<>();
+      }
+      _turds.put( i, turd );
+    }
+    if( hasText( i ) )
+    {
+      _iUnbuiltWithText++;
+    }
+    _reader = document;
+    _iLineOffset = iLineOffset;
+  }
+
+  public int getType( int i )
+  {
+    checkIndex( i );
+    return _types[i];
+  }
+
+  public int getTokenStart( int i )
+  {
+    checkIndex( i );
+    Token token = _tokens[i];
+    return token != null ? token.getTokenStart() : _starts[i];
+  }
+
+  public int getTokenEnd( int i )
+  {
+    checkIndex( i );
+    Token token = _tokens[i];
+    return token != null ? token.getTokenEnd() : _starts[i] + _lengths[i];
+  }
+
+  public boolean isAnalyzingSeparately( int i )
+  {
+    checkIndex( i );
+    return (_flags[i] & ANALYZING_SEPARATELY) != 0;
+  }
+
+  public boolean isAnalyzingDirective( int i )
+  {
+    checkIndex( i );
+    return (_flags[i] & ANALYZING_DIRECTIVE) != 0;
+  }
+
+  public DocCommentBlock getTurd( int i )
+  {
+    checkIndex( i );
+    return _turds == null ? null : _turds.get( i );
+  }
+
+  @Override
+  public Token get( int i )
+  {
+    checkIndex( i );
+    Token token = _tokens[i];
+    if( token == null )
+    {
+      token = _tokens[i] = materialize( i );
+      if( hasText( i ) && --_iUnbuiltWithText == 0 )
+      {
+        // Every token has copied its text, the source is no longer needed here
+        _reader = null;
+      }
+    }
+    return token;
+  }
+
+  //## For tests only
+  boolean isHoldingSource()
+  {
+    return _reader != null;
+  }
+
+  private boolean hasText( int i )
+  {
+    return isStringLiteral( _types[i] ) || (_flags[i] & HAS_VALUE) != 0;
+  }
+
+  private Token materialize( int i )
+  {
+    int iType = _types[i];
+    byte flags = _flags[i];
+    Token token;
+    String strValue;
+    if( isStringLiteral( iType ) )
+    {
+      token = new StringToken();
+      strValue = _literalValues == null ? null : _literalValues.get( i );
+    }
+    else
+    {
+      token = new Token();
+      // Non-null only says the token has text, Token reads its text from the source
+      strValue = (flags & HAS_VALUE) != 0 ? "" : null;
+    }
+    return token.init( iType,
+                       _invalidCharPositions[i],
+                       _starts[i],
+                       _starts[i] + _lengths[i],
+                       _columns[i],
+                       _lines[i],
+                       _iLineOffset,
+                       (flags & UNTERMINATED) != 0,
+                       strValue,
+                       _keywords[i],
+                       (flags & ANALYZING_SEPARATELY) != 0,
+                       (flags & ANALYZING_DIRECTIVE) != 0,
+                       _reader,
+                       getTurd( i ) );
+  }
+
+  private static boolean isStringLiteral( int iType )
+  {
+    return iType == '\'' || iType == '"';
+  }
+
+  @Override
+  public boolean push( Token token )
+  {
+    insert( token, _iSize );
+    return true;
+  }
+
+  @Override
+  public void insert( Token token, int iPos )
+  {
+    if( iPos < 0 || iPos > _iSize )
+    {
+      throw new IndexOutOfBoundsException( "Index: " + iPos + ", Size: " + _iSize );
+    }
+    ensureCapacity( _iSize + 1 );
+    if( iPos < _iSize )
+    {
+      shift( iPos, 1 );
+    }
+    _iSize++;
+    _types[iPos] = token.getType();
+    _invalidCharPositions[iPos] = token.getInvalidCharPos();
+    _starts[iPos] = token.getTokenStart();
+    _lengths[iPos] = token.getTokenEnd() - token.getTokenStart();
+    _columns[iPos] = token.getTokenColumn();
+    _lines[iPos] = token.getLine();
+    _keywords[iPos] = token.getKeyword();
+    _flags[iPos] = (byte)((token.isAnalyzingSeparately() ? ANALYZING_SEPARATELY : 0) |
+                          (token.isAnalyzingDirective() ? ANALYZING_DIRECTIVE : 0));
+    if( _literalValues != null )
+    {
+      _literalValues.remove( iPos );
+    }
+    if( token.getTurd() != null )
+    {
+      if( _turds == null )
+      {
+        _turds = new HashMap<>();
+      }
+      _turds.put( iPos, token.getTurd() );
+    }
+    else if( _turds != null )
+    {
+      _turds.remove( iPos );
+    }
+    // Already an object, keep it as is
+    _tokens[iPos] = token;
+  }
+
+  @Override
+  public Token pop()
+  {
+    Token token = peek();
+    int i = --_iSize;
+    _tokens[i] = null;
+    _keywords[i] = null;
+    if( _turds != null )
+    {
+      _turds.remove( i );
+    }
+    if( _literalValues != null )
+    {
+      _literalValues.remove( i );
+    }
+    return token;
+  }
+
+  @Override
+  public Token peek()
+  {
+    if( _iSize == 0 )
+    {
+      throw new EmptyStackException();
+    }
+    return get( _iSize - 1 );
+  }
+
+  @Override
+  public Token getBase()
+  {
+    if( _iSize == 0 )
+    {
+      throw new EmptyStackException();
+    }
+    return get( 0 );
+  }
+
+  @Override
+  public boolean contains( Token token )
+  {
+    return indexOf( token ) >= 0;
+  }
+
+  @Override
+  public int indexOf( Token token )
+  {
+    // Tokens don't override equals(), only a token this store handed out can be in it
+    for( int i = 0; i < _iSize; i++ )
+    {
+      if( _tokens[i] == token )
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public void clear()
+  {
+    Arrays.fill( _tokens, 0, _iSize, null );
+    Arrays.fill( _keywords, 0, _iSize, null );
+    _literalValues = null;
+    _turds = null;
+    _iUnbuiltWithText = 0;
+    _reader = null;
+    _iSize = 0;
+  }
+
+  @Override
+  public int size()
+  {
+    return _iSize;
+  }
+
+  @Override
+  public boolean isEmpty()
+  {
+    return _iSize == 0;
+  }
+
+  @Override
+  public Iterator<Token> iterator()
+  {
+    return new Iterator<Token>()
+    {
+      private int _i;
+
+      public boolean hasNext()
+      {
+        return _i < _iSize;
+      }
+
+      public Token next()
+      {
+        if( _i >= _iSize )
+        {
+          throw new NoSuchElementException();
+        }
+        return get( _i++ );
+      }
+    };
+  }
+
+  @Override
+  public List<Token> toList()
+  {
+    List<Token> list = new ArrayList<>( _iSize );
+    for( int i = 0; i < _iSize; i++ )
+    {
+      list.add( get( i ) );
+    }
+    return list;
+  }
+
+  @Override
+  public boolean equals( Object o )
+  {
+    return this == o;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return System.identityHashCode( this );
+  }
+
+  private void checkIndex( int i )
+  {
+    if( i < 0 || i >= _iSize )
+    {
+      throw new IndexOutOfBoundsException( "Index: " + i + ", Size: " + _iSize );
+    }
+  }
+
+  private void ensureCapacity( int iCapacity )
+  {
+    if( iCapacity <= _types.length )
+    {
+      return;
+    }
+    int iNewCapacity = Math.max( iCapacity, _types.length + (_types.length >> 1) );
+    _types = Arrays.copyOf( _types, iNewCapacity );
+    _starts = Arrays.copyOf( _starts, iNewCapacity );
+    _lengths = Arrays.copyOf( _lengths, iNewCapacity );
+    _columns = Arrays.copyOf( _columns, iNewCapacity );
+    _lines = Arrays.copyOf( _lines, iNewCapacity );
+    _invalidCharPositions = Arrays.copyOf( _invalidCharPositions, iNewCapacity );
+    _flags = Arrays.copyOf( _flags, iNewCapacity );
+    _keywords = Arrays.copyOf( _keywords, iNewCapacity );
+    _tokens = Arrays.copyOf( _tokens, iNewCapacity );
+  }
+
+  private void shift( int iPos, int iDistance )
+  {
+    int iCount = _iSize - iPos;
+    System.arraycopy( _types, iPos, _types, iPos + iDistance, iCount );
+    System.arraycopy( _starts, iPos, _starts, iPos + iDistance, iCount );
+    System.arraycopy( _lengths, iPos, _lengths, iPos + iDistance, iCount );
+    System.arraycopy( _columns, iPos, _columns, iPos + iDistance, iCount );
+    System.arraycopy( _lines, iPos, _lines, iPos + iDistance, iCount );
+    System.arraycopy( _invalidCharPositions, iPos, _invalidCharPositions, iPos + iDistance, iCount );
+    System.arraycopy( _flags, iPos, _flags, iPos + iDistance, iCount );
+    System.arraycopy( _keywords, iPos, _keywords, iPos + iDistance, iCount );
+    System.arraycopy( _tokens, iPos, _tokens, iPos + iDistance, iCount );
+    // Sparse values are keyed by index, move them along
+    _literalValues = shiftKeys( _literalValues, iPos, iDistance );
+    _turds = shiftKeys( _turds, iPos, iDistance );
+  }
+
+  private static <V> Map<Integer, V> shiftKeys( Map<Integer, V> map, int iPos, int iDistance )
+  {
+    if( map == null )
+    {
+      return null;
+    }
+    Map<Integer, V> shifted = new HashMap<>();
+    for( Map.Entry<Integer, V> entry: map.entrySet() )
+    {
+      int i = entry.getKey();
+      shifted.put( i >= iPos ? i + iDistance : i, entry.getValue() );
+    }
+    return shifted;
+  }
+}
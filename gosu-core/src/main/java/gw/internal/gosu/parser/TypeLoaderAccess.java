@@ -66,6 +66,7 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -1513,4 +1514,10 @@ public class TypeLoaderAccess extends BaseService implements ITypeSystem
   {
     return TypeLord.getFunctionalInterface( type );
   }
+
+  @Override
+  public void warmUp( Collection<? extends CharSequence> typeNames, int iThreads )
+  {
+    new TypeWarmUp( typeNames, iThreads ).run();
+  }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.parser;
+
+import gw.lang.parser.ISource;
+import gw.lang.parser.exceptions.ErrantGosuClassException;
+import gw.lang.reflect.IType;
+import gw.lang.reflect.TypeSystem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compiles a batch of Gosu types ahead of their first use, see TypeSystem#warmUp().
+ * <p/>
+ * Parsing uses the parser's and the type system's shared state and runs under the global type system lock,
+ * so only the work that needs neither runs in parallel: reading each source and tokenizing it.  Header,
+ * declaration and definition parsing all run on the calling thread, and no bytecode is generated.  The
+ * tokenizer is left on the type's ISource, where the parser picks it up instead of tokenizing again, the
+ * same as with the tokenizers the enhancement index leaves behind.  The types are then parsed one phase at
+ * a time across the batch, all headers before any declarations and all declarations before any definitions,
+ * so a type's supertypes and the types of its members are usually ready when it gets to them.
+ */
+final class TypeWarmUp
+{
+  private final Collection<? extends CharSequence> _typeNames;
+  private final int _iThreads;
+
+  TypeWarmUp( Collection<? extends CharSequence> typeNames, int iThreads )
+  {
+    _typeNames = typeNames;
+    _iThreads = iThreads;
+  }
+
+  void run()
+  {
+    List<IGosuClassInternal> types = getTypes();
+    tokenize( types );
+    parse( types );
+  }
+
+  /**
+   * Parses the types one phase at a time, on the calling thread
+   */
+  void parse( List<IGosuClassInternal> types )
+  {
+    for( IGosuClassInternal type : types )
+    {
+      try
+      {
+        type.compileHeaderIfNeeded();
+      }
+      catch( ErrantGosuClassException e )
+      {
+        // Reported when the type is used
+      }
+    }
+    for( IGosuClassInternal type : types )
+    {
+      try
+      {
+        type.compileDeclarationsIfNeeded();
+      }
+      catch( ErrantGosuClassException e )
+      {
+        // Reported when the type is used
+      }
+    }
+    for( IGosuClassInternal type : types )
+    {
+      try
+      {
+        type.compileDefinitionsIfNeeded();
+      }
+      catch( ErrantGosuClassException e )
+      {
+        // Reported when the type is used
+      }
+    }
+  }
+
+  List<IGosuClassInternal> getTypes()
+  {
+    List<IGosuClassInternal> types = new ArrayList<>();
+    for( CharSequence name : _typeNames )
+    {
+      IType type = TypeSystem.getByFullNameIfValid( name.toString() );
+      if( type instanceof IGosuClassInternal &&
+          !(type instanceof IGosuTemplateInternal) &&
+          !type.isParameterizedType() &&
+          type.getEnclosingType() == null )
+      {
+        // Inner classes are compiled with their top-level class; templates tokenize with an instructor
+        types.add( (IGosuClassInternal)type );
+      }
+    }
+    return types;
+  }
+
+  /**
+   * Leaves a tokenizer with all of its tokens on the source of each type that has none yet
+   */
+  void tokenize( List<IGosuClassInternal> types )
+  {
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for( IGosuClassInternal type : types )
+    {
+      ISource source = type.getSourceFileHandle().getSource();
+      if( source.getTokenizer() == null )
+      {
+        tasks.add( () -> {
+          tokenize( source );
+          return null;
+        } );
+      }
+    }
+
+    if( _iThreads <= 1 || tasks.size() <= 1 )
+    {
+      for( Callable<Void> task : tasks )
+      {
+        call( task );
+      }
+      return;
+    }
+
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool( _iThreads, r -> {
+      Thread thread = new Thread( r, "gosu-warmup-" + threadCount.incrementAndGet() );
+      thread.setDaemon( true );
+      return thread;
+    } );
+    try
+    {
+      for( Future<Void> future : executor.invokeAll( tasks ) )
+      {
+        try
+        {
+          future.get();
+        }
+        catch( ExecutionException e )
+        {
+          // The parser will tokenize the source itself and report whatever went wrong
+        }
+      }
+    }
+    catch( InterruptedException e )
+    {
+      Thread.currentThread().interrupt();
+    }
+    finally
+    {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void call( Callable<Void> task )
+  {
+    try
+    {
+      task.call();
+    }
+    catch( Exception e )
+    {
+      // The parser will tokenize the source itself and report whatever went wrong
+    }
+  }
+
+  private static void tokenize( ISource source )
+  {
+    // Configured as GosuParser#setScript() configures it, the tokens are produced all at once here
+    SourceCodeTokenizer tokenizer = new SourceCodeTokenizer( source.getSource() );
+    tokenizer.wordChars( '_', '_' );
+    tokenizer.getInternal().rip();
+
+    TypeSystem.lock();
+    try
+    {
+      if( source.getTokenizer() == null )
+      {
+        source.setTokenizer( tokenizer );
+      }
+    }
+    finally
+    {
+      TypeSystem.unlock();
+    }
+  }
+}
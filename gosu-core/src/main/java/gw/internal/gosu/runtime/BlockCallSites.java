@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.runtime;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Bootstrap method for the invokedynamic sites the compiler emits in place of <code>new</code> for blocks
+ * that capture nothing: no outer instance, no local symbols, no type variables.  Such a block has no state,
+ * so the site creates the one instance it ever needs the first time it runs and returns it from then on,
+ * the same way the JVM treats non-capturing lambdas.
+ */
+public class BlockCallSites
+{
+  /**
+   * Links a site whose return type is the block class and that takes no arguments.
+   */
+  @SuppressWarnings("UnusedDeclaration")
+  public static CallSite bootstrapSingleton( MethodHandles.Lookup caller, String name, MethodType type ) throws Throwable
+  {
+    Class blockClass = type.returnType();
+    MethodHandle ctor = caller.findConstructor( blockClass, MethodType.methodType( void.class ) );
+    return new ConstantCallSite( MethodHandles.constant( blockClass, ctor.invoke() ) );
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.runtime;
+
+import gw.util.UnmodifiableArrayList;
+import gw.util.UnmodifiableLinkedHashMap;
+import gw.util.UnmodifiableLinkedHashSet;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bootstrap methods for the invokedynamic sites the compiler emits in place of collection and map
+ * literals whose values are all compile-time constants, when
+ * {@link gw.lang.reflect.gs.BytecodeOptions#isConstantCollectionLiterals()} is enabled.  The site
+ * builds an unmodifiable collection from the constants once and returns it from then on.
+ * <p/>
+ * Bootstrap arguments are limited to strings, so the values are encoded in a single string, see
+ * {@link #encode(List)}.
+ */
+public class CollectionLiteralCallSites
+{
+  @SuppressWarnings("UnusedDeclaration")
+  public static CallSite bootstrapList( MethodHandles.Lookup caller, String name, MethodType type, String strValues )
+  {
+    return constant( type, new UnmodifiableArrayList<>( decode( strValues ) ) );
+  }
+
+  @SuppressWarnings("UnusedDeclaration")
+  public static CallSite bootstrapSet( MethodHandles.Lookup caller, String name, MethodType type, String strValues )
+  {
+    return constant( type, new UnmodifiableLinkedHashSet<>( decode( strValues ) ) );
+  }
+
+  /**
+   * The values are the map's keys and values, alternating.
+   */
+  @SuppressWarnings("UnusedDeclaration")
+  public static CallSite bootstrapMap( MethodHandles.Lookup caller, String name, MethodType type, String strValues )
+  {
+    List<Object> values = decode( strValues );
+    Map<Object, Object> map = new LinkedHashMap<>();
+    for( int i = 0; i < values.size(); i += 2 )
+    {
+      map.put( values.get( i ), values.get( i + 1 ) );
+    }
+    return constant( type, new UnmodifiableLinkedHashMap<>( map ) );
+  }
+
+  private static CallSite constant( MethodType type, Object value )
+  {
+    return new ConstantCallSite( MethodHandles.constant( type.returnType(), value ) );
+  }
+
+  /**
+   * @return true if {@link #encode(List)} can encode the value, i.e., it is null, a boxed primitive, a
+   * String, a BigDecimal or a BigInteger
+   */
+  public static boolean isEncodable( Object value )
+  {
+    return value == null || getTypeCode( value ) != 0;
+  }
+
+  /**
+   * Encodes each value as its type code, the length of its string form, a colon and its string form,
+   * e.g., <code>I2:42T3:abc</code> for <code>{42, "abc"}</code>.
+   */
+  public static String encode( List<?> values )
+  {
+    StringBuilder sb = new StringBuilder();
+    for( Object value : values )
+    {
+      if( value == null )
+      {
+        sb.append( 'N' );
+        continue;
+      }
+      char code = getTypeCode( value );
+      if( code == 0 )
+      {
+        throw new IllegalArgumentException( "Not a constant literal value: " + value.getClass().getName() );
+      }
+      String strValue = value.toString();
+      sb.append( code ).append( strValue.length() ).append( ':' ).append( strValue );
+    }
+    return sb.toString();
+  }
+
+  static List<Object> decode( String strValues )
+  {
+    List<Object> values = new ArrayList<>();
+    int iPos = 0;
+    while( iPos < strValues.length() )
+    {
+      char code = strValues.charAt( iPos++ );
+      if( code == 'N' )
+      {
+        values.add( null );
+        continue;
+      }
+      int iColon = strValues.indexOf( ':', iPos );
+      int iLen = Integer.parseInt( strValues.substring( iPos, iColon ) );
+      iPos = iColon + 1 + iLen;
+      values.add( parse( code, strValues.substring( iColon + 1, iPos ) ) );
+    }
+    return values;
+  }
+
+  private static char getTypeCode( Object value )
+  {
+    Class<?> cls = value.getClass();
+    if( cls == String.class )
+    {
+      return 'T';
+    }
+    if( cls == Integer.class )
+    {
+      return 'I';
+    }
+    if( cls == Long.class )
+    {
+      return 'J';
+    }
+    if( cls == Double.class )
+    {
+      return 'D';
+    }
+    if( cls == Float.class )
+    {
+      return 'F';
+    }
+    if( cls == Boolean.class )
+    {
+      return 'Z';
+    }
+    if( cls == Character.class )
+    {
+      return 'C';
+    }
+    if( cls == Short.class )
+    {
+      return 'S';
+    }
+    if( cls == Byte.class )
+    {
+      return 'B';
+    }
+    if( cls == BigDecimal.class )
+    {
+      return 'M';
+    }
+    if( cls == BigInteger.class )
+    {
+      return 'G';
+    }
+    return 0;
+  }
+
+  private static Object parse( char code, String strValue )
+  {
+    switch( code )
+    {
+      case 'T':
+        return strValue;
+      case 'I':
+        return Integer.valueOf( strValue );
+      case 'J':
+        return Long.valueOf( strValue );
+      case 'D':
+        return Double.valueOf( strValue );
+      case 'F':
+        return Float.valueOf( strValue );
+      case 'Z':
+        return Boolean.valueOf( strValue );
+      case 'C':
+        return strValue.charAt( 0 );
+      case 'S':
+        return Short.valueOf( strValue );
+      case 'B':
+        return Byte.valueOf( strValue );
+      case 'M':
+        return new BigDecimal( strValue );
+      case 'G':
+        return new BigInteger( strValue );
+      default:
+        throw new IllegalArgumentException( "Unknown type code: " + code );
+    }
+  }
+}
@@ -49,11 +49,15 @@ public class GosuRuntimeMethods {
     {
       return ret;
     }
+    return getUndispatchedProperty( root, type, propertyName );
+  }
 
+  static Object getUndispatchedProperty( Object root, IType type, String propertyName )
+  {
     IPropertyInfo propertyInfo = getPropertyInfo( root, type, propertyName );
     if( propertyInfo == null )
     {
-      ret = invokePropertyGetter( "$getMissingProperty", root, type, propertyName );
+      Object ret = invokePropertyGetter( "$getMissingProperty", root, type, propertyName );
       if( ret == IPlaceholder.UNHANDLED )
       {
         throw new IllegalArgumentException( "No property named " + propertyName + " found on type " + type.getName() );
@@ -63,26 +67,31 @@ public class GosuRuntimeMethods {
     return propertyInfo.getAccessor().getValue( root );
   }
 
-  private static boolean isDynamic( IType type )
+  static boolean isDynamic( IType type )
   {
     return type != null && (type.isDynamic() || (type instanceof IGosuClass && ((IGosuClass)type).isStructure()));
   }
 
   private static Object invokePropertyGetter( String dispatchName, Object root, IType type, String propertyName )
+  {
+    return invokePropertyGetter( findPropertyGetterDispatch( dispatchName, type ), root, propertyName );
+  }
+
+  static Object invokePropertyGetter( IMethodInfo method, Object root, String propertyName )
+  {
+    return method == null
+           ? IPlaceholder.UNHANDLED
+           : method.getCallHandler().handleCall( root, propertyName );
+  }
+
+  static IMethodInfo findPropertyGetterDispatch( String dispatchName, IType type )
   {
     ITypeInfo typeInfo = type.getTypeInfo();
-    IMethodInfo method;
     if( typeInfo instanceof IRelativeTypeInfo )
     {
-      method = ((IRelativeTypeInfo) typeInfo).getMethod( type, dispatchName, JavaTypes.STRING() );
+      return ((IRelativeTypeInfo) typeInfo).getMethod( type, dispatchName, JavaTypes.STRING() );
     }
-    else
-    {
-      method = typeInfo.getMethod( dispatchName, JavaTypes.STRING() );
-    }
-    return method == null
-           ? IPlaceholder.UNHANDLED
-           : method.getCallHandler().handleCall( root, propertyName );
+    return typeInfo.getMethod( dispatchName, JavaTypes.STRING() );
   }
 
   public static Object getPropertyDynamically(Object rootObject, String propertyName) {
@@ -110,11 +119,15 @@ public class GosuRuntimeMethods {
     {
       return;
     }
+    setUndispatchedProperty( root, type, propertyName, value );
+  }
 
+  static void setUndispatchedProperty( Object root, IType type, String propertyName, Object value )
+  {
     IPropertyInfo propertyInfo = getPropertyInfo( root, type, propertyName );
     if( propertyInfo == null )
     {
-      ret = invokePropertySetter( "$setMissingProperty", root, type, propertyName );
+      Object ret = invokePropertySetter( "$setMissingProperty", root, type, propertyName );
       if( ret == IPlaceholder.UNHANDLED )
       {
         throw new IllegalArgumentException( "No property named " + propertyName + " found on type " + type.getName() );
@@ -125,20 +138,25 @@ public class GosuRuntimeMethods {
   }
 
   private static Object invokePropertySetter( String dispatchName, Object root, IType type, String propertyName, Object... args )
+  {
+    return invokePropertySetter( findPropertySetterDispatch( dispatchName, type ), root, propertyName, args );
+  }
+
+  static Object invokePropertySetter( IMethodInfo method, Object root, String propertyName, Object... args )
+  {
+    return method == null
+           ? IPlaceholder.UNHANDLED
+           : method.getCallHandler().handleCall( root, propertyName, args );
+  }
+
+  static IMethodInfo findPropertySetterDispatch( String dispatchName, IType type )
   {
     ITypeInfo typeInfo = type.getTypeInfo();
-    IMethodInfo method;
     if( typeInfo instanceof IRelativeTypeInfo )
     {
-      method = ((IRelativeTypeInfo) typeInfo).getMethod( type, dispatchName, JavaTypes.STRING(), JavaTypes.OBJECT() );
-    }
-    else
-    {
-      method = typeInfo.getMethod( dispatchName, JavaTypes.STRING(), JavaTypes.OBJECT() );
+      return ((IRelativeTypeInfo) typeInfo).getMethod( type, dispatchName, JavaTypes.STRING(), JavaTypes.OBJECT() );
     }
-    return method == null
-           ? IPlaceholder.UNHANDLED
-           : method.getCallHandler().handleCall( root, propertyName, args );
+    return typeInfo.getMethod( dispatchName, JavaTypes.STRING(), JavaTypes.OBJECT() );
   }
 
   public static void setPropertyDynamically(Object rootObject, String propertyName, Object value) {
@@ -301,12 +319,7 @@ public class GosuRuntimeMethods {
 
     if( method == null )
     {
-      ret = invokeMethodInvoker( "$invokeMissingMethod", root, type, methodName, args );
-      if( ret == IPlaceholder.UNHANDLED )
-      {
-        throw new IllegalStateException( "Could not find method for " + methodName + " on " + type.getName() + " with specified param types" );
-      }
-      return ret;
+      return invokeMissingMethod( root, type, methodName, args );
     }
     if( bDynamicType )
     {
@@ -315,6 +328,31 @@ public class GosuRuntimeMethods {
     return method.getCallHandler().handleCall( root, args );
   }
 
+  static Object invokeMissingMethod( Object root, IType type, String methodName, Object[] args )
+  {
+    Object ret = invokeMethodInvoker( "$invokeMissingMethod", root, type, methodName, args );
+    if( ret == IPlaceholder.UNHANDLED )
+    {
+      throw new IllegalStateException( "Could not find method for " + methodName + " on " + type.getName() + " with specified param types" );
+    }
+    return ret;
+  }
+
+  static boolean hasPlaceholderTypes( IType[] parameterTypes )
+  {
+    if( parameterTypes != null )
+    {
+      for( IType type : parameterTypes )
+      {
+        if( type instanceof IPlaceholder && ((IPlaceholder)type).isPlaceholder() )
+        {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   private static Object invoke( Object o, Object[] args )
   {
     if( o instanceof IBlock )
@@ -343,20 +381,25 @@ public class GosuRuntimeMethods {
   }
 
   private static Object invokeMethodInvoker( String dispatchName, Object root, IType type, String methodName, Object... args )
+  {
+    return invokeMethodInvoker( findMethodInvoker( dispatchName, type ), root, methodName, args );
+  }
+
+  static Object invokeMethodInvoker( IMethodInfo method, Object root, String methodName, Object[] args )
+  {
+    return method == null
+           ? IPlaceholder.UNHANDLED
+           : method.getCallHandler().handleCall( root, methodName, args );
+  }
+
+  static IMethodInfo findMethodInvoker( String dispatchName, IType type )
   {
     ITypeInfo typeInfo = type.getTypeInfo();
-    IMethodInfo method;
     if( typeInfo instanceof IRelativeTypeInfo )
     {
-      method = ((IRelativeTypeInfo)typeInfo).getMethod( type, dispatchName, JavaTypes.STRING(), JavaTypes.OBJECT().getArrayType() );
-    }
-    else
-    {
-      method = typeInfo.getMethod( dispatchName, JavaTypes.STRING(), JavaTypes.OBJECT().getArrayType() );
+      return ((IRelativeTypeInfo)typeInfo).getMethod( type, dispatchName, JavaTypes.STRING(), JavaTypes.OBJECT().getArrayType() );
     }
-    return method == null
-           ? IPlaceholder.UNHANDLED
-           : method.getCallHandler().handleCall( root, methodName, args );
+    return typeInfo.getMethod( dispatchName, JavaTypes.STRING(), JavaTypes.OBJECT().getArrayType() );
   }
 
   public static Class lookUpClass( String className ) {
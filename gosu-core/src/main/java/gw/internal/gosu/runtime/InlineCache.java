@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.runtime;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A per-call-site inline cache mapping a receiver class and a key (typically the IType the member is resolved
+ * against) to a resolved target.  The cache starts monomorphic, grows polymorphic as new receivers are seen,
+ * and goes megamorphic once the number of receivers exceeds the site's threshold, after which every call takes
+ * the slow path.  All entries are discarded when the type system refreshes.
+ */
+public class InlineCache<T>
+{
+  private static final Entry[] EMPTY = new Entry[0];
+
+  private final String _name;
+  private final int _iMegamorphicThreshold;
+  private volatile Entries _entries = new Entries( -1, EMPTY, false );
+
+  // statistics
+  private final LongAdder _hits = new LongAdder();
+  private final LongAdder _misses = new LongAdder();
+
+  public InlineCache( String name, int iMegamorphicThreshold )
+  {
+    _name = name;
+    _iMegamorphicThreshold = iMegamorphicThreshold;
+    InlineCacheRegistry.register( this );
+  }
+
+  /**
+   * @return the cached target for the receiver class and key, or null on a miss
+   */
+  @SuppressWarnings("unchecked")
+  public T find( Class receiverClass, Object key )
+  {
+    Entries entries = _entries;
+    if( entries._iGeneration == InlineCacheRegistry.getGeneration() )
+    {
+      Entry[] array = entries._array;
+      for( int i = 0; i < array.length; i++ )
+      {
+        Entry e = array[i];
+        if( e._receiverClass == receiverClass && e._key == key )
+        {
+          _hits.increment();
+          return (T)e._target;
+        }
+      }
+    }
+    _misses.increment();
+    return null;
+  }
+
+  /**
+   * Adds an entry for the receiver class and key.  Has no effect once the site is megamorphic.
+   */
+  public synchronized void install( Class receiverClass, Object key, T target )
+  {
+    int iGeneration = InlineCacheRegistry.getGeneration();
+    Entries entries = _entries;
+    if( entries._iGeneration != iGeneration )
+    {
+      entries = new Entries( iGeneration, EMPTY, false );
+    }
+    else if( entries._bMegamorphic )
+    {
+      return;
+    }
+
+    Entry[] array = entries._array;
+    if( array.length >= _iMegamorphicThreshold )
+    {
+      _entries = new Entries( iGeneration, EMPTY, true );
+      return;
+    }
+    Entry[] newArray = new Entry[array.length + 1];
+    System.arraycopy( array, 0, newArray, 0, array.length );
+    newArray[array.length] = new Entry( receiverClass, key, target );
+    _entries = new Entries( iGeneration, newArray, false );
+  }
+
+  public String getName()
+  {
+    return _name;
+  }
+
+  public int getMegamorphicThreshold()
+  {
+    return _iMegamorphicThreshold;
+  }
+
+  public boolean isMegamorphic()
+  {
+    Entries entries = _entries;
+    return entries._iGeneration == InlineCacheRegistry.getGeneration() && entries._bMegamorphic;
+  }
+
+  public int getReceiverCount()
+  {
+    Entries entries = _entries;
+    return entries._iGeneration == InlineCacheRegistry.getGeneration() ? entries._array.length : 0;
+  }
+
+  public long getHits()
+  {
+    return _hits.sum();
+  }
+
+  public long getMisses()
+  {
+    return _misses.sum();
+  }
+
+  public long getRequests()
+  {
+    return getHits() + getMisses();
+  }
+
+  public double getHitRate()
+  {
+    long requests = getRequests();
+    return requests == 0 ? 0.0 : ((double)getHits()) / requests;
+  }
+
+  public void resetStatistics()
+  {
+    _hits.reset();
+    _misses.reset();
+  }
+
+  @Override
+  public String toString()
+  {
+    return "InlineCache \"" + _name + "\"( Receivers:" + getReceiverCount() + (isMegamorphic() ? " (megamorphic)" : "") +
+           ", Hits:" + getHits() + ", Misses:" + getMisses() +
+           ", Hit rate:" + BigDecimal.valueOf( getHitRate() * 100.0 ).setScale( 2, BigDecimal.ROUND_DOWN ) + "% )";
+  }
+
+  private static final class Entries
+  {
+    private final int _iGeneration;
+    private final Entry[] _array;
+    private final boolean _bMegamorphic;
+
+    private Entries( int iGeneration, Entry[] array, boolean bMegamorphic )
+    {
+      _iGeneration = iGeneration;
+      _array = array;
+      _bMegamorphic = bMegamorphic;
+    }
+  }
+
+  private static final class Entry
+  {
+    private final Class _receiverClass;
+    private final Object _key;
+    private final Object _target;
+
+    private Entry( Class receiverClass, Object key, Object target )
+    {
+      _receiverClass = receiverClass;
+      _key = key;
+      _target = target;
+    }
+  }
+}
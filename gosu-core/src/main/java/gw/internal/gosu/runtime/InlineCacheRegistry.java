@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.runtime;
+
+import gw.lang.reflect.AbstractTypeSystemListener;
+import gw.lang.reflect.RefreshRequest;
+import gw.lang.reflect.TypeSystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the inline caches of all linked invokedynamic call sites so their hit rates can be reported, and
+ * stamps them with a generation that advances whenever the type system refreshes.
+ */
+public class InlineCacheRegistry
+{
+  public static final String MEGAMORPHIC_THRESHOLD_SYSTEM_PROP = "gosu.call.site.megamorphic.threshold";
+
+  private static final Set<InlineCache> CACHES = Collections.synchronizedSet( Collections.newSetFromMap( new WeakHashMap<InlineCache, Boolean>() ) );
+  private static final AtomicInteger GENERATION = new AtomicInteger();
+  private static int g_iMegamorphicThreshold = Integer.getInteger( MEGAMORPHIC_THRESHOLD_SYSTEM_PROP, 8 );
+  private static AbstractTypeSystemListener g_generationUpdater;
+
+  static void register( InlineCache cache )
+  {
+    maybeListenForRefresh();
+    CACHES.add( cache );
+  }
+
+  private static synchronized void maybeListenForRefresh()
+  {
+    if( g_generationUpdater == null )
+    {
+      g_generationUpdater = new GenerationUpdater();
+      TypeSystem.addTypeLoaderListenerAsWeakRef( g_generationUpdater );
+    }
+  }
+
+  static int getGeneration()
+  {
+    return GENERATION.get();
+  }
+
+  /**
+   * Discards the entries of every inline cache.
+   */
+  public static void invalidateAll()
+  {
+    GENERATION.incrementAndGet();
+  }
+
+  /**
+   * @return the number of distinct receivers a call site caches before it goes megamorphic
+   */
+  public static int getMegamorphicThreshold()
+  {
+    return g_iMegamorphicThreshold;
+  }
+
+  /**
+   * Sets the megamorphic threshold for call sites linked from now on; sites already linked keep theirs.
+   */
+  public static void setMegamorphicThreshold( int iThreshold )
+  {
+    if( iThreshold < 0 )
+    {
+      throw new IllegalArgumentException( "Threshold must not be negative: " + iThreshold );
+    }
+    g_iMegamorphicThreshold = iThreshold;
+  }
+
+  public static List<InlineCache> getCaches()
+  {
+    synchronized( CACHES )
+    {
+      return new ArrayList<InlineCache>( CACHES );
+    }
+  }
+
+  /**
+   * @return a line per linked call site with its receiver count, hits, misses, and hit rate
+   */
+  public static String getStatistics()
+  {
+    StringBuilder sb = new StringBuilder();
+    for( InlineCache cache : getCaches() )
+    {
+      sb.append( cache ).append( '\n' );
+    }
+    return sb.toString();
+  }
+
+  private static class GenerationUpdater extends AbstractTypeSystemListener
+  {
+    @Override
+    public void refreshed()
+    {
+      invalidateAll();
+    }
+
+    @Override
+    public void refreshedTypes( RefreshRequest request )
+    {
+      invalidateAll();
+    }
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.runtime;
+
+import gw.lang.reflect.IExpando;
+import gw.lang.reflect.IMethodCallHandler;
+import gw.lang.reflect.IMethodInfo;
+import gw.lang.reflect.IPlaceholder;
+import gw.lang.reflect.IRelativeTypeInfo;
+import gw.lang.reflect.IType;
+import gw.lang.reflect.ITypeInfo;
+import gw.lang.reflect.IUncacheableFeature;
+import gw.lang.reflect.ReflectUtil;
+
+import javax.script.Bindings;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Bootstrap method for the invokedynamic sites the compiler emits in place of
+ * {@link GosuRuntimeMethods#invokeMethodInfo(IType, String, IType[], Object, Object[])}.  Each site caches the
+ * <code>$invokeMethod</code> dispatch method and the resolved method's call handler.  Both are resolved against
+ * the declared type, so a statically typed site keys its cache on that type alone, and calls through an interface
+ * or base type stay monomorphic whatever the receiver's class.  When the static type is dynamic the method is
+ * resolved against the receiver's runtime type and chosen by the runtime types of the arguments, so the site keys
+ * on the receiver class and also caches the scored method per argument-type signature.  Entries are discarded
+ * when the type system refreshes.
+ */
+public class MethodCallSites
+{
+  private static final MethodHandle INVOKE_METHOD;
+  static
+  {
+    try
+    {
+      INVOKE_METHOD = MethodHandles.lookup().findVirtual( MethodSite.class, "invokeMethod",
+                                                          MethodType.methodType( Object.class, IType.class, IType[].class, Object.class, Object[].class ) );
+    }
+    catch( Exception e )
+    {
+      throw new ExceptionInInitializerError( e );
+    }
+  }
+
+  @SuppressWarnings("UnusedDeclaration")
+  public static CallSite bootstrapInvokeMethod( MethodHandles.Lookup caller, String name, MethodType type, String methodName )
+  {
+    MethodSite site = new MethodSite( caller.lookupClass(), methodName );
+    return new ConstantCallSite( INVOKE_METHOD.bindTo( site ).asType( type ) );
+  }
+
+  static class MethodSite
+  {
+    private final String _methodName;
+    private final InlineCache<MethodTarget> _cache;
+    private final StaticTypeCheck _staticType = new StaticTypeCheck();
+
+    MethodSite( Class callerClass, String methodName )
+    {
+      _methodName = methodName;
+      _cache = new InlineCache<MethodTarget>( callerClass.getName() + "#" + methodName + "()", InlineCacheRegistry.getMegamorphicThreshold() );
+    }
+
+    public Object invokeMethod( IType type, IType[] parameterTypes, Object root, Object[] args )
+    {
+      if( root instanceof IExpando || root instanceof Bindings )
+      {
+        return GosuRuntimeMethods.invokeMethodInfo( type, _methodName, parameterTypes, root, args );
+      }
+
+      boolean bDynamicType = _staticType.isDynamic( type );
+      if( bDynamicType && root == null )
+      {
+        return GosuRuntimeMethods.invokeMethodInfo( type, _methodName, parameterTypes, root, args );
+      }
+      IType resolvedType = bDynamicType ? _staticType.resolve( root, type ) : type;
+
+      Class receiverClass = bDynamicType ? root.getClass() : null;
+      MethodTarget target = _cache.find( receiverClass, resolvedType );
+      if( target == null )
+      {
+        if( _cache.isMegamorphic() || (target = resolveTarget( resolvedType, parameterTypes, bDynamicType )) == null )
+        {
+          return GosuRuntimeMethods.invokeMethodInfo( type, _methodName, parameterTypes, root, args );
+        }
+        _cache.install( receiverClass, resolvedType, target );
+      }
+
+      if( target._dispatch != null )
+      {
+        Object ret = GosuRuntimeMethods.invokeMethodInvoker( target._dispatch, root, _methodName, args );
+        if( ret != IPlaceholder.UNHANDLED )
+        {
+          return ret;
+        }
+      }
+
+      if( bDynamicType )
+      {
+        IType[] runtimeTypes = ReflectUtil.extractRuntimeTypes( args );
+        IMethodInfo method = target.findOverload( runtimeTypes, resolvedType, _methodName );
+        if( method == null )
+        {
+          return GosuRuntimeMethods.invokeMissingMethod( root, resolvedType, _methodName, args );
+        }
+        args = ReflectUtil.coerceArgsIfNecessary( method.getParameters(), args );
+        return method.getCallHandler().handleCall( root, args );
+      }
+
+      if( target._handler == null )
+      {
+        return GosuRuntimeMethods.invokeMissingMethod( root, resolvedType, _methodName, args );
+      }
+      return target._handler.handleCall( root, args );
+    }
+
+    private MethodTarget resolveTarget( IType type, IType[] parameterTypes, boolean bDynamicType )
+    {
+      if( type == null || type instanceof IPlaceholder )
+      {
+        return null;
+      }
+      IMethodInfo dispatch = GosuRuntimeMethods.findMethodInvoker( "$invokeMethod", type );
+      if( bDynamicType )
+      {
+        return new MethodTarget( dispatch, null, _cache.getMegamorphicThreshold() );
+      }
+
+      if( GosuRuntimeMethods.hasPlaceholderTypes( parameterTypes ) )
+      {
+        // The method is chosen by the runtime types of the arguments passed to placeholder parameters
+        return null;
+      }
+      ITypeInfo typeInfo = type.getTypeInfo();
+      IMethodInfo method = typeInfo instanceof IRelativeTypeInfo
+                           ? ((IRelativeTypeInfo)typeInfo).getMethod( type, _methodName, parameterTypes )
+                           : typeInfo.getMethod( _methodName, parameterTypes );
+      if( method instanceof IUncacheableFeature )
+      {
+        return null;
+      }
+      return new MethodTarget( dispatch, method == null ? null : method.getCallHandler(), 0 );
+    }
+  }
+
+  private static final class MethodTarget
+  {
+    private static final Overload[] EMPTY = new Overload[0];
+
+    private final IMethodInfo _dispatch;
+    private final IMethodCallHandler _handler;
+    private final int _iMaxOverloads;
+    private volatile Overload[] _overloads = EMPTY;
+
+    private MethodTarget( IMethodInfo dispatch, IMethodCallHandler handler, int iMaxOverloads )
+    {
+      _dispatch = dispatch;
+      _handler = handler;
+      _iMaxOverloads = iMaxOverloads;
+    }
+
+    /**
+     * Finds the method callable with the given runtime argument types, scoring the candidates only the first
+     * time a signature is seen.
+     */
+    private IMethodInfo findOverload( IType[] runtimeTypes, IType type, String methodName )
+    {
+      Overload[] overloads = _overloads;
+      for( Overload overload : overloads )
+      {
+        if( overload.matches( runtimeTypes ) )
+        {
+          return overload._method;
+        }
+      }
+
+      IMethodInfo method = ReflectUtil.findCallableMethod( methodName, runtimeTypes, type );
+      if( method != null && !(method instanceof IUncacheableFeature) )
+      {
+        synchronized( this )
+        {
+          overloads = _overloads;
+          if( overloads.length < _iMaxOverloads )
+          {
+            Overload[] newOverloads = new Overload[overloads.length + 1];
+            System.arraycopy( overloads, 0, newOverloads, 0, overloads.length );
+            newOverloads[overloads.length] = new Overload( runtimeTypes, method );
+            _overloads = newOverloads;
+          }
+        }
+      }
+      return method;
+    }
+  }
+
+  private static final class Overload
+  {
+    private final IType[] _runtimeTypes;
+    private final IMethodInfo _method;
+
+    private Overload( IType[] runtimeTypes, IMethodInfo method )
+    {
+      _runtimeTypes = runtimeTypes;
+      _method = method;
+    }
+
+    private boolean matches( IType[] runtimeTypes )
+    {
+      if( runtimeTypes.length != _runtimeTypes.length )
+      {
+        return false;
+      }
+      for( int i = 0; i < runtimeTypes.length; i++ )
+      {
+        if( runtimeTypes[i] != _runtimeTypes[i] )
+        {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.runtime;
+
+import gw.lang.reflect.IMethodInfo;
+import gw.lang.reflect.IPlaceholder;
+import gw.lang.reflect.IPropertyAccessor;
+import gw.lang.reflect.IPropertyInfo;
+import gw.lang.reflect.IType;
+import gw.lang.reflect.IUncacheableFeature;
+import gw.lang.reflect.ReflectUtil;
+
+import javax.script.Bindings;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Bootstrap methods for the invokedynamic sites the compiler emits in place of
+ * {@link GosuRuntimeMethods#getProperty(Object, IType, String)} and
+ * {@link GosuRuntimeMethods#setProperty(Object, IType, String, Object)}.  Each site resolves the
+ * <code>$getProperty</code>/<code>$setProperty</code> dispatch method and the property accessor once per
+ * receiver class and caches them in an {@link InlineCache}; anything that can't be cached safely takes the
+ * existing runtime path.
+ */
+public class PropertyCallSites
+{
+  private static final MethodHandle GET_PROPERTY;
+  private static final MethodHandle SET_PROPERTY;
+  static
+  {
+    try
+    {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      GET_PROPERTY = lookup.findVirtual( PropertySite.class, "getProperty", MethodType.methodType( Object.class, Object.class, IType.class ) );
+      SET_PROPERTY = lookup.findVirtual( PropertySite.class, "setProperty", MethodType.methodType( void.class, Object.class, IType.class, Object.class ) );
+    }
+    catch( Exception e )
+    {
+      throw new ExceptionInInitializerError( e );
+    }
+  }
+
+  @SuppressWarnings("UnusedDeclaration")
+  public static CallSite bootstrapGetProperty( MethodHandles.Lookup caller, String name, MethodType type, String propertyName )
+  {
+    PropertySite site = new PropertySite( caller.lookupClass(), propertyName );
+    return new ConstantCallSite( GET_PROPERTY.bindTo( site ).asType( type ) );
+  }
+
+  @SuppressWarnings("UnusedDeclaration")
+  public static CallSite bootstrapSetProperty( MethodHandles.Lookup caller, String name, MethodType type, String propertyName )
+  {
+    PropertySite site = new PropertySite( caller.lookupClass(), propertyName );
+    return new ConstantCallSite( SET_PROPERTY.bindTo( site ).asType( type ) );
+  }
+
+  static class PropertySite
+  {
+    private final String _propertyName;
+    private final InlineCache<PropertyTarget> _cache;
+    private final StaticTypeCheck _staticType = new StaticTypeCheck();
+
+    PropertySite( Class callerClass, String propertyName )
+    {
+      _propertyName = propertyName;
+      _cache = new InlineCache<PropertyTarget>( callerClass.getName() + "#" + propertyName, InlineCacheRegistry.getMegamorphicThreshold() );
+    }
+
+    public Object getProperty( Object root, IType type )
+    {
+      if( root == null || root instanceof Bindings )
+      {
+        return GosuRuntimeMethods.getProperty( root, type, _propertyName );
+      }
+
+      type = _staticType.resolve( root, type );
+      PropertyTarget target = findTarget( root, type, true );
+      if( target == null )
+      {
+        return GosuRuntimeMethods.getProperty( root, type, _propertyName );
+      }
+
+      if( target._dispatch != null )
+      {
+        Object ret = GosuRuntimeMethods.invokePropertyGetter( target._dispatch, root, _propertyName );
+        if( ret != IPlaceholder.UNHANDLED )
+        {
+          return ret;
+        }
+      }
+      return target._accessor == null
+             ? GosuRuntimeMethods.getUndispatchedProperty( root, type, _propertyName )
+             : target._accessor.getValue( root );
+    }
+
+    public void setProperty( Object root, IType type, Object value )
+    {
+      if( root == null || root instanceof Bindings )
+      {
+        GosuRuntimeMethods.setProperty( root, type, _propertyName, value );
+        return;
+      }
+
+      type = _staticType.resolve( root, type );
+      PropertyTarget target = findTarget( root, type, false );
+      if( target == null )
+      {
+        GosuRuntimeMethods.setProperty( root, type, _propertyName, value );
+        return;
+      }
+
+      if( target._dispatch != null )
+      {
+        Object ret = GosuRuntimeMethods.invokePropertySetter( target._dispatch, root, _propertyName );
+        if( ret != IPlaceholder.UNHANDLED )
+        {
+          return;
+        }
+      }
+      if( target._accessor == null )
+      {
+        GosuRuntimeMethods.setUndispatchedProperty( root, type, _propertyName, value );
+      }
+      else
+      {
+        target._accessor.setValue( root, value );
+      }
+    }
+
+    private PropertyTarget findTarget( Object root, IType type, boolean bGetter )
+    {
+      Class receiverClass = root.getClass();
+      PropertyTarget target = _cache.find( receiverClass, type );
+      if( target == null && !_cache.isMegamorphic() )
+      {
+        target = resolveTarget( type, bGetter );
+        if( target != null )
+        {
+          _cache.install( receiverClass, type, target );
+        }
+      }
+      return target;
+    }
+
+    private PropertyTarget resolveTarget( IType type, boolean bGetter )
+    {
+      if( type == null || type instanceof IPlaceholder )
+      {
+        return null;
+      }
+      IMethodInfo dispatch = bGetter
+                             ? GosuRuntimeMethods.findPropertyGetterDispatch( "$getProperty", type )
+                             : GosuRuntimeMethods.findPropertySetterDispatch( "$setProperty", type );
+      IPropertyInfo pi = ReflectUtil.findProperty( type, _propertyName );
+      if( pi instanceof IUncacheableFeature || (pi == null && dispatch == null) )
+      {
+        // Properties missing from the type are resolved against the receiver's runtime type on each call
+        return null;
+      }
+      return new PropertyTarget( dispatch, pi == null ? null : pi.getAccessor() );
+    }
+  }
+
+  private static final class PropertyTarget
+  {
+    private final IMethodInfo _dispatch;
+    private final IPropertyAccessor _accessor;
+
+    private PropertyTarget( IMethodInfo dispatch, IPropertyAccessor accessor )
+    {
+      _dispatch = dispatch;
+      _accessor = accessor;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.runtime;
+
+import gw.internal.gosu.ir.transform.AbstractElementTransformer;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Bootstrap methods for the invokedynamic sites the compiler emits when a method or field can't be accessed
+ * directly from bytecode, e.g., protected or internal members across class loaders.  The member is looked up
+ * once, when the site links, and bound as a MethodHandle, so subsequent calls cost the same as a direct call
+ * instead of a declared-member lookup plus reflective invoke.
+ * <p/>
+ * Call site descriptors are erased: reference types are passed as Object and converted by the handle, with the
+ * same widening and unboxing rules Method.invoke applies.
+ */
+public class ReflectiveCallSites
+{
+  private static final MethodHandle FIELD_SET;
+  static
+  {
+    try
+    {
+      FIELD_SET = MethodHandles.lookup().findVirtual( Field.class, "set", MethodType.methodType( void.class, Object.class, Object.class ) );
+    }
+    catch( Exception e )
+    {
+      throw new ExceptionInInitializerError( e );
+    }
+  }
+
+  /**
+   * Links a call to a method.  The site's first parameter is the receiver, which is ignored for static methods.
+   *
+   * @param ownerDescriptor the descriptor of the class declaring (or inheriting) the method
+   * @param methodName      the method's name
+   * @param paramDescriptor a method descriptor carrying the method's declared parameter types
+   */
+  @SuppressWarnings("UnusedDeclaration")
+  public static CallSite bootstrapInvokeMethod( MethodHandles.Lookup caller, String name, MethodType type,
+                                                String ownerDescriptor, String methodName, String paramDescriptor ) throws IllegalAccessException
+  {
+    ClassLoader loader = caller.lookupClass().getClassLoader();
+    Class owner = resolveClass( ownerDescriptor, loader );
+    Class[] params = MethodType.fromMethodDescriptorString( paramDescriptor, loader ).parameterArray();
+    Method method = AbstractElementTransformer.getDeclaredMethod( owner, methodName, params );
+    MethodHandle mh = MethodHandles.lookup().unreflect( method );
+    if( Modifier.isStatic( method.getModifiers() ) )
+    {
+      mh = MethodHandles.dropArguments( mh, 0, Object.class );
+    }
+    return new ConstantCallSite( mh.asType( type ) );
+  }
+
+  /**
+   * Links a field read.  The site's only parameter is the receiver, which is ignored for static fields.
+   */
+  @SuppressWarnings("UnusedDeclaration")
+  public static CallSite bootstrapGetField( MethodHandles.Lookup caller, String name, MethodType type,
+                                            String ownerDescriptor, String fieldName ) throws IllegalAccessException
+  {
+    Field field = AbstractElementTransformer.getDeclaredField( resolveClass( ownerDescriptor, caller.lookupClass().getClassLoader() ), fieldName );
+    MethodHandle mh = MethodHandles.lookup().unreflectGetter( field );
+    if( Modifier.isStatic( field.getModifiers() ) )
+    {
+      mh = MethodHandles.dropArguments( mh, 0, Object.class );
+    }
+    return new ConstantCallSite( mh.asType( type ) );
+  }
+
+  /**
+   * Links a field write.  The site's parameters are the receiver, which is ignored for static fields, and the value.
+   */
+  @SuppressWarnings("UnusedDeclaration")
+  public static CallSite bootstrapSetField( MethodHandles.Lookup caller, String name, MethodType type,
+                                            String ownerDescriptor, String fieldName )
+  {
+    Field field = AbstractElementTransformer.getDeclaredField( resolveClass( ownerDescriptor, caller.lookupClass().getClassLoader() ), fieldName );
+    MethodHandle mh;
+    try
+    {
+      mh = MethodHandles.lookup().unreflectSetter( field );
+      if( Modifier.isStatic( field.getModifiers() ) )
+      {
+        mh = MethodHandles.dropArguments( mh, 0, Object.class );
+      }
+    }
+    catch( IllegalAccessException e )
+    {
+      // Some VMs refuse setter handles for final fields even when they are accessible; Field.set does not
+      mh = FIELD_SET.bindTo( field );
+    }
+    return new ConstantCallSite( mh.asType( type ) );
+  }
+
+  private static Class resolveClass( String descriptor, ClassLoader loader )
+  {
+    return MethodType.fromMethodDescriptorString( "()" + descriptor, loader ).returnType();
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.runtime;
+
+import gw.lang.reflect.IType;
+import gw.lang.reflect.TypeSystem;
+
+/**
+ * Remembers whether the last static type passed to a call site is dynamic, so a site that always sees the same
+ * static type doesn't recompute it per call.  A dynamic static type means the member is resolved against the
+ * receiver's runtime type, which the type loaders may compute per instance, so that type (not just the
+ * receiver's class) keys the site's inline cache.
+ */
+class StaticTypeCheck
+{
+  private volatile Last _last;
+
+  IType resolve( Object root, IType type )
+  {
+    return isDynamic( type ) ? TypeSystem.getFromObject( root ) : type;
+  }
+
+  boolean isDynamic( IType type )
+  {
+    Last last = _last;
+    if( last == null || last._type != type )
+    {
+      _last = last = new Last( type, GosuRuntimeMethods.isDynamic( type ) );
+    }
+    return last._bDynamic;
+  }
+
+  private static final class Last
+  {
+    private final IType _type;
+    private final boolean _bDynamic;
+
+    private Last( IType type, boolean bDynamic )
+    {
+      _type = type;
+      _bDynamic = bDynamic;
+    }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.runtime;
+
+import gw.internal.gosu.ir.compiler.bytecode.expression.IRMethodCallExpressionCompiler;
+import gw.lang.reflect.IType;
+
+import javax.script.Bindings;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Bootstrap method for the invokedynamic sites the compiler emits for calls on a structural type.  Without
+ * them a call on an object that doesn't nominally implement the structure allocates a proxy from
+ * {@link gw.internal.gosu.ir.compiler.bytecode.expression.StructuralTypeProxyGenerator} per call.
+ * <p/>
+ * Instead, each site keeps a chain of receiver class guards, each bound directly to the receiver's matching
+ * public method, so the common case neither allocates nor reflects.  Receivers without a method whose signature
+ * matches the structure's exactly, static structural calls, expandos, and megamorphic sites take the proxy path.
+ */
+public class StructuralCallSites
+{
+  private static final MethodHandle IS_CLASS;
+  private static final MethodHandle IS_INSTANCE;
+  private static final MethodHandle FALLBACK;
+  private static final MethodHandle CONSTRUCT_PROXY;
+  static
+  {
+    try
+    {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      IS_CLASS = lookup.findStatic( StructuralCallSites.class, "isClass", MethodType.methodType( boolean.class, Class.class, Object.class ) );
+      IS_INSTANCE = lookup.findVirtual( Class.class, "isInstance", MethodType.methodType( boolean.class, Object.class ) );
+      FALLBACK = lookup.findVirtual( StructuralSite.class, "fallback", MethodType.methodType( Object.class, Object[].class ) );
+      CONSTRUCT_PROXY = lookup.findStatic( IRMethodCallExpressionCompiler.class, "constructProxy", MethodType.methodType( Object.class, Object.class, Class.class ) );
+    }
+    catch( Exception e )
+    {
+      throw new ExceptionInInitializerError( e );
+    }
+  }
+
+  /**
+   * Links a call to method <code>name</code> of structure <code>iface</code>.  The site's first parameter is the
+   * receiver, erased to Object; the rest match the structure method's descriptor.
+   */
+  @SuppressWarnings("UnusedDeclaration")
+  public static CallSite bootstrapInvokeStructural( MethodHandles.Lookup caller, String name, MethodType type, Class iface ) throws NoSuchMethodException, IllegalAccessException
+  {
+    return new StructuralSite( caller, name, type, iface );
+  }
+
+  @SuppressWarnings("UnusedDeclaration")
+  private static boolean isClass( Class cls, Object root )
+  {
+    return root != null && root.getClass() == cls;
+  }
+
+  static class StructuralSite extends MutableCallSite
+  {
+    private final String _name;
+    private final Class _iface;
+    private final MethodHandle _ifaceCall;
+    private final MethodHandle _proxyCall;
+    private final MethodHandle _fallback;
+    private final int _iMegamorphicThreshold;
+    private int _iReceivers;
+    private int _iGeneration;
+
+    StructuralSite( MethodHandles.Lookup caller, String name, MethodType type, Class iface ) throws NoSuchMethodException, IllegalAccessException
+    {
+      super( type );
+      _name = name;
+      _iface = iface;
+      MethodHandle ifaceMethod = caller.findVirtual( iface, name, type.dropParameterTypes( 0, 1 ) );
+      _ifaceCall = ifaceMethod.asType( type );
+      MethodHandle proxy = MethodHandles.insertArguments( CONSTRUCT_PROXY, 1, iface ).asType( MethodType.methodType( iface, Object.class ) );
+      _proxyCall = MethodHandles.filterArguments( ifaceMethod, 0, proxy ).asType( type );
+      _fallback = FALLBACK.bindTo( this ).asCollector( Object[].class, type.parameterCount() ).asType( type );
+      _iMegamorphicThreshold = InlineCacheRegistry.getMegamorphicThreshold();
+      _iGeneration = InlineCacheRegistry.getGeneration();
+      setTarget( _fallback );
+    }
+
+    @SuppressWarnings("UnusedDeclaration")
+    public Object fallback( Object[] args ) throws Throwable
+    {
+      Object root = args[0];
+      MethodHandle target;
+      if( root == null )
+      {
+        target = _proxyCall;
+      }
+      else
+      {
+        target = _iface.isInstance( root ) ? _ifaceCall : findDirectCall( root );
+        if( target == null )
+        {
+          target = _proxyCall;
+        }
+        link( root.getClass(), target );
+      }
+      return target.invokeWithArguments( args );
+    }
+
+    private synchronized void link( Class receiverClass, MethodHandle target )
+    {
+      int iGeneration = InlineCacheRegistry.getGeneration();
+      if( iGeneration != _iGeneration )
+      {
+        // Receiver classes from before the refresh will no longer be seen, start over
+        _iGeneration = iGeneration;
+        _iReceivers = 0;
+        setTarget( _fallback );
+      }
+
+      if( _iReceivers < _iMegamorphicThreshold )
+      {
+        MethodHandle test = MethodHandles.dropArguments( IS_CLASS.bindTo( receiverClass ), 1, type().dropParameterTypes( 0, 1 ).parameterList() );
+        setTarget( MethodHandles.guardWithTest( test, target, getTarget() ) );
+      }
+      else if( _iReceivers == _iMegamorphicThreshold )
+      {
+        // Megamorphic, revert to the nominal interface call or a proxy
+        MethodHandle test = MethodHandles.dropArguments( IS_INSTANCE.bindTo( _iface ), 1, type().dropParameterTypes( 0, 1 ).parameterList() );
+        setTarget( MethodHandles.guardWithTest( test, _ifaceCall, _proxyCall ) );
+      }
+      _iReceivers++;
+    }
+
+    /**
+     * @return a handle calling the receiver's public instance method having the structure method's name and exact
+     * parameter types, provided its return type needs no coercion, otherwise null
+     */
+    private MethodHandle findDirectCall( Object root )
+    {
+      if( root instanceof Class || root instanceof IType || root instanceof Bindings )
+      {
+        // Static structural implementations and expandos need the proxy's mapping
+        return null;
+      }
+
+      MethodType ifaceType = type().dropParameterTypes( 0, 1 );
+      Method method;
+      try
+      {
+        method = root.getClass().getMethod( _name, ifaceType.parameterArray() );
+      }
+      catch( NoSuchMethodException e )
+      {
+        return null;
+      }
+      if( Modifier.isStatic( method.getModifiers() ) || !isReturnCompatible( ifaceType.returnType(), method.getReturnType() ) )
+      {
+        return null;
+      }
+
+      MethodHandle mh;
+      try
+      {
+        mh = MethodHandles.publicLookup().unreflect( method );
+      }
+      catch( IllegalAccessException e )
+      {
+        // The method is public, but its class isn't
+        try
+        {
+          method.setAccessible( true );
+          mh = MethodHandles.lookup().unreflect( method );
+        }
+        catch( Exception e2 )
+        {
+          return null;
+        }
+      }
+      return mh.asType( type() );
+    }
+
+    private static boolean isReturnCompatible( Class ifaceReturn, Class methodReturn )
+    {
+      if( ifaceReturn == void.class )
+      {
+        return true;
+      }
+      if( ifaceReturn.isPrimitive() || methodReturn.isPrimitive() )
+      {
+        return ifaceReturn == methodReturn;
+      }
+      return ifaceReturn.isAssignableFrom( methodReturn );
+    }
+  }
+}
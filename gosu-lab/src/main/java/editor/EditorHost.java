@@ -75,6 +75,12 @@ public abstract class EditorHost extends JPanel implements IEditorHost
    */
   static int COMPLETION_DELAY = 500;
 
+  /**
+   * Delay in millis a burst of edits must pause for before the editor is
+   * reparsed.
+   */
+  static int PARSE_DELAY = 150;
+
 
   private JPopupMenu _completionPopup;
   private AtomicUndoManager _undoMgr;
@@ -85,6 +91,7 @@ public abstract class EditorHost extends JPanel implements IEditorHost
   private boolean _bAltDown;
   private boolean _bCompleteCode;
   private int _iTimerCount;
+  private final ParseRequests _parseRequests = new ParseRequests( PARSE_DELAY, this::parse );
   private static TimerPool _timerPool = new TimerPool();
   private HighlightMode _highlightMode = HighlightMode.SEARCH;
 
@@ -149,6 +156,11 @@ public abstract class EditorHost extends JPanel implements IEditorHost
 
   public void waitForParser()
   {
+    if( _parseRequests.isParsePending() )
+    {
+      // Don't wait on a parse of stale text
+      parse();
+    }
     TaskQueue.getInstance( INTELLISENSE_TASK_QUEUE ).postTaskAndWait(
       () -> {
         //do nothing
@@ -1450,6 +1462,16 @@ public abstract class EditorHost extends JPanel implements IEditorHost
     postTaskInParserThread( getParseTask( forceCodeCompletion ) );
   }
 
+  /**
+   * Reparses after edits stop for PARSE_DELAY millis.  While typing, each key
+   * would otherwise copy the document text and queue a parse that the next
+   * key makes stale.
+   */
+  protected void parseLater()
+  {
+    _parseRequests.parseLater();
+  }
+
   public static void postTaskInParserThread( Runnable task )
   {
     TaskQueue tq = TaskQueue.getInstance( INTELLISENSE_TASK_QUEUE );
@@ -1474,7 +1496,7 @@ public abstract class EditorHost extends JPanel implements IEditorHost
 
   private ParseTask getParseTask( boolean forceCodeCompletion )
   {
-    return new ParseTask( getEditor().getText(), forceCodeCompletion, true );
+    return new ParseTask( getEditor().getText(), forceCodeCompletion, true, _parseRequests.newRequest() );
   }
 
   @SuppressWarnings("UnusedDeclaration")
@@ -1493,26 +1515,22 @@ public abstract class EditorHost extends JPanel implements IEditorHost
     return false;
   }
 
+  /**
+   * @return true if the parse running for this editor has been superseded by a
+   * newer request, its results are stale and should not be published
+   */
   protected boolean areMoreThanOneParserTasksPendingForThisEditor()
   {
-    TaskQueue tq = TaskQueue.getInstance( INTELLISENSE_TASK_QUEUE );
-    int iCount = 0;
-    List tasks = tq.getTasks();
-    for( Object task1 : tasks )
-    {
-      Runnable task = (Runnable)task1;
-      if( task instanceof ParseTask && ((ParseTask)task).getEditor() == this )
-      {
-        if( iCount > 0 )
-        {
-          // Note we don't count the first one assuming we're trying to determine
-          // if there are any queued behind it.
-          return true;
-        }
-        iCount++;
-      }
-    }
-    return false;
+    return _parseRequests.isSuperseded();
+  }
+
+  /**
+   * Runs {@code update} on the EDT unless the running parse has been
+   * superseded by then, so a stale result never reaches the UI
+   */
+  protected void publishParseResult( Runnable update )
+  {
+    _parseRequests.publish( update );
   }
 
   protected boolean areMoreThanOneParserTasksGoingToUpdateContainingType()
@@ -1661,12 +1679,14 @@ public abstract class EditorHost extends JPanel implements IEditorHost
     private String _strSource;
     private boolean _forceCodeCompletion;
     private boolean _changed;
+    private int _iRequest;
 
-    public ParseTask( String strSource, boolean forceCodeCompletion, boolean changed )
+    public ParseTask( String strSource, boolean forceCodeCompletion, boolean changed, int iRequest )
     {
       _strSource = strSource;
       _forceCodeCompletion = forceCodeCompletion;
       _changed = changed;
+      _iRequest = iRequest;
     }
 
     public EditorHost getEditor()
@@ -1681,6 +1701,7 @@ public abstract class EditorHost extends JPanel implements IEditorHost
       {
         return;
       }
+      _parseRequests.setRunning( _iRequest );
       if( !areMoreThanOneParserTasksPendingForThisEditor() || _forceCodeCompletion )
       {
         TypeSystem.lock();
@@ -1,5 +1,6 @@
 package editor;
 
+import editor.search.TextIndex;
 import editor.util.EditorUtilities;
 import editor.util.Experiment;
 import gw.util.PathUtil;
@@ -448,6 +449,7 @@ public class FileTree implements MutableTreeNode, IFileWatcherListener
     }
     else
     {
+      TextIndex.instance( _experiment ).invalidate( fileTree.getFileOrDir() );
       handlePossibleDeletedType( fileTree );
     }
   }
@@ -84,9 +84,13 @@ public class FileTreeUtil
   }
 
   public static boolean isSupportedTextFile( FileTree ft )
+  {
+    return isSupportedTextFile( ft.getFileOrDir() );
+  }
+  public static boolean isSupportedTextFile( Path file )
   {
     String[] binaryExt = { ".jar", ".zip", ".tar", ".gz", ".hprof", ".png", ".gif", ".jpg", ".bmp", ".exe", ".dll", ".so",  };
-    String fileName = PathUtil.getName( ft.getFileOrDir() ).toLowerCase();
+    String fileName = PathUtil.getName( file ).toLowerCase();
     return !Arrays.stream( binaryExt ).anyMatch( fileName::endsWith );
   }
 }
@@ -93,6 +93,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 
 import static editor.util.TextComponentUtil.Direction.BACKWARD;
 import static editor.util.TextComponentUtil.Direction.FORWARD;
@@ -771,7 +772,8 @@ public class GosuEditor extends EditorHost implements IScriptEditor, IGosuPanel,
         {
           // The context here is expected to be a fully qualified class/program/enhancement/template
 
-          _parsedGosuClass = _parser.parseClass( getScriptPart().getContainingTypeName(), new StringSourceFileHandle( getScriptPart().getContainingTypeName(), strText, _bTestResource, classType ), true, true );
+          _parsedGosuClass = _parser.parseClass( getScriptPart().getContainingTypeName(), new StringSourceFileHandle( getScriptPart().getContainingTypeName(), strText, _bTestResource, classType ), true, true,
+                                                forceCodeCompletion ? null : this::areMoreThanOneParserTasksPendingForThisEditor );
         }
         else
         {
@@ -825,6 +827,11 @@ public class GosuEditor extends EditorHost implements IScriptEditor, IGosuPanel,
       handleParseException( forceCodeCompletion );
       return;
     }
+    catch( CancellationException e )
+    {
+      // Superseded mid-parse, the newer request publishes instead
+      return;
+    }
     finally
     {
       if( isAccessAll() )
@@ -862,7 +869,7 @@ public class GosuEditor extends EditorHost implements IScriptEditor, IGosuPanel,
 //          }
           _typeUsesMapFromMostRecentParse = _parser.getTypeUsesMap().copy();
           final List<IParseTree> locations = _parser.getLocations();
-          EventQueue.invokeLater(
+          publishParseResult(
             () -> {
               if( getDocument().getLocations() == null )
               {
@@ -880,7 +887,7 @@ public class GosuEditor extends EditorHost implements IScriptEditor, IGosuPanel,
       return;
     }
 
-    EventQueue.invokeLater( () -> _panelFeedback.update( GosuEditor.this ) );
+    publishParseResult( () -> _panelFeedback.update( GosuEditor.this ) );
   }
 
   @SuppressWarnings("UnusedDeclaration")
@@ -988,7 +995,15 @@ public class GosuEditor extends EditorHost implements IScriptEditor, IGosuPanel,
 
   private void handleParseException( final boolean forceCodeCompletion )
   {
-    EventQueue.invokeLater( () -> handleParseException( _pe, forceCodeCompletion ) );
+    Runnable update = () -> handleParseException( _pe, forceCodeCompletion );
+    if( forceCodeCompletion )
+    {
+      EventQueue.invokeLater( update );
+    }
+    else
+    {
+      publishParseResult( update );
+    }
   }
 
   protected void handleParseException( final ParseResultsException e, final boolean bForceCodeCompletion )
@@ -2051,7 +2066,7 @@ public class GosuEditor extends EditorHost implements IScriptEditor, IGosuPanel,
     public void insertUpdate( DocumentEvent e )
     {
       resizeEditor();
-      parse();
+      parseLater();
       updateBreakpoints( e );
     }
 
@@ -2059,7 +2074,7 @@ public class GosuEditor extends EditorHost implements IScriptEditor, IGosuPanel,
     public void removeUpdate( DocumentEvent e )
     {
       resizeEditor();
-      parse();
+      parseLater();
       updateBreakpoints( e );
     }
 
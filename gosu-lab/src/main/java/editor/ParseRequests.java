@@ -0,0 +1,75 @@
+package editor;
+
+import java.awt.EventQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.Timer;
+
+/**
+ * Tracks an editor's parse requests.  Edits restart a debounce timer so a
+ * burst of keys posts one parse, and each posted parse gets a request number
+ * so a parse that a newer request has superseded can stop early and never
+ * publish its results.
+ */
+class ParseRequests
+{
+  private final Timer _timer;
+  private final AtomicInteger _iLatest = new AtomicInteger();
+  private volatile int _iRunning;
+
+  ParseRequests( int iDelay, Runnable parse )
+  {
+    _timer = new Timer( iDelay, e -> parse.run() );
+    _timer.setRepeats( false );
+  }
+
+  /**
+   * Restarts the debounce timer, the parse runs once edits pause for the delay
+   */
+  void parseLater()
+  {
+    _timer.restart();
+  }
+
+  boolean isParsePending()
+  {
+    return _timer.isRunning();
+  }
+
+  /**
+   * Stops the debounce timer and numbers a new request, superseding any
+   * request already posted or running
+   */
+  int newRequest()
+  {
+    _timer.stop();
+    return _iLatest.incrementAndGet();
+  }
+
+  void setRunning( int iRequest )
+  {
+    _iRunning = iRequest;
+  }
+
+  /**
+   * @return true if the running request is no longer the latest
+   */
+  boolean isSuperseded()
+  {
+    return _iRunning != _iLatest.get();
+  }
+
+  /**
+   * Runs {@code update} on the EDT unless the running request has been
+   * superseded by the time it gets there
+   */
+  void publish( Runnable update )
+  {
+    int iRequest = _iRunning;
+    EventQueue.invokeLater( () -> {
+      if( iRequest == _iLatest.get() )
+      {
+        update.run();
+      }
+    } );
+  }
+}
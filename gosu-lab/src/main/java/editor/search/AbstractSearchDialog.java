@@ -223,6 +223,7 @@ public abstract class AbstractSearchDialog extends AbstractDialog
 
                                         TextSearcher searcher = new TextSearcher( text, _checkCase.isSelected(), _checkWords.isSelected(), _checkRegex.isSelected() );
                                         searcher.searchTrees( getSelectedTrees(), results, ft -> include( ft, getFileMatchRegex() ), progress );
+                                        TextIndex.instance( LabFrame.instance().getGosuPanel().getExperiment() ).saveInBackground();
                                         selectFirstMatch( results );
                                         bFinished[0] = true;
                                       } ) );
@@ -0,0 +1,414 @@
+package editor.search;
+
+import editor.FileTree;
+import editor.FileTreeUtil;
+import editor.LabFrame;
+import editor.util.Experiment;
+import gw.util.GosuStringUtil;
+import gw.util.PathUtil;
+import gw.util.StreamUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Indexes the three character sequences (trigrams) of the text files in an experiment so searches can
+ * skip the files that can't contain what they look for.  A file can only contain a string if it
+ * contains all of the string's trigrams.  Trigrams are indexed lower case so one index serves both
+ * case sensitive and insensitive searches; the searcher still finds the actual matches in the files
+ * that pass.
+ * <p/>
+ * Each file's trigrams are kept in a small bloom filter, about one byte per distinct trigram, so the
+ * index of a large experiment fits in memory.  A filter can let a file pass that doesn't contain the
+ * string, never the other way around.
+ * <p/>
+ * The index is saved in the user's index directory and built in the background when an experiment is
+ * opened; entries are stamped with their file's modification time and length so a file changed since it
+ * was indexed, or not indexed yet, is indexed again when a search asks for it.
+ */
+public class TextIndex
+{
+  private static final int VERSION = 2;
+  private static final int BITS_PER_TRIGRAM = 8;
+
+  private static TextIndex INDEX = null;
+  private static Experiment EXPERIMENT = null;
+
+  private final String _name;
+  private final List<String> _sourcePath;
+  private final Path _indexFile;
+  private final Map<String, FileEntry> _files;
+  private volatile boolean _bChanged;
+
+  public static synchronized TextIndex instance( Experiment experiment )
+  {
+    if( INDEX != null && EXPERIMENT != experiment )
+    {
+      INDEX.saveIfChanged();
+      INDEX = null;
+    }
+    if( INDEX == null )
+    {
+      INDEX = new TextIndex( experiment.getName(), experiment.getSourcePath(), getIndexFile( experiment ) );
+      EXPERIMENT = experiment;
+      INDEX.start();
+    }
+    return INDEX;
+  }
+
+  /**
+   * @return false if the file can't contain the text, otherwise true
+   */
+  public static boolean mightContain( FileTree tree, String text )
+  {
+    Experiment experiment = tree.getExperiment();
+    return experiment == null || instance( experiment ).mightContain( tree.getFileOrDir(), text );
+  }
+
+  /**
+   * Loads the saved index, if any.  Call start() to index the source path in the background.
+   */
+  TextIndex( String name, List<String> sourcePath, Path indexFile )
+  {
+    _name = name;
+    _sourcePath = sourcePath;
+    _indexFile = indexFile;
+    _files = new ConcurrentHashMap<>();
+    load();
+  }
+
+  /**
+   * Indexes the files in the source path that aren't indexed yet, or changed since, and drops the
+   * entries of files no longer there, on a background thread.
+   */
+  public void start()
+  {
+    Thread indexer = new Thread( this::indexSourcePath, "Text Index: " + _name );
+    indexer.setDaemon( true );
+    indexer.setPriority( Thread.MIN_PRIORITY );
+    indexer.start();
+  }
+
+  public boolean mightContain( Path file, String text )
+  {
+    long[] trigrams = trigrams( text );
+    if( trigrams.length == 0 )
+    {
+      return true;
+    }
+    FileEntry entry = getEntry( file );
+    if( entry == null )
+    {
+      // Unreadable, let the searcher deal with it
+      return true;
+    }
+    for( long trigram: trigrams )
+    {
+      if( !entry.mightContain( trigram ) )
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Drops the file's entry, for files deleted or changed on disk.  A changed file is indexed again when
+   * it is next searched.
+   */
+  public void invalidate( Path file )
+  {
+    if( _files.remove( PathUtil.getAbsolutePathName( file ) ) != null )
+    {
+      _bChanged = true;
+    }
+  }
+
+  public void saveInBackground()
+  {
+    if( _bChanged )
+    {
+      Thread saver = new Thread( this::saveIfChanged, "Text Index Save: " + _name );
+      saver.setDaemon( true );
+      saver.start();
+    }
+  }
+
+  public synchronized void saveIfChanged()
+  {
+    if( !_bChanged )
+    {
+      return;
+    }
+    _bChanged = false;
+
+    Path indexFile = _indexFile;
+    Path tempFile = PathUtil.create( indexFile.getParent(), PathUtil.getName( indexFile ) + ".tmp" );
+    try( DataOutputStream out = new DataOutputStream( new BufferedOutputStream( PathUtil.createOutputStream( tempFile ) ) ) )
+    {
+      out.writeInt( VERSION );
+      Map<String, FileEntry> files = new HashMap<>( _files );
+      out.writeInt( files.size() );
+      for( Map.Entry<String, FileEntry> entry: files.entrySet() )
+      {
+        out.writeUTF( entry.getKey() );
+        entry.getValue().write( out );
+      }
+    }
+    catch( Exception e )
+    {
+      // The index is only a cache, it will be rebuilt
+      PathUtil.delete( tempFile );
+      return;
+    }
+    PathUtil.renameTo( tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING );
+  }
+
+  private void load()
+  {
+    Path indexFile = _indexFile;
+    if( !PathUtil.exists( indexFile ) )
+    {
+      return;
+    }
+
+    try( DataInputStream in = new DataInputStream( new BufferedInputStream( PathUtil.createInputStream( indexFile ) ) ) )
+    {
+      if( in.readInt() != VERSION )
+      {
+        return;
+      }
+      int iCount = in.readInt();
+      for( int i = 0; i < iCount; i++ )
+      {
+        String path = in.readUTF();
+        _files.put( path, FileEntry.read( in ) );
+      }
+    }
+    catch( Exception e )
+    {
+      // Corrupt or partial, start over
+      _files.clear();
+    }
+  }
+
+  private void indexSourcePath()
+  {
+    Set<String> indexed = new HashSet<>();
+    for( String sourcePath: _sourcePath )
+    {
+      Path dir = PathUtil.create( sourcePath );
+      if( !PathUtil.isDirectory( dir ) )
+      {
+        continue;
+      }
+      try( Stream<Path> files = Files.walk( dir ) )
+      {
+        files.filter( file -> PathUtil.isFile( file ) && FileTreeUtil.isSupportedTextFile( file ) )
+          .forEach( file -> {
+            if( getEntry( file ) != null )
+            {
+              indexed.add( PathUtil.getAbsolutePathName( file ) );
+            }
+          } );
+      }
+      catch( Exception e )
+      {
+        // Whatever is left is indexed on demand
+        return;
+      }
+    }
+    if( _files.keySet().retainAll( indexed ) )
+    {
+      _bChanged = true;
+    }
+    saveIfChanged();
+  }
+
+  /**
+   * @return true if the file has an entry that is up to date, i.e., a search won't read the file
+   */
+  boolean isIndexed( Path file )
+  {
+    FileEntry entry = _files.get( PathUtil.getAbsolutePathName( file ) );
+    return entry != null && PathUtil.exists( file ) && entry.isCurrent( PathUtil.lastModified( file ), length( file ) );
+  }
+
+  private FileEntry getEntry( Path file )
+  {
+    String path = PathUtil.getAbsolutePathName( file );
+    if( !PathUtil.exists( file ) )
+    {
+      return null;
+    }
+    // The modification time alone can miss a change made within its resolution
+    long lastModified = PathUtil.lastModified( file );
+    long length = length( file );
+    FileEntry entry = _files.get( path );
+    if( entry != null && entry.isCurrent( lastModified, length ) )
+    {
+      return entry;
+    }
+
+    String content;
+    try( Reader reader = PathUtil.createReader( file ) )
+    {
+      content = StreamUtil.getContent( reader );
+      content = GosuStringUtil.replace( content, "\r\n", "\n" );
+    }
+    catch( Exception e )
+    {
+      return null;
+    }
+    entry = FileEntry.make( lastModified, length, content );
+    _files.put( path, entry );
+    _bChanged = true;
+    return entry;
+  }
+
+  private static long length( Path file )
+  {
+    try
+    {
+      return Files.size( file );
+    }
+    catch( IOException e )
+    {
+      return -1;
+    }
+  }
+
+  private static Path getIndexFile( Experiment experiment )
+  {
+    Path dir = PathUtil.create( LabFrame.getIndexDir(), "textindex" );
+    //noinspection ResultOfMethodCallIgnored
+    PathUtil.mkdirs( dir );
+    String projectLocationId = Integer.toHexString( PathUtil.getAbsolutePathName( experiment.getExperimentDir() ).hashCode() );
+    String projectId = experiment.getName().replace( ' ', '_' ) + "$" + projectLocationId;
+    return PathUtil.create( dir, projectId + "$trigrams.idx" );
+  }
+
+  static long[] trigrams( CharSequence text )
+  {
+    if( text.length() < 3 )
+    {
+      return new long[0];
+    }
+    long[] trigrams = new long[text.length() - 2];
+    for( int i = 0; i < trigrams.length; i++ )
+    {
+      trigrams[i] = trigram( text, i );
+    }
+    return trigrams;
+  }
+
+  private static long trigram( CharSequence text, int iStart )
+  {
+    return ((long)Character.toLowerCase( text.charAt( iStart ) ) << 32) |
+           ((long)Character.toLowerCase( text.charAt( iStart + 1 ) ) << 16) |
+           Character.toLowerCase( text.charAt( iStart + 2 ) );
+  }
+
+  private static long hash( long trigram )
+  {
+    long h = trigram * 0x9E3779B97F4A7C15L;
+    return h ^ (h >>> 29);
+  }
+
+  static final class FileEntry
+  {
+    private final long _lastModified;
+    private final long _length;
+    private final long[] _bits;
+
+    private FileEntry( long lastModified, long length, long[] bits )
+    {
+      _lastModified = lastModified;
+      _length = length;
+      _bits = bits;
+    }
+
+    static FileEntry make( long lastModified, long length, String content )
+    {
+      Set<Long> distinct = new HashSet<>();
+      for( long trigram: trigrams( content ) )
+      {
+        distinct.add( trigram );
+      }
+      int iBits = Math.max( 64, Integer.highestOneBit( Math.max( 1, distinct.size() * BITS_PER_TRIGRAM - 1 ) ) << 1 );
+      FileEntry entry = new FileEntry( lastModified, length, new long[iBits >>> 6] );
+      for( long trigram: distinct )
+      {
+        entry.add( trigram );
+      }
+      return entry;
+    }
+
+    private void add( long trigram )
+    {
+      long h = hash( trigram );
+      setBit( (int)h );
+      setBit( (int)(h >>> 32) );
+    }
+
+    boolean isCurrent( long lastModified, long length )
+    {
+      return _lastModified == lastModified && _length == length;
+    }
+
+    boolean mightContain( long trigram )
+    {
+      long h = hash( trigram );
+      return isSet( (int)h ) && isSet( (int)(h >>> 32) );
+    }
+
+    private void setBit( int iHash )
+    {
+      int iBit = iHash & ((_bits.length << 6) - 1);
+      _bits[iBit >>> 6] |= 1L << iBit;
+    }
+
+    private boolean isSet( int iHash )
+    {
+      int iBit = iHash & ((_bits.length << 6) - 1);
+      return (_bits[iBit >>> 6] & (1L << iBit)) != 0;
+    }
+
+    void write( DataOutputStream out ) throws IOException
+    {
+      out.writeLong( _lastModified );
+      out.writeLong( _length );
+      out.writeInt( _bits.length );
+      for( long word: _bits )
+      {
+        out.writeLong( word );
+      }
+    }
+
+    static FileEntry read( DataInputStream in ) throws IOException
+    {
+      long lastModified = in.readLong();
+      long length = in.readLong();
+      long[] bits = new long[in.readInt()];
+      for( int i = 0; i < bits.length; i++ )
+      {
+        bits[i] = in.readLong();
+      }
+      return new FileEntry( lastModified, length, bits );
+    }
+  }
+}
@@ -41,6 +41,11 @@ public class TextSearcher extends AbstractSearcher
       return false;
     }
 
+    if( !_regEx && !TextIndex.mightContain( tree, _pattern ) )
+    {
+      return false;
+    }
+
     // Search
 
     String content;
@@ -57,6 +57,7 @@ public class UsageSearcher extends AbstractSearcher
   private final UsageTarget _target;
   private final boolean _searchText;
   private boolean _includeMemberUsage;
+  private boolean _bLocal;
   private SearchTree _results;
 
   public UsageSearcher( UsageTarget target, boolean searchText, boolean includeMemberUsage )
@@ -85,6 +86,11 @@ public class UsageSearcher extends AbstractSearcher
       return maybeSearchForText( tree, results );
     }
 
+    if( !mightReference( tree ) )
+    {
+      return false;
+    }
+
     List<SearchLocation> locations = findUsage( (IGosuClass)type );
     if( locations.isEmpty() )
     {
@@ -113,6 +119,40 @@ public class UsageSearcher extends AbstractSearcher
     return true;
   }
 
+  /**
+   * A usage of a method or property always names it, so a file the text index says can't contain the
+   * name is skipped without parsing it.  Type and constructor usages can be implicit, e.g. an inferred
+   * var type or a super() call, so those searches parse every file.  Local searches look at the editor's
+   * class, which may not be saved, so they don't use the index either.
+   */
+  private boolean mightReference( FileTree tree )
+  {
+    if( _bLocal )
+    {
+      return true;
+    }
+
+    String name;
+    IFeatureInfo rootFi = _target.getRootFeatureInfo();
+    if( rootFi instanceof IPropertyInfo )
+    {
+      name = rootFi.getName();
+    }
+    else if( rootFi instanceof IMethodInfo )
+    {
+      name = rootFi.getDisplayName();
+      if( name.startsWith( "@" ) )
+      {
+        name = name.substring( 1 );
+      }
+    }
+    else
+    {
+      return true;
+    }
+    return TextIndex.mightContain( tree, name );
+  }
+
   List<SearchLocation> findUsage( IGosuClass gsClass )
   {
     gsClass.isValid();
@@ -737,6 +777,7 @@ public class UsageSearcher extends AbstractSearcher
       progress -> {
           progress.setLength( tree.getTotalFiles() );
           searchTree( tree, _results, ft -> ft.getType() instanceof IGosuClass, progress );
+          TextIndex.instance( LabFrame.instance().getGosuPanel().getExperiment() ).saveInBackground();
           bFinished[0] = true;
         } );
     new ModalEventQueue( () -> !bFinished[0] ).run();
@@ -748,6 +789,7 @@ public class UsageSearcher extends AbstractSearcher
     FileTree tree = FileTreeUtil.find( gosuPanel.getCurrentFile(), gosuPanel.getCurrentEditor().getParsedClass().getName() );
     IType type = tree.getType();
     SearchTree results = new SearchTree( "root", NodeKind.Directory, SearchTree.empty() );
+    _bLocal = true;
     searchTree( tree, results, ft -> ft.getType() instanceof IGosuClass, null );
     List<SearchLocation> locations = findLocations( results, new ArrayList<>() );
     SearchElement target = _target.getTargetElement();
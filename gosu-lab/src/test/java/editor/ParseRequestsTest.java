@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package editor;
+
+import java.awt.EventQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParseRequestsTest {
+
+  private static final int DELAY = 50;
+
+  @Test
+  public void testQuickEditsPostOneParse() throws Exception {
+    AtomicInteger parses = new AtomicInteger();
+    ParseRequests requests = new ParseRequests(DELAY, parses::incrementAndGet);
+    for (int i = 0; i < 5; i++) {
+      requests.parseLater();
+      Thread.sleep(DELAY / 5);
+    }
+    assertTrue(requests.isParsePending());
+    assertEquals(0, parses.get());
+
+    Thread.sleep(DELAY * 4);
+    flushEdt();
+    assertEquals(1, parses.get());
+    assertFalse(requests.isParsePending());
+  }
+
+  @Test
+  public void testNewRequestFlushesPendingParse() throws Exception {
+    AtomicInteger parses = new AtomicInteger();
+    ParseRequests requests = new ParseRequests(DELAY, parses::incrementAndGet);
+    requests.parseLater();
+    requests.newRequest();
+    assertFalse(requests.isParsePending());
+
+    Thread.sleep(DELAY * 4);
+    flushEdt();
+    assertEquals(0, parses.get());
+  }
+
+  @Test
+  public void testSupersededResultIsNotPublished() throws Exception {
+    AtomicInteger published = new AtomicInteger();
+    ParseRequests requests = new ParseRequests(DELAY, () -> {});
+    requests.setRunning(requests.newRequest());
+    assertFalse(requests.isSuperseded());
+
+    // An edit lands while the parse runs
+    requests.newRequest();
+    assertTrue(requests.isSuperseded());
+    requests.publish(published::incrementAndGet);
+    flushEdt();
+    assertEquals(0, published.get());
+  }
+
+  @Test
+  public void testResultSupersededBeforeReachingTheEdtIsNotPublished() throws Exception {
+    AtomicInteger published = new AtomicInteger();
+    ParseRequests requests = new ParseRequests(DELAY, () -> {});
+    requests.setRunning(requests.newRequest());
+    EventQueue.invokeAndWait(() -> {
+      requests.publish(published::incrementAndGet);
+      // The edit is handled on the EDT before the queued update runs
+      requests.newRequest();
+    });
+    flushEdt();
+    assertEquals(0, published.get());
+  }
+
+  @Test
+  public void testCurrentResultIsPublished() throws Exception {
+    AtomicInteger published = new AtomicInteger();
+    ParseRequests requests = new ParseRequests(DELAY, () -> {});
+    requests.setRunning(requests.newRequest());
+    requests.publish(published::incrementAndGet);
+    flushEdt();
+    assertEquals(1, published.get());
+  }
+
+  private static void flushEdt() throws Exception {
+    EventQueue.invokeAndWait(() -> {});
+  }
+}
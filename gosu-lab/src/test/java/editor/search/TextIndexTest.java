@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package editor.search;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TextIndexTest {
+
+  private Path _dir;
+  private Path _srcDir;
+  private Path _indexFile;
+
+  @Before
+  public void setUp() throws IOException {
+    _dir = Files.createTempDirectory("textindex");
+    _srcDir = Files.createDirectory(_dir.resolve("src"));
+    _indexFile = _dir.resolve("trigrams.idx");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> paths = Files.walk(_dir)) {
+      for (Path path : (Iterable<Path>)paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  @Test
+  public void testTrigrams() {
+    assertEquals(0, TextIndex.trigrams("").length);
+    assertEquals(0, TextIndex.trigrams("ab").length);
+    assertEquals(1, TextIndex.trigrams("abc").length);
+
+    long[] trigrams = TextIndex.trigrams("abcd");
+    assertEquals(2, trigrams.length);
+    assertNotEquals(trigrams[0], trigrams[1]);
+    assertEquals(TextIndex.trigrams("abc")[0], trigrams[0]);
+    assertEquals(TextIndex.trigrams("bcd")[0], trigrams[1]);
+    assertNotEquals(TextIndex.trigrams("abd")[0], trigrams[0]);
+    assertNotEquals(TextIndex.trigrams("bac")[0], trigrams[0]);
+
+    // Lower case, so one index serves case insensitive searches
+    assertArrayEquals(trigrams, TextIndex.trigrams("ABcD"));
+  }
+
+  @Test
+  public void testBloomFilterHasNoFalseNegatives() {
+    Random random = new Random(42);
+    for (int iLength : new int[]{3, 10, 100, 1000, 20000}) {
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < iLength; i++) {
+        sb.append((char)(' ' + random.nextInt(95)));
+      }
+      String content = sb.toString();
+      TextIndex.FileEntry entry = TextIndex.FileEntry.make(0, content.length(), content);
+      for (long trigram : TextIndex.trigrams(content)) {
+        assertTrue(entry.mightContain(trigram));
+      }
+    }
+  }
+
+  @Test
+  public void testMightContain() throws IOException {
+    Path file = write("Hello.gs", "class Hello {\n  function sayHello() {}\n}\n");
+    TextIndex index = newIndex();
+
+    assertTrue(index.mightContain(file, "sayHello"));
+    assertTrue(index.mightContain(file, "SAYHELLO"));
+    assertTrue(index.mightContain(file, "hello {"));
+    // Too short to have trigrams
+    assertTrue(index.mightContain(file, "zq"));
+    assertFalse(index.mightContain(file, "goodbye"));
+    assertTrue(index.isIndexed(file));
+  }
+
+  @Test
+  public void testSaveAndLoad() throws IOException {
+    Path file = write("Hello.gs", "class Hello {\n  function sayHello() {}\n}\n");
+    Path other = write("Other.gs", "class Other {}\n");
+    TextIndex index = newIndex();
+    assertTrue(index.mightContain(file, "sayHello"));
+    assertFalse(index.mightContain(other, "sayHello"));
+    index.saveIfChanged();
+    assertTrue(Files.isRegularFile(_indexFile));
+
+    TextIndex loaded = newIndex();
+    // Nothing is read from the files until they are searched
+    assertTrue(loaded.isIndexed(file));
+    assertTrue(loaded.isIndexed(other));
+    assertTrue(loaded.mightContain(file, "sayHello"));
+    assertFalse(loaded.mightContain(file, "goodbye"));
+    assertFalse(loaded.mightContain(other, "sayHello"));
+  }
+
+  @Test
+  public void testCorruptIndexIsIgnored() throws IOException {
+    Path file = write("Hello.gs", "class Hello {}\n");
+    Files.write(_indexFile, new byte[]{0, 0, 0, 2, 0, 0});
+    TextIndex index = newIndex();
+    assertFalse(index.isIndexed(file));
+    assertTrue(index.mightContain(file, "Hello"));
+  }
+
+  @Test
+  public void testChangedFileIsIndexedAgain() throws IOException {
+    Path file = write("Hello.gs", "class Hello {}\n");
+    TextIndex index = newIndex();
+    assertFalse(index.mightContain(file, "goodbye"));
+    assertTrue(index.isIndexed(file));
+
+    write("Hello.gs", "class Hello { var goodbye = 1 }\n");
+    assertFalse(index.isIndexed(file));
+    assertTrue(index.mightContain(file, "goodbye"));
+    assertTrue(index.isIndexed(file));
+  }
+
+  @Test
+  public void testChangeWithTheSameTimestampIsIndexedAgain() throws IOException {
+    Path file = write("Hello.gs", "class Hello {}\n");
+    FileTime time = Files.getLastModifiedTime(file);
+    TextIndex index = newIndex();
+    assertFalse(index.mightContain(file, "goodbye"));
+
+    // A change within the file system's timestamp resolution
+    write("Hello.gs", "class Hello { var goodbye = 1 }\n");
+    Files.setLastModifiedTime(file, time);
+    assertFalse(index.isIndexed(file));
+    assertTrue(index.mightContain(file, "goodbye"));
+  }
+
+  @Test
+  public void testStaleSavedEntryIsIndexedAgain() throws IOException {
+    Path file = write("Hello.gs", "class Hello {}\n");
+    TextIndex index = newIndex();
+    assertFalse(index.mightContain(file, "goodbye"));
+    index.saveIfChanged();
+
+    write("Hello.gs", "class Hello { var goodbye = 1 }\n");
+    TextIndex loaded = newIndex();
+    assertFalse(loaded.isIndexed(file));
+    assertTrue(loaded.mightContain(file, "goodbye"));
+  }
+
+  @Test
+  public void testInvalidate() throws IOException {
+    Path file = write("Hello.gs", "class Hello {}\n");
+    TextIndex index = newIndex();
+    assertFalse(index.mightContain(file, "goodbye"));
+    assertTrue(index.isIndexed(file));
+
+    index.invalidate(file);
+    assertFalse(index.isIndexed(file));
+  }
+
+  @Test
+  public void testDeletedFileCanContainAnything() throws IOException {
+    Path file = write("Hello.gs", "class Hello {}\n");
+    TextIndex index = newIndex();
+    assertFalse(index.mightContain(file, "goodbye"));
+
+    Files.delete(file);
+    assertFalse(index.isIndexed(file));
+    // The searcher reports it can't read the file
+    assertTrue(index.mightContain(file, "goodbye"));
+  }
+
+  private TextIndex newIndex() {
+    return new TextIndex("test", Collections.singletonList(_srcDir.toString()), _indexFile);
+  }
+
+  private Path write(String name, String content) throws IOException {
+    return Files.write(_srcDir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+  }
+}
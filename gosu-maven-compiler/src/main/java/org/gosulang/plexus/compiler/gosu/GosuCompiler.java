@@ -34,6 +34,9 @@ import java.util.regex.Pattern;
 
 public class GosuCompiler extends AbstractCompiler {
 
+  /** Set to true to have gosuc recompile only the changed sources and their dependents, see CommandLineOptions#isIncremental() */
+  public static final String INCREMENTAL_PROPERTY = "gosuc.incremental";
+
   public GosuCompiler() {
     super(CompilerOutputStyle.ONE_OUTPUT_FILE_PER_INPUT_FILE, "", ".class", null); // see MCOMPILER-199, mentioned in AbstractCompileMojo#getCompileSources.  It appears the empty string is the only workaround to have more than one static file suffix.
   }
@@ -247,6 +250,11 @@ public class GosuCompiler extends AbstractCompiler {
     if(config.isVerbose()) {
       fileOutput.add("-verbose");
     }
+
+    // Maven hands over every source when any is stale; gosuc's dependency index narrows that down
+    if(Boolean.getBoolean(INCREMENTAL_PROPERTY)) {
+      fileOutput.add("-incremental");
+    }
   }
 
   private List<CompilerMessage> parseMessages(int exitCode, String sysout) {
@@ -0,0 +1,213 @@
+package gw.internal.gosu.compiler
+uses gw.test.TestClass
+uses gw.lang.reflect.interval.IntegerInterval
+uses gw.lang.reflect.interval.LongInterval
+uses java.lang.IllegalArgumentException
+uses java.lang.Integer
+uses java.lang.Long
+uses java.util.ArrayList
+uses java.util.List
+
+class ForeachIntervalTest extends TestClass {
+
+  function testClosedInterval() {
+    var res = new ArrayList<Integer>()
+    for( i in 1..4 ) {
+      res.add( i )
+    }
+    assertEquals( {1, 2, 3, 4}, res )
+  }
+
+  function testOpenEndpoints() {
+    var n = 4
+    var res = new ArrayList<Integer>()
+    for( i in 1..|n ) {
+      res.add( i )
+    }
+    assertEquals( {1, 2, 3}, res )
+    res.clear()
+    for( i in 1|..n ) {
+      res.add( i )
+    }
+    assertEquals( {2, 3, 4}, res )
+    res.clear()
+    for( i in 1|..|n ) {
+      res.add( i )
+    }
+    assertEquals( {2, 3}, res )
+  }
+
+  function testEmptyIntervals() {
+    var count = 0
+    for( i in 3..|3 ) {
+      count++
+    }
+    for( i in 3|..3 ) {
+      count++
+    }
+    for( i in 3|..|3 ) {
+      count++
+    }
+    for( i in 3|..|4 ) {
+      count++
+    }
+    assertEquals( 0, count )
+    for( i in 3..3 ) {
+      count++
+    }
+    assertEquals( 1, count )
+  }
+
+  function testMatchesTheIntervalIterator() {
+    var res = new ArrayList<Integer>()
+    for( i in 4..1 ) {
+      res.add( i )
+    }
+    assertEquals( {4, 3, 2, 1}, res )
+    res.clear()
+    for( i in 5|..1 ) {
+      res.add( i )
+    }
+    assertEquals( {4, 3, 2, 1}, res )
+    res.clear()
+    for( i in 5..|1 ) {
+      res.add( i )
+    }
+    assertEquals( {5, 4, 3, 2}, res )
+    for( lhs in 0..5 ) {
+      for( rhs in 0..5 ) {
+        var closed = new ArrayList<Integer>()
+        for( i in lhs..rhs ) {
+          closed.add( i )
+        }
+        assertEquals( toList( lhs..rhs ), closed )
+        var leftOpen = new ArrayList<Integer>()
+        for( i in lhs|..rhs ) {
+          leftOpen.add( i )
+        }
+        assertEquals( toList( lhs|..rhs ), leftOpen )
+        var rightOpen = new ArrayList<Integer>()
+        for( i in lhs..|rhs ) {
+          rightOpen.add( i )
+        }
+        assertEquals( toList( lhs..|rhs ), rightOpen )
+        var open = new ArrayList<Integer>()
+        for( i in lhs|..|rhs ) {
+          open.add( i )
+        }
+        assertEquals( toList( lhs|..|rhs ), open )
+      }
+    }
+  }
+
+  function testStep() {
+    var res = new ArrayList<Integer>()
+    for( i in (0..10).step( 3 ) ) {
+      res.add( i )
+    }
+    assertEquals( {0, 3, 6, 9}, res )
+    for( lhs in 0..7 ) {
+      for( rhs in 0..7 ) {
+        for( step in 1..4 ) {
+          var expected = toList( (lhs|..|rhs).step( step ) )
+          var actual = new ArrayList<Integer>()
+          for( i in (lhs|..|rhs).step( step ) ) {
+            actual.add( i )
+          }
+          assertEquals( expected, actual )
+        }
+      }
+    }
+    assertCausesException( \ -> { for( i in (0..10).step( 0 ) ) {} }, IllegalArgumentException )
+  }
+
+  function testLongInterval() {
+    var res = new ArrayList<Long>()
+    var from = 5000000000L
+    for( l in from..(from + 2) ) {
+      res.add( l )
+    }
+    assertEquals( {5000000000L, 5000000001L, 5000000002L}, res )
+    res.clear()
+    for( l in ((from + 4)..from).step( 2 ) ) {
+      res.add( l )
+    }
+    assertEquals( {5000000004L, 5000000002L, 5000000000L}, res )
+  }
+
+  function testEndpointsAtTheLimits() {
+    var count = 0
+    for( i in (Integer.MAX_VALUE - 2)..Integer.MAX_VALUE ) {
+      count++
+    }
+    assertEquals( 3, count )
+    count = 0
+    for( i in Integer.MIN_VALUE..(Integer.MIN_VALUE + 1) ) {
+      count++
+    }
+    assertEquals( 2, count )
+  }
+
+  function testIndexAndCapture() {
+    var blocks = new ArrayList<block():int>()
+    var indexes = new ArrayList<Integer>()
+    for( i in 10..12 index idx ) {
+      indexes.add( idx )
+      blocks.add( \ -> i )
+    }
+    assertEquals( {0, 1, 2}, indexes )
+    assertEquals( {10, 11, 12}, blocks.map( \ b -> b() ) )
+  }
+
+  function testBreakAndContinue() {
+    var res = new ArrayList<Integer>()
+    for( i in 0..10 ) {
+      if( i % 2 == 0 ) {
+        continue
+      }
+      if( i > 6 ) {
+        break
+      }
+      res.add( i )
+    }
+    assertEquals( {1, 3, 5}, res )
+  }
+
+  function testEndpointsEvaluatedOnce() {
+    var calls = 0
+    var sum = 0
+    for( i in 1..nextCount( \ -> { calls++ } ) ) {
+      sum += i
+    }
+    assertEquals( 1, calls )
+    assertEquals( 6, sum )
+  }
+
+  function testIntervalValuesStillIterate() {
+    var interval : IntegerInterval = 1..3
+    var res = new ArrayList<Integer>()
+    for( i in interval ) {
+      res.add( i )
+    }
+    assertEquals( {1, 2, 3}, res )
+    var longInterval : LongInterval = 1L..3L
+    var longs = new ArrayList<Long>()
+    for( l in longInterval ) {
+      longs.add( l )
+    }
+    assertEquals( {1L, 2L, 3L}, longs )
+  }
+
+  private function nextCount( onCall : block() ) : int {
+    onCall()
+    return 3
+  }
+
+  private function toList( interval : IntegerInterval ) : List<Integer> {
+    var res = new ArrayList<Integer>()
+    for( e in interval ) {
+      res.add( e )
+    }
+    return res
+  }
+}
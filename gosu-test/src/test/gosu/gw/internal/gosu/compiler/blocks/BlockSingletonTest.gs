@@ -0,0 +1,49 @@
+package gw.internal.gosu.compiler.blocks
+
+class BlockSingletonTest extends gw.test.TestClass
+{
+  static function nonCapturing() : block(x:int):int {
+    return \ x -> x + 1
+  }
+
+  static function capturing( i : int ) : block(x:int):int {
+    return \ x -> x + i
+  }
+
+  static function otherNonCapturing() : block(x:int):int {
+    return \ x -> x + 1
+  }
+
+  function instanceBlock() : block(x:int):int {
+    return \ x -> x + 1
+  }
+
+  function testNonCapturingStaticBlockIsShared() {
+    var blk = nonCapturing()
+    assertSame( blk, nonCapturing() )
+    assertEquals( 2, blk( 1 ) )
+  }
+
+  function testDistinctBlockExpressionsAreNotShared() {
+    assertNotSame( nonCapturing(), otherNonCapturing() )
+  }
+
+  function testCapturingBlockIsNotShared() {
+    var blk = capturing( 1 )
+    assertNotSame( blk, capturing( 1 ) )
+    assertEquals( 3, capturing( 2 )( 1 ) )
+  }
+
+  function testBlockWithOuterInstanceIsNotShared() {
+    assertNotSame( instanceBlock(), instanceBlock() )
+    assertEquals( 2, instanceBlock()( 1 ) )
+  }
+
+  function testSharedBlockInLoop() {
+    var blocks = new java.util.ArrayList<block(x:int):int>()
+    for( i in 0..2 ) {
+      blocks.add( nonCapturing() )
+    }
+    assertSame( blocks[0], blocks[2] )
+  }
+}
@@ -0,0 +1,90 @@
+package gw.internal.gosu.compiler.blocks
+
+uses gw.lang.function.IDoubleToBooleanFunction1
+uses gw.lang.function.IFunction1
+uses gw.lang.function.IIntToIntFunction1
+uses gw.lang.function.IIntToIntFunction2
+uses gw.lang.function.ILongToLongFunction1
+uses gw.lang.function.IToIntFunction1
+uses java.lang.Integer
+uses java.util.function.IntUnaryOperator
+uses java.util.function.ToIntFunction
+
+class PrimitiveBlockTest extends gw.test.TestClass
+{
+  function testExpressionBlocksImplementPrimitiveInterfaces() {
+    var intBlock = \ x : int -> x * 2
+    assertTrue( (intBlock as Object) typeis IIntToIntFunction1 )
+    assertEquals( 6, ((intBlock as Object) as IIntToIntFunction1).invokeInt( 3 ) )
+
+    var longBlock = \ x : long -> x + 1
+    assertTrue( (longBlock as Object) typeis ILongToLongFunction1 )
+
+    var doubleBlock = \ x : double -> x > 0.5
+    assertTrue( (doubleBlock as Object) typeis IDoubleToBooleanFunction1 )
+
+    var binary = \ x : int, y : int -> x + y
+    assertTrue( (binary as Object) typeis IIntToIntFunction2 )
+
+    var toInt = \ s : String -> s.length()
+    assertTrue( (toInt as Object) typeis IToIntFunction1 )
+    assertEquals( 3, ((toInt as Object) as IToIntFunction1<String>).invokeInt( "abc" ) )
+  }
+
+  function testErasedInvokeStillWorks() {
+    var intBlock = \ x : int -> x * 2
+    assertEquals( 6, ((intBlock as Object) as IFunction1).invoke( 3 ) )
+  }
+
+  function testStatementBlocksOnlyImplementErasedInterfaces() {
+    var intBlock = \ x : int -> { return x * 2 }
+    assertFalse( (intBlock as Object) typeis IIntToIntFunction1 )
+    assertEquals( 6, intBlock( 3 ) )
+  }
+
+  function testInvocation() {
+    var intBlock = \ x : int -> x * 2
+    assertEquals( 6, intBlock( 3 ) )
+    var binary = \ x : int, y : int -> x + y
+    assertEquals( 7, binary( 3, 4 ) )
+    var toInt = \ s : String -> s.length()
+    assertEquals( 3, toInt( "abc" ) )
+    var pred = \ x : double -> x > 0.5
+    assertTrue( pred( 1.0 ) )
+    assertFalse( pred( 0.0 ) )
+  }
+
+  function testInvocationOfBlockWithoutPrimitiveInterface() {
+    // Typed as a primitive block, but compiled with a statement body so only the erased path applies
+    var intBlock : block(x:int):int = \ x : int -> { return x + 1 }
+    assertEquals( 4, intBlock( 3 ) )
+  }
+
+  function testCoercionToJavaFunctionalInterfaces() {
+    var op : IntUnaryOperator = \ x : int -> x * 3
+    assertEquals( 9, op.applyAsInt( 3 ) )
+    var toInt : ToIntFunction<String> = \ s : String -> s.length()
+    assertEquals( 2, toInt.applyAsInt( "ab" ) )
+  }
+
+  function testPrimitiveArrayOverloads() {
+    var ints : int[] = {1, 2, 3, 4}
+    assertEquals( 20, ints.sum( \ i -> i * 2 ) )
+    assertTrue( java.util.Arrays.equals( new int[]{2, 4}, ints.where( \ i -> i % 2 == 0 ) ) )
+    assertEquals( 24, ints.reduce( 1, \ product, i -> product * i ) )
+
+    var longs : long[] = {1, 2, 3}
+    assertEquals( 6L, longs.sum( \ l -> l ) )
+    assertEquals( 6L, longs.reduce( 0, \ sum, l -> sum + l ) )
+
+    var doubles : double[] = {0.5, 1.5}
+    assertEquals( 4.0, doubles.sum( \ d -> d * 2 ), 0.0 )
+    assertEquals( 1, doubles.where( \ d -> d > 1 ).length )
+  }
+
+  function testObjectSumsUsePrimitiveMappers() {
+    var list : List<Integer> = {1, 2, 3}
+    assertEquals( 6, list.sum( \ i -> i as int ) )
+    assertEquals( 6L, list.sum( \ i -> i as long ) )
+  }
+}
@@ -0,0 +1,9 @@
+package gw.internal.gosu.compiler.sample.statement.classes
+
+class CachedBase
+{
+  function base() : int
+  {
+    return 1
+  }
+}
@@ -0,0 +1,9 @@
+package gw.internal.gosu.compiler.sample.statement.classes
+
+class CachedLeaf extends CachedMiddle
+{
+  function leaf() : int
+  {
+    return 3
+  }
+}
@@ -0,0 +1,9 @@
+package gw.internal.gosu.compiler.sample.statement.classes
+
+class CachedMiddle extends CachedBase
+{
+  function middle() : int
+  {
+    return 2
+  }
+}
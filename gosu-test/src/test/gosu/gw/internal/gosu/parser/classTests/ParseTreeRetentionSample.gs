@@ -0,0 +1,23 @@
+package gw.internal.gosu.parser.classTests
+
+uses java.util.ArrayList
+uses java.util.List
+
+class ParseTreeRetentionSample {
+
+  function evens( count : int ) : List<Integer> {
+    var res = new ArrayList<Integer>()
+    for( i in 0..|count ) {
+      res.add( new Doubler( i ).Value )
+    }
+    return res
+  }
+
+  static class Doubler {
+    var _value : int as Value
+
+    construct( value : int ) {
+      _value = value * 2
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package gw.internal.gosu.parser.classTests.warmup
+
+abstract class TokenizedShape {
+
+  abstract property get Area() : double
+
+  function describe() : String {
+    return typeof( this ).RelativeName + " " + Area
+  }
+}
@@ -0,0 +1,13 @@
+package gw.internal.gosu.parser.classTests.warmup
+
+class TokenizedSquare extends TokenizedShape {
+  var _side : double
+
+  construct( side : double ) {
+    _side = side
+  }
+
+  override property get Area() : double {
+    return _side * _side
+  }
+}
@@ -0,0 +1,8 @@
+package gw.internal.gosu.parser.classTests.warmup
+
+class WarmUpBase {
+
+  function greet( name : String ) : String {
+    return "Hello " + name
+  }
+}
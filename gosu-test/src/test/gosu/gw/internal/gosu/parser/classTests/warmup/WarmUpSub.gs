@@ -0,0 +1,8 @@
+package gw.internal.gosu.parser.classTests.warmup
+
+class WarmUpSub extends WarmUpBase {
+
+  override function greet( name : String ) : String {
+    return super.greet( name.toUpperCase() )
+  }
+}
@@ -0,0 +1,11 @@
+package gw.internal.gosu.parser.classTests.warmup
+
+uses java.util.List
+
+class WarmUpUser {
+
+  function greetAll( names : List<String> ) : List<String> {
+    var greeter : WarmUpBase = new WarmUpSub()
+    return names.map( \ name -> greeter.greet( name ) )
+  }
+}
@@ -0,0 +1,60 @@
+package gw.internal.gosu.regression
+
+uses gw.test.TestClass
+uses java.lang.IndexOutOfBoundsException
+uses java.util.ArrayList
+
+/**
+ * Blocks accessing protected members inherited from a Java class in another package can't use
+ * direct bytecode access, so these go through reflective call sites.
+ */
+class ProtectedMemberAccessFromBlockTest extends TestClass {
+
+  function testProtectedMethodCallFromBlock() {
+    var list = new TrimmableList()
+    list.addAll( {"a", "b", "c", "d", "e", "f"} )
+    for( i in 0..1 ) {
+      list.trimInBlock( 0, 2 )
+    }
+    assertEquals( {"e", "f"}, list )
+  }
+
+  function testProtectedFieldReadAndWriteFromBlock() {
+    var list = new TrimmableList()
+    var start = list.modCountInBlock()
+    for( i in 1..3 ) {
+      assertEquals( start + i * 5, list.bumpModCountInBlock( 5 ) )
+    }
+  }
+
+  function testExceptionFromProtectedMethodIsNotWrapped() {
+    var list = new TrimmableList()
+    try {
+      list.trimInBlock( 0, 10 )
+      fail( "Expected IndexOutOfBoundsException" )
+    }
+    catch( e : IndexOutOfBoundsException ) {
+      // expected
+    }
+  }
+
+  static class TrimmableList extends ArrayList<String> {
+    function trimInBlock( from : int, to : int ) {
+      var trim = \-> removeRange( from, to )
+      trim()
+    }
+
+    function modCountInBlock() : int {
+      var read = \-> modCount
+      return read()
+    }
+
+    function bumpModCountInBlock( delta : int ) : int {
+      var bump = \-> {
+        modCount = modCount + delta
+        return modCount
+      }
+      return bump()
+    }
+  }
+}
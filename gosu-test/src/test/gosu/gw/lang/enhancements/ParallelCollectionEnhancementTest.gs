@@ -0,0 +1,89 @@
+package gw.lang.enhancements
+
+uses gw.test.TestClass
+uses gw.util.concurrent.ParallelCollectionUtil
+uses java.lang.Double
+uses java.lang.Integer
+uses java.lang.Thread
+uses java.math.BigDecimal
+uses java.math.BigInteger
+uses java.util.ArrayList
+uses java.util.Collections
+uses java.util.HashSet
+uses java.util.List
+
+class ParallelCollectionEnhancementTest extends TestClass {
+
+  var _oldThreshold : int
+  var _list : List<Integer>
+
+  override function beforeTestMethod() {
+    super.beforeTestMethod()
+    _oldThreshold = ParallelCollectionUtil.Threshold
+    ParallelCollectionUtil.Threshold = 0
+    _list = new ArrayList<Integer>()
+    for( i in 1..10000 ) {
+      _list.add( i )
+    }
+  }
+
+  override function afterTestMethod( possibleException : java.lang.Throwable ) {
+    ParallelCollectionUtil.Threshold = _oldThreshold
+    super.afterTestMethod( possibleException )
+  }
+
+  function testParallelMapKeepsOrder() {
+    assertEquals( _list.map( \ i -> i * 2 ), _list.parallelMap( \ i -> i * 2 ) )
+    assertTrue( new ArrayList<Integer>().parallelMap( \ i -> i * 2 ).Empty )
+  }
+
+  function testParallelWhereKeepsOrder() {
+    assertEquals( _list.where( \ i -> i % 3 == 0 ), _list.parallelWhere( \ i -> i % 3 == 0 ) )
+  }
+
+  function testParallelReduce() {
+    assertEquals( 50005000 as long, _list.parallelReduce( 0 as long, \ sum, i -> sum + i, \ sum1, sum2 -> sum1 + sum2 ) )
+  }
+
+  function testParallelPartition() {
+    var partitioned = _list.parallelPartition( \ i -> i % 3 == 0 ? null : i % 3 )
+    var expected = _list.partition( \ i -> i % 3 == 0 ? null : i % 3 )
+    assertEquals( expected, partitioned )
+    assertEquals( 3333, partitioned.get( null ).size() )
+  }
+
+  function testParallelSums() {
+    assertEquals( 50005000, _list.parallelSum( \ i -> i as int ) )
+    assertEquals( 50005000 as long, _list.parallelSum( \ i -> i as long ) )
+    assertEquals( 50005000.0, _list.parallelSum( \ i -> i as double ), 0.0 )
+    assertEquals( new BigDecimal( 50005000 ), _list.parallelSum( \ i -> new BigDecimal( i ) ) )
+    assertEquals( BigInteger.valueOf( 50005000 ), _list.parallelSum( \ i -> BigInteger.valueOf( i ) ) )
+  }
+
+  function testDoubleSumBelowThresholdMatchesSum() {
+    ParallelCollectionUtil.Threshold = 20000
+    var tenths = new ArrayList<Double>()
+    for( i in 1..10 ) {
+      tenths.add( 0.1 )
+    }
+    // Plain addition gives 0.9999999999999999, compensated summation would give 1.0
+    assertEquals( tenths.sum( \ d -> d as double ), tenths.parallelSum( \ d -> d as double ), 0.0 )
+    assertFalse( tenths.parallelSum( \ d -> d as double ) == 1.0 )
+  }
+
+  function testArrays() {
+    var arr = _list.toTypedArray()
+    assertArrayEquals( arr.map( \ i -> i + 1 ), arr.parallelMap( \ i -> i + 1 ) )
+    assertArrayEquals( arr.where( \ i -> i > 5000 ), arr.parallelWhere( \ i -> i > 5000 ) )
+    assertEquals( 50005000, arr.parallelSum( \ i -> i as int ) )
+    assertEquals( arr.partition( \ i -> i % 7 ), arr.parallelPartition( \ i -> i % 7 ) )
+  }
+
+  function testBelowThresholdRunsOnCallingThread() {
+    ParallelCollectionUtil.Threshold = 20000
+    var threads = Collections.synchronizedSet( new HashSet<Thread>() )
+    _list.parallelMap( \ i -> threads.add( Thread.currentThread() ) )
+    assertEquals( 1, threads.size() )
+    assertTrue( threads.contains( Thread.currentThread() ) )
+  }
+}
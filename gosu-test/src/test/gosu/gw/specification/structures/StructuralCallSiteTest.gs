@@ -0,0 +1,87 @@
+package gw.specification.structures
+
+uses gw.internal.gosu.runtime.InlineCacheRegistry
+uses gw.test.TestClass
+uses java.lang.CharSequence
+uses java.util.ArrayList
+
+class StructuralCallSiteTest extends TestClass {
+
+  function testPolymorphicReceiversInLoop() {
+    var results = new ArrayList<String>()
+    for( i in 0..1 ) {
+      for( obj in {new Duck(), new Robot(), new NominalQuacker()} ) {
+        var q : Quacker = obj
+        results.add( q.quack( i ) )
+      }
+    }
+    assertEquals( {"Duck0", "Robot0", "Nominal0", "Duck1", "Robot1", "Nominal1"}, results )
+  }
+
+  function testReceiverNeedingCoercionUsesProxy() {
+    // LooseNamer's parameter type is wider than the structure's, so no exact method match
+    for( i in 0..2 ) {
+      var n : Namer = new LooseNamer()
+      assertEquals( "loose:x" + i, n.name( "x" + i ) )
+    }
+  }
+
+  function testPrimitiveReturnAndVoidMethod() {
+    var c : Counter = new SimpleCounter()
+    for( i in 0..2 ) {
+      c.bump()
+    }
+    assertEquals( 3, c.count() )
+  }
+
+  function testMegamorphicSiteStillDispatches() {
+    var old = InlineCacheRegistry.getMegamorphicThreshold()
+    InlineCacheRegistry.setMegamorphicThreshold( 1 )
+    try {
+      var results = new ArrayList<String>()
+      for( obj in {new Duck(), new Robot(), new NominalQuacker(), new Duck()} ) {
+        var q : Quacker = obj
+        results.add( q.quack( 7 ) )
+      }
+      assertEquals( {"Duck7", "Robot7", "Nominal7", "Duck7"}, results )
+    }
+    finally {
+      InlineCacheRegistry.setMegamorphicThreshold( old )
+    }
+  }
+
+  structure Quacker {
+    function quack( i : int ) : String
+  }
+
+  structure Namer {
+    function name( s : String ) : CharSequence
+  }
+
+  structure Counter {
+    function bump()
+    function count() : int
+  }
+
+  static class Duck {
+    function quack( i : int ) : String { return "Duck" + i }
+  }
+
+  static class Robot {
+    function quack( i : int ) : String { return "Robot" + i }
+  }
+
+  static class NominalQuacker implements Quacker {
+    override function quack( i : int ) : String { return "Nominal" + i }
+  }
+
+  static class LooseNamer {
+    function name( s : CharSequence ) : String { return "loose:" + s }
+  }
+
+  static class SimpleCounter {
+    var _count : int
+    function bump() { _count++ }
+    function count() : int { return _count }
+  }
+}
@@ -0,0 +1,62 @@
+package gw.specification.typeDynamic
+
+uses dynamic.Dynamic
+uses java.util.ArrayList
+
+class DynamicMethodCallSiteTest extends gw.BaseVerifyErrantTest {
+
+  function testOverloadChosenByRuntimeArgTypesInLoop() {
+    var eater : Dynamic = new Eater()
+    var results = new ArrayList<String>()
+    for( i in 0..2 ) {
+      for( a in {new Chicken(), new Cow(), new Animal()} ) {
+        var d : Dynamic = a
+        results.add( eater.eat( d ) )
+      }
+    }
+    assertEquals( {"Chicken", "Cow", "Animal", "Chicken", "Cow", "Animal", "Chicken", "Cow", "Animal"}, results )
+  }
+
+  function testPolymorphicReceivers() {
+    var results = new ArrayList<String>()
+    for( i in 0..1 ) {
+      for( r in {new Eater(), new PickyEater()} ) {
+        var d : Dynamic = r
+        results.add( d.eat( new Chicken() ) )
+      }
+    }
+    assertEquals( {"Chicken", "Picky", "Chicken", "Picky"}, results )
+  }
+
+  function testArgumentCoercionThroughCallSite() {
+    var calc : Dynamic = new Calc()
+    for( i in 0..2 ) {
+      assertEquals( i * 2, calc.twice( i ) )
+    }
+  }
+
+  static class Animal {}
+  static class Chicken extends Animal {}
+  static class Cow extends Animal {}
+  static class Eater {
+    function eat( animal : Animal ) : String {
+      return "Animal"
+    }
+    function eat( chicken : Chicken ) : String {
+      return "Chicken"
+    }
+    function eat( cow : Cow ) : String {
+      return "Cow"
+    }
+  }
+  static class PickyEater {
+    function eat( animal : Animal ) : String {
+      return "Picky"
+    }
+  }
+  static class Calc {
+    function twice( l : long ) : long {
+      return l * 2
+    }
+  }
+}
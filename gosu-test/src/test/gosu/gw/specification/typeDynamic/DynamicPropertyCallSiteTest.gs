@@ -0,0 +1,111 @@
+package gw.specification.typeDynamic
+
+uses dynamic.Dynamic
+uses gw.internal.gosu.runtime.InlineCache
+uses gw.internal.gosu.runtime.InlineCacheRegistry
+uses gw.lang.reflect.Expando
+uses java.util.ArrayList
+uses java.util.List
+
+class DynamicPropertyCallSiteTest extends gw.BaseVerifyErrantTest {
+
+  function testPolymorphicDynamicPropertyRead() {
+    var before = InlineCacheRegistry.getCaches()
+    var values = new ArrayList<String>()
+    for( i in 0..3 ) {
+      for( obj in {new Red(), new Green(), new Blue()} ) {
+        var d : Dynamic = obj
+        values.add( d.Name )
+      }
+    }
+    assertEquals( {"Red", "Green", "Blue", "Red", "Green", "Blue", "Red", "Green", "Blue", "Red", "Green", "Blue"}, values )
+
+    // The first read from each class misses, the rest hit
+    var cache = findNewCache( before, "Name" )
+    assertEquals( 3, cache.ReceiverCount )
+    assertEquals( 3L, cache.Misses )
+    assertEquals( 9L, cache.Hits )
+    assertFalse( cache.Megamorphic )
+  }
+
+  function testPolymorphicDynamicPropertyWrite() {
+    var objs = {new Red(), new Green(), new Blue()}
+    var before = InlineCacheRegistry.getCaches()
+    for( i in 0..3 ) {
+      for( obj in objs ) {
+        var d : Dynamic = obj
+        d.Count = i
+      }
+    }
+    var cache = findNewCache( before, "Count" )
+    assertEquals( 3, cache.ReceiverCount )
+    assertEquals( 3L, cache.Misses )
+    assertEquals( 9L, cache.Hits )
+    for( obj in objs ) {
+      assertEquals( 3, obj.Count )
+    }
+  }
+
+  function testExpandoThroughCallSite() {
+    var e : Dynamic = new Expando()
+    for( i in 0..2 ) {
+      e.Count = i
+      assertEquals( i, e.Count )
+    }
+  }
+
+  function testMegamorphicSiteFallsBackToRuntimePath() {
+    var old = InlineCacheRegistry.getMegamorphicThreshold()
+    InlineCacheRegistry.setMegamorphicThreshold( 1 )
+    try {
+      var before = InlineCacheRegistry.getCaches()
+      var values = new ArrayList<String>()
+      for( obj in {new Red(), new Green(), new Blue(), new Red()} ) {
+        var d : Dynamic = obj
+        values.add( d.Name )
+      }
+      assertEquals( {"Red", "Green", "Blue", "Red"}, values )
+      var cache = findNewCache( before, "Name" )
+      assertTrue( cache.Megamorphic )
+      // Once megamorphic, nothing is cached and every read misses
+      assertEquals( 0L, cache.Hits )
+      assertEquals( 4L, cache.Misses )
+    }
+    finally {
+      InlineCacheRegistry.setMegamorphicThreshold( old )
+    }
+  }
+
+  function testMissingPropertyStillThrows() {
+    var d : Dynamic = new Red()
+    try {
+      var x = d.NoSuchProperty
+      fail( "Expected IllegalArgumentException" )
+    }
+    catch( e : IllegalArgumentException ) {
+      // expected
+    }
+  }
+
+  /**
+   * Finds the cache of the one call site for the property linked since the caches were listed
+   */
+  private function findNewCache( before : List<InlineCache>, propertyName : String ) : InlineCache {
+    var caches = InlineCacheRegistry.getCaches().where( \ c -> !before.contains( c ) and c.Name.endsWith( "#" + propertyName ) )
+    assertEquals( 1, caches.size() )
+    return caches.first()
+  }
+
+  static class Color {
+    var _count : int as Count
+  }
+  static class Red extends Color {
+    property get Name() : String { return "Red" }
+  }
+  static class Green extends Color {
+    property get Name() : String { return "Green" }
+  }
+  static class Blue extends Color {
+    property get Name() : String { return "Blue" }
+  }
+}
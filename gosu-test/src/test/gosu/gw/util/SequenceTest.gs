@@ -0,0 +1,140 @@
+package gw.util
+
+uses gw.test.TestClass
+uses java.lang.CharSequence
+uses java.lang.IllegalArgumentException
+uses java.lang.Integer
+uses java.util.ArrayList
+uses java.util.Iterator
+uses java.util.List
+uses java.util.NoSuchElementException
+
+class SequenceTest extends TestClass {
+
+  function testOperationsAreDeferredUntilATerminalOperation() {
+    var calls = 0
+    var seq = {1, 2, 3}.lazy().map( \ i -> { calls++; return i * 2 } )
+    assertEquals( 0, calls )
+    assertEquals( {2, 4, 6}, seq.toList() )
+    assertEquals( 3, calls )
+  }
+
+  function testFirstStopsAtTheFirstElement() {
+    var calls = 0
+    var first = {1, 2, 3, 4}.lazy().where( \ i -> { calls++; return i > 1 } ).map( \ i -> i * 10 ).first()
+    assertEquals( 20, first )
+    assertEquals( 2, calls )
+    assertNull( {}.lazy().first() )
+  }
+
+  function testHasMatchAndAllMatchShortCircuit() {
+    var calls = 0
+    assertTrue( {1, 2, 3}.lazy().hasMatch( \ i -> { calls++; return i == 1 } ) )
+    assertEquals( 1, calls )
+    calls = 0
+    assertFalse( {1, 2, 3}.lazy().allMatch( \ i -> { calls++; return i > 1 } ) )
+    assertEquals( 1, calls )
+    assertFalse( {1, 2, 3}.lazy().hasMatch( \ i -> i > 3 ) )
+    assertTrue( {1, 2, 3}.lazy().allMatch( \ i -> i > 0 ) )
+  }
+
+  function testTakeDoesNotPullPastTheCount() {
+    var calls = 0
+    var taken = {1, 2, 3, 4, 5}.lazy().map( \ i -> { calls++; return i } ).take( 2 ).toList()
+    assertEquals( {1, 2}, taken )
+    assertEquals( 2, calls )
+    assertEquals( {1, 2, 3, 4, 5}, {1, 2, 3, 4, 5}.lazy().take( 10 ).toList() )
+    assertTrue( {1, 2}.lazy().take( 0 ).toList().Empty )
+    assertCausesException( \ -> {1}.lazy().take( -1 ), IllegalArgumentException )
+  }
+
+  function testTakeOfAnInfiniteSource() {
+    var naturals = new NaturalsIterable()
+    assertEquals( {0, 2, 4}, naturals.lazy().where( \ i -> i % 2 == 0 ).take( 3 ).toList() )
+    assertEquals( {0, 1, 2}, naturals.lazy().takeWhile( \ i -> i < 3 ).toList() )
+  }
+
+  function testDropAndTakeWhile() {
+    assertEquals( {3, 4}, {1, 2, 3, 4}.lazy().drop( 2 ).toList() )
+    assertTrue( {1, 2}.lazy().drop( 5 ).toList().Empty )
+    assertEquals( {1, 2}, {1, 2, 3, 1}.lazy().takeWhile( \ i -> i < 3 ).toList() )
+  }
+
+  function testFlatMap() {
+    assertEquals( {1, 1, 3, 3}, {1, 2, 3}.lazy().flatMap( \ i -> i == 2 ? new ArrayList<Integer>() : {i, i} ).toList() )
+    assertEquals( {"a", "b", "c"}, {"ab", "", "c"}.lazy().flatMap( \ s -> s.toCharArray().map( \ c -> c as String ).toList() ).toList() )
+  }
+
+  function testWhereTypeIs() {
+    var objs : List<Object> = {"a", 1, "b", new StringBuilder( "c" )}
+    assertEquals( {"a", "b"}, objs.lazy().whereTypeIs( String ).toList() )
+    assertEquals( 3, objs.lazy().whereTypeIs( CharSequence ).Count )
+    assertEquals( {1}, objs.lazy().whereTypeIs( Integer ).toList() )
+  }
+
+  function testZip() {
+    var zipped = {1, 2, 3}.lazy().zip( {"a", "b"} ).toList()
+    assertEquals( 2, zipped.size() )
+    assertEquals( 1, zipped[0].First )
+    assertEquals( "b", zipped[1].Second )
+  }
+
+  function testTerminals() {
+    var seq = {1, 2, 3, 2}.lazy()
+    assertEquals( 4, seq.Count )
+    assertEquals( 8, seq.reduce( 0, \ sum, i -> sum + i ) )
+    assertEquals( {1, 2, 3}, seq.toSet().toList() )
+    assertEquals( 3, seq.firstWhere( \ i -> i > 2 ) )
+    assertNull( seq.firstWhere( \ i -> i > 3 ) )
+    var each = new ArrayList<Integer>()
+    seq.each( \ i -> each.add( i ) )
+    assertEquals( {1, 2, 3, 2}, each )
+  }
+
+  function testSequenceIsReiterableAndSeesSourceChanges() {
+    var list = new ArrayList<Integer>(){1, 2}
+    var seq = list.lazy().map( \ i -> i + 1 )
+    assertEquals( {2, 3}, seq.toList() )
+    list.add( 3 )
+    assertEquals( {2, 3, 4}, seq.toList() )
+    var sum = 0
+    for( i in seq ) {
+      sum += i
+    }
+    assertEquals( 9, sum )
+    assertEquals( {2, 3, 4}, seq.asIterable().toList() )
+  }
+
+  function testExhaustedIteratorThrows() {
+    var iter = {1, 2}.lazy().where( \ i -> i > 1 ).iterator()
+    assertTrue( iter.hasNext() )
+    assertTrue( iter.hasNext() )
+    assertEquals( 2, iter.next() )
+    assertFalse( iter.hasNext() )
+    assertCausesException( \ -> iter.next(), NoSuchElementException )
+  }
+
+  function testEagerMethodsAreUnchanged() {
+    var calls = 0
+    var mapped = {1, 2, 3}.map( \ i -> { calls++; return i } )
+    assertEquals( 3, calls )
+    assertEquals( {1, 2, 3}, mapped )
+  }
+
+  private static class NaturalsIterable implements Iterable<Integer> {
+    override function iterator() : Iterator<Integer> {
+      return new Iterator<Integer>() {
+        var _i = 0
+        override function hasNext() : boolean {
+          return true
+        }
+        override function next() : Integer {
+          var i = _i
+          _i++
+          return i
+        }
+        override function remove() {}
+      }
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.coercer;
+
+import gw.lang.reflect.IType;
+import gw.lang.reflect.TypeSystem;
+import gw.lang.reflect.gs.IGosuClass;
+import gw.lang.reflect.java.JavaTypes;
+import gw.test.TestClass;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class FunctionToInterfaceClassGeneratorTest extends TestClass {
+
+  public void testProxyClassIsReused() {
+    IType comparator = TypeSystem.get( Comparator.class );
+    IGosuClass proxy = FunctionToInterfaceClassGenerator.getBlockToInterfaceConversionClass( comparator, JavaTypes.OBJECT() );
+    assertNotNull( proxy );
+    assertTrue( proxy.getRelativeName().startsWith( FunctionToInterfaceClassGenerator.PROXY_FOR ) );
+    assertSame( proxy, FunctionToInterfaceClassGenerator.getBlockToInterfaceConversionClass( comparator, JavaTypes.OBJECT() ) );
+  }
+
+  public void testDistinctInterfacesGetDistinctProxies() {
+    IGosuClass runnable = FunctionToInterfaceClassGenerator.getBlockToInterfaceConversionClass( TypeSystem.get( Runnable.class ), JavaTypes.OBJECT() );
+    IGosuClass callable = FunctionToInterfaceClassGenerator.getBlockToInterfaceConversionClass( TypeSystem.get( Callable.class ), JavaTypes.OBJECT() );
+    assertNotSame( runnable, callable );
+  }
+
+  public void testConcurrentCoercionsShareOneProxy() throws Exception {
+    IType iface = TypeSystem.get( java.util.function.IntSupplier.class );
+    int iThreads = 8;
+    CountDownLatch start = new CountDownLatch( 1 );
+    ExecutorService executor = Executors.newFixedThreadPool( iThreads );
+    try {
+      List<Future<IGosuClass>> futures = new ArrayList<>();
+      for( int i = 0; i < iThreads; i++ ) {
+        futures.add( executor.submit( () -> {
+          start.await();
+          return FunctionToInterfaceClassGenerator.getBlockToInterfaceConversionClass( iface, JavaTypes.OBJECT() );
+        } ) );
+      }
+      start.countDown();
+      IGosuClass proxy = futures.get( 0 ).get();
+      assertNotNull( proxy );
+      for( Future<IGosuClass> future : futures ) {
+        assertSame( proxy, future.get() );
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+}
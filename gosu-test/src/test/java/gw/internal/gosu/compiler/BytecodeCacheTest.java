@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.compiler;
+
+import gw.lang.reflect.TypeSystem;
+import gw.lang.reflect.gs.BytecodeOptions;
+import gw.lang.reflect.gs.IGosuClass;
+import gw.lang.reflect.java.asm.AsmUtil;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Set;
+
+public class BytecodeCacheTest extends ByteCodeTestBase
+{
+  private static final String OUTER_FOO = "gw.internal.gosu.compiler.sample.statement.classes.inner.OuterFoo";
+  private static final String CACHED_BASE = "gw.internal.gosu.compiler.sample.statement.classes.CachedBase";
+  private static final String CACHED_LEAF = "gw.internal.gosu.compiler.sample.statement.classes.CachedLeaf";
+
+  private String _oldDir;
+  private File _dir;
+
+  @Override
+  public void beforeTestMethod()
+  {
+    super.beforeTestMethod();
+    _oldDir = BytecodeOptions.getBytecodeCacheDir();
+    try
+    {
+      _dir = Files.createTempDirectory( "gosu-bytecode-cache" ).toFile();
+    }
+    catch( Exception e )
+    {
+      throw new RuntimeException( e );
+    }
+    BytecodeOptions.setBytecodeCacheDir( _dir.getAbsolutePath() );
+  }
+
+  @Override
+  public void afterTestMethod( Throwable possibleException )
+  {
+    BytecodeOptions.setBytecodeCacheDir( _oldDir );
+    File[] files = _dir.listFiles();
+    if( files != null )
+    {
+      for( File file : files )
+      {
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+      }
+    }
+    //noinspection ResultOfMethodCallIgnored
+    _dir.delete();
+    super.afterTestMethod( possibleException );
+  }
+
+  public void testDisabledByDefault()
+  {
+    BytecodeOptions.setBytecodeCacheDir( null );
+    assertNull( BytecodeCache.instance() );
+  }
+
+  public void testSecondCompileIsServedFromCache()
+  {
+    IGosuClass type = (IGosuClass)TypeSystem.getByFullName( OUTER_FOO );
+    BytecodeCache cache = BytecodeCache.instance();
+    long lHits = cache.getHitCount();
+
+    byte[] compiled = GosuClassLoader.instance().getBytes( type );
+    assertEquals( 1, _dir.listFiles().length );
+    byte[] cached = GosuClassLoader.instance().getBytes( type );
+
+    assertEquals( lHits + 1, cache.getHitCount() );
+    assertTrue( Arrays.equals( compiled, cached ) );
+  }
+
+  public void testCorruptEntryIsAMiss() throws Exception
+  {
+    IGosuClass type = (IGosuClass)TypeSystem.getByFullName( OUTER_FOO );
+    BytecodeCache cache = BytecodeCache.instance();
+    GosuClassLoader.instance().getBytes( type );
+    File entry = _dir.listFiles()[0];
+    try( FileOutputStream out = new FileOutputStream( entry ) )
+    {
+      out.write( new byte[]{1, 2, 3} );
+    }
+
+    long lMisses = cache.getMissCount();
+    assertNull( cache.find( type ) );
+    assertEquals( lMisses + 1, cache.getMissCount() );
+  }
+
+  public void testEntryRecordsIndirectSupertypes()
+  {
+    IGosuClass leaf = (IGosuClass)TypeSystem.getByFullName( CACHED_LEAF );
+    GosuClassLoader.instance().getBytes( leaf );
+
+    // The leaf's bytecode names only its direct superclass
+    Set<String> deps = BytecodeCache.instance().getDependencies( leaf );
+    assertTrue( deps.toString(), deps.contains( "gw.internal.gosu.compiler.sample.statement.classes.CachedMiddle" ) );
+    assertTrue( deps.toString(), deps.contains( CACHED_BASE ) );
+  }
+
+  public void testChangedIndirectSupertypeRebuildsEntry()
+  {
+    IGosuClass leaf = (IGosuClass)TypeSystem.getByFullName( CACHED_LEAF );
+    BytecodeCache cache = BytecodeCache.instance();
+    GosuClassLoader.instance().getBytes( leaf );
+    assertNotNull( cache.find( leaf ) );
+
+    cache.setSourceFingerprint( CACHED_BASE, 42 );
+    long lMisses = cache.getMissCount();
+    assertNull( cache.find( leaf ) );
+    assertEquals( lMisses + 1, cache.getMissCount() );
+
+    // Compiled again and stored with the new fingerprint
+    long lHits = cache.getHitCount();
+    GosuClassLoader.instance().getBytes( leaf );
+    assertEquals( lHits, cache.getHitCount() );
+    assertNotNull( cache.find( leaf ) );
+    assertEquals( lHits + 1, cache.getHitCount() );
+  }
+
+  public void testReferencedClassNames()
+  {
+    IGosuClass type = (IGosuClass)TypeSystem.getByFullName( OUTER_FOO );
+    Set<String> names = AsmUtil.getReferencedClassNames( GosuClassLoader.instance().getBytes( type ) );
+    assertTrue( names.contains( OUTER_FOO ) );
+    assertTrue( names.contains( "java.lang.Object" ) );
+  }
+}
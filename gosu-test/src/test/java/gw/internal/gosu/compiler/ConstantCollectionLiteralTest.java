@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.compiler;
+
+import gw.lang.reflect.gs.BytecodeOptions;
+import gw.lang.reflect.gs.IGosuProgram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class ConstantCollectionLiteralTest extends ByteCodeTestBase
+{
+  private boolean _bOldConstantCollectionLiterals;
+
+  @Override
+  public void beforeTestMethod()
+  {
+    super.beforeTestMethod();
+    _bOldConstantCollectionLiterals = BytecodeOptions.isConstantCollectionLiterals();
+    BytecodeOptions.setConstantCollectionLiterals( true );
+  }
+
+  @Override
+  public void afterTestMethod( Throwable possibleException )
+  {
+    BytecodeOptions.setConstantCollectionLiterals( _bOldConstantCollectionLiterals );
+    super.afterTestMethod( possibleException );
+  }
+
+  public void testConstantListIsShared() throws Exception
+  {
+    List<?> lists = evaluateInLoop( "{1, 2}" );
+    assertSame( lists.get( 0 ), lists.get( 1 ) );
+    assertSame( lists.get( 0 ), lists.get( 2 ) );
+    assertEquals( Arrays.asList( 1, 2 ), lists.get( 0 ) );
+    assertUnmodifiable( (Collection)lists.get( 0 ) );
+  }
+
+  public void testConstantMapIsSharedAndKeepsInsertionOrder() throws Exception
+  {
+    List<?> maps = evaluateInLoop( "{\"c\" -> 1, \"a\" -> 2, \"b\" -> 3}" );
+    assertSame( maps.get( 0 ), maps.get( 1 ) );
+    Map<?, ?> map = (Map)maps.get( 0 );
+    assertEquals( Arrays.asList( "c", "a", "b" ), new ArrayList<>( map.keySet() ) );
+    try
+    {
+      //noinspection unchecked
+      ((Map)map).put( "d", 4 );
+      fail();
+    }
+    catch( UnsupportedOperationException e )
+    {
+      // expected
+    }
+  }
+
+  public void testLiteralWithVariableIsNew() throws Exception
+  {
+    List<?> lists = evaluateInLoop( "{1, x}" );
+    assertFresh( lists );
+    assertEquals( Arrays.asList( 1, 2 ), lists.get( 0 ) );
+  }
+
+  public void testLiteralWithCallIsNew() throws Exception
+  {
+    assertFresh( evaluateInLoop( "{1, java.lang.Math.abs( -2 )}" ) );
+  }
+
+  public void testMapLiteralWithVariableIsNew() throws Exception
+  {
+    assertFresh( evaluateInLoop( "{\"a\" -> x}" ) );
+  }
+
+  public void testExplicitNewIsNew() throws Exception
+  {
+    assertFresh( evaluateInLoop( "new java.util.ArrayList<Integer>() {1, 2}" ) );
+  }
+
+  public void testUnchangedWhenOff() throws Exception
+  {
+    BytecodeOptions.setConstantCollectionLiterals( false );
+    List<?> lists = evaluateInLoop( "{1, 2}" );
+    assertFresh( lists );
+    assertEquals( Arrays.asList( 1, 2 ), lists.get( 0 ) );
+    assertFresh( evaluateInLoop( "{\"a\" -> 1}" ) );
+  }
+
+  /**
+   * @return the values the literal evaluates to in three iterations of a loop, where x is 2
+   */
+  private static List<?> evaluateInLoop( String strLiteral ) throws Exception
+  {
+    return (List)IGosuProgram.Runner.runProgram(
+      "var x = 2\n" +
+      "var all = new java.util.ArrayList<Object>()\n" +
+      "for( i in 0..|3 ) {\n" +
+      "  var literal = " + strLiteral + "\n" +
+      "  all.add( literal )\n" +
+      "}\n" +
+      "return all" );
+  }
+
+  private static void assertFresh( List<?> values )
+  {
+    assertEquals( 3, values.size() );
+    assertNotSame( values.get( 0 ), values.get( 1 ) );
+    assertNotSame( values.get( 1 ), values.get( 2 ) );
+    assertEquals( values.get( 0 ), values.get( 1 ) );
+    if( values.get( 0 ) instanceof Map )
+    {
+      //noinspection unchecked
+      ((Map)values.get( 0 )).put( "b", 3 );
+    }
+    else
+    {
+      //noinspection unchecked
+      ((Collection)values.get( 0 )).add( 3 );
+    }
+    assertFalse( values.get( 0 ).equals( values.get( 1 ) ) );
+  }
+
+  private static void assertUnmodifiable( Collection collection )
+  {
+    try
+    {
+      //noinspection unchecked
+      collection.add( 3 );
+      fail();
+    }
+    catch( UnsupportedOperationException e )
+    {
+      // expected
+    }
+  }
+}
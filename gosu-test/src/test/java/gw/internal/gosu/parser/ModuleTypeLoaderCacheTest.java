@@ -0,0 +1,235 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.parser;
+
+import gw.fs.IDirectory;
+import gw.internal.gosu.module.Module;
+import gw.lang.reflect.IType;
+import gw.lang.reflect.RefreshKind;
+import gw.lang.reflect.TypeLoaderBase;
+import gw.lang.reflect.TypeSystem;
+import gw.test.TestClass;
+import gw.testloader.WrappingTestType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ */
+public class ModuleTypeLoaderCacheTest extends TestClass
+{
+  public void testRepeatedLookupReturnsCachedType()
+  {
+    IType type = TypeSystem.getByFullNameIfValid( "java.lang.StringBuilder" );
+    assertNotNull( type );
+    assertSame( type, TypeSystem.getByFullNameIfValid( "java.lang.StringBuilder" ) );
+    assertSame( type.getArrayType(), TypeSystem.getByFullNameIfValid( "java.lang.StringBuilder[]" ) );
+  }
+
+  public void testMissIsCached()
+  {
+    assertNull( TypeSystem.getByFullNameIfValid( "gw.internal.gosu.parser.NoSuchType" ) );
+    assertTrue( getModuleTypeLoader().getCachedType( "gw.internal.gosu.parser.NoSuchType" ) instanceof ErrorType );
+    assertNull( TypeSystem.getByFullNameIfValid( "gw.internal.gosu.parser.NoSuchType" ) );
+  }
+
+  public void testClearErrorTypesForgetsMisses()
+  {
+    assertNull( TypeSystem.getByFullNameIfValid( "gw.internal.gosu.parser.NoSuchType2" ) );
+    TypeSystem.clearErrorTypes();
+    assertNull( getModuleTypeLoader().getCachedType( "gw.internal.gosu.parser.NoSuchType2" ) );
+  }
+
+  public void testLoadingATypeKeepsOtherEntries()
+  {
+    IType type = TypeSystem.getByFullNameIfValid( "java.util.concurrent.ConcurrentLinkedDeque" );
+    assertNotNull( type );
+    assertSame( type, TypeSystem.getByFullNameIfValid( "java.util.concurrent.ConcurrentLinkedDeque" ) );
+    assertTrue( getModuleTypeLoader().isInFlatCache( "java.util.concurrent.ConcurrentLinkedDeque" ) );
+
+    assertNotNull( TypeSystem.getByFullNameIfValid( "java.util.concurrent.LinkedTransferQueue" ) );
+    assertNull( TypeSystem.getByFullNameIfValid( "gw.internal.gosu.parser.NoSuchType3" ) );
+    assertTrue( getModuleTypeLoader().isInFlatCache( "java.util.concurrent.ConcurrentLinkedDeque" ) );
+    assertTrue( getModuleTypeLoader().isInFlatCache( "java.util.concurrent.LinkedTransferQueue" ) );
+  }
+
+  public void testConcurrentLookupsAgree() throws InterruptedException
+  {
+    final List<IType> found = Collections.synchronizedList( new ArrayList<IType>() );
+    final CountDownLatch start = new CountDownLatch( 1 );
+    List<Thread> threads = new ArrayList<Thread>();
+    for( int i = 0; i < 4; i++ )
+    {
+      Thread thread = new Thread( new Runnable()
+      {
+        public void run()
+        {
+          try
+          {
+            start.await();
+          }
+          catch( InterruptedException e )
+          {
+            return;
+          }
+          for( int j = 0; j < 100; j++ )
+          {
+            found.add( TypeSystem.getByFullNameIfValid( "java.util.concurrent.ConcurrentSkipListMap" ) );
+          }
+        }
+      } );
+      thread.start();
+      threads.add( thread );
+    }
+    start.countDown();
+    for( Thread thread : threads )
+    {
+      thread.join();
+    }
+    assertEquals( 400, found.size() );
+    IType type = TypeSystem.getByFullNameIfValid( "java.util.concurrent.ConcurrentSkipListMap" );
+    assertNotNull( type );
+    for( IType t : found )
+    {
+      assertSame( type, t );
+    }
+  }
+
+  public void testConcurrentMissThenDefine() throws InterruptedException
+  {
+    final String strName = "gw.internal.gosu.parser.DefinedLater";
+    ModuleTypeLoader moduleLoader = getModuleTypeLoader();
+    DefinableTypeLoader loader = new DefinableTypeLoader( strName );
+    moduleLoader.pushTypeLoader( loader );
+    try
+    {
+      assertNull( TypeSystem.getByFullNameIfValid( strName ) );
+      assertTrue( moduleLoader.getCachedType( strName ) instanceof ErrorType );
+
+      final List<IType> found = Collections.synchronizedList( new ArrayList<IType>() );
+      final CountDownLatch start = new CountDownLatch( 1 );
+      final long lDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos( 30 );
+      List<Thread> threads = new ArrayList<Thread>();
+      for( int i = 0; i < 4; i++ )
+      {
+        Thread thread = new Thread( new Runnable()
+        {
+          public void run()
+          {
+            try
+            {
+              start.await();
+            }
+            catch( InterruptedException e )
+            {
+              return;
+            }
+            // Keep looking the name up, and caching the miss, until the type is defined
+            IType type = null;
+            while( type == null && System.nanoTime() < lDeadline )
+            {
+              type = TypeSystem.getByFullNameIfValid( strName );
+            }
+            found.add( type );
+          }
+        } );
+        thread.start();
+        threads.add( thread );
+      }
+      start.countDown();
+      loader.define();
+      // How the type system learns of a new type that was a miss
+      TypeSystem.clearErrorTypes();
+      for( Thread thread : threads )
+      {
+        thread.join();
+      }
+
+      IType type = TypeSystem.getByFullNameIfValid( strName );
+      assertNotNull( type );
+      assertEquals( 4, found.size() );
+      for( IType t : found )
+      {
+        assertSame( type, t );
+      }
+      assertSame( type, moduleLoader.getCachedType( strName ) );
+      assertSame( type, TypeSystem.getByFullNameIfValid( strName ) );
+    }
+    finally
+    {
+      moduleLoader.removeTypeLoader( DefinableTypeLoader.class );
+    }
+  }
+
+  private ModuleTypeLoader getModuleTypeLoader()
+  {
+    return ((Module)TypeSystem.getCurrentModule()).getModuleTypeLoader();
+  }
+
+  /**
+   * Knows one type, but only once it's defined
+   */
+  private static class DefinableTypeLoader extends TypeLoaderBase
+  {
+    private final String _strName;
+    private volatile IType _type;
+
+    DefinableTypeLoader( String strName )
+    {
+      super( TypeSystem.getCurrentModule() );
+      _strName = strName;
+    }
+
+    void define()
+    {
+      _type = TypeSystem.getOrCreateTypeReference( new WrappingTestType( this, _strName, TypeSystem.get( StringBuilder.class ) ) );
+    }
+
+    @Override
+    public IType getType( String fullyQualifiedName )
+    {
+      return _strName.equals( fullyQualifiedName ) ? _type : null;
+    }
+
+    @Override
+    public Set<String> computeTypeNames()
+    {
+      return _type == null ? Collections.<String>emptySet() : Collections.singleton( _strName );
+    }
+
+    @Override
+    public Set<? extends CharSequence> getAllNamespaces()
+    {
+      return Collections.emptySet();
+    }
+
+    @Override
+    public List<String> getHandledPrefixes()
+    {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public boolean handlesNonPrefixLoads()
+    {
+      return true;
+    }
+
+    @Override
+    public boolean hasNamespace( String namespace )
+    {
+      return false;
+    }
+
+    @Override
+    public void refreshedNamespace( String namespace, IDirectory dir, RefreshKind kind )
+    {
+    }
+  }
+}
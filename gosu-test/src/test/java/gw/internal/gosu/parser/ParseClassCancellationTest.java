@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.parser;
+
+import gw.lang.parser.GosuParserFactory;
+import gw.lang.parser.IGosuParser;
+import gw.lang.reflect.gs.ClassType;
+import gw.lang.reflect.gs.IGosuClass;
+import gw.lang.reflect.gs.StringSourceFileHandle;
+import gw.test.TestClass;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ */
+public class ParseClassCancellationTest extends TestClass
+{
+  private static final String NAME = "gw.internal.gosu.parser.cancel.Stale";
+  private static final String SOURCE =
+    "package gw.internal.gosu.parser.cancel\n" +
+    "\n" +
+    "class Stale\n" +
+    "{\n" +
+    "  function foo() : int\n" +
+    "  {\n" +
+    "    return 1\n" +
+    "  }\n" +
+    "}\n";
+
+  public void testStopsAfterHeader() throws Exception
+  {
+    assertStopsAtCheck( 1 );
+  }
+
+  public void testStopsAfterDeclarations() throws Exception
+  {
+    assertStopsAtCheck( 2 );
+  }
+
+  public void testParsesFullyWhenNotCancelled() throws Exception
+  {
+    AtomicInteger checks = new AtomicInteger();
+    IGosuClass gsClass = parse( () -> checks.incrementAndGet() < 0 );
+    assertEquals( 2, checks.get() );
+    assertTrue( gsClass.isDefinitionsCompiled() );
+    assertTrue( gsClass.isValid() );
+  }
+
+  private void assertStopsAtCheck( int iCheck ) throws Exception
+  {
+    AtomicInteger checks = new AtomicInteger();
+    try
+    {
+      parse( () -> checks.incrementAndGet() == iCheck );
+      fail( "Expected the parse to stop" );
+    }
+    catch( CancellationException e )
+    {
+      // expected
+    }
+    assertEquals( iCheck, checks.get() );
+  }
+
+  private IGosuClass parse( BooleanSupplier cancelled ) throws Exception
+  {
+    IGosuParser parser = GosuParserFactory.createParser( SOURCE );
+    return parser.parseClass( NAME, new StringSourceFileHandle( NAME, SOURCE, false, ClassType.Class ), true, true, cancelled );
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.parser;
+
+import gw.config.ExecutionMode;
+import gw.lang.parser.ISource;
+import gw.lang.reflect.TypeSystem;
+import gw.lang.reflect.gs.BytecodeOptions;
+import gw.lang.reflect.gs.IGosuClass;
+import gw.test.TestClass;
+import gw.util.perf.objectsize.ObjectSize;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ */
+public class ParseTreeRetentionTest extends TestClass
+{
+  private static final String NAME = "gw.internal.gosu.parser.classTests.VoidVarInitTest";
+  // Loaded by no other test, so its bytecode is defined here
+  private static final String SAMPLE = "gw.internal.gosu.parser.classTests.ParseTreeRetentionSample";
+
+  public void testRetainedMemoryOfCompiledClass()
+  {
+    IGosuClass gsClass = compile();
+    ObjectSize size = gsClass.getRetainedMemory();
+    assertTrue( size.size() > 0 );
+  }
+
+  public void testReleaseKeepsSource()
+  {
+    IGosuClassInternal gsClass = (IGosuClassInternal)compile();
+    ISource source = gsClass.getSourceFileHandle().getSource();
+    String strSource = source.getSource();
+    assertNotNull( source.getTokenizer() );
+    ObjectSize before = gsClass.getRetainedMemory();
+
+    ParseTreeRetention.release( gsClass );
+    assertNull( source.getTokenizer() );
+    assertEquals( strSource, source.getSource() );
+    ObjectSize after = gsClass.getRetainedMemory();
+    assertTrue( after.size() + " < " + before.size(), after.size() < before.size() );
+    assertTrue( gsClass.isValid() );
+  }
+
+  public void testLoadingReleasesAtRuntime() throws Exception
+  {
+    ExecutionMode oldMode = DefaultPlatformHelper.EXECUTION_MODE;
+    boolean bOldRelease = BytecodeOptions.isReleaseTokens();
+    DefaultPlatformHelper.EXECUTION_MODE = ExecutionMode.RUNTIME;
+    ExecutionMode.clear();
+    BytecodeOptions.setReleaseTokens( true );
+    try
+    {
+      IGosuClassInternal gsClass = (IGosuClassInternal)TypeSystem.getByFullName( SAMPLE );
+      assertTrue( gsClass.isValid() );
+      ISource source = gsClass.getSourceFileHandle().getSource();
+      String strSource = source.getSource();
+      assertNotNull( source.getTokenizer() );
+
+      // Defining the class makes GosuClassLoader compile it
+      Class<?> javaClass = gsClass.getBackingClass();
+      assertNull( source.getTokenizer() );
+      assertEquals( strSource, source.getSource() );
+
+      // The inner class is compiled from the parse tree, which stays
+      Object sample = javaClass.newInstance();
+      assertEquals( Arrays.asList( 0, 2, 4 ), javaClass.getMethod( "evens", int.class ).invoke( sample, 3 ) );
+      assertNull( source.getTokenizer() );
+    }
+    finally
+    {
+      BytecodeOptions.setReleaseTokens( bOldRelease );
+      DefaultPlatformHelper.EXECUTION_MODE = oldMode;
+      ExecutionMode.clear();
+    }
+  }
+
+  public void testReport()
+  {
+    IGosuClass gsClass = compile();
+    Map<String, ObjectSize> sizes = ParseTreeRetention.measure( Collections.singletonList( gsClass ) );
+    assertEquals( 1, sizes.size() );
+    assertTrue( sizes.containsKey( NAME ) );
+
+    String strReport = ParseTreeRetention.report( sizes );
+    assertTrue( strReport, strReport.contains( NAME ) );
+    assertTrue( strReport, strReport.contains( "Total (1 classes)" ) );
+  }
+
+  private IGosuClass compile()
+  {
+    IGosuClass gsClass = (IGosuClass)TypeSystem.getByFullName( NAME );
+    assertTrue( gsClass.isValid() );
+    return gsClass;
+  }
+}
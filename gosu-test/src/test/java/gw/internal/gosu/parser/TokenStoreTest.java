@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.parser;
+
+import gw.lang.parser.ISourceCodeTokenizer;
+import gw.lang.parser.Keyword;
+import gw.test.TestClass;
+
+import java.util.List;
+
+/**
+ */
+public class TokenStoreTest extends TestClass
+{
+  public void testTokensMatchSource()
+  {
+    SourceCodeTokenizer tokenizer = tokenize( "var x = \"hi\" // note\n" );
+    TokenStore tokens = tokenizer.getTokens();
+    List<Token> list = tokens.toList();
+    assertEquals( tokens.size(), list.size() );
+
+    Token var = list.get( 0 );
+    assertEquals( ISourceCodeTokenizer.TT_KEYWORD, var.getType() );
+    assertSame( Keyword.KW_var, var.getKeyword() );
+    assertEquals( "var", var.getStringValue() );
+    assertEquals( 0, var.getTokenStart() );
+    assertEquals( 3, var.getTokenEnd() );
+    assertEquals( 1, var.getLine() );
+
+    Token literal = null;
+    for( Token token: list )
+    {
+      if( token.getType() == '"' )
+      {
+        literal = token;
+      }
+    }
+    assertNotNull( literal );
+    assertTrue( literal instanceof StringToken );
+    assertEquals( "hi", literal.getStringValue() );
+    assertEquals( "\"hi\"", literal.getText() );
+  }
+
+  public void testTokenIsMadeOnceAndKept()
+  {
+    TokenStore tokens = tokenize( "a + b" ).getTokens();
+    Token a = tokens.get( 0 );
+    assertSame( a, tokens.get( 0 ) );
+    assertSame( a, tokens.toList().get( 0 ) );
+    assertEquals( 0, tokens.indexOf( a ) );
+  }
+
+  public void testIndexAccessorsAgreeWithTokens()
+  {
+    TokenStore tokens = tokenize( "function foo( i: int ) {\n  return i\n}" ).getTokens();
+    for( int i = 0; i < tokens.size(); i++ )
+    {
+      int iType = tokens.getType( i );
+      int iStart = tokens.getTokenStart( i );
+      int iEnd = tokens.getTokenEnd( i );
+      Token token = tokens.get( i );
+      assertEquals( iType, token.getType() );
+      assertEquals( iStart, token.getTokenStart() );
+      assertEquals( iEnd, token.getTokenEnd() );
+    }
+  }
+
+  public void testPushInsertAndPop()
+  {
+    TokenStore tokens = tokenize( "a b" ).getTokens();
+    int iSize = tokens.size();
+    Token last = tokens.peek();
+    Token pushed = new Token();
+    tokens.push( pushed );
+    assertEquals( iSize + 1, tokens.size() );
+    assertSame( pushed, tokens.peek() );
+    assertSame( pushed, tokens.pop() );
+    assertSame( last, tokens.peek() );
+
+    Token first = tokens.get( 0 );
+    Token inserted = new Token();
+    tokens.insert( inserted, 0 );
+    assertSame( inserted, tokens.get( 0 ) );
+    assertSame( first, tokens.get( 1 ) );
+    assertSame( last, tokens.peek() );
+  }
+
+  public void testBacktrackingSharesTokens()
+  {
+    SourceCodeTokenizer tokenizer = tokenize( "x.y.z" );
+    tokenizer.reset();
+    tokenizer.nextToken();
+    int iMark = tokenizer.mark();
+    Token x = tokenizer.getCurrentToken();
+    tokenizer.nextToken();
+    tokenizer.nextToken();
+    SourceCodeTokenizer restored = tokenizer.lightweightRestore();
+    assertSame( tokenizer.getTokens(), restored.getTokens() );
+    tokenizer.restoreToMark( iMark );
+    assertSame( x, tokenizer.getCurrentToken() );
+  }
+
+  public void testSourceIsReleasedOnceEveryTokenHasItsText()
+  {
+    TokenStore tokens = tokenize( "var s = \"hi\" // note\n" ).getTokens();
+    assertTrue( tokens.isHoldingSource() );
+    for( int i = 0; i < tokens.size() - 1; i++ )
+    {
+      tokens.get( i );
+    }
+    assertTrue( tokens.isHoldingSource() );
+
+    Token last = tokens.get( tokens.size() - 1 );
+    assertFalse( tokens.isHoldingSource() );
+    assertEquals( last.getText(), tokens.toList().get( tokens.size() - 1 ).getText() );
+  }
+
+  public void testSourceIsKeptForSkippedWhitespace()
+  {
+    SourceCodeTokenizer tokenizer = tokenize( "a  +  b" );
+    tokenizer.reset();
+    while( !tokenizer.isEOF() )
+    {
+      tokenizer.getCurrentToken();
+      tokenizer.nextToken();
+    }
+    // Whitespace was skipped, not created, its text still comes from the source
+    assertTrue( tokenizer.getTokens().isHoldingSource() );
+    assertEquals( "  ", tokenizer.getTokens().get( 1 ).getText() );
+  }
+
+  private SourceCodeTokenizer tokenize( String source )
+  {
+    SourceCodeTokenizer tokenizer = new SourceCodeTokenizer( source );
+    tokenizer.getInternal().rip();
+    return tokenizer;
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.parser;
+
+import gw.lang.reflect.TypeSystem;
+import gw.lang.reflect.gs.GosuClassTypeLoader;
+import gw.test.TestClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how much of a warm-up the parallel tokenizing saves, against the parsing that stays sequential
+ */
+public class TypeWarmUpBenchmarkTest extends TestClass
+{
+  public void testTokenizingShareOfWarmUp()
+  {
+    List<String> names = new ArrayList<>();
+    for( CharSequence name : TypeSystem.getTypeLoader( GosuClassTypeLoader.class ).getAllTypeNames() )
+    {
+      if( !name.toString().contains( "Errant" ) )
+      {
+        names.add( name.toString() );
+      }
+    }
+    int iThreads = Runtime.getRuntime().availableProcessors();
+    TypeWarmUp warmUp = new TypeWarmUp( names, iThreads );
+    List<IGosuClassInternal> types = warmUp.getTypes();
+
+    // Read the sources first so both timings below are of the tokenizing alone
+    for( IGosuClassInternal type : types )
+    {
+      type.getSourceFileHandle().getSource().getSource();
+    }
+
+    // Tokenized as the warm-up tokenizes, without leaving the tokenizers on the sources
+    long t = System.currentTimeMillis();
+    for( IGosuClassInternal type : types )
+    {
+      SourceCodeTokenizer tokenizer = new SourceCodeTokenizer( type.getSourceFileHandle().getSource().getSource() );
+      tokenizer.wordChars( '_', '_' );
+      tokenizer.getInternal().rip();
+    }
+    long sequential = System.currentTimeMillis() - t;
+
+    t = System.currentTimeMillis();
+    warmUp.tokenize( types );
+    long parallel = System.currentTimeMillis() - t;
+
+    t = System.currentTimeMillis();
+    warmUp.parse( types );
+    long parse = System.currentTimeMillis() - t;
+
+    System.out.println( "Types: " + types.size() + ", threads: " + iThreads );
+    System.out.println( "Tokenizing on the calling thread: " + sequential / 1000.0 );
+    System.out.println( "Tokenizing on the workers: " + parallel / 1000.0 );
+    System.out.println( "Parsing: " + parse / 1000.0 );
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.parser;
+
+import gw.lang.parser.ISource;
+import gw.lang.parser.ISourceCodeTokenizer;
+import gw.lang.reflect.TypeSystem;
+import gw.lang.reflect.gs.IGosuClass;
+import gw.test.TestClass;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ */
+public class TypeWarmUpTest extends TestClass
+{
+  private static final List<String> NAMES = Arrays.asList(
+    "gw.internal.gosu.parser.classTests.ForwardReferenceInnerClass",
+    "gw.internal.gosu.parser.classTests.PropertyTypeVarTest",
+    "gw.internal.gosu.parser.classTests.VoidVarInitTest" );
+  // Loaded by no other test, so they are compiled here
+  private static final List<String> FRESH_NAMES = Arrays.asList(
+    "gw.internal.gosu.parser.classTests.warmup.WarmUpUser",
+    "gw.internal.gosu.parser.classTests.warmup.WarmUpSub",
+    "gw.internal.gosu.parser.classTests.warmup.WarmUpBase" );
+  private static final List<String> TOKENIZED_NAMES = Arrays.asList(
+    "gw.internal.gosu.parser.classTests.warmup.TokenizedSquare",
+    "gw.internal.gosu.parser.classTests.warmup.TokenizedShape" );
+
+  public void testWarmUpCompilesDefinitions()
+  {
+    for( String name : FRESH_NAMES )
+    {
+      IGosuClass type = (IGosuClass)TypeSystem.getByFullName( name );
+      assertFalse( name, type.isDefinitionsCompiled() );
+    }
+    TypeSystem.warmUp( FRESH_NAMES, 2 );
+    for( String name : FRESH_NAMES )
+    {
+      IGosuClass type = (IGosuClass)TypeSystem.getByFullName( name );
+      assertTrue( name, type.isDefinitionsCompiled() );
+      assertTrue( name, type.isValid() );
+    }
+  }
+
+  public void testParserUsesTheWorkerBuiltTokenizers()
+  {
+    TypeWarmUp warmUp = new TypeWarmUp( TOKENIZED_NAMES, 2 );
+    List<IGosuClassInternal> types = warmUp.getTypes();
+    assertEquals( 2, types.size() );
+    for( IGosuClassInternal type : types )
+    {
+      assertNull( type.getName(), type.getSourceFileHandle().getSource().getTokenizer() );
+    }
+
+    warmUp.tokenize( types );
+    List<ISourceCodeTokenizer> tokenizers = new ArrayList<>();
+    for( IGosuClassInternal type : types )
+    {
+      ISourceCodeTokenizer tokenizer = type.getSourceFileHandle().getSource().getTokenizer();
+      assertNotNull( type.getName(), tokenizer );
+      tokenizers.add( tokenizer );
+    }
+
+    warmUp.parse( types );
+    for( int i = 0; i < types.size(); i++ )
+    {
+      IGosuClassInternal type = types.get( i );
+      ISource source = type.getSourceFileHandle().getSource();
+      assertTrue( type.getName(), type.isDefinitionsCompiled() );
+      assertTrue( type.getName(), type.isValid() );
+      // The parser tokenizes anew if it can't use the source's tokenizer
+      assertSame( type.getName(), tokenizers.get( i ), source.getTokenizer() );
+    }
+  }
+
+  public void testWarmUpIgnoresErrantAndUnknownTypes()
+  {
+    TypeSystem.warmUp( Arrays.asList( "gw.internal.gosu.parser.classTests.Errant_ImproperUseOfKeyword",
+                                      "gw.internal.gosu.parser.classTests.NoSuchType",
+                                      "java.lang.String" ), 2 );
+    IGosuClass errant = (IGosuClass)TypeSystem.getByFullName( "gw.internal.gosu.parser.classTests.Errant_ImproperUseOfKeyword" );
+    assertFalse( errant.isValid() );
+  }
+
+  public void testWarmUpOnCallingThread()
+  {
+    TypeSystem.warmUp( NAMES, 1 );
+    for( String name : NAMES )
+    {
+      assertTrue( name, TypeSystem.getByFullName( name ).isValid() );
+    }
+  }
+}
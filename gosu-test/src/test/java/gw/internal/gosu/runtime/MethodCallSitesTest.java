@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.internal.gosu.runtime;
+
+import gw.lang.reflect.IType;
+import gw.lang.reflect.TypeSystem;
+import gw.test.TestClass;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ */
+public class MethodCallSitesTest extends TestClass
+{
+  private static final IType[] NO_PARAMS = new IType[0];
+  private static final Object[] NO_ARGS = new Object[0];
+
+  public void testStaticallyTypedSiteKeysOnDeclaredType()
+  {
+    int iOld = InlineCacheRegistry.getMegamorphicThreshold();
+    InlineCacheRegistry.setMegamorphicThreshold( 2 );
+    try
+    {
+      MethodCallSites.MethodSite site = new MethodCallSites.MethodSite( StaticCaller.class, "size" );
+      IType listType = TypeSystem.get( List.class );
+      for( int i = 0; i < 3; i++ )
+      {
+        for( List<String> list : receivers() )
+        {
+          assertEquals( list.size(), site.invokeMethod( listType, NO_PARAMS, list, NO_ARGS ) );
+        }
+      }
+
+      // Three receiver classes, one declared type: a single entry, more receivers than the threshold allows
+      InlineCache cache = findCache( StaticCaller.class );
+      assertFalse( cache.isMegamorphic() );
+      assertEquals( 1, cache.getReceiverCount() );
+      assertEquals( 1L, cache.getMisses() );
+      assertEquals( 8L, cache.getHits() );
+    }
+    finally
+    {
+      InlineCacheRegistry.setMegamorphicThreshold( iOld );
+    }
+  }
+
+  public void testDynamicSiteKeysOnReceiverClass()
+  {
+    MethodCallSites.MethodSite site = new MethodCallSites.MethodSite( DynamicCaller.class, "size" );
+    IType dynamicType = TypeSystem.getByFullName( "dynamic.Dynamic" );
+    for( int i = 0; i < 3; i++ )
+    {
+      for( List<String> list : receivers() )
+      {
+        assertEquals( list.size(), site.invokeMethod( dynamicType, NO_PARAMS, list, NO_ARGS ) );
+      }
+    }
+
+    InlineCache cache = findCache( DynamicCaller.class );
+    assertEquals( 3, cache.getReceiverCount() );
+    assertEquals( 3L, cache.getMisses() );
+    assertEquals( 6L, cache.getHits() );
+  }
+
+  private static List<List<String>> receivers()
+  {
+    return Arrays.<List<String>>asList( new ArrayList<>( Arrays.asList( "a" ) ),
+                                        new LinkedList<>( Arrays.asList( "a", "b" ) ),
+                                        new CopyOnWriteArrayList<>( Arrays.asList( "a", "b", "c" ) ) );
+  }
+
+  private static InlineCache findCache( Class callerClass )
+  {
+    InlineCache found = null;
+    for( InlineCache cache : InlineCacheRegistry.getCaches() )
+    {
+      if( cache.getName().equals( callerClass.getName() + "#size()" ) )
+      {
+        assertNull( found );
+        found = cache;
+      }
+    }
+    assertNotNull( found );
+    return found;
+  }
+
+  private static class StaticCaller
+  {
+  }
+
+  private static class DynamicCaller
+  {
+  }
+}
@@ -13,6 +13,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Class description...
@@ -37,6 +41,44 @@ public class FeatureManagerTest extends TestClass {
     assertListEquals(man.getConstructors(IRelativeTypeInfo.Accessibility.PRIVATE), typeInfo.getDeclaredConstructors());
   }
 
+  public void testConcurrentFirstAccessBuildsOneTable() throws Exception {
+    IRelativeTypeInfo typeInfo = (IRelativeTypeInfo) TypeSystem.get(TopLevelType.class).getTypeInfo();
+    final FeatureManager man = new FeatureManager(typeInfo, false);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<MethodList>> futures = new ArrayList<Future<MethodList>>();
+      for (int i = 0; i < 32; i++) {
+        futures.add(executor.submit(new Callable<MethodList>() {
+          public MethodList call() {
+            man.getProperties(IRelativeTypeInfo.Accessibility.PUBLIC);
+            return man.getMethods(IRelativeTypeInfo.Accessibility.PUBLIC);
+          }
+        }));
+      }
+      MethodList first = futures.get(0).get();
+      assertTrue(first.size() > 0);
+      for (Future<MethodList> future : futures) {
+        assertSame(first, future.get());
+      }
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+
+  public void testClearPublishesNewTables() {
+    IRelativeTypeInfo typeInfo = (IRelativeTypeInfo) TypeSystem.get(TopLevelType.class).getTypeInfo();
+    FeatureManager man = new FeatureManager(typeInfo, false);
+    MethodList methods = man.getMethods(IRelativeTypeInfo.Accessibility.PUBLIC);
+    List properties = man.getProperties(IRelativeTypeInfo.Accessibility.PUBLIC);
+    assertSame(methods, man.getMethods(IRelativeTypeInfo.Accessibility.PUBLIC));
+    man.clear();
+    MethodList rebuilt = man.getMethods(IRelativeTypeInfo.Accessibility.PUBLIC);
+    assertNotSame(methods, rebuilt);
+    assertEquals(methods.size(), rebuilt.size());
+    assertEquals(properties.size(), man.getProperties(IRelativeTypeInfo.Accessibility.PUBLIC).size());
+  }
+
   public void testGetMethodsReturnsCorrectSetOfFeaturesForAllTypes() {
     IRelativeTypeInfo typeInfo = (IRelativeTypeInfo) TypeSystem.get(TopLevelType.class).getTypeInfo();
     FeatureManager man = new FeatureManager(typeInfo, false);
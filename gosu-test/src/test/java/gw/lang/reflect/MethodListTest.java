@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.lang.reflect;
+
+import gw.lang.reflect.java.JavaTypes;
+import gw.test.TestClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MethodListTest extends TestClass {
+  public void testFindMethodByExactSignature() {
+    ITypeInfo typeInfo = JavaTypes.STRING().getTypeInfo();
+    IMethodInfo indexOf = typeInfo.getMethod( "indexOf", JavaTypes.pINT(), JavaTypes.pINT() );
+    assertNotNull( indexOf );
+    assertEquals( 2, indexOf.getParameters().length );
+    assertSame( indexOf, typeInfo.getMethod( "indexOf", JavaTypes.pINT(), JavaTypes.pINT() ) );
+
+    IMethodInfo indexOfString = typeInfo.getMethod( "indexOf", JavaTypes.STRING() );
+    assertNotNull( indexOfString );
+    assertSame( JavaTypes.STRING(), indexOfString.getParameters()[0].getFeatureType() );
+
+    assertNull( typeInfo.getMethod( "indexOf", JavaTypes.pBOOLEAN() ) );
+    assertNull( typeInfo.getMethod( "noSuchMethod" ) );
+  }
+
+  public void testFindMethodFallsBackToGenericMatch() {
+    // The declared parameter is the generic Collection<E>, not this parameterization
+    IType collectionOfString = JavaTypes.COLLECTION().getParameterizedType( JavaTypes.STRING() );
+    IMethodInfo addAll = JavaTypes.ARRAY_LIST().getTypeInfo().getMethod( "addAll", collectionOfString );
+    assertNotNull( addAll );
+    assertEquals( 1, addAll.getParameters().length );
+  }
+
+  public void testChangesDropTheIndex() {
+    IMethodInfo indexOf = JavaTypes.STRING().getTypeInfo().getMethod( "indexOf", JavaTypes.pINT() );
+    IMethodInfo lastIndexOf = JavaTypes.STRING().getTypeInfo().getMethod( "lastIndexOf", JavaTypes.pINT() );
+    List<IMethodInfo> methods = new ArrayList<IMethodInfo>();
+    methods.add( indexOf );
+    MethodList list = new MethodList( methods );
+    assertSame( indexOf, list.findMethod( "indexOf", new IType[]{JavaTypes.pINT()} ) );
+    assertNull( list.findMethod( "lastIndexOf", new IType[]{JavaTypes.pINT()} ) );
+    list.add( lastIndexOf );
+    assertSame( lastIndexOf, list.findMethod( "lastIndexOf", new IType[]{JavaTypes.pINT()} ) );
+    list.clear();
+    assertNull( list.findMethod( "indexOf", new IType[]{JavaTypes.pINT()} ) );
+  }
+}
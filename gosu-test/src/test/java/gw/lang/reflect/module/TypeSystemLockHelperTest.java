@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.lang.reflect.module;
+
+import gw.lang.reflect.TypeSystem;
+import gw.test.TestClass;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+public class TypeSystemLockHelperTest extends TestClass {
+
+  private final Object _monitor = new Object();
+  private boolean _bOldStriped;
+
+  @Override
+  public void beforeTestMethod() {
+    super.beforeTestMethod();
+    _bOldStriped = TypeSystemLockHelper.isStripedTypeLocks();
+    TypeSystemLockHelper.setStripedTypeLocks( true );
+  }
+
+  @Override
+  public void afterTestMethod( Throwable possibleException ) {
+    TypeSystemLockHelper.setStripedTypeLocks( _bOldStriped );
+    super.afterTestMethod( possibleException );
+  }
+
+  public void testGlobalLockUnlessStriped() {
+    TypeSystemLockHelper.setStripedTypeLocks( false );
+    Lock lock = TypeSystemLockHelper.getTypeLockWithMonitor( "a.B", _monitor );
+    try {
+      assertSame( TypeSystem.getGlobalLock(), lock );
+      assertFalse( TypeSystemLockHelper.isTypeLockHeldByCurrentThread() );
+    }
+    finally {
+      TypeSystemLockHelper.unlockType( lock );
+    }
+  }
+
+  public void testInnerClassesShareTheOuterClassLock() {
+    Lock lock = TypeSystemLockHelper.getTypeLockWithMonitor( "a.B", _monitor );
+    try {
+      assertNotSame( TypeSystem.getGlobalLock(), lock );
+      assertTrue( TypeSystemLockHelper.isTypeLockHeldByCurrentThread() );
+      Lock innerLock = TypeSystemLockHelper.getTypeLockWithMonitor( "a.B$C", _monitor );
+      assertSame( lock, innerLock );
+      TypeSystemLockHelper.unlockType( innerLock );
+      assertTrue( TypeSystemLockHelper.isTypeLockHeldByCurrentThread() );
+    }
+    finally {
+      TypeSystemLockHelper.unlockType( lock );
+    }
+    assertFalse( TypeSystemLockHelper.isTypeLockHeldByCurrentThread() );
+  }
+
+  public void testNestedTypeLockFallsBackToGlobalLock() {
+    Lock lock = TypeSystemLockHelper.getTypeLockWithMonitor( "a.B", _monitor );
+    try {
+      String strOther = findNameOnOtherStripe( "a.B" );
+      Lock otherLock = TypeSystemLockHelper.getTypeLockWithMonitor( strOther, _monitor );
+      try {
+        assertSame( TypeSystem.getGlobalLock(), otherLock );
+      }
+      finally {
+        TypeSystemLockHelper.unlockType( otherLock );
+      }
+    }
+    finally {
+      TypeSystemLockHelper.unlockType( lock );
+    }
+  }
+
+  public void testGlobalLockHolderDoesNotTakeTypeLocks() {
+    TypeSystem.lock();
+    try {
+      Lock lock = TypeSystemLockHelper.getTypeLockWithMonitor( "a.B", _monitor );
+      assertSame( TypeSystem.getGlobalLock(), lock );
+      TypeSystemLockHelper.unlockType( lock );
+    }
+    finally {
+      TypeSystem.unlock();
+    }
+  }
+
+  public void testUnrelatedTypesLockConcurrently() throws Exception {
+    Lock lock = TypeSystemLockHelper.getTypeLockWithMonitor( "a.B", _monitor );
+    try {
+      String strOther = findNameOnOtherStripe( "a.B" );
+      CompletableFuture<Boolean> other = CompletableFuture.supplyAsync( () -> {
+        Lock otherLock = TypeSystemLockHelper.getTypeLockWithMonitor( strOther, _monitor );
+        try {
+          return otherLock != TypeSystem.getGlobalLock();
+        }
+        finally {
+          TypeSystemLockHelper.unlockType( otherLock );
+        }
+      } );
+      assertTrue( other.get( 10, TimeUnit.SECONDS ) );
+    }
+    finally {
+      TypeSystemLockHelper.unlockType( lock );
+    }
+  }
+
+  private String findNameOnOtherStripe( String strName ) {
+    int iStripe = TypeSystemLockHelper.getStripe( strName );
+    for( int i = 0; ; i++ ) {
+      String strOther = "a.C" + i;
+      if( TypeSystemLockHelper.getStripe( strOther ) != iStripe ) {
+        return strOther;
+      }
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014 Guidewire Software, Inc.
+ */
+
+package gw.util;
+
+import gw.internal.gosu.runtime.CollectionLiteralCallSites;
+import gw.test.TestClass;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+
+public class UnmodifiableCollectionsTest extends TestClass
+{
+  public void testListRejectsMutation()
+  {
+    List<String> list = new UnmodifiableArrayList<>( Arrays.asList( "a", "b", "c" ) );
+    assertEquals( Arrays.asList( "a", "b", "c" ), list );
+    assertUnsupported( () -> list.add( "d" ) );
+    assertUnsupported( () -> list.set( 0, "d" ) );
+    assertUnsupported( () -> list.remove( 0 ) );
+    assertUnsupported( list::clear );
+    assertUnsupported( () -> list.subList( 0, 1 ).clear() );
+    Iterator<String> iter = list.iterator();
+    iter.next();
+    assertUnsupported( iter::remove );
+    ListIterator<String> listIter = list.listIterator();
+    listIter.next();
+    assertUnsupported( () -> listIter.set( "d" ) );
+    assertEquals( 3, list.size() );
+  }
+
+  public void testSetKeepsOrderAndRejectsMutation()
+  {
+    Set<String> set = new UnmodifiableLinkedHashSet<>( Arrays.asList( "c", "a", "b", "a" ) );
+    assertEquals( Arrays.asList( "c", "a", "b" ), new ArrayList<>( set ) );
+    assertEquals( new HashSet<>( Arrays.asList( "a", "b", "c" ) ), set );
+    assertUnsupported( () -> set.add( "d" ) );
+    assertUnsupported( () -> set.remove( "a" ) );
+    assertUnsupported( set::clear );
+    Iterator<String> iter = set.iterator();
+    iter.next();
+    assertUnsupported( iter::remove );
+    assertEquals( 3, set.size() );
+  }
+
+  public void testMapKeepsOrderAndRejectsMutation()
+  {
+    Map<String, Integer> entries = new LinkedHashMap<>();
+    entries.put( "b", 2 );
+    entries.put( "a", 1 );
+    Map<String, Integer> map = new UnmodifiableLinkedHashMap<>( entries );
+    assertEquals( Arrays.asList( "b", "a" ), new ArrayList<>( map.keySet() ) );
+    Map<String, Integer> expected = new HashMap<>( entries );
+    assertEquals( expected, map );
+    assertUnsupported( () -> map.put( "c", 3 ) );
+    assertUnsupported( () -> map.remove( "a" ) );
+    assertUnsupported( () -> map.merge( "a", 1, Integer::sum ) );
+    assertUnsupported( () -> map.computeIfAbsent( "c", k -> 3 ) );
+    assertUnsupported( () -> map.keySet().remove( "a" ) );
+    assertUnsupported( () -> map.values().clear() );
+    assertUnsupported( () -> map.entrySet().iterator().next().setValue( 5 ) );
+    assertEquals( 2, map.size() );
+  }
+
+  public void testLiteralCallSitesRoundTripValues() throws Throwable
+  {
+    List<Object> values = Arrays.asList( "a:b", 1, 2L, 1.5d, 'c', true, null, new BigDecimal( "1.10" ) );
+    assertTrue( CollectionLiteralCallSites.isEncodable( new BigDecimal( "1.10" ) ) );
+    assertFalse( CollectionLiteralCallSites.isEncodable( new Object() ) );
+
+    MethodType type = MethodType.methodType( ArrayList.class );
+    Object list = CollectionLiteralCallSites.bootstrapList( MethodHandles.lookup(), "constantLiteral", type,
+                                                            CollectionLiteralCallSites.encode( values ) ).getTarget().invoke();
+    assertEquals( values, list );
+    assertTrue( list instanceof UnmodifiableArrayList );
+  }
+
+  private static void assertUnsupported( Runnable mutation )
+  {
+    try
+    {
+      mutation.run();
+      fail( "Expected UnsupportedOperationException" );
+    }
+    catch( UnsupportedOperationException e )
+    {
+      // expected
+    }
+  }
+}
@@ -224,6 +224,55 @@ public class CacheTest extends TestClass {
     assertEquals(1, cache.getHits());
   }
 
+  public void testStatsDisabled() {
+    Cache<Integer,String> cache = new Cache<Integer,String>("testCache", 2, key -> LOAD[key], Cache.Policy.SECOND_CHANCE, false);
+    assertFalse(cache.isRecordingStats());
+    assertEquals(LOAD[1], cache.get(ONE));
+    assertEquals(LOAD[1], cache.get(ONE));
+    assertEquals(1, cache.getUtilizedSize());
+    assertEquals(0, cache.getRequests());
+    assertEquals(0, cache.getHits());
+    assertEquals(0, cache.getMisses());
+  }
+
+  public void testTinyLfuKeepsFrequentEntryDuringScan() {
+    Cache<Integer,String> cache = new Cache<Integer,String>("testCache", 2, key -> LOAD[key], Cache.Policy.TINY_LFU, true);
+    for (int i = 0; i < 5; i++) {
+      assertEquals(LOAD[0], cache.get(ZERO));
+    }
+    assertEquals(LOAD[1], cache.get(ONE));
+    assertEquals(LOAD[2], cache.get(TWO));
+    assertEquals(LOAD[3], cache.get(THREE));
+    assertEquals(LOAD[4], cache.get(FOUR));
+    assertEquals(2, cache.getUtilizedSize());
+
+    int counts[] = getCounts(cache);
+    assertEquals(LOAD[0], cache.get(ZERO));
+    assertHit(counts, cache);
+  }
+
+  public void testTinyLfuEvictsWhenAllEntriesAreEquallyUsed() {
+    Cache<Integer,String> cache = new Cache<Integer,String>("testCache", 2, key -> LOAD[key], Cache.Policy.TINY_LFU, true);
+    for (int i = 0; i < LOAD.length; i++) {
+      assertEquals(LOAD[i], cache.get(i));
+      assertTrue(cache.getUtilizedSize() <= 2);
+    }
+    assertEquals(LOAD.length, cache.getMisses());
+  }
+
+  public void testGetIfPresentDoesNotLoad() {
+    Cache<Integer,String> cache = new Cache<Integer,String>("testCache", 2, key -> LOAD[key]);
+    int counts[] = getCounts(cache);
+    assertNull(cache.getIfPresent(ONE));
+    assertEquals(0, cache.getUtilizedSize());
+    assertMiss(counts, cache);
+
+    cache.put(ONE, LOAD[1]);
+    counts = getCounts(cache);
+    assertEquals(LOAD[1], cache.getIfPresent(ONE));
+    assertHit(counts, cache);
+  }
+
   private void assertHit(int[] counts, Cache cache) {
     assertEquals(counts[0] + 1, cache.getRequests());
     assertEquals(counts[1], cache.getMisses());